@@ -0,0 +1,19 @@
+package com.tss.springsecurity.cache;
+
+/**
+ * Second-level cache region names; their expiry and size come from
+ * {@link com.tss.springsecurity.config.SecondLevelCacheProperties}.
+ */
+public final class CacheRegions {
+
+    public static final String LOAN_OFFICER = "loan-officer";
+    public static final String COMPLIANCE_OFFICER = "compliance-officer";
+    public static final String ADMIN = "admin";
+    public static final String FRAUD_RULE = "fraud-rule";
+    // Query results of the rule lookups, kept apart so they share the rule region's short expiry
+    public static final String FRAUD_RULE_QUERIES = "fraud-rule-queries";
+    public static final String PERSON = "person";
+
+    private CacheRegions() {
+    }
+}
@@ -0,0 +1,73 @@
+package com.tss.springsecurity.cache;
+
+import com.tss.springsecurity.config.SecondLevelCacheProperties;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hibernate region factory keeping every second-level cache region in process
+ * memory, with expiry and size per region from {@link SecondLevelCacheProperties}.
+ * One instance per persistence unit.
+ */
+public class InMemoryRegionFactory extends RegionFactoryTemplate {
+
+    private final SecondLevelCacheProperties properties;
+    private final Map<String, InMemoryStorageAccess> regions = new ConcurrentHashMap<>();
+
+    public InMemoryRegionFactory(SecondLevelCacheProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Entries currently held per region
+     */
+    public Map<String, Integer> getRegionSizes() {
+        Map<String, Integer> sizes = new TreeMap<>();
+        regions.forEach((name, storage) -> sizes.put(name, storage.size()));
+        return sizes;
+    }
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regions.values().forEach(InMemoryStorageAccess::release);
+        regions.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return register(regionConfig.getRegionName(), properties.regionFor(regionConfig.getRegionName()));
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return register(regionName, properties.regionFor(regionName));
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        // Query results are only valid against these timestamps, so they never expire or get evicted
+        return register(regionName, new SecondLevelCacheProperties.Region());
+    }
+
+    private InMemoryStorageAccess register(String regionName, SecondLevelCacheProperties.Region settings) {
+        InMemoryStorageAccess storage = new InMemoryStorageAccess(regionName, settings);
+        regions.put(regionName, storage);
+        return storage;
+    }
+}
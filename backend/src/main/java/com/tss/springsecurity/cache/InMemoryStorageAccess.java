@@ -0,0 +1,98 @@
+package com.tss.springsecurity.cache;
+
+import com.tss.springsecurity.config.SecondLevelCacheProperties;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Storage of one second-level cache region: a concurrent map with an optional
+ * time-to-live and size bound. Dropping an entry is always safe for Hibernate,
+ * it only turns the next read into a database load.
+ */
+class InMemoryStorageAccess implements DomainDataStorageAccess {
+
+    private static final long NEVER = 0;
+
+    private final String regionName;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<Object, Entry> entries = new ConcurrentHashMap<>();
+
+    InMemoryStorageAccess(String regionName, SecondLevelCacheProperties.Region settings) {
+        this.regionName = regionName;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(settings.getTtlSeconds());
+        this.maxEntries = settings.getMaxEntries();
+    }
+
+    String getRegionName() {
+        return regionName;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    @Override
+    public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+        Entry entry = entries.get(key);
+        if (entry == null) return null;
+        if (entry.isExpired(System.nanoTime())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    @Override
+    public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+        long now = System.nanoTime();
+        if (maxEntries > 0 && entries.size() >= maxEntries && !entries.containsKey(key)) {
+            makeRoom(now);
+        }
+        entries.put(key, new Entry(value, ttlNanos > 0 ? now + ttlNanos : NEVER));
+    }
+
+    @Override
+    public boolean contains(Object key) {
+        Entry entry = entries.get(key);
+        return entry != null && !entry.isExpired(System.nanoTime());
+    }
+
+    @Override
+    public void evictData() {
+        entries.clear();
+    }
+
+    @Override
+    public void evictData(Object key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public void release() {
+        entries.clear();
+    }
+
+    // Expired entries first, then arbitrary ones down to 90% of the bound
+    private void makeRoom(long now) {
+        entries.values().removeIf(entry -> entry.isExpired(now));
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        Iterator<Object> keys = entries.keySet().iterator();
+        while (entries.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record Entry(Object value, long expiresAtNanos) {
+
+        boolean isExpired(long now) {
+            return expiresAtNanos != NEVER && now - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.tss.springsecurity.cache;
+
+import com.tss.springsecurity.config.SecondLevelCacheProperties;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Second-level cache settings for each persistence unit, and the hit/miss
+ * report over all of them.
+ */
+@Component
+@Slf4j
+public class SecondLevelCaches {
+
+    private final SecondLevelCacheProperties properties;
+    // Resolved on use: the entity manager factories are built with this bean's settings
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactories;
+    private final Map<String, InMemoryRegionFactory> regionFactories = new ConcurrentHashMap<>();
+
+    public SecondLevelCaches(SecondLevelCacheProperties properties,
+                             ObjectProvider<EntityManagerFactory> entityManagerFactories) {
+        this.properties = properties;
+        this.entityManagerFactories = entityManagerFactories;
+    }
+
+    /**
+     * Hibernate properties enabling the cache for one persistence unit
+     */
+    public Map<String, Object> hibernateSettings(String persistenceUnit) {
+        Map<String, Object> settings = new HashMap<>();
+        settings.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, properties.isEnabled());
+        settings.put(AvailableSettings.USE_QUERY_CACHE, properties.isEnabled() && properties.isQueryCacheEnabled());
+        settings.put(AvailableSettings.GENERATE_STATISTICS, properties.isStatisticsEnabled());
+        // Statistics without a per-session summary in the log
+        settings.put(AvailableSettings.LOG_SESSION_METRICS, false);
+        if (properties.isEnabled()) {
+            InMemoryRegionFactory regionFactory = new InMemoryRegionFactory(properties);
+            regionFactories.put(persistenceUnit, regionFactory);
+            settings.put(AvailableSettings.CACHE_REGION_FACTORY, regionFactory);
+            log.info("Second-level cache enabled for {} (query cache {})",
+                    persistenceUnit, properties.isQueryCacheEnabled());
+        }
+        return settings;
+    }
+
+    // ==================== REPORTING ====================
+
+    /**
+     * Hits, misses and puts per persistence unit and region, with current entry counts
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", properties.isEnabled());
+        status.put("queryCacheEnabled", properties.isQueryCacheEnabled());
+        status.put("statisticsEnabled", properties.isStatisticsEnabled());
+        entityManagerFactories.orderedStream().forEach(emf -> {
+            SessionFactoryImplementor sessionFactory = emf.unwrap(SessionFactoryImplementor.class);
+            status.put(unitName(sessionFactory), describe(sessionFactory));
+        });
+        return status;
+    }
+
+    public void resetMetrics() {
+        entityManagerFactories.orderedStream()
+                .forEach(emf -> emf.unwrap(SessionFactoryImplementor.class).getStatistics().clear());
+    }
+
+    public void evictAll() {
+        entityManagerFactories.orderedStream()
+                .forEach(emf -> emf.unwrap(SessionFactoryImplementor.class).getCache().evictAll());
+        log.info("Second-level caches evicted");
+    }
+
+    private Map<String, Object> describe(SessionFactoryImplementor sessionFactory) {
+        Statistics statistics = sessionFactory.getStatistics();
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("entity", counts(statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()));
+        view.put("query", counts(statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+
+        Map<String, Integer> sizes = sessionFactory.getCache().getRegionFactory() instanceof InMemoryRegionFactory factory
+                ? factory.getRegionSizes() : Map.of();
+        Map<String, Object> regions = new LinkedHashMap<>();
+        sizes.forEach((region, size) -> {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            Map<String, Object> regionView = regionStatistics != null
+                    ? counts(regionStatistics.getHitCount(), regionStatistics.getMissCount(), regionStatistics.getPutCount())
+                    : new LinkedHashMap<>();
+            regionView.put("entries", size);
+            regions.put(region, regionView);
+        });
+        view.put("regions", regions);
+        return view;
+    }
+
+    private String unitName(SessionFactoryImplementor sessionFactory) {
+        for (Map.Entry<String, InMemoryRegionFactory> entry : regionFactories.entrySet()) {
+            if (entry.getValue() == sessionFactory.getCache().getRegionFactory()) return entry.getKey();
+        }
+        return sessionFactory.getName() != null ? sessionFactory.getName() : sessionFactory.getUuid();
+    }
+
+    private static Map<String, Object> counts(long hits, long misses, long puts) {
+        Map<String, Object> counts = new LinkedHashMap<>();
+        counts.put("hits", hits);
+        counts.put("misses", misses);
+        counts.put("puts", puts);
+        counts.put("hitRatio", hits + misses > 0 ? Math.round(hits * 1000.0 / (hits + misses)) / 1000.0 : 0.0);
+        return counts;
+    }
+}
@@ -0,0 +1,44 @@
+package com.tss.springsecurity.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.security.auth-throttling")
+public class AuthThrottlingProperties {
+    
+    private Hashing hashing = new Hashing();
+    private RateLimit rateLimit = new RateLimit();
+    
+    @Data
+    public static class Hashing {
+        // 0 = one thread per available CPU
+        private int threads = 0;
+        // Hash/verify requests allowed to wait for a thread before callers get 429
+        private int queueCapacity = 64;
+        // Max time a request thread waits for its hash result
+        private long timeoutMs = 5000;
+    }
+    
+    @Data
+    public static class RateLimit {
+        private boolean enabled = true;
+        // Login/registration attempts per client IP per minute, per endpoint scope
+        private int ipPerMinute = 60;
+        // Attempts per username per minute, used when the role has no override
+        private int usernamePerMinute = 10;
+        // Per-role overrides for the username limit (ADMIN, APPLICANT, LOAN_OFFICER, COMPLIANCE_OFFICER)
+        private Map<String, Integer> usernamePerMinuteByRole = new HashMap<>(Map.of("ADMIN", 5));
+        // Peers (exact addresses) whose X-Forwarded-For is believed; from anyone else the header is ignored
+        private List<String> trustedProxies = new ArrayList<>();
+        // Buckets kept at most; past this, unseen keys share one bucket per scope until idle ones are evicted
+        private int maxTrackedKeys = 100000;
+    }
+}
@@ -0,0 +1,38 @@
+package com.tss.springsecurity.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "data-retention")
+public class DataRetentionProperties {
+    
+    private boolean enabled = true;
+    
+    // Root folder for gzip NDJSON archive files (one sub-folder per table)
+    private String archiveDirectory = "archive";
+    
+    // Cron for the nightly archiver (default 02:30 every day)
+    private String cron = "0 30 2 * * *";
+    
+    // Rows read/deleted per round-trip while archiving a month
+    private int batchSize = 1000;
+    
+    private Table activityLog = new Table(6);
+    private Table fraudFlags = new Table(12);
+    
+    @Data
+    public static class Table {
+        // Number of full months (plus the current one) kept in the hot table
+        private int hotMonths;
+        
+        public Table() {
+        }
+        
+        public Table(int hotMonths) {
+            this.hotMonths = hotMonths;
+        }
+    }
+}
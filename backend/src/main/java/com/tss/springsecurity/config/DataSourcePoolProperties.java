@@ -0,0 +1,87 @@
+package com.tss.springsecurity.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.datasource-pools")
+public class DataSourcePoolProperties {
+
+    // Pools on the primary database, one per workload class
+    private Pool oltp = pool(20, 5, 3000, 20000);
+    private Pool screening = pool(12, 2, 5000, 30000);
+    private Pool reporting = pool(6, 1, 10000, 60000);
+    // Bulk chunks hold a connection for a long time, so leak detection is off
+    private Pool bulkLoad = pool(4, 0, 30000, 0);
+
+    // Pools on the external fraud database (only screening and bulk traffic goes there)
+    private Pool externalScreening = pool(15, 3, 5000, 30000);
+    private Pool externalBulkLoad = pool(4, 0, 30000, 0);
+
+    // MySQL Connector/J settings applied to every pool
+    private Map<String, String> driverProperties = defaultDriverProperties();
+
+    // Request paths (Ant patterns) per workload class, checked in this order; everything else is OLTP
+    private List<String> bulkLoadPaths = new ArrayList<>(List.of(
+            "/api/external-fraud/bulk/**",
+            "/api/test/synthetic/generate",
+            "/api/admin/data-retention/**"));
+    private List<String> reportingPaths = new ArrayList<>(List.of(
+            "/api/admin/dashboard/**",
+            "/api/public/admin/dashboard/**",
+            "/api/admin/activity-logs/**",
+            "/api/compliance-officer/dashboard/**",
+            "/api/loan-officer/*/comprehensive-dashboard",
+            "/api/loan-officer/*/screening-dashboard",
+            "/api/**/statistics",
+            "/api/**/generate-report"));
+    private List<String> screeningPaths = new ArrayList<>(List.of(
+            "/api/fraud-detection/**",
+            "/api/combined-fraud/**",
+            "/api/enhanced-screening/**",
+            "/api/external-fraud/**"));
+
+    @Data
+    public static class Pool {
+        private int maximumPoolSize = 10;
+        private int minimumIdle = 0;
+        // How long a caller waits for a free connection before failing
+        private long connectionTimeoutMs = 5000;
+        private long idleTimeoutMs = 600000;
+        // Below MySQL's wait_timeout so the server never drops a pooled connection first
+        private long maxLifetimeMs = 1740000;
+        // Log a warning with the borrower's stack when a connection is held longer than this; 0 disables
+        private long leakDetectionThresholdMs = 0;
+    }
+
+    private static Pool pool(int maximumPoolSize, int minimumIdle, long connectionTimeoutMs, long leakDetectionThresholdMs) {
+        Pool pool = new Pool();
+        pool.setMaximumPoolSize(maximumPoolSize);
+        pool.setMinimumIdle(minimumIdle);
+        pool.setConnectionTimeoutMs(connectionTimeoutMs);
+        pool.setLeakDetectionThresholdMs(leakDetectionThresholdMs);
+        return pool;
+    }
+
+    private static Map<String, String> defaultDriverProperties() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("cachePrepStmts", "true");
+        properties.put("prepStmtCacheSize", "250");
+        properties.put("prepStmtCacheSqlLimit", "2048");
+        properties.put("useServerPrepStmts", "true");
+        properties.put("rewriteBatchedStatements", "true");
+        properties.put("useLocalSessionState", "true");
+        properties.put("cacheResultSetMetadata", "true");
+        properties.put("cacheServerConfiguration", "true");
+        properties.put("elideSetAutoCommits", "true");
+        properties.put("maintainTimeStats", "false");
+        return properties;
+    }
+}
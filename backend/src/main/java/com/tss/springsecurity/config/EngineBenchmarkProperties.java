@@ -0,0 +1,20 @@
+package com.tss.springsecurity.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.engine-benchmark")
+public class EngineBenchmarkProperties {
+
+    // Each run appends one JSON line here, so results can be compared across builds
+    private String resultsFile = "benchmarks/fraud-engines.jsonl";
+
+    // Seed of the synthetic applicant graph; the same seed and sizes give the same data
+    private long seed = 42;
+
+    // Largest synthetic graph a single run may build
+    private int maxApplicants = 200000;
+}
@@ -0,0 +1,32 @@
+package com.tss.springsecurity.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.fraud-ring")
+public class FraudRingProperties {
+
+    private boolean enabled = true;
+
+    // Cron for the rebuild from the database (default 03:15 every day); also runs once at startup
+    private String rebuildCron = "0 15 3 * * *";
+
+    // Rows read per round-trip while rebuilding
+    private int batchSize = 5000;
+
+    // Applicants in one connected component before its members count as a ring
+    private int minRingSize = 3;
+
+    // An attribute shared by more applicants than this (a big employer, a generic collateral
+    // description) stops linking; hubs found between rebuilds are dropped at the next rebuild
+    private int maxAttributeDegree = 25;
+
+    // Member ids returned per ring report
+    private int maxReportedMembers = 20;
+
+    // Points added to the identity fraud score for ring membership
+    private int ringMemberFraudPoints = 50;
+}
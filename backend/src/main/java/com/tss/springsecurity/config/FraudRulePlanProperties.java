@@ -0,0 +1,17 @@
+package com.tss.springsecurity.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.fraud-rule-plan")
+public class FraudRulePlanProperties {
+
+    // How often the active rule set is re-read and the plan recompiled if it changed
+    private long refreshIntervalMs = 30000;
+
+    // Once an applicant's running score reaches this (CRITICAL by default), OCR-cost rules are skipped
+    private int skipExpensiveAtScore = 100;
+}
@@ -0,0 +1,38 @@
+package com.tss.springsecurity.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.identifier-blacklist")
+public class IdentifierBlacklistProperties {
+
+    private boolean enabled = true;
+
+    // Folder with list dumps (.csv, .ndjson, .jsonl, optionally .gz) holding pan / aadhaar columns.
+    // Files whose name contains "rbi" feed the RBI defaulter set, anything else the external list set.
+    private String directory = "blacklists";
+
+    // Folder for the generated, memory-mapped blacklist files
+    private String dataDirectory = "blacklist-data";
+
+    // How often new fraud flags and changed list files are merged in; 0 disables polling
+    private long refreshIntervalMs = 60000;
+
+    // fraud_flags severity (1=LOW .. 4=CRITICAL) that counts as confirmed fraud.
+    // Changing it needs a full rebuild (POST /api/compliance-officer/blacklist/rebuild?full=true).
+    private int internalMinSeverity = 4;
+
+    // Rows read per round-trip while collecting confirmed-fraud identifiers
+    private int batchSize = 5000;
+
+    // Bloom filter sizing: 10 bits and 7 hashes per key give ~1% false positives
+    private int bloomBitsPerEntry = 10;
+    private int bloomHashes = 7;
+
+    // Points added to the identity fraud score per hit
+    private int rbiDefaulterFraudPoints = 60;
+    private int internalBlacklistFraudPoints = 100;
+}
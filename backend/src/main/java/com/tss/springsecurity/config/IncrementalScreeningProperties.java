@@ -0,0 +1,23 @@
+package com.tss.springsecurity.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.incremental-screening")
+public class IncrementalScreeningProperties {
+
+    // Re-run only the fraud checks whose inputs changed since the applicant's last full screening
+    private boolean enabled = true;
+
+    // Upper bound on staleness for changes made outside JPA (bulk JDBC loads, manual SQL)
+    private long ttlSeconds = 600;
+
+    // Applicants whose last screening outcome is kept
+    private int maxEntries = 10000;
+
+    // Applicants whose change versions are tracked; past this all versions and outcomes are dropped
+    private int maxTrackedApplicants = 100000;
+}
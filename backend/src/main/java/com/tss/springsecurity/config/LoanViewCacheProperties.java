@@ -0,0 +1,19 @@
+package com.tss.springsecurity.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.loan-view-cache")
+public class LoanViewCacheProperties {
+
+    // Cache assembled comprehensive loan views; entries are dropped on any write to the loan's aggregate
+    private boolean enabled = true;
+
+    // Upper bound on staleness for changes made outside JPA (bulk JDBC loads, manual SQL)
+    private long ttlSeconds = 30;
+
+    private int maxEntries = 5000;
+}
@@ -0,0 +1,36 @@
+package com.tss.springsecurity.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.officer-routing")
+public class OfficerRoutingProperties {
+
+    // LEAST_LOADED, WEIGHTED_ROUND_ROBIN or SLA_AWARE
+    private String loanOfficerPolicy = "LEAST_LOADED";
+    private String compliancePolicy = "LEAST_LOADED";
+
+    // Active loads are recounted from the database this often, correcting drift from paths that bypass the router
+    private long reconcileIntervalMs = 60000;
+
+    // Officers at or above this many active cases are only picked when everyone is; 0 disables the cap
+    private int maxActivePerOfficer = 0;
+
+    // Round-robin weight per officer id (default 1); a weight of 2 receives twice the share of new cases
+    private Map<Long, Integer> loanOfficerWeights = new HashMap<>();
+    private Map<Long, Integer> complianceOfficerWeights = new HashMap<>();
+
+    // SLA-aware routing: days of completed cases used to estimate each officer's handling time,
+    // and the estimate used for officers without history
+    private int handlingTimeWindowDays = 30;
+    private long defaultHandlingMinutes = 480;
+
+    // Weight of the newest completion in the running handling-time average
+    private double handlingTimeSmoothing = 0.2;
+}
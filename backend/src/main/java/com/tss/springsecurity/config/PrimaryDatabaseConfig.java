@@ -1,14 +1,21 @@
 package com.tss.springsecurity.config;
 
+import com.tss.springsecurity.cache.SecondLevelCaches;
+import com.tss.springsecurity.datasource.DataSourcePools;
+import com.tss.springsecurity.datasource.QueryCounter;
+import com.tss.springsecurity.datasource.ReadReplicaRouter;
+import com.tss.springsecurity.datasource.UnboundedQueryGuard;
+import com.tss.springsecurity.datasource.Workload;
+import org.hibernate.cfg.AvailableSettings;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.boot.context.properties.ConfigurationProperties;
-import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.hibernate5.SpringBeanContainer;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
@@ -29,27 +36,37 @@ public class PrimaryDatabaseConfig {
 
     @Primary
     @Bean(name = "dataSource")
-    public DataSource dataSource() {
-        return DataSourceBuilder.create()
-                .url("jdbc:mysql://localhost:3306/lms?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=Asia/Kolkata")
-                .username("root")
-                .password("Rishit91@#15") // Empty password - didn't work
-//                .password("root")
-                .driverClassName("com.mysql.cj.jdbc.Driver")
-                .build();
+    public DataSource dataSource(DataSourcePools dataSourcePools, ReadReplicaRouter readReplicaRouter) {
+        // Read-only transactions go to the replica when app.read-replica.enabled is set
+        return readReplicaRouter.wrap(dataSourcePools.create("lms",
+                "jdbc:mysql://localhost:3306/lms?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=Asia/Kolkata",
+                "root",
+                "Rishit91@#15", // Empty password - didn't work
+//                "root",
+                dataSourcePools.primaryPools(),
+                Workload.OLTP));
     }
 
     @Primary
     @Bean(name = "entityManagerFactory")
     public LocalContainerEntityManagerFactoryBean entityManagerFactory(
             EntityManagerFactoryBuilder builder,
-            @Qualifier("dataSource") DataSource dataSource) {
+            @Qualifier("dataSource") DataSource dataSource,
+            ConfigurableListableBeanFactory beanFactory,
+            SecondLevelCaches secondLevelCaches,
+            UnboundedQueryGuard unboundedQueryGuard) {
         
         Map<String, Object> properties = new HashMap<>();
         properties.put("hibernate.dialect", "org.hibernate.dialect.MySQLDialect");
         properties.put("hibernate.hbm2ddl.auto", "update");
         properties.put("hibernate.show_sql", false);
         properties.put("hibernate.format_sql", true);
+        // Lets entity listeners such as LoanAggregateListener have Spring dependencies
+        properties.put(AvailableSettings.BEAN_CONTAINER, new SpringBeanContainer(beanFactory));
+        // Also rejects or logs whole-table reads of large tables (app.query-guard)
+        properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCounter(unboundedQueryGuard));
+        // Officers, admins and fraud rules are cached across sessions (see CacheRegions)
+        properties.putAll(secondLevelCaches.hibernateSettings("lms"));
         
         return builder
                 .dataSource(dataSource)
@@ -0,0 +1,38 @@
+package com.tss.springsecurity.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.query-guard")
+public class QueryGuardProperties {
+
+    public enum Mode {
+        OFF,
+        // Warn once per statement and carry on
+        LOG,
+        // Reject the statement; meant for test profiles so a findAll() on a large table fails the build
+        FAIL
+    }
+
+    private Mode mode = Mode.LOG;
+
+    // Tables a SELECT must not read without a WHERE or LIMIT
+    private Set<String> largeTables = new LinkedHashSet<>(List.of(
+            "applicant",
+            "applicant_basic_details",
+            "applicant_loan_details",
+            "aadhaar_details",
+            "pan_details",
+            "loan_collateral",
+            "uploaded_documents",
+            "officer_application_assignment",
+            "fraud_flags",
+            "activity_log"));
+}
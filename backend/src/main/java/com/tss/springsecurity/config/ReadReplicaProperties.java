@@ -0,0 +1,42 @@
+package com.tss.springsecurity.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.read-replica")
+public class ReadReplicaProperties {
+
+    // Send @Transactional(readOnly = true) work on the primary database to the replica below
+    private boolean enabled = false;
+
+    private String url = "jdbc:mysql://localhost:3307/lms?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=Asia/Kolkata";
+    private String username = "root";
+    private String password = "";
+    // MySQL driver settings from app.datasource-pools are only applied to the MySQL driver
+    private String driverClassName = "com.mysql.cj.jdbc.Driver";
+
+    private DataSourcePoolProperties.Pool pool = defaultPool();
+
+    // Reads go to the primary while the replica is further behind than this
+    private long maxLagSeconds = 5;
+    private long lagCheckIntervalMs = 5000;
+
+    // Query returning the lag in seconds (e.g. from a heartbeat table, or "SELECT 0" for a stand-in);
+    // blank uses SHOW REPLICA STATUS
+    private String lagQuery = "";
+
+    // After a request has written through the primary, its later reads stay on the primary
+    private boolean stickyPrimaryAfterWrite = true;
+
+    private static DataSourcePoolProperties.Pool defaultPool() {
+        DataSourcePoolProperties.Pool pool = new DataSourcePoolProperties.Pool();
+        pool.setMaximumPoolSize(12);
+        pool.setMinimumIdle(2);
+        pool.setConnectionTimeoutMs(2000);
+        pool.setLeakDetectionThresholdMs(60000);
+        return pool;
+    }
+}
@@ -0,0 +1,20 @@
+package com.tss.springsecurity.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rule-telemetry")
+public class RuleTelemetryProperties {
+
+    // Per-check timers and trigger counters for the fraud engines; off means checks run unwrapped
+    private boolean enabled = true;
+
+    // One screening in this many keeps a step-by-step trace
+    private int traceSampleRate = 100;
+
+    // Most recent sampled traces kept in memory
+    private int maxTraces = 200;
+}
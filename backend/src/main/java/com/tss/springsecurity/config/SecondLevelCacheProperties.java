@@ -0,0 +1,58 @@
+package com.tss.springsecurity.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.second-level-cache")
+public class SecondLevelCacheProperties {
+
+    // Hibernate second-level cache for the reference entities of both persistence units
+    private boolean enabled = true;
+    // Cache results of repository lookups marked cacheable (by username, email, rule code)
+    private boolean queryCacheEnabled = true;
+    // Hibernate statistics behind the cache report; small per-operation overhead
+    private boolean statisticsEnabled = true;
+
+    // Regions not listed in regions
+    private Region defaults = region(600, 10000);
+    // Per-region expiry and size, keyed by region name (see CacheRegions)
+    private Map<String, Region> regions = defaultRegions();
+
+    @Data
+    public static class Region {
+        // Entries older than this are dropped on read; 0 keeps them until evicted
+        private long ttlSeconds;
+        // Entries beyond this evict expired and then arbitrary entries; 0 is unbounded
+        private int maxEntries;
+    }
+
+    public Region regionFor(String regionName) {
+        return regions.getOrDefault(regionName, defaults);
+    }
+
+    private static Region region(long ttlSeconds, int maxEntries) {
+        Region region = new Region();
+        region.setTtlSeconds(ttlSeconds);
+        region.setMaxEntries(maxEntries);
+        return region;
+    }
+
+    private static Map<String, Region> defaultRegions() {
+        Map<String, Region> regions = new LinkedHashMap<>();
+        regions.put("loan-officer", region(600, 2000));
+        regions.put("compliance-officer", region(600, 2000));
+        regions.put("admin", region(600, 500));
+        // Short, so rule edits made with plain SQL still show up within a minute
+        regions.put("fraud-rule", region(60, 1000));
+        regions.put("fraud-rule-queries", region(60, 1000));
+        regions.put("person", region(300, 50000));
+        regions.put("default-query-results-region", region(300, 10000));
+        return regions;
+    }
+}
@@ -2,14 +2,15 @@ package com.tss.springsecurity.config;
 
 import com.tss.springsecurity.exception.JwtAuthenticationEntryPoint;
 import com.tss.springsecurity.filter.JwtAuthenticationFilter;
+import com.tss.springsecurity.security.BoundedPasswordEncoder;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -23,6 +24,22 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    // Operations endpoints that delete, rebuild or bulk-write data; only an admin token may call them
+    private static final String[] ADMIN_OPERATIONS = {
+            "/api/admin/data-retention/**",
+            "/api/admin/datasource-pools/**",
+            "/api/admin/second-level-cache/**",
+            "/api/external-fraud/bulk/load",
+            "/api/external-fraud/test/identifier-hash-backfill",
+            "/api/external-fraud/bulk/profiles/rebuild",
+            "/api/compliance-officer/watchlists/reload",
+            "/api/compliance-officer/blacklist/rebuild",
+            "/api/fraud-detection/rings/rebuild",
+            "/api/v2/fraud-detection/plan/recompile",
+            "/api/admin/loan-assignments/router/reconcile",
+            "/api/auth/metrics/**"
+    };
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
 
@@ -32,6 +49,8 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(auth -> auth
+                // Checked first: the public /api/** rule below would otherwise match them
+                .requestMatchers(ADMIN_OPERATIONS).hasRole("ADMIN")
                 // Public endpoints - no authentication required
                 .requestMatchers(
                     "/api/admin/auth/register",
@@ -67,9 +86,13 @@ public class SecurityConfig {
         return http.build();
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(@Value("${app.security.bcrypt-strength:10}") int bcryptStrength,
+                                                  AuthThrottlingProperties throttlingProperties) {
+        // Hashes with a lower cost are re-encoded on the next successful login
+        AuthThrottlingProperties.Hashing hashing = throttlingProperties.getHashing();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength),
+                hashing.getThreads(), hashing.getQueueCapacity(), hashing.getTimeoutMs());
     }
 
     @Bean
@@ -0,0 +1,40 @@
+package com.tss.springsecurity.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.synthetic-data")
+public class SyntheticDataProperties {
+
+    // Generation writes straight into the configured databases; keep off outside local setups
+    private boolean enabled = false;
+
+    // Seed of the generated values; applicant N is identical across runs with the same seed
+    private long seed = 42;
+
+    // Applicants written (with all their child rows) per JDBC batch and transaction
+    private int batchSize = 1000;
+
+    // Largest run a single request may ask for
+    private long maxApplicants = 10_000_000;
+
+    // Share of applicants that reuse the PAN/Aadhaar/phone of another applicant
+    private double duplicateRate = 0.02;
+
+    // Applicants per duplicate cluster
+    private int clusterSize = 3;
+
+    // Other documents (payslip, bank statement, ITR, ...) per applicant and their OCR text length
+    private int documentsPerApplicant = 4;
+    private int ocrChars = 2000;
+
+    // Base URL the load driver sends traffic to
+    private String loadBaseUrl = "http://localhost:8080";
+
+    // Upper bounds for a single load run
+    private int loadMaxThreads = 256;
+    private int loadMaxDurationSeconds = 3600;
+}
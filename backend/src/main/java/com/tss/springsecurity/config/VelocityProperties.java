@@ -0,0 +1,66 @@
+package com.tss.springsecurity.config;
+
+import com.tss.springsecurity.velocity.VelocityDimension;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.velocity")
+public class VelocityProperties {
+
+    private boolean enabled = true;
+
+    // Counters are written here periodically and on shutdown, and read back at startup
+    private String snapshotFile = "velocity/velocity-counters.bin";
+    private long snapshotIntervalMs = 60000;
+
+    // Request header carrying a client device fingerprint, when the frontend sends one
+    private String deviceHeader = "X-Device-Id";
+
+    // Identifiers tracked per dimension; new identifiers are ignored beyond this until idle ones expire
+    private int maxKeysPerDimension = 500000;
+
+    // "More than <threshold> applications in <windowMinutes>", counted in <buckets> slices
+    private Window phone = new Window(1440, 24, 3, 40);
+    private Window email = new Window(1440, 24, 3, 40);
+    private Window pan = new Window(1440, 24, 3, 50);
+    private Window device = new Window(1440, 24, 3, 40);
+    private Window ip = new Window(1440, 24, 3, 30);
+    private Window employer = new Window(60, 12, 20, 30);
+
+    public Window forDimension(VelocityDimension dimension) {
+        return switch (dimension) {
+            case PHONE -> phone;
+            case EMAIL -> email;
+            case PAN -> pan;
+            case DEVICE -> device;
+            case IP -> ip;
+            case EMPLOYER -> employer;
+        };
+    }
+
+    @Data
+    public static class Window {
+        private int windowMinutes;
+        private int buckets;
+        private int threshold;
+        // Points when no active fraud_rule_definition row overrides them
+        private int fraudPoints;
+
+        public Window() {
+        }
+
+        public Window(int windowMinutes, int buckets, int threshold, int fraudPoints) {
+            this.windowMinutes = windowMinutes;
+            this.buckets = buckets;
+            this.threshold = threshold;
+            this.fraudPoints = fraudPoints;
+        }
+
+        public long getBucketMillis() {
+            return Math.max(1000L, windowMinutes * 60_000L / Math.max(1, buckets));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.tss.springsecurity.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.watchlist-screening")
+public class WatchlistScreeningProperties {
+
+    private boolean enabled = true;
+
+    // Folder with sanctions / PEP list files (.csv, .ndjson, .jsonl, optionally .gz).
+    // The file base name is the list source when a record has none (ofac.csv -> OFAC).
+    private String directory = "watchlists";
+
+    // How often the list folder is checked for changed files; 0 disables polling
+    private long refreshIntervalMs = 60000;
+
+    // Lowest score (0-100) reported as a match
+    private int matchThreshold = 85;
+
+    // Max matches returned per screened name
+    private int maxResults = 10;
+
+    // Points added to the identity fraud score per hit
+    private int sanctionsFraudPoints = 100;
+    private int pepFraudPoints = 30;
+}
@@ -97,10 +97,11 @@ public class ActivityLogController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<ActivityLog> activities = activityLogService.getActivitiesByDateRange(startDate, endDate, pageable);
+        Page<ActivityLog> activities = activityLogService.getActivitiesByDateRange(startDate, endDate, includeArchived, pageable);
         return ResponseEntity.ok(activities);
     }
     
@@ -2,7 +2,10 @@ package com.tss.springsecurity.controller;
 
 import com.tss.springsecurity.dto.ApprovalResponse;
 import com.tss.springsecurity.service.ApplicantAuthService;
+import com.tss.springsecurity.util.Pagination;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,9 +21,12 @@ public class AdminApprovalController {
     private final ApplicantAuthService applicantAuthService;
 
     @GetMapping("/pending")
-    public ResponseEntity<List<ApprovalResponse>> getPendingApprovals() {
-        List<ApprovalResponse> pendingApprovals = applicantAuthService.getPendingApprovals();
-        return ResponseEntity.ok(pendingApprovals);
+    public ResponseEntity<List<ApprovalResponse>> getPendingApprovals(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        Page<ApprovalResponse> pendingApprovals = applicantAuthService.getPendingApprovals(
+                Pagination.of(page, size, Sort.by("applicantId")));
+        return ResponseEntity.ok(pendingApprovals.getContent());
     }
 
     @PutMapping("/{applicantId}/approve")
@@ -5,24 +5,22 @@ import com.tss.springsecurity.dto.AdminLoginRequest;
 import com.tss.springsecurity.dto.AdminRegisterRequest;
 import com.tss.springsecurity.dto.ApplicantSummaryDTO;
 import com.tss.springsecurity.dto.DashboardStatsResponse;
-import com.tss.springsecurity.entity.Applicant;
-import com.tss.springsecurity.entity.UploadedDocument;
+import com.tss.springsecurity.exception.TooManyRequestsException;
 import com.tss.springsecurity.service.AdminService;
 import com.tss.springsecurity.service.ApplicantService;
-import com.tss.springsecurity.service.CloudinaryService;
-import com.tss.springsecurity.service.DocumentUploadService;
+import com.tss.springsecurity.util.Pagination;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @CrossOrigin(origins = {"http://localhost:4200", "http://127.0.0.1:4200"}, allowCredentials = "true")
@@ -31,8 +29,6 @@ public class AdminController {
 
     private final AdminService adminService;
     private final ApplicantService applicantService;
-    private final CloudinaryService cloudinaryService;
-    private final DocumentUploadService documentUploadService;
 
     // Auth endpoints
     @PostMapping("/api/admin/auth/register")
@@ -51,6 +47,10 @@ public class AdminController {
         try {
             AdminAuthResponse response = adminService.login(loginRequest);
             return ResponseEntity.ok(response);
+        } catch (TooManyRequestsException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(new ErrorResponse(e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ErrorResponse(e.getMessage()));
@@ -80,7 +80,7 @@ public class AdminController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         try {
-            Pageable pageable = PageRequest.of(page, size);
+            Pageable pageable = Pagination.of(page, size, Sort.by("applicantId"));
             Page<ApplicantSummaryDTO> applicants = applicantService.getAllApplicantsSummary(pageable);
             return ResponseEntity.ok(applicants);
         } catch (RuntimeException e) {
@@ -91,9 +91,9 @@ public class AdminController {
 
     @GetMapping("/api/admin/applicants/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Applicant> getApplicantById(@PathVariable Long id) {
+    public ResponseEntity<ApplicantSummaryDTO> getApplicantById(@PathVariable Long id) {
         try {
-            Applicant applicant = applicantService.getApplicantById(id);
+            ApplicantSummaryDTO applicant = applicantService.getApplicantSummary(id);
             return ResponseEntity.ok(applicant);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -130,10 +130,14 @@ public class AdminController {
 
     @GetMapping("/api/admin/applicants/search")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Applicant>> searchApplicants(@RequestParam String q) {
+    public ResponseEntity<List<ApplicantSummaryDTO>> searchApplicants(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
         try {
-            List<Applicant> applicants = applicantService.searchApplicants(q);
-            return ResponseEntity.ok(applicants);
+            Page<ApplicantSummaryDTO> applicants = applicantService.searchApplicants(
+                    q, Pagination.of(page, size, Sort.by("applicantId")));
+            return ResponseEntity.ok(applicants.getContent());
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(null);
@@ -142,57 +146,22 @@ public class AdminController {
 
     @GetMapping("/api/admin/applicants/filter")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Applicant>> filterApplicants(@RequestParam String status) {
+    public ResponseEntity<List<ApplicantSummaryDTO>> filterApplicants(
+            @RequestParam String status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
         try {
-            List<Applicant> applicants = applicantService.filterApplicantsByStatus(status);
-            return ResponseEntity.ok(applicants);
+            Page<ApplicantSummaryDTO> applicants = applicantService.filterApplicantsByStatus(
+                    status, Pagination.of(page, size, Sort.by("applicantId")));
+            return ResponseEntity.ok(applicants.getContent());
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(null);
         }
     }
 
-    /**
-     * Fix Cloudinary access for existing documents
-     * Makes all private documents public to resolve 401 errors
-     */
-    @PostMapping("/api/admin/fix-cloudinary-access")
-    @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> fixCloudinaryAccess() {
-        try {
-            // Get all documents from database through service
-            List<UploadedDocument> allDocuments = documentUploadService.getAllDocuments();
-            
-            if (allDocuments.isEmpty()) {
-                return ResponseEntity.ok(new FixCloudinaryResponse(
-                    0, 0, "No documents found in database"
-                ));
-            }
-            
-            // Extract Cloudinary URLs
-            List<String> cloudinaryUrls = allDocuments.stream()
-                .map(UploadedDocument::getCloudinaryUrl)
-                .filter(url -> url != null && !url.isEmpty())
-                .collect(Collectors.toList());
-            
-            // Make all documents public
-            int successCount = cloudinaryService.makeAllDocumentsPublic(cloudinaryUrls);
-            
-            return ResponseEntity.ok(new FixCloudinaryResponse(
-                cloudinaryUrls.size(),
-                successCount,
-                "Successfully updated " + successCount + " out of " + cloudinaryUrls.size() + " documents to public access"
-            ));
-            
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(new ErrorResponse("Failed to fix Cloudinary access: " + e.getMessage()));
-        }
-    }
-
     // Inner classes for responses
     private record ErrorResponse(String message) {}
     private record SuccessResponse(String message) {}
     private record ApprovalRequest(String comments) {}
-    private record FixCloudinaryResponse(int totalDocuments, int successCount, String message) {}
 }
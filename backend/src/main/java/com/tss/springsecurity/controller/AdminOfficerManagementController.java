@@ -4,8 +4,11 @@ import com.tss.springsecurity.dto.ComplianceOfficerRequest;
 import com.tss.springsecurity.dto.LoanOfficerRequest;
 import com.tss.springsecurity.dto.OfficerResponse;
 import com.tss.springsecurity.service.OfficerManagementService;
+import com.tss.springsecurity.util.Pagination;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -33,9 +36,12 @@ public class AdminOfficerManagementController {
     }
 
     @GetMapping("/loan-officers")
-    public ResponseEntity<List<OfficerResponse>> getAllLoanOfficers() {
-        List<OfficerResponse> officers = officerManagementService.getAllLoanOfficers();
-        return ResponseEntity.ok(officers);
+    public ResponseEntity<List<OfficerResponse>> getAllLoanOfficers(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        Page<OfficerResponse> officers = officerManagementService.getAllLoanOfficers(
+                Pagination.of(page, size, Sort.by("officerId")));
+        return ResponseEntity.ok(officers.getContent());
     }
 
     @GetMapping("/loan-officers/{id}")
@@ -74,9 +80,12 @@ public class AdminOfficerManagementController {
     }
 
     @GetMapping("/compliance-officers")
-    public ResponseEntity<List<OfficerResponse>> getAllComplianceOfficers() {
-        List<OfficerResponse> officers = officerManagementService.getAllComplianceOfficers();
-        return ResponseEntity.ok(officers);
+    public ResponseEntity<List<OfficerResponse>> getAllComplianceOfficers(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        Page<OfficerResponse> officers = officerManagementService.getAllComplianceOfficers(
+                Pagination.of(page, size, Sort.by("officerId")));
+        return ResponseEntity.ok(officers.getContent());
     }
 
     @GetMapping("/compliance-officers/{id}")
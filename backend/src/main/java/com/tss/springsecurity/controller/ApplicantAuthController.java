@@ -4,9 +4,11 @@ import com.tss.springsecurity.dto.ApplicantAuthResponse;
 import com.tss.springsecurity.dto.ApplicantLoginRequest;
 import com.tss.springsecurity.dto.ApplicantRegisterRequest;
 import com.tss.springsecurity.dto.VerifyOtpRequest;
+import com.tss.springsecurity.exception.TooManyRequestsException;
 import com.tss.springsecurity.service.ApplicantAuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +26,10 @@ public class ApplicantAuthController {
             String message = applicantAuthService.registerApplicant(request);
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(new SuccessResponse(message));
+        } catch (TooManyRequestsException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(new ErrorResponse(e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(new ErrorResponse(e.getMessage()));
@@ -57,6 +63,10 @@ public class ApplicantAuthController {
         try {
             ApplicantAuthResponse response = applicantAuthService.login(request);
             return ResponseEntity.ok(response);
+        } catch (TooManyRequestsException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(new ErrorResponse(e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ErrorResponse(e.getMessage()));
@@ -0,0 +1,319 @@
+package com.tss.springsecurity.controller;
+
+import com.tss.springsecurity.cache.SecondLevelCaches;
+import com.tss.springsecurity.datasource.DataSourcePools;
+import com.tss.springsecurity.datasource.ReadReplicaRouter;
+import com.tss.springsecurity.externalfraud.service.PersonLookupService;
+import com.tss.springsecurity.fraud.benchmark.FraudEngineBenchmarkService;
+import com.tss.springsecurity.fraud.benchmark.RescreenBenchmarkService;
+import com.tss.springsecurity.fraud.ring.FraudRingService;
+import com.tss.springsecurity.fraud.telemetry.RuleTelemetryService;
+import com.tss.springsecurity.routing.OfficerRouter;
+import com.tss.springsecurity.screening.IdentifierBlacklistService;
+import com.tss.springsecurity.screening.WatchlistScreeningService;
+import com.tss.springsecurity.service.ApplicantService;
+import com.tss.springsecurity.service.ComprehensiveLoanViewService;
+import com.tss.springsecurity.synthetic.LoadDriverService;
+import com.tss.springsecurity.synthetic.SyntheticDataGenerator;
+import com.tss.springsecurity.util.Pagination;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Benchmarks and load tooling. They run heavy work on demand, reset metrics
+ * and caches or write synthetic rows, so they are only mapped when the
+ * application runs with the {@code benchmark} profile
+ * ({@code spring.profiles.active=benchmark}) and never in a normal deployment.
+ */
+@RestController
+@Profile("benchmark")
+@RequestMapping("/api/benchmark")
+@RequiredArgsConstructor
+public class BenchmarkController {
+
+    private final RescreenBenchmarkService rescreenBenchmarkService;
+    private final PersonLookupService personLookupService;
+    private final WatchlistScreeningService watchlistScreeningService;
+    private final IdentifierBlacklistService identifierBlacklistService;
+    private final FraudRingService fraudRingService;
+    private final RuleTelemetryService ruleTelemetryService;
+    private final FraudEngineBenchmarkService engineBenchmarkService;
+    private final SyntheticDataGenerator syntheticDataGenerator;
+    private final LoadDriverService loadDriverService;
+    private final OfficerRouter officerRouter;
+    private final DataSourcePools dataSourcePools;
+    private final ReadReplicaRouter readReplicaRouter;
+    private final ComprehensiveLoanViewService comprehensiveLoanViewService;
+    private final SecondLevelCaches secondLevelCaches;
+    private final ApplicantService applicantService;
+
+    /**
+     * Identifier lookup latency (p50/p95/p99) on the loaded dataset: hashed-index
+     * lookups for random persons vs. a handful of raw-column lookups
+     */
+    @GetMapping("/identifier-lookup")
+    public ResponseEntity<Map<String, Object>> benchmarkIdentifierLookup(
+            @RequestParam(defaultValue = "1000") int samples,
+            @RequestParam(defaultValue = "5") int rawSamples) {
+        try {
+            return new ResponseEntity<>(personLookupService.benchmarkLookups(
+                    Math.max(1, Math.min(samples, 100000)), Math.max(0, Math.min(rawSamples, 100))), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return error("Identifier lookup benchmark failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Screen an applicant fully, then incrementally after a simulated document resubmission and
+     * with nothing changed; read-only, no flags are saved
+     */
+    @GetMapping("/rescreen/{applicantId}")
+    public ResponseEntity<Map<String, Object>> benchmarkRescreen(
+            @PathVariable Long applicantId,
+            @RequestParam(defaultValue = "50") int iterations) {
+        try {
+            return new ResponseEntity<>(rescreenBenchmarkService.benchmark(applicantId,
+                    Math.max(1, Math.min(iterations, 1000))), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return error("Re-screening benchmark failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Per-name screening latency against the loaded watchlists
+     */
+    @GetMapping("/watchlists")
+    public ResponseEntity<Map<String, Object>> benchmarkWatchlistScreening(
+            @RequestParam(defaultValue = "1000") int samples) {
+        return new ResponseEntity<>(watchlistScreeningService.benchmark(Math.max(1, Math.min(samples, 100000))),
+                HttpStatus.OK);
+    }
+
+    /**
+     * Lookup latency against the mapped PAN / Aadhaar blacklist
+     */
+    @GetMapping("/blacklist")
+    public ResponseEntity<Map<String, Object>> benchmarkBlacklist(
+            @RequestParam(defaultValue = "100000") int samples) {
+        return new ResponseEntity<>(identifierBlacklistService.benchmark(Math.max(1, Math.min(samples, 10000000))),
+                HttpStatus.OK);
+    }
+
+    /**
+     * Fraud ring link and lookup cost on a synthetic graph of the given number of applicants
+     */
+    @GetMapping("/rings")
+    public ResponseEntity<Map<String, Object>> benchmarkFraudRings(
+            @RequestParam(defaultValue = "1000000") int applicants) {
+        return new ResponseEntity<>(fraudRingService.benchmark(Math.max(1, Math.min(applicants, 5000000))),
+                HttpStatus.OK);
+    }
+
+    /**
+     * Cost of the rule telemetry wrapper per check, and as a share of the screening time recorded so far
+     */
+    @GetMapping("/telemetry")
+    public ResponseEntity<Map<String, Object>> benchmarkRuleTelemetry(
+            @RequestParam(defaultValue = "1000000") int iterations) {
+        return new ResponseEntity<>(ruleTelemetryService.benchmark(Math.max(1000, Math.min(iterations, 50000000))),
+                HttpStatus.OK);
+    }
+
+    /**
+     * Clear all rule telemetry counters, timers and traces before a measured run
+     */
+    @PostMapping("/telemetry/reset")
+    public ResponseEntity<Map<String, Object>> resetRuleTelemetry() {
+        ruleTelemetryService.reset();
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Time every fraud engine, the risk scoring and the OCR extractors over a synthetic in-memory applicant graph;
+     * the report is also appended to the benchmark results file
+     */
+    @GetMapping("/engines")
+    public ResponseEntity<Map<String, Object>> benchmarkEngines(
+            @RequestParam(defaultValue = "2000") int applicants,
+            @RequestParam(defaultValue = "6") int documents,
+            @RequestParam(defaultValue = "8000") int ocrChars,
+            @RequestParam(defaultValue = "0.05") double duplicateRate) {
+        try {
+            return new ResponseEntity<>(engineBenchmarkService.run(Math.max(100, applicants),
+                    Math.max(0, Math.min(documents, 32)), Math.max(0, Math.min(ocrChars, 200000)),
+                    Math.max(0.0, Math.min(duplicateRate, 1.0))), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return error("Engine benchmark failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stream {@code count} deterministic synthetic applicants (and their bureau records) into the local databases
+     */
+    @PostMapping("/synthetic/generate")
+    public ResponseEntity<Map<String, Object>> generateSyntheticData(
+            @RequestParam(defaultValue = "10000") long count,
+            @RequestParam(required = false) Long startIndex,
+            @RequestParam(defaultValue = "true") boolean includeExternal) {
+        try {
+            return new ResponseEntity<>(syntheticDataGenerator.generate(count, startIndex, includeExternal),
+                    HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return error(HttpStatus.BAD_REQUEST, "Error generating synthetic data: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/synthetic/status")
+    public ResponseEntity<Map<String, Object>> getSyntheticDataStatus() {
+        return new ResponseEntity<>(syntheticDataGenerator.getStatus(), HttpStatus.OK);
+    }
+
+    /**
+     * Replay intake, screening and dashboard traffic against a running instance and report throughput and latency
+     */
+    @PostMapping("/synthetic/load")
+    public ResponseEntity<Map<String, Object>> runLoad(@RequestBody LoadDriverService.LoadRequest request) {
+        try {
+            return new ResponseEntity<>(loadDriverService.run(request), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return error(HttpStatus.BAD_REQUEST, "Error running load: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Concurrent officer router pick benchmark against a scratch pool; touches no real officers
+     */
+    @GetMapping("/router")
+    public ResponseEntity<Map<String, Object>> benchmarkRouter(
+            @RequestParam(required = false) String policy,
+            @RequestParam(defaultValue = "32") int threads,
+            @RequestParam(defaultValue = "10000") int picksPerThread,
+            @RequestParam(defaultValue = "50") int officers) {
+        if (threads < 1 || picksPerThread < 2 || officers < 1) {
+            return error(HttpStatus.BAD_REQUEST, "threads and officers must be positive, picksPerThread at least 2");
+        }
+        return new ResponseEntity<>(officerRouter.benchmark(policy, threads, picksPerThread, officers), HttpStatus.OK);
+    }
+
+    /**
+     * Interactive latency while bulk workers hold connections, with a shared pool and with isolated pools
+     */
+    @GetMapping("/isolation")
+    public ResponseEntity<Map<String, Object>> benchmarkPoolIsolation(
+            @RequestParam(defaultValue = "lms") String database,
+            @RequestParam(defaultValue = "24") int bulkWorkers,
+            @RequestParam(defaultValue = "500") long bulkHoldMs,
+            @RequestParam(defaultValue = "16") int interactiveWorkers,
+            @RequestParam(defaultValue = "200") int requestsPerWorker) {
+        if (bulkWorkers < 1 || bulkHoldMs < 1 || interactiveWorkers < 1 || requestsPerWorker < 1
+                || bulkWorkers > 256 || interactiveWorkers > 256) {
+            return error(HttpStatus.BAD_REQUEST,
+                    "Worker counts must be between 1 and 256, bulkHoldMs and requestsPerWorker positive");
+        }
+        try {
+            return new ResponseEntity<>(dataSourcePools.isolationBenchmark(
+                    database, bulkWorkers, bulkHoldMs, interactiveWorkers, requestsPerWorker), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Clear pool and replica routing percentiles before a measured run
+     */
+    @PostMapping("/datasource-pools/reset-metrics")
+    public ResponseEntity<Map<String, Object>> resetPoolMetrics() {
+        dataSourcePools.resetMetrics();
+        readReplicaRouter.resetMetrics();
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Pool metrics reset");
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Check replica lag now instead of waiting for the next scheduled check
+     */
+    @PostMapping("/replica/check")
+    public ResponseEntity<Map<String, Object>> checkReplica() {
+        readReplicaRouter.checkLag();
+        return new ResponseEntity<>(readReplicaRouter.getStatus(), HttpStatus.OK);
+    }
+
+    /**
+     * Statements per uncached comprehensive loan view and latency of uncached vs cached views
+     */
+    @GetMapping("/comprehensive-view/{loanId}")
+    public ResponseEntity<Map<String, Object>> benchmarkComprehensiveLoanView(
+            @PathVariable Long loanId,
+            @RequestParam(defaultValue = "50") int iterations) {
+        if (iterations < 1 || iterations > 10_000) {
+            return error(HttpStatus.BAD_REQUEST, "iterations must be between 1 and 10000");
+        }
+        try {
+            return new ResponseEntity<>(comprehensiveLoanViewService.benchmark(loanId, iterations), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return error(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    /**
+     * Clear second-level cache hit and miss counters before a measured run
+     */
+    @PostMapping("/second-level-cache/reset-metrics")
+    public ResponseEntity<Map<String, Object>> resetSecondLevelCacheMetrics() {
+        secondLevelCaches.resetMetrics();
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Second-level cache metrics reset");
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Drop every cached entity and query result, e.g. for a cold-cache run or after editing reference data with
+     * plain SQL
+     */
+    @PostMapping("/second-level-cache/evict")
+    public ResponseEntity<Map<String, Object>> evictSecondLevelCaches() {
+        secondLevelCaches.evictAll();
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Second-level caches evicted");
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Statements, payload bytes and latency per applicant page, entities vs summary projection
+     */
+    @GetMapping("/read-model")
+    public ResponseEntity<Map<String, Object>> benchmarkReadModel(
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "50") int pages) {
+        if (size < 1 || size > Pagination.MAX_PAGE_SIZE || pages < 1 || pages > 1000) {
+            return error(HttpStatus.BAD_REQUEST, "size must be 1-" + Pagination.MAX_PAGE_SIZE + " and pages 1-1000");
+        }
+        return new ResponseEntity<>(applicantService.readModelBenchmark(size, pages), HttpStatus.OK);
+    }
+
+    private static ResponseEntity<Map<String, Object>> error(String message) {
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, message);
+    }
+
+    private static ResponseEntity<Map<String, Object>> error(HttpStatus status, String message) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("success", false);
+        error.put("message", message);
+        return new ResponseEntity<>(error, status);
+    }
+}
@@ -0,0 +1,80 @@
+package com.tss.springsecurity.controller;
+
+import com.tss.springsecurity.entity.UploadedDocument;
+import com.tss.springsecurity.service.CloudinaryService;
+import com.tss.springsecurity.service.DocumentUploadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * One-off Cloudinary repair. It changes the access mode of every stored
+ * document, so it is only mapped when {@code app.admin-maintenance.enabled=true};
+ * turn the property on for the run and off again afterwards.
+ */
+@RestController
+@ConditionalOnProperty(name = "app.admin-maintenance.enabled", havingValue = "true", matchIfMissing = false)
+@CrossOrigin(origins = {"http://localhost:4200", "http://127.0.0.1:4200"}, allowCredentials = "true")
+@RequiredArgsConstructor
+public class CloudinaryMaintenanceController {
+
+    private final CloudinaryService cloudinaryService;
+    private final DocumentUploadService documentUploadService;
+
+    /**
+     * Fix Cloudinary access for existing documents
+     * Makes all private documents public to resolve 401 errors
+     */
+    @PostMapping("/api/admin/fix-cloudinary-access")
+    public ResponseEntity<?> fixCloudinaryAccess() {
+        try {
+            // Walk the documents a page at a time instead of loading the whole table
+            Pageable pageable = PageRequest.of(0, 500, Sort.by("documentId"));
+            Page<UploadedDocument> documents;
+            int totalUrls = 0;
+            int successCount = 0;
+            do {
+                documents = documentUploadService.getAllDocuments(pageable);
+
+                // Extract Cloudinary URLs
+                List<String> cloudinaryUrls = documents.stream()
+                    .map(UploadedDocument::getCloudinaryUrl)
+                    .filter(url -> url != null && !url.isEmpty())
+                    .collect(Collectors.toList());
+
+                // Make this page's documents public
+                totalUrls += cloudinaryUrls.size();
+                successCount += cloudinaryService.makeAllDocumentsPublic(cloudinaryUrls);
+                pageable = documents.nextPageable();
+            } while (documents.hasNext());
+
+            if (documents.getTotalElements() == 0) {
+                return ResponseEntity.ok(new FixCloudinaryResponse(
+                    0, 0, "No documents found in database"
+                ));
+            }
+
+            return ResponseEntity.ok(new FixCloudinaryResponse(
+                totalUrls,
+                successCount,
+                "Successfully updated " + successCount + " out of " + totalUrls + " documents to public access"
+            ));
+
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Failed to fix Cloudinary access: " + e.getMessage()));
+        }
+    }
+
+    private record ErrorResponse(String message) {}
+    private record FixCloudinaryResponse(int totalDocuments, int successCount, String message) {}
+}
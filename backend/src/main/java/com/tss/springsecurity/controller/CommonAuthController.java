@@ -4,13 +4,20 @@ import com.tss.springsecurity.dto.CommonLoginRequest;
 import com.tss.springsecurity.dto.CommonAuthResponse;
 import com.tss.springsecurity.dto.ForgotPasswordRequest;
 import com.tss.springsecurity.dto.ResetPasswordRequest;
+import com.tss.springsecurity.exception.TooManyRequestsException;
+import com.tss.springsecurity.security.BoundedPasswordEncoder;
+import com.tss.springsecurity.security.LoginRateLimiter;
 import com.tss.springsecurity.service.CommonAuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "http://localhost:4200", allowCredentials = "true")
@@ -18,18 +25,37 @@ import org.springframework.web.bind.annotation.*;
 public class CommonAuthController {
 
     private final CommonAuthService commonAuthService;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final LoginRateLimiter loginRateLimiter;
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody CommonLoginRequest loginRequest) {
         try {
             CommonAuthResponse response = commonAuthService.login(loginRequest);
             return ResponseEntity.ok(response);
+        } catch (TooManyRequestsException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(new ErrorResponse(e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ErrorResponse(e.getMessage()));
         }
     }
 
+    @GetMapping("/metrics/login")
+    public ResponseEntity<Map<String, Object>> getLoginMetrics() {
+        return ResponseEntity.ok(commonAuthService.getLoginMetrics());
+    }
+
+    @GetMapping("/metrics/password-hashing")
+    public ResponseEntity<Map<String, Object>> getPasswordHashingMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("hashingPool", passwordEncoder.getStatistics());
+        metrics.put("rateLimiter", loginRateLimiter.getStatistics());
+        return ResponseEntity.ok(metrics);
+    }
+
     @PostMapping("/logout")
     public ResponseEntity<?> logout() {
         return ResponseEntity.ok(new SuccessResponse("Logged out successfully"));
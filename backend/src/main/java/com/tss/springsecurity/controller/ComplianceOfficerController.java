@@ -1,6 +1,8 @@
 package com.tss.springsecurity.controller;
 
 import com.tss.springsecurity.dto.*;
+import com.tss.springsecurity.screening.IdentifierBlacklistService;
+import com.tss.springsecurity.screening.WatchlistScreeningService;
 import com.tss.springsecurity.service.LoanOfficerScreeningService;
 import com.tss.springsecurity.service.ComplianceOfficerService;
 import jakarta.validation.Valid;
@@ -17,11 +19,17 @@ public class ComplianceOfficerController {
     
     private final LoanOfficerScreeningService screeningService;
     private final ComplianceOfficerService complianceOfficerService;
+    private final WatchlistScreeningService watchlistScreeningService;
+    private final IdentifierBlacklistService identifierBlacklistService;
     
     public ComplianceOfficerController(LoanOfficerScreeningService screeningService, 
-                                     ComplianceOfficerService complianceOfficerService) {
+                                     ComplianceOfficerService complianceOfficerService,
+                                     WatchlistScreeningService watchlistScreeningService,
+                                     IdentifierBlacklistService identifierBlacklistService) {
         this.screeningService = screeningService;
         this.complianceOfficerService = complianceOfficerService;
+        this.watchlistScreeningService = watchlistScreeningService;
+        this.identifierBlacklistService = identifierBlacklistService;
     }
     
     @GetMapping("/escalations")
@@ -279,6 +287,48 @@ public class ComplianceOfficerController {
         }
     }
     
+    /**
+     * Loaded sanctions / PEP lists
+     */
+    @GetMapping("/watchlists/status")
+    public ResponseEntity<?> getWatchlistStatus() {
+        return ResponseEntity.ok(watchlistScreeningService.getStatus());
+    }
+    
+    /**
+     * Reload the sanctions / PEP list files and swap in the new index
+     */
+    @PostMapping("/watchlists/reload")
+    public ResponseEntity<?> reloadWatchlists() {
+        try {
+            return ResponseEntity.ok(watchlistScreeningService.reload(true));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
+    /**
+     * Mapped PAN / Aadhaar blacklist file
+     */
+    @GetMapping("/blacklist/status")
+    public ResponseEntity<?> getBlacklistStatus() {
+        return ResponseEntity.ok(identifierBlacklistService.getStatus());
+    }
+    
+    /**
+     * Merge new confirmed-fraud flags and list dumps now; full=true re-reads every flag
+     */
+    @PostMapping("/blacklist/rebuild")
+    public ResponseEntity<?> rebuildBlacklist(@RequestParam(defaultValue = "false") boolean full) {
+        try {
+            return ResponseEntity.ok(identifierBlacklistService.refresh(full));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
     // ==================== Risk Correlation Analysis ====================
     
     /**
@@ -362,9 +412,10 @@ public class ComplianceOfficerController {
      * Get external fraud data for an applicant
      */
     @GetMapping("/applicant/{applicantId}/external-fraud-data")
-    public ResponseEntity<?> getExternalFraudData(@PathVariable Long applicantId) {
+    public ResponseEntity<?> getExternalFraudData(@PathVariable Long applicantId,
+                                                  @RequestParam(defaultValue = "true") boolean includeDetails) {
         try {
-            Map<String, Object> externalData = complianceOfficerService.getExternalFraudData(applicantId);
+            Map<String, Object> externalData = complianceOfficerService.getExternalFraudData(applicantId, includeDetails);
             return ResponseEntity.ok(externalData);
         } catch (Exception e) {
 //            log.error("Error fetching external fraud data for applicant ID: {}", applicantId, e);
@@ -392,9 +443,10 @@ public class ComplianceOfficerController {
      * Get external person details by person ID from external database
      */
     @GetMapping("/external-person/{personId}")
-    public ResponseEntity<?> getExternalPersonDetails(@PathVariable Long personId) {
+    public ResponseEntity<?> getExternalPersonDetails(@PathVariable Long personId,
+                                                      @RequestParam(defaultValue = "true") boolean includeDetails) {
         try {
-            Map<String, Object> personDetails = complianceOfficerService.getExternalPersonDetails(personId);
+            Map<String, Object> personDetails = complianceOfficerService.getExternalPersonDetails(personId, includeDetails);
             return ResponseEntity.ok(personDetails);
         } catch (Exception e) {
 //            log.error("Error fetching external person details for person ID: {}", personId, e);
@@ -0,0 +1,44 @@
+package com.tss.springsecurity.controller;
+
+import com.tss.springsecurity.entity.DataArchiveSegment;
+import com.tss.springsecurity.service.DataArchiveService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/data-retention")
+@PreAuthorize("hasRole('ADMIN')")
+@CrossOrigin(origins = {"http://localhost:4200", "http://127.0.0.1:4200"}, allowCredentials = "true")
+@RequiredArgsConstructor
+public class DataRetentionController {
+    
+    private final DataArchiveService dataArchiveService;
+    
+    /**
+     * List archived monthly segments for a table (activity_log or fraud_flags)
+     */
+    @GetMapping("/segments/{tableName}")
+    public ResponseEntity<Map<String, Object>> getSegments(@PathVariable String tableName) {
+        List<DataArchiveSegment> segments = dataArchiveService.getSegments(tableName);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("tableName", tableName);
+        response.put("hotCutoff", dataArchiveService.getHotCutoff(tableName));
+        response.put("segments", segments);
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Run the archiver immediately instead of waiting for the nightly schedule
+     */
+    @PostMapping("/run")
+    public ResponseEntity<Map<String, Object>> runArchiver() {
+        return ResponseEntity.ok(dataArchiveService.archiveColdData());
+    }
+}
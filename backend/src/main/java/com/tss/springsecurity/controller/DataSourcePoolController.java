@@ -0,0 +1,37 @@
+package com.tss.springsecurity.controller;
+
+import com.tss.springsecurity.datasource.DataSourcePools;
+import com.tss.springsecurity.datasource.ReadReplicaRouter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/datasource-pools")
+@PreAuthorize("hasRole('ADMIN')")
+@CrossOrigin(origins = {"http://localhost:4200", "http://127.0.0.1:4200"}, allowCredentials = "true")
+@RequiredArgsConstructor
+public class DataSourcePoolController {
+
+    private final DataSourcePools dataSourcePools;
+    private final ReadReplicaRouter readReplicaRouter;
+
+    /**
+     * Size, live usage, acquire-wait and hold-time percentiles of every connection pool
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getPools() {
+        return ResponseEntity.ok(dataSourcePools.getStatus());
+    }
+
+    /**
+     * Replica health, lag and connection counts per read/write route
+     */
+    @GetMapping("/replica")
+    public ResponseEntity<Map<String, Object>> getReplicaStatus() {
+        return ResponseEntity.ok(readReplicaRouter.getStatus());
+    }
+}
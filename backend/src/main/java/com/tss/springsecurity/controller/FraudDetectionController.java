@@ -1,5 +1,6 @@
 package com.tss.springsecurity.controller;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -10,21 +11,45 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.tss.springsecurity.dto.FraudFlagResponse;
 import com.tss.springsecurity.entity.FraudFlag;
 import com.tss.springsecurity.fraud.FraudDetectionResult;
 import com.tss.springsecurity.fraud.FraudDetectionService;
+import com.tss.springsecurity.fraud.incremental.IncrementalScreeningService;
+import com.tss.springsecurity.fraud.ring.FraudRingReport;
+import com.tss.springsecurity.fraud.ring.FraudRingService;
+import com.tss.springsecurity.fraud.telemetry.RuleTelemetryService;
+import com.tss.springsecurity.fraud.telemetry.RuleTrace;
+import com.tss.springsecurity.service.DataArchiveService;
+import com.tss.springsecurity.velocity.VelocityHit;
+import com.tss.springsecurity.velocity.VelocityService;
 
 @RestController
 @RequestMapping("/api/fraud-detection")
 public class FraudDetectionController {
     
     private final FraudDetectionService fraudDetectionService;
+    private final DataArchiveService dataArchiveService;
+    private final FraudRingService fraudRingService;
+    private final VelocityService velocityService;
+    private final RuleTelemetryService ruleTelemetryService;
+    private final IncrementalScreeningService incrementalScreeningService;
     
-    public FraudDetectionController(FraudDetectionService fraudDetectionService) {
+    public FraudDetectionController(FraudDetectionService fraudDetectionService,
+                                    DataArchiveService dataArchiveService,
+                                    FraudRingService fraudRingService,
+                                    VelocityService velocityService,
+                                    RuleTelemetryService ruleTelemetryService,
+                                    IncrementalScreeningService incrementalScreeningService) {
         this.fraudDetectionService = fraudDetectionService;
+        this.dataArchiveService = dataArchiveService;
+        this.fraudRingService = fraudRingService;
+        this.velocityService = velocityService;
+        this.ruleTelemetryService = ruleTelemetryService;
+        this.incrementalScreeningService = incrementalScreeningService;
     }
     
     /**
@@ -181,11 +206,16 @@ public class FraudDetectionController {
      * Get fraud flags for an applicant
      */
     @GetMapping("/flags/applicant/{applicantId}")
-    public ResponseEntity<List<FraudFlagResponse>> getApplicantFraudFlags(@PathVariable Long applicantId) {
+    public ResponseEntity<List<FraudFlagResponse>> getApplicantFraudFlags(
+            @PathVariable Long applicantId,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
         List<FraudFlag> flags = fraudDetectionService.getFraudFlags(applicantId);
-        List<FraudFlagResponse> response = flags.stream()
+        List<FraudFlagResponse> response = new ArrayList<>(flags.stream()
                 .map(this::mapToFraudFlagResponse)
-                .toList();
+                .toList());
+        if (includeArchived) {
+            response.addAll(dataArchiveService.readArchivedFraudFlags(applicantId));
+        }
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
     
@@ -229,6 +259,77 @@ public class FraudDetectionController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
     
+    /**
+     * Connected-component size and ring membership of an applicant
+     */
+    @GetMapping("/rings/applicant/{applicantId}")
+    public ResponseEntity<FraudRingReport> getFraudRing(@PathVariable Long applicantId) {
+        return new ResponseEntity<>(fraudRingService.inspect(applicantId), HttpStatus.OK);
+    }
+    
+    /**
+     * Size of the fraud-ring graph and number of rings
+     */
+    @GetMapping("/rings/status")
+    public ResponseEntity<Map<String, Object>> getFraudRingStatus() {
+        return new ResponseEntity<>(fraudRingService.getStatus(), HttpStatus.OK);
+    }
+    
+    /**
+     * Rebuild the fraud-ring graph from the database now
+     */
+    @PostMapping("/rings/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildFraudRings() {
+        try {
+            return new ResponseEntity<>(fraudRingService.rebuild(), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+    
+    /**
+     * Current application counts for the identifiers an applicant submitted with
+     */
+    @GetMapping("/velocity/applicant/{applicantId}")
+    public ResponseEntity<List<VelocityHit>> getApplicantVelocity(@PathVariable Long applicantId) {
+        return new ResponseEntity<>(velocityService.check(applicantId, null, null, null), HttpStatus.OK);
+    }
+    
+    /**
+     * Tracked identifiers per velocity dimension and the configured limits
+     */
+    @GetMapping("/velocity/status")
+    public ResponseEntity<Map<String, Object>> getVelocityStatus() {
+        return new ResponseEntity<>(velocityService.getStatus(), HttpStatus.OK);
+    }
+    
+    /**
+     * Per-check timers, trigger counts per rule and rules that have never fired, by engine
+     */
+    @GetMapping("/telemetry")
+    public ResponseEntity<Map<String, Object>> getRuleTelemetry() {
+        return new ResponseEntity<>(ruleTelemetryService.getSnapshot(), HttpStatus.OK);
+    }
+    
+    /**
+     * Most recent sampled screenings, step by step
+     */
+    @GetMapping("/telemetry/traces")
+    public ResponseEntity<List<RuleTrace>> getRuleTraces() {
+        return new ResponseEntity<>(ruleTelemetryService.getTraces(), HttpStatus.OK);
+    }
+    
+    /**
+     * Applicants tracked for incremental re-screening and checks re-run versus reused so far
+     */
+    @GetMapping("/rescreen/status")
+    public ResponseEntity<Map<String, Object>> getRescreenStatus() {
+        return new ResponseEntity<>(incrementalScreeningService.getStats(), HttpStatus.OK);
+    }
+    
     /**
      * Map FraudFlag entity to FraudFlagResponse DTO
      */
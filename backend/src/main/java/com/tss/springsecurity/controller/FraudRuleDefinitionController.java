@@ -1,6 +1,7 @@
 package com.tss.springsecurity.controller;
 
 import com.tss.springsecurity.entity.FraudRuleDefinition;
+import com.tss.springsecurity.fraud.service.FraudRulePlanService;
 import com.tss.springsecurity.repository.FraudRuleDefinitionRepository;
 import lombok.Data;
 import org.springframework.http.HttpStatus;
@@ -25,9 +26,12 @@ import java.util.Map;
 public class FraudRuleDefinitionController {
     
     private final FraudRuleDefinitionRepository ruleRepository;
+    private final FraudRulePlanService rulePlanService;
     
-    public FraudRuleDefinitionController(FraudRuleDefinitionRepository ruleRepository) {
+    public FraudRuleDefinitionController(FraudRuleDefinitionRepository ruleRepository,
+                                         FraudRulePlanService rulePlanService) {
         this.ruleRepository = ruleRepository;
+        this.rulePlanService = rulePlanService;
     }
     
     /**
@@ -58,6 +62,7 @@ public class FraudRuleDefinitionController {
             rule.setCreatedBy(principal != null ? principal.getName() : "SYSTEM");
             
             FraudRuleDefinition saved = ruleRepository.save(rule);
+            rulePlanService.recompile();
             
             return ResponseEntity.status(HttpStatus.CREATED).body(saved);
             
@@ -100,6 +105,7 @@ public class FraudRuleDefinitionController {
                     rule.setCreatedBy(principal != null ? principal.getName() : "SYSTEM");
                     
                     FraudRuleDefinition saved = ruleRepository.save(rule);
+            rulePlanService.recompile();
                     savedRules.add(saved);
                     
                 } catch (Exception e) {
@@ -107,6 +113,8 @@ public class FraudRuleDefinitionController {
                 }
             }
             
+            rulePlanService.recompile();
+            
             Map<String, Object> response = new HashMap<>();
             response.put("successCount", savedRules.size());
             response.put("errorCount", errors.size());
@@ -176,6 +184,7 @@ public class FraudRuleDefinitionController {
             rule.setUpdatedBy(principal != null ? principal.getName() : "SYSTEM");
             
             FraudRuleDefinition updated = ruleRepository.save(rule);
+            rulePlanService.recompile();
             return ResponseEntity.ok(updated);
             
         } catch (Exception e) {
@@ -195,6 +204,7 @@ public class FraudRuleDefinitionController {
             }
             
             ruleRepository.deleteById(ruleId);
+            rulePlanService.recompile();
             return ResponseEntity.ok(Map.of("message", "Rule deleted successfully"));
             
         } catch (Exception e) {
@@ -6,6 +6,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -21,13 +23,16 @@ import org.springframework.web.multipart.MultipartFile;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tss.springsecurity.dto.ApplicantLoanDetailsDTO;
+import com.tss.springsecurity.dto.ApplicantSummaryDTO;
 import com.tss.springsecurity.dto.CompleteLoanApplicationDTO;
 import com.tss.springsecurity.dto.LoanApplicationDTO;
 import com.tss.springsecurity.dto.LoanApplicationForExistingApplicantDTO;
+import com.tss.springsecurity.dto.LoanDetailViewDTO;
 import com.tss.springsecurity.dto.SimpleLoanApplicationDTO;
 import com.tss.springsecurity.entity.Applicant;
 import com.tss.springsecurity.entity.ApplicantLoanDetails;
 import com.tss.springsecurity.service.LoanApplicationService;
+import com.tss.springsecurity.util.Pagination;
 
 import jakarta.validation.Valid;
 
@@ -138,9 +143,9 @@ public class LoanApplicationController {
     }
     
     @GetMapping("/applicant/{applicantId}")
-    public ResponseEntity<Applicant> getApplicant(@PathVariable Long applicantId) {
+    public ResponseEntity<ApplicantSummaryDTO> getApplicant(@PathVariable Long applicantId) {
         try {
-            Applicant applicant = loanApplicationService.getApplicantById(applicantId);
+            ApplicantSummaryDTO applicant = loanApplicationService.getApplicantSummary(applicantId);
             return new ResponseEntity<>(applicant, HttpStatus.OK);
         } catch (RuntimeException e) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -154,15 +159,18 @@ public class LoanApplicationController {
     }
     
     @GetMapping("/all")
-    public ResponseEntity<List<Applicant>> getAllApplicants() {
-        List<Applicant> applicants = loanApplicationService.getAllApplicants();
+    public ResponseEntity<Page<ApplicantSummaryDTO>> getAllApplicants(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Page<ApplicantSummaryDTO> applicants = loanApplicationService.getApplicantSummaries(
+                Pagination.of(page, size, Sort.by("applicantId")));
         return new ResponseEntity<>(applicants, HttpStatus.OK);
     }
     
     @GetMapping("/loan/{loanId}")
-    public ResponseEntity<ApplicantLoanDetails> getLoanDetails(@PathVariable Long loanId) {
+    public ResponseEntity<LoanDetailViewDTO> getLoanDetails(@PathVariable Long loanId) {
         try {
-            ApplicantLoanDetails loan = loanApplicationService.getLoanById(loanId);
+            LoanDetailViewDTO loan = loanApplicationService.getLoanDetailView(loanId);
             return new ResponseEntity<>(loan, HttpStatus.OK);
         } catch (RuntimeException e) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -3,14 +3,19 @@ package com.tss.springsecurity.controller;
 import com.tss.springsecurity.dto.LoanAssignmentRequest;
 import com.tss.springsecurity.dto.LoanAssignmentResponse;
 import com.tss.springsecurity.dto.OfficerSummary;
+import com.tss.springsecurity.routing.OfficerRouter;
 import com.tss.springsecurity.service.LoanAssignmentService;
+import com.tss.springsecurity.util.Pagination;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin/loan-assignments")
@@ -18,6 +23,7 @@ import java.util.List;
 public class LoanAssignmentController {
     
     private final LoanAssignmentService loanAssignmentService;
+    private final OfficerRouter officerRouter;
     
     /**
      * Assign a loan to a loan officer.
@@ -64,9 +70,12 @@ public class LoanAssignmentController {
     }
     
     @GetMapping
-    public ResponseEntity<List<LoanAssignmentResponse>> getAllAssignments() {
-        List<LoanAssignmentResponse> assignments = loanAssignmentService.getAllAssignments();
-        return ResponseEntity.ok(assignments);
+    public ResponseEntity<List<LoanAssignmentResponse>> getAllAssignments(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        Page<LoanAssignmentResponse> assignments = loanAssignmentService.getAllAssignments(
+                Pagination.of(page, size, Sort.by("assignmentId")));
+        return ResponseEntity.ok(assignments.getContent());
     }
     
     @GetMapping("/{assignmentId}")
@@ -98,6 +107,24 @@ public class LoanAssignmentController {
         return ResponseEntity.ok(officers);
     }
     
+    // ==================== Officer Router ====================
+    
+    /**
+     * Routing policy, officer pools in pick order and their active loads
+     */
+    @GetMapping("/router/status")
+    public ResponseEntity<Map<String, Object>> getRouterStatus() {
+        return ResponseEntity.ok(officerRouter.getStatus());
+    }
+    
+    /**
+     * Recount active loads from the database now instead of waiting for the scheduled reconcile
+     */
+    @PostMapping("/router/reconcile")
+    public ResponseEntity<Map<String, Object>> reconcileRouter() {
+        return ResponseEntity.ok(officerRouter.reconcile());
+    }
+    
     // ==================== Response Classes ====================
     
     private record ErrorResponse(String message) {}
@@ -621,7 +621,7 @@ public class LoanOfficerScreeningController {
                     .body(new MessageResponse("Error fetching comprehensive loan view: " + e.getMessage()));
         }
     }
-    
+
     /**
      * Get compliance verdict for a specific loan
      * This allows loan officers to see compliance decisions and take appropriate action
@@ -1,7 +1,7 @@
 package com.tss.springsecurity.controller;
 
+import com.tss.springsecurity.dto.ApplicantSummaryDTO;
 import com.tss.springsecurity.dto.ProfileUpdateRequest;
-import com.tss.springsecurity.entity.Applicant;
 import com.tss.springsecurity.entity.ComplianceOfficer;
 import com.tss.springsecurity.entity.LoanOfficer;
 import com.tss.springsecurity.payload.response.MessageResponse;
@@ -26,7 +26,7 @@ public class ProfileManagementController {
     @GetMapping("/applicant/{applicantId}")
     @PreAuthorize("hasRole('APPLICANT')")
     public ResponseEntity<?> getApplicantProfile(@PathVariable Long applicantId) {
-        Applicant applicant = profileManagementService.getApplicantById(applicantId);
+        ApplicantSummaryDTO applicant = profileManagementService.getApplicantProfile(applicantId);
         return ResponseEntity.ok(applicant);
     }
 
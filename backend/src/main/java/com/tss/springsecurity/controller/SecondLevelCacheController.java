@@ -0,0 +1,27 @@
+package com.tss.springsecurity.controller;
+
+import com.tss.springsecurity.cache.SecondLevelCaches;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/second-level-cache")
+@PreAuthorize("hasRole('ADMIN')")
+@CrossOrigin(origins = {"http://localhost:4200", "http://127.0.0.1:4200"}, allowCredentials = "true")
+@RequiredArgsConstructor
+public class SecondLevelCacheController {
+
+    private final SecondLevelCaches secondLevelCaches;
+
+    /**
+     * Entity and query cache hit ratios per persistence unit and region, with entry counts
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getStatus() {
+        return ResponseEntity.ok(secondLevelCaches.getStatus());
+    }
+}
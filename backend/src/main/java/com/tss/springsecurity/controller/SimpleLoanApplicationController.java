@@ -1,18 +1,21 @@
 package com.tss.springsecurity.controller;
 
+import com.tss.springsecurity.dto.ApplicantSummaryDTO;
 import com.tss.springsecurity.dto.CompleteLoanApplicationRequest;
 import com.tss.springsecurity.entity.Applicant;
 import com.tss.springsecurity.payload.response.MessageResponse;
 import com.tss.springsecurity.service.impl.ComprehensiveLoanApplicationServiceImpl;
+import com.tss.springsecurity.util.Pagination;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
-import java.util.List;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 //@RestController  // Disabled until Cloudinary dependency is added
@@ -87,9 +90,12 @@ public class SimpleLoanApplicationController {
 
     @GetMapping("/applications")
     @PreAuthorize("hasRole('ADMIN') or hasRole('LOAN_OFFICER')")
-    public ResponseEntity<List<Applicant>> getAllApplications() {
+    public ResponseEntity<Page<ApplicantSummaryDTO>> getAllApplications(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
         try {
-            List<Applicant> applications = loanApplicationService.getAllLoanApplications();
+            Page<ApplicantSummaryDTO> applications = loanApplicationService.getAllLoanApplications(
+                    Pagination.of(page, size, Sort.by("applicantId")));
             return ResponseEntity.ok(applications);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -99,7 +105,7 @@ public class SimpleLoanApplicationController {
     @GetMapping("/application/{username}")
     public ResponseEntity<?> getApplicationByUsername(@PathVariable String username) {
         try {
-            Applicant application = loanApplicationService.getLoanApplicationByUsername(username);
+            ApplicantSummaryDTO application = loanApplicationService.getLoanApplicationByUsername(username);
             return ResponseEntity.ok(application);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -4,6 +4,7 @@ import com.tss.springsecurity.entity.Applicant;
 import com.tss.springsecurity.entity.ApplicantBasicDetails;
 import com.tss.springsecurity.externalfraud.entity.*;
 import com.tss.springsecurity.externalfraud.repository.*;
+import com.tss.springsecurity.externalfraud.service.PersonLookupService;
 import com.tss.springsecurity.repository.ApplicantRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,6 +30,9 @@ public class TestController {
     @Autowired
     private PersonRepository personRepository;
     
+    @Autowired
+    private PersonLookupService personLookupService;
+    
     @Autowired
     private BankRecordRepository bankRecordRepository;
     
@@ -87,12 +91,12 @@ public class TestController {
                 // Try to find person in external DB
                 Optional<Person> personOpt = Optional.empty();
                 if (panNumber != null) {
-                    personOpt = personRepository.findByPanNumber(panNumber);
+                    personOpt = personLookupService.findByPan(panNumber);
                     result.put("foundByPAN", personOpt.isPresent());
                 }
 
                 if (!personOpt.isPresent() && aadhaarNumber != null) {
-                    personOpt = personRepository.findByAadhaarNumber(aadhaarNumber);
+                    personOpt = personLookupService.findByAadhaar(aadhaarNumber);
                     result.put("foundByAadhaar", personOpt.isPresent());
                 }
 
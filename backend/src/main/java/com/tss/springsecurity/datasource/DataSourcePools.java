@@ -0,0 +1,260 @@
+package com.tss.springsecurity.datasource;
+
+import com.tss.springsecurity.config.DataSourcePoolProperties;
+import com.tss.springsecurity.config.DataSourcePoolProperties.Pool;
+import com.tss.springsecurity.util.LatencyHistogram;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Builds the Hikari pools behind each database and keeps their metrics. Every
+ * pool gets the MySQL driver settings from {@link DataSourcePoolProperties};
+ * sizing and timeouts are per workload class.
+ */
+@Component
+@Slf4j
+public class DataSourcePools implements DisposableBean {
+
+    private static final String MYSQL_DRIVER = "com.mysql.cj.jdbc.Driver";
+
+    private final DataSourcePoolProperties properties;
+    private final Map<String, WorkloadRoutingDataSource> databases = new ConcurrentHashMap<>();
+    private final Map<String, PooledEntry> pools = new ConcurrentHashMap<>();
+
+    public DataSourcePools(DataSourcePoolProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Routing datasource for one database with a pool per entry of {@code settings}
+     *
+     * @param fallback workload whose pool serves threads without a workload of their own
+     */
+    public WorkloadRoutingDataSource create(String database, String url, String username, String password,
+                                            Map<Workload, Pool> settings, Workload fallback) {
+        return create(database, url, username, password, MYSQL_DRIVER, settings, fallback);
+    }
+
+    /**
+     * Same as {@link #create(String, String, String, String, Map, Workload)} for another JDBC driver;
+     * the MySQL driver settings are only applied to the MySQL driver
+     */
+    public WorkloadRoutingDataSource create(String database, String url, String username, String password,
+                                            String driverClassName, Map<Workload, Pool> settings, Workload fallback) {
+        Map<Workload, DataSource> targets = new EnumMap<>(Workload.class);
+        settings.forEach((workload, pool) -> targets.put(workload,
+                createPool(database, workload, url, username, password, driverClassName, pool)));
+        WorkloadRoutingDataSource routing = new WorkloadRoutingDataSource(database, targets, fallback);
+        databases.put(database, routing);
+        log.info("Connection pools for {}: {}", database, settings.keySet());
+        return routing;
+    }
+
+    /**
+     * Pool settings for the primary database
+     */
+    public Map<Workload, Pool> primaryPools() {
+        Map<Workload, Pool> settings = new EnumMap<>(Workload.class);
+        settings.put(Workload.OLTP, properties.getOltp());
+        settings.put(Workload.SCREENING, properties.getScreening());
+        settings.put(Workload.REPORTING, properties.getReporting());
+        settings.put(Workload.BULK_LOAD, properties.getBulkLoad());
+        return settings;
+    }
+
+    /**
+     * Pool settings for the external fraud database
+     */
+    public Map<Workload, Pool> externalPools() {
+        Map<Workload, Pool> settings = new EnumMap<>(Workload.class);
+        settings.put(Workload.SCREENING, properties.getExternalScreening());
+        settings.put(Workload.BULK_LOAD, properties.getExternalBulkLoad());
+        return settings;
+    }
+
+    private HikariDataSource createPool(String database, Workload workload, String url, String username,
+                                        String password, String driverClassName, Pool pool) {
+        String name = database + "-" + workload.name().toLowerCase(Locale.ROOT).replace('_', '-');
+        PoolMetrics metrics = new PoolMetrics();
+
+        // Configured through setters so the pool only connects on first use
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setDriverClassName(driverClassName);
+        dataSource.setMaximumPoolSize(pool.getMaximumPoolSize());
+        dataSource.setMinimumIdle(Math.min(pool.getMinimumIdle(), pool.getMaximumPoolSize()));
+        dataSource.setConnectionTimeout(pool.getConnectionTimeoutMs());
+        dataSource.setIdleTimeout(pool.getIdleTimeoutMs());
+        dataSource.setMaxLifetime(pool.getMaxLifetimeMs());
+        dataSource.setLeakDetectionThreshold(pool.getLeakDetectionThresholdMs());
+        if (MYSQL_DRIVER.equals(driverClassName)) {
+            properties.getDriverProperties().forEach(dataSource::addDataSourceProperty);
+        }
+        dataSource.setMetricsTrackerFactory((poolName, poolStats) -> metrics);
+
+        pools.put(name, new PooledEntry(database, workload, dataSource, metrics));
+        return dataSource;
+    }
+
+    // ==================== REPORTING ====================
+
+    /**
+     * Size, current usage and wait/usage timings of every pool
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        pools.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> status.put(entry.getKey(), describe(entry.getValue())));
+        return status;
+    }
+
+    public void resetMetrics() {
+        pools.values().forEach(entry -> entry.metrics().reset());
+    }
+
+    private Map<String, Object> describe(PooledEntry entry) {
+        HikariDataSource dataSource = entry.dataSource();
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("database", entry.database());
+        view.put("workload", entry.workload());
+        view.put("maximumPoolSize", dataSource.getMaximumPoolSize());
+        view.put("minimumIdle", dataSource.getMinimumIdle());
+        view.put("connectionTimeoutMs", dataSource.getConnectionTimeout());
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        view.put("started", pool != null);
+        if (pool != null) {
+            view.put("active", pool.getActiveConnections());
+            view.put("idle", pool.getIdleConnections());
+            view.put("total", pool.getTotalConnections());
+            view.put("waiting", pool.getThreadsAwaitingConnection());
+        }
+        view.putAll(entry.metrics().snapshot());
+        return view;
+    }
+
+    // ==================== ISOLATION BENCHMARK ====================
+
+    /**
+     * Interactive requests against long-held bulk connections, run twice: once
+     * with bulk work borrowing from the OLTP pool (the old single-pool setup) and
+     * once from its own pool. Compares how long the interactive requests waited.
+     *
+     * @param bulkWorkers         threads that each hold a connection for {@code bulkHoldMs} per chunk, back to back
+     * @param interactiveWorkers  threads issuing {@code requestsPerWorker} short queries each
+     */
+    public Map<String, Object> isolationBenchmark(String database, int bulkWorkers, long bulkHoldMs,
+                                                  int interactiveWorkers, int requestsPerWorker) {
+        WorkloadRoutingDataSource routing = databases.get(database);
+        if (routing == null) {
+            throw new RuntimeException("Unknown database: " + database + " (known: " + databases.keySet() + ")");
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("database", database);
+        report.put("bulkWorkers", bulkWorkers);
+        report.put("bulkHoldMs", bulkHoldMs);
+        report.put("interactiveWorkers", interactiveWorkers);
+        report.put("requestsPerWorker", requestsPerWorker);
+        report.put("sharedPool", runIsolation(routing.getPool(Workload.OLTP), routing.getPool(Workload.OLTP),
+                bulkWorkers, bulkHoldMs, interactiveWorkers, requestsPerWorker));
+        report.put("isolatedPools", runIsolation(routing.getPool(Workload.OLTP), routing.getPool(Workload.BULK_LOAD),
+                bulkWorkers, bulkHoldMs, interactiveWorkers, requestsPerWorker));
+        return report;
+    }
+
+    private Map<String, Object> runIsolation(DataSource interactivePool, DataSource bulkPool, int bulkWorkers,
+                                             long bulkHoldMs, int interactiveWorkers, int requestsPerWorker) {
+        AtomicBoolean interactiveDone = new AtomicBoolean();
+        LongAdder bulkChunks = new LongAdder();
+        LongAdder bulkErrors = new LongAdder();
+        LongAdder interactiveErrors = new LongAdder();
+        LatencyHistogram interactiveLatency = new LatencyHistogram();
+
+        List<Thread> bulk = new ArrayList<>();
+        for (int i = 0; i < bulkWorkers; i++) {
+            Thread worker = new Thread(() -> {
+                while (!interactiveDone.get()) {
+                    try (Connection connection = bulkPool.getConnection()) {
+                        // Stands in for one bulk chunk holding its connection
+                        Thread.sleep(bulkHoldMs);
+                        bulkChunks.increment();
+                    } catch (SQLException e) {
+                        bulkErrors.increment();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }, "pool-bench-bulk-" + i);
+            worker.start();
+            bulk.add(worker);
+        }
+
+        List<Thread> interactive = new ArrayList<>();
+        for (int i = 0; i < interactiveWorkers; i++) {
+            Thread worker = new Thread(() -> {
+                for (int r = 0; r < requestsPerWorker; r++) {
+                    long begin = System.nanoTime();
+                    try (Connection connection = interactivePool.getConnection();
+                         Statement statement = connection.createStatement()) {
+                        statement.execute("SELECT 1");
+                        interactiveLatency.recordNanos(System.nanoTime() - begin);
+                    } catch (SQLException e) {
+                        interactiveErrors.increment();
+                    }
+                }
+            }, "pool-bench-interactive-" + i);
+            interactive.add(worker);
+        }
+
+        long started = System.nanoTime();
+        try {
+            // Let the bulk workers take their connections first
+            Thread.sleep(Math.min(bulkHoldMs, 1000));
+            interactive.forEach(Thread::start);
+            for (Thread worker : interactive) worker.join();
+            interactiveDone.set(true);
+            for (Thread worker : bulk) worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            interactiveDone.set(true);
+            throw new RuntimeException("Benchmark interrupted");
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("interactiveLatency", interactiveLatency.snapshot());
+        result.put("interactiveErrors", interactiveErrors.sum());
+        result.put("bulkChunks", bulkChunks.sum());
+        result.put("bulkErrors", bulkErrors.sum());
+        result.put("elapsedMs", (System.nanoTime() - started) / 1_000_000);
+        return result;
+    }
+
+    @Override
+    public void destroy() {
+        pools.values().forEach(entry -> entry.dataSource().close());
+    }
+
+    private record PooledEntry(String database, Workload workload, HikariDataSource dataSource, PoolMetrics metrics) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.tss.springsecurity.datasource;
+
+import com.tss.springsecurity.util.LatencyHistogram;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hikari callbacks for one pool: how long callers waited for a connection, how
+ * long they kept it, and how often the wait ran out.
+ */
+class PoolMetrics implements IMetricsTracker {
+
+    private final LatencyHistogram acquireWait = new LatencyHistogram();
+    private final LatencyHistogram usage = new LatencyHistogram();
+    private final LatencyHistogram creation = new LatencyHistogram();
+    private final LongAdder timeouts = new LongAdder();
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        acquireWait.recordNanos(elapsedAcquiredNanos);
+    }
+
+    @Override
+    public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+        usage.recordMicros(TimeUnit.MILLISECONDS.toMicros(elapsedBorrowedMillis));
+    }
+
+    @Override
+    public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+        creation.recordMicros(TimeUnit.MILLISECONDS.toMicros(connectionCreatedMillis));
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        timeouts.increment();
+    }
+
+    Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("acquireWait", acquireWait.snapshot());
+        snapshot.put("usage", usage.snapshot());
+        snapshot.put("connectionsCreated", creation.getCount());
+        snapshot.put("connectionCreation", creation.snapshot());
+        snapshot.put("timeouts", timeouts.sum());
+        return snapshot;
+    }
+
+    void reset() {
+        acquireWait.reset();
+        usage.reset();
+        creation.reset();
+        timeouts.reset();
+    }
+}
@@ -0,0 +1,50 @@
+package com.tss.springsecurity.datasource;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a
+ * count is open. Registered as the primary persistence unit's statement
+ * inspector; outside an open count it only reads a thread-local and passes
+ * the statement to the {@link UnboundedQueryGuard}.
+ */
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = new ThreadLocal<>();
+
+    private final UnboundedQueryGuard guard;
+
+    public QueryCounter(UnboundedQueryGuard guard) {
+        this.guard = guard;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        long[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        guard.check(sql);
+        return sql;
+    }
+
+    /**
+     * Start counting on this thread; the count so far is read with {@link #current()}
+     */
+    public static WorkloadContext.Scope start() {
+        long[] previous = COUNT.get();
+        COUNT.set(new long[1]);
+        return () -> {
+            if (previous == null) {
+                COUNT.remove();
+            } else {
+                COUNT.set(previous);
+            }
+        };
+    }
+
+    public static long current() {
+        long[] count = COUNT.get();
+        return count != null ? count[0] : 0;
+    }
+}
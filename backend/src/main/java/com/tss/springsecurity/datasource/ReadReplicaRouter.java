@@ -0,0 +1,240 @@
+package com.tss.springsecurity.datasource;
+
+import com.tss.springsecurity.config.ReadReplicaProperties;
+import com.tss.springsecurity.util.LatencyHistogram;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends read-only transactions on the primary database to a read replica.
+ *
+ * The primary datasource is wrapped in a {@link LazyConnectionDataSourceProxy},
+ * which only fetches a physical connection at the first statement, after the
+ * transaction has marked it read-only. Read-only connections come from the
+ * replica unless it is down, lagging more than the configured limit, or the
+ * current request has already written through the primary; then they come
+ * from the primary, and every decision is counted per route.
+ */
+@Component
+@Slf4j
+public class ReadReplicaRouter {
+
+    public enum Route {
+        WRITE,
+        READ_REPLICA,
+        // Read-only work that stayed on the primary, and why
+        READ_PRIMARY_AFTER_WRITE,
+        READ_PRIMARY_REPLICA_LAG,
+        READ_PRIMARY_REPLICA_DOWN
+    }
+
+    private final ReadReplicaProperties properties;
+    private final DataSourcePools dataSourcePools;
+
+    private final Map<Route, LongAdder> routeCounts = new EnumMap<>(Route.class);
+    private final Map<Route, LatencyHistogram> routeAcquire = new EnumMap<>(Route.class);
+
+    private volatile DataSource replica;
+    // Optimistic until the first lag check; a failed replica connection flips it straight away
+    private volatile boolean replicaUp = true;
+    private volatile Long lagSeconds = 0L;
+    private volatile LocalDateTime lastCheckedAt;
+    private volatile String lastError;
+
+    public ReadReplicaRouter(ReadReplicaProperties properties, DataSourcePools dataSourcePools) {
+        this.properties = properties;
+        this.dataSourcePools = dataSourcePools;
+        for (Route route : Route.values()) {
+            routeCounts.put(route, new LongAdder());
+            routeAcquire.put(route, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Primary datasource with read-only work routed to the replica, or {@code primary} itself when disabled
+     */
+    public DataSource wrap(WorkloadRoutingDataSource primary) {
+        if (!properties.isEnabled()) {
+            return primary;
+        }
+        replica = dataSourcePools.create(primary.getDatabase() + "-replica",
+                properties.getUrl(), properties.getUsername(), properties.getPassword(),
+                properties.getDriverClassName(), Map.of(Workload.REPORTING, properties.getPool()), Workload.REPORTING);
+        log.info("Read-only transactions on {} go to replica {} (max lag {}s)",
+                primary.getDatabase(), properties.getUrl(), properties.getMaxLagSeconds());
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+        // Pool defaults stated up front, so the proxy never borrows a connection just to read them
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        proxy.setTargetDataSource(new WriteDataSource(primary));
+        proxy.setReadOnlyDataSource(new ReadDataSource(primary));
+        proxy.afterPropertiesSet();
+        return proxy;
+    }
+
+    // ==================== LAG CHECK ====================
+
+    @Scheduled(fixedDelayString = "${app.read-replica.lag-check-interval-ms:5000}", initialDelay = 1000)
+    public void checkLag() {
+        DataSource target = replica;
+        if (target == null) return;
+        try (Connection connection = target.getConnection();
+             Statement statement = connection.createStatement()) {
+            Long lag = readLag(statement);
+            if (lag == null) {
+                markDown("Replication is not running");
+            } else {
+                lagSeconds = lag;
+                lastError = null;
+                if (!replicaUp) log.info("Read replica is back ({}s behind)", lag);
+                replicaUp = true;
+            }
+        } catch (SQLException e) {
+            markDown(e.getMessage());
+        } finally {
+            lastCheckedAt = LocalDateTime.now();
+        }
+    }
+
+    private Long readLag(Statement statement) throws SQLException {
+        if (properties.getLagQuery() != null && !properties.getLagQuery().isBlank()) {
+            try (ResultSet rs = statement.executeQuery(properties.getLagQuery())) {
+                return rs.next() ? toLong(rs.getObject(1)) : null;
+            }
+        }
+        try (ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+            // No row: a standalone instance standing in for a replica, so nothing to lag behind
+            return rs.next() ? toLong(rs.getObject("Seconds_Behind_Source")) : 0L;
+        } catch (SQLException e) {
+            // Servers before 8.0.22
+            try (ResultSet rs = statement.executeQuery("SHOW SLAVE STATUS")) {
+                return rs.next() ? toLong(rs.getObject("Seconds_Behind_Master")) : 0L;
+            }
+        }
+    }
+
+    private static Long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    private void markDown(String reason) {
+        if (replicaUp) log.warn("Read replica unavailable, reading from the primary: {}", reason);
+        replicaUp = false;
+        lastError = reason;
+    }
+
+    // ==================== ROUTING ====================
+
+    private Connection readConnection(DataSource primary) throws SQLException {
+        Route route;
+        if (properties.isStickyPrimaryAfterWrite() && ReadRoutingContext.hasWritten()) {
+            route = Route.READ_PRIMARY_AFTER_WRITE;
+        } else if (!replicaUp) {
+            route = Route.READ_PRIMARY_REPLICA_DOWN;
+        } else if (lagSeconds != null && lagSeconds > properties.getMaxLagSeconds()) {
+            route = Route.READ_PRIMARY_REPLICA_LAG;
+        } else {
+            long begin = System.nanoTime();
+            try {
+                Connection connection = replica.getConnection();
+                record(Route.READ_REPLICA, begin);
+                return connection;
+            } catch (SQLException e) {
+                markDown(e.getMessage());
+                route = Route.READ_PRIMARY_REPLICA_DOWN;
+            }
+        }
+        long begin = System.nanoTime();
+        Connection connection = primary.getConnection();
+        record(route, begin);
+        return connection;
+    }
+
+    private void record(Route route, long beginNanos) {
+        routeAcquire.get(route).recordNanos(System.nanoTime() - beginNanos);
+        routeCounts.get(route).increment();
+    }
+
+    // ==================== REPORTING ====================
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", properties.isEnabled());
+        status.put("replicaUp", replica != null && replicaUp);
+        status.put("lagSeconds", lagSeconds);
+        status.put("maxLagSeconds", properties.getMaxLagSeconds());
+        status.put("lastCheckedAt", lastCheckedAt);
+        status.put("lastError", lastError);
+        Map<String, Object> routes = new LinkedHashMap<>();
+        for (Route route : Route.values()) {
+            Map<String, Object> view = new LinkedHashMap<>();
+            view.put("connections", routeCounts.get(route).sum());
+            view.put("acquire", routeAcquire.get(route).snapshot());
+            routes.put(route.name(), view);
+        }
+        status.put("routes", routes);
+        return status;
+    }
+
+    public void resetMetrics() {
+        routeCounts.values().forEach(LongAdder::reset);
+        routeAcquire.values().forEach(LatencyHistogram::reset);
+    }
+
+    /**
+     * Target of the lazy proxy for read-write work; remembers the write for the current request
+     */
+    private class WriteDataSource extends DelegatingDataSource {
+
+        WriteDataSource(DataSource primary) {
+            super(primary);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            ReadRoutingContext.markWritten();
+            long begin = System.nanoTime();
+            Connection connection = obtainTargetDataSource().getConnection();
+            record(Route.WRITE, begin);
+            return connection;
+        }
+    }
+
+    /**
+     * Read-only target of the lazy proxy
+     */
+    private class ReadDataSource extends AbstractDataSource {
+
+        private final DataSource primary;
+
+        ReadDataSource(DataSource primary) {
+            this.primary = primary;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return readConnection(primary);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new UnsupportedOperationException("Read routing uses the pooled credentials");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.tss.springsecurity.datasource;
+
+/**
+ * Per-request memory of whether the request already used a write connection, so
+ * its later reads can stay on the primary and see their own writes. Outside a
+ * scope (scheduled jobs, worker threads) nothing is remembered.
+ */
+public final class ReadRoutingContext {
+
+    private static final ThreadLocal<boolean[]> WRITTEN = new ThreadLocal<>();
+
+    private ReadRoutingContext() {
+    }
+
+    /**
+     * Start tracking for the current request until the returned scope is closed
+     */
+    public static WorkloadContext.Scope begin() {
+        boolean[] previous = WRITTEN.get();
+        WRITTEN.set(new boolean[1]);
+        return () -> {
+            if (previous == null) {
+                WRITTEN.remove();
+            } else {
+                WRITTEN.set(previous);
+            }
+        };
+    }
+
+    static void markWritten() {
+        boolean[] written = WRITTEN.get();
+        if (written != null) {
+            written[0] = true;
+        }
+    }
+
+    static boolean hasWritten() {
+        boolean[] written = WRITTEN.get();
+        return written != null && written[0];
+    }
+}
@@ -0,0 +1,83 @@
+package com.tss.springsecurity.datasource;
+
+import com.tss.springsecurity.config.QueryGuardProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Catches SELECTs that read a whole large table: no WHERE, no LIMIT and not a
+ * single aggregate, as Hibernate generates for {@code findAll()}. Runs inside
+ * {@link QueryCounter} on every statement of the primary persistence unit, so
+ * each distinct SQL string is judged once and the verdict remembered.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class UnboundedQueryGuard {
+
+    private static final Pattern ROOT = Pattern.compile("^select (.*?) from ([a-z0-9_`]+)(.*)$");
+    private static final Pattern AGGREGATE = Pattern.compile("^(count|sum|avg|min|max)\\(\\)$");
+    private static final Pattern BOUNDED = Pattern.compile("\\b(where|limit|fetch first|group by)\\b");
+    private static final int MAX_REMEMBERED = 10_000;
+
+    private final QueryGuardProperties properties;
+
+    // SQL -> offending table, or "" when the statement is fine
+    private final Map<String, String> verdicts = new ConcurrentHashMap<>();
+
+    /**
+     * @throws IllegalStateException in FAIL mode when {@code sql} reads a large table unbounded
+     */
+    public void check(String sql) {
+        if (properties.getMode() == QueryGuardProperties.Mode.OFF) return;
+        String table = verdicts.get(sql);
+        boolean first = table == null;
+        if (first) {
+            table = unboundedTable(sql);
+            if (verdicts.size() < MAX_REMEMBERED) verdicts.put(sql, table);
+        }
+        if (table.isEmpty()) return;
+        if (properties.getMode() == QueryGuardProperties.Mode.FAIL) {
+            throw new IllegalStateException("Unbounded read of large table " + table
+                    + "; use a filtered or paged query: " + sql);
+        }
+        if (first) {
+            log.warn("Unbounded read of large table {}; use a filtered or paged query: {}", table, sql);
+        }
+    }
+
+    String unboundedTable(String sql) {
+        String statement = stripParentheses(sql.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ").trim());
+        Matcher matcher = ROOT.matcher(statement);
+        if (!matcher.matches()) return "";
+        String table = matcher.group(2).replace("`", "");
+        if (!properties.getLargeTables().contains(table)) return "";
+        if (AGGREGATE.matcher(matcher.group(1).trim()).matches()) return "";
+        if (BOUNDED.matcher(matcher.group(3)).find()) return "";
+        return table;
+    }
+
+    // Drops the contents of parentheses, so subqueries and function arguments don't hide the outer FROM
+    private static String stripParentheses(String sql) {
+        StringBuilder out = new StringBuilder(sql.length());
+        int depth = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '(') {
+                if (depth++ == 0) out.append(c);
+            } else if (c == ')') {
+                if (--depth == 0) out.append(c);
+            } else if (depth == 0) {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,16 @@
+package com.tss.springsecurity.datasource;
+
+/**
+ * Kinds of database traffic that get their own connection pool, so a burst of
+ * one kind cannot take every connection away from the others.
+ */
+public enum Workload {
+    // Interactive requests: intake, officer actions, lookups
+    OLTP,
+    // Fraud engines and bureau screening
+    SCREENING,
+    // Dashboards, statistics and reports
+    REPORTING,
+    // Bulk loads, synthetic data and archiving
+    BULK_LOAD
+}
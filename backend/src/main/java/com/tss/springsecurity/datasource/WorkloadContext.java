@@ -0,0 +1,48 @@
+package com.tss.springsecurity.datasource;
+
+/**
+ * Workload class of the current thread, read by {@link WorkloadRoutingDataSource}
+ * when a transaction first asks for a connection. Set it before the transaction
+ * starts; changing it inside a transaction has no effect on the bound connection.
+ *
+ * <pre>
+ * try (WorkloadContext.Scope ignored = WorkloadContext.enter(Workload.BULK_LOAD)) {
+ *     ...
+ * }
+ * </pre>
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    /**
+     * @return the workload set for this thread, or null for the datasource default
+     */
+    public static Workload current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Switch this thread to {@code workload} until the returned scope is closed
+     */
+    public static Scope enter(Workload workload) {
+        Workload previous = CURRENT.get();
+        CURRENT.set(workload);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,46 @@
+package com.tss.springsecurity.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One logical database backed by a pool per {@link Workload}. The pool is chosen
+ * from {@link WorkloadContext} each time a connection is requested; workloads
+ * without a pool of their own use the fallback pool.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final String database;
+    private final Map<Workload, DataSource> pools;
+    private final Workload fallback;
+
+    public WorkloadRoutingDataSource(String database, Map<Workload, DataSource> pools, Workload fallback) {
+        this.database = database;
+        this.pools = new LinkedHashMap<>(pools);
+        this.fallback = fallback;
+        setTargetDataSources(new LinkedHashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(fallback));
+        setLenientFallback(true);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Workload workload = WorkloadContext.current();
+        return workload != null && pools.containsKey(workload) ? workload : fallback;
+    }
+
+    public String getDatabase() {
+        return database;
+    }
+
+    /**
+     * Pool that serves {@code workload}
+     */
+    public DataSource getPool(Workload workload) {
+        return pools.getOrDefault(workload, pools.get(fallback));
+    }
+}
@@ -28,5 +28,5 @@ public class ApplicantSummaryDTO {
     private String approvalStatus;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
-    private Integer totalLoans;
+    private Long totalLoans;
 }
@@ -0,0 +1,77 @@
+package com.tss.springsecurity.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Loan detail read model: every column of the loan row and the applicant id,
+ * with none of the entity's associations.
+ */
+@Data
+@NoArgsConstructor
+public class LoanDetailViewDTO {
+    private Long loanId;
+    private Long applicantId;
+    private String loanType;
+    private BigDecimal loanAmount;
+    private BigDecimal interestRate;
+    private Integer tenureMonths;
+    private String status;
+    private String loanPurpose;
+    private String applicantFirstName;
+    private String applicantMiddleName;
+    private String applicantLastName;
+    private String applicantDateOfBirth;
+    private String applicantGender;
+    private String applicantMaritalStatus;
+    private String applicantEmail;
+    private String applicantMobile;
+    private String applicantAlternateMobile;
+    private String currentAddress;
+    private String currentCity;
+    private String currentState;
+    private String currentPincode;
+    private String residenceType;
+    private Integer yearsAtCurrentAddress;
+    private Boolean permanentAddressSame;
+    private String permanentAddress;
+    private String permanentCity;
+    private String permanentState;
+    private String permanentPincode;
+    private String applicantPan;
+    private String applicantAadhar;
+    private String employmentType;
+    private String employerName;
+    private String designation;
+    private BigDecimal monthlyIncome;
+    private String bankName;
+    private String accountNumber;
+    private String ifscCode;
+    private String accountType;
+    private BigDecimal existingObligations;
+    private Boolean hasCoApplicant;
+    private String coApplicantName;
+    private String coApplicantRelation;
+    private String coApplicantPan;
+    private String coApplicantAadhar;
+    private Boolean hasCollateral;
+    private String collateralType;
+    private BigDecimal collateralValue;
+    private String applicationStatus;
+    private String loanStatus;
+    private Integer riskScore;
+    private String riskLevel;
+    private LocalDateTime submittedAt;
+    private LocalDateTime applicationDate;
+    private LocalDateTime approvalDate;
+    private LocalDateTime reviewedAt;
+    private BigDecimal monthlyEmi;
+    private String approvedBy;
+    private String rejectedBy;
+    private String reviewedBy;
+    private LocalDateTime rejectionDate;
+    private String rejectionReason;
+}
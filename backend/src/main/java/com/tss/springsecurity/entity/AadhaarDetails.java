@@ -1,5 +1,6 @@
 package com.tss.springsecurity.entity;
 
+import com.tss.springsecurity.event.LoanAggregateListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
@@ -10,6 +11,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(LoanAggregateListener.class)
 @Table(name = "aadhaar_details", indexes = {
     @Index(name = "idx_aadhaar_number", columnList = "aadhaar_number"),
     @Index(name = "idx_aadhaar_applicant_id", columnList = "applicant_id"),
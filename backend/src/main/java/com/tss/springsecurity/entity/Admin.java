@@ -1,14 +1,20 @@
 package com.tss.springsecurity.entity;
 
+import com.tss.springsecurity.cache.CacheRegions;
+import com.tss.springsecurity.event.PrincipalListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@EntityListeners(PrincipalListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ADMIN)
 @Table(name = "admin")
 @Data
 @NoArgsConstructor
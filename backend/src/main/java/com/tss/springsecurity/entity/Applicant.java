@@ -5,10 +5,13 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.tss.springsecurity.event.LoanAggregateListener;
+import com.tss.springsecurity.event.PrincipalListener;
 import jakarta.validation.constraints.*;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -24,12 +27,14 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@EntityListeners({LoanAggregateListener.class, PrincipalListener.class})
 @Table(name = "applicant", indexes = {
     @Index(name = "idx_applicant_email", columnList = "email"),
     @Index(name = "idx_applicant_phone", columnList = "phone"),
     @Index(name = "idx_applicant_username", columnList = "username"),
     @Index(name = "idx_applicant_dob", columnList = "dob"),
-    @Index(name = "idx_applicant_created_at", columnList = "created_at")
+    @Index(name = "idx_applicant_created_at", columnList = "created_at"),
+    @Index(name = "idx_applicant_approval_queue", columnList = "approval_status, is_email_verified, is_approved")
 })
 @Data
 @NoArgsConstructor
@@ -1,5 +1,6 @@
 package com.tss.springsecurity.entity;
 
+import com.tss.springsecurity.event.LoanAggregateListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
@@ -10,6 +11,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(LoanAggregateListener.class)
 @Table(name = "applicant_credit_history")
 @Data
 @NoArgsConstructor
@@ -1,5 +1,6 @@
 package com.tss.springsecurity.entity;
 
+import com.tss.springsecurity.event.LoanAggregateListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
@@ -11,6 +12,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(LoanAggregateListener.class)
 @Table(name = "applicant_employment")
 @Data
 @NoArgsConstructor
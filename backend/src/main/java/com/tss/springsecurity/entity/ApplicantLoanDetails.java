@@ -1,6 +1,7 @@
 package com.tss.springsecurity.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.tss.springsecurity.event.LoanAggregateListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
@@ -12,7 +13,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "applicant_loan_details")
+@EntityListeners(LoanAggregateListener.class)
+@Table(name = "applicant_loan_details", indexes = {
+    @Index(name = "idx_loan_applicant_loan", columnList = "applicant_id, loan_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
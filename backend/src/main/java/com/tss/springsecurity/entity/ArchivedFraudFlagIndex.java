@@ -0,0 +1,45 @@
+package com.tss.springsecurity.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Where an applicant's flags sit in an archived fraud_flags segment, so
+ * reading them back opens only the segments that hold any and stops
+ * decompressing after the applicant's last line.
+ */
+@Entity
+@Table(name = "archived_fraud_flag_index",
+    uniqueConstraints = @UniqueConstraint(name = "uk_archived_flag_applicant_segment",
+                                          columnNames = {"applicant_id", "segment_id"}),
+    indexes = {
+        @Index(name = "idx_archived_flag_segment", columnList = "segment_id")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedFraudFlagIndex {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "applicant_id", nullable = false)
+    private Long applicantId;
+    
+    @Column(name = "segment_id", nullable = false)
+    private Long segmentId;
+    
+    @Column(name = "flag_count", nullable = false)
+    private Long flagCount;
+    
+    @Column(name = "first_line", nullable = false)
+    private Long firstLine; // 0-based line in the segment file
+    
+    @Column(name = "last_line", nullable = false)
+    private Long lastLine; // inclusive
+}
@@ -0,0 +1,45 @@
+package com.tss.springsecurity.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Maps a normalized login identifier (username or email) to the table and row
+ * that owns it, so login can resolve the principal with one indexed lookup.
+ */
+@Entity
+@Table(name = "credential_index",
+    uniqueConstraints = @UniqueConstraint(name = "uk_credential_identifier_role", columnNames = {"identifier", "role"}),
+    indexes = {
+        @Index(name = "idx_credential_role_entity", columnList = "role,entity_id")
+    })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CredentialIndexEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "identifier", nullable = false, length = 150)
+    private String identifier; // trimmed, lower-case username or email
+    
+    @Column(name = "role", nullable = false, length = 30)
+    private String role; // ADMIN, APPLICANT, LOAN_OFFICER, COMPLIANCE_OFFICER
+    
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+    
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,62 @@
+package com.tss.springsecurity.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Catalog entry for one monthly slice of a hot table that was moved
+ * to a compressed NDJSON file by the data retention archiver.
+ */
+@Entity
+@Table(name = "data_archive_segments", indexes = {
+    @Index(name = "idx_archive_segment_table_range", columnList = "table_name,range_start,range_end")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataArchiveSegment {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "segment_id")
+    private Long segmentId;
+    
+    @Column(name = "table_name", nullable = false, length = 64)
+    private String tableName; // activity_log, fraud_flags
+    
+    @Column(name = "period", nullable = false, length = 7)
+    private String period; // YYYY-MM
+    
+    @Column(name = "range_start", nullable = false)
+    private LocalDateTime rangeStart; // inclusive
+    
+    @Column(name = "range_end", nullable = false)
+    private LocalDateTime rangeEnd; // exclusive
+    
+    @Column(name = "file_path", nullable = false, length = 500)
+    private String filePath;
+    
+    @Column(name = "row_count", nullable = false)
+    private Long rowCount;
+    
+    @Column(name = "max_row_id")
+    private Long maxRowId;
+    
+    // fraud_flags only: rows of this segment are in archived_fraud_flag_index
+    @Column(name = "applicant_indexed")
+    private Boolean applicantIndexed;
+    
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        archivedAt = LocalDateTime.now();
+    }
+}
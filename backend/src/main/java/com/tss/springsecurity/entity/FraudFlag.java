@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
     @Index(name = "idx_fraud_flag_severity", columnList = "severity"),
     @Index(name = "idx_fraud_flag_created_at", columnList = "created_at"),
     @Index(name = "idx_fraud_flag_rule_name", columnList = "rule_name")
-})
+}, uniqueConstraints = @UniqueConstraint(name = "uk_fraud_flag_applicant_loan_rule",
+    columnNames = {"applicant_id", "loan_key", "rule_name"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -34,6 +35,11 @@ public class FraudFlag {
     @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private ApplicantLoanDetails loan;
     
+    // loan_id, or 0 for a flag without a loan, so the unique key also covers loan-less flags
+    // (NULL loan_id values never collide); NULL only on rows written before the key existed
+    @Column(name = "loan_key")
+    private Long loanKey;
+    
     @Column(name = "rule_name", length = 100)
     private String ruleName;
     
@@ -49,5 +55,15 @@ public class FraudFlag {
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        loanKey = loanKey(loan);
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        loanKey = loanKey(loan);
+    }
+    
+    public static long loanKey(ApplicantLoanDetails loan) {
+        return loan != null && loan.getLoanId() != null ? loan.getLoanId() : 0L;
     }
 }
@@ -1,15 +1,19 @@
 package com.tss.springsecurity.entity;
 
+import com.tss.springsecurity.cache.CacheRegions;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.FRAUD_RULE)
 @Table(name = "fraud_rule_definition", indexes = {
     @Index(name = "idx_fraud_rule_code", columnList = "rule_code", unique = true),
     @Index(name = "idx_fraud_rule_category", columnList = "rule_category"),
@@ -1,5 +1,6 @@
 package com.tss.springsecurity.entity;
 
+import com.tss.springsecurity.event.LoanAggregateListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -8,7 +9,11 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "officer_application_assignment")
+@EntityListeners(LoanAggregateListener.class)
+@Table(name = "officer_application_assignment", indexes = {
+    @Index(name = "idx_assignment_assigned_at", columnList = "assigned_at"),
+    @Index(name = "idx_assignment_officer_assigned_at", columnList = "officer_id, assigned_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
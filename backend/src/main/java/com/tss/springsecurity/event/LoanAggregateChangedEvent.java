@@ -0,0 +1,10 @@
+package com.tss.springsecurity.event;
+
+/**
+ * Something in a loan's aggregate (the loan, its applicant and their details,
+ * identity and other documents, dependents, collaterals or assignments) was
+ * inserted, updated or deleted. {@code loanId} is null when the change is
+ * applicant-wide, {@code applicantId} when the writer only knew the loan.
+ */
+public record LoanAggregateChangedEvent(Long applicantId, Long loanId, LoanAggregatePart part) {
+}
@@ -0,0 +1,106 @@
+package com.tss.springsecurity.event;
+
+import com.tss.springsecurity.entity.AadhaarDetails;
+import com.tss.springsecurity.entity.Applicant;
+import com.tss.springsecurity.entity.ApplicantBasicDetails;
+import com.tss.springsecurity.entity.ApplicantCreditHistory;
+import com.tss.springsecurity.entity.ApplicantDependent;
+import com.tss.springsecurity.entity.ApplicantEmployment;
+import com.tss.springsecurity.entity.ApplicantFinancials;
+import com.tss.springsecurity.entity.ApplicantLoanDetails;
+import com.tss.springsecurity.entity.ApplicantPropertyDetails;
+import com.tss.springsecurity.entity.LoanCollateral;
+import com.tss.springsecurity.entity.OfficerApplicationAssignment;
+import com.tss.springsecurity.entity.OtherDocument;
+import com.tss.springsecurity.entity.PanDetails;
+import com.tss.springsecurity.entity.PassportDetails;
+import com.tss.springsecurity.entity.UploadedDocument;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA listener on the entities of a loan's aggregate that turns every write
+ * into a {@link LoanAggregateChangedEvent}. Hibernate gets it from the Spring
+ * bean container, so the publisher is injected.
+ */
+public class LoanAggregateListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    public LoanAggregateListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void changed(Object entity) {
+        LoanAggregateChangedEvent event = toEvent(entity);
+        if (event != null) {
+            publisher.publishEvent(event);
+        }
+    }
+
+    private static LoanAggregateChangedEvent toEvent(Object entity) {
+        if (entity instanceof ApplicantLoanDetails loan) {
+            return new LoanAggregateChangedEvent(applicantId(loan.getApplicant()), loan.getLoanId(), LoanAggregatePart.LOAN);
+        }
+        if (entity instanceof LoanCollateral collateral) {
+            ApplicantLoanDetails loan = collateral.getLoan();
+            return loan != null
+                    ? new LoanAggregateChangedEvent(null, loan.getLoanId(), LoanAggregatePart.COLLATERAL) : null;
+        }
+        if (entity instanceof OfficerApplicationAssignment assignment) {
+            return new LoanAggregateChangedEvent(applicantId(assignment.getApplicant()),
+                    assignment.getLoan() != null ? assignment.getLoan().getLoanId() : null, LoanAggregatePart.ASSIGNMENT);
+        }
+        if (entity instanceof UploadedDocument document) {
+            return applicantChanged(document.getApplicant(), LoanAggregatePart.UPLOADED_DOCUMENT);
+        }
+        if (entity instanceof Applicant applicant) {
+            return new LoanAggregateChangedEvent(applicant.getApplicantId(), null, LoanAggregatePart.APPLICANT);
+        }
+        if (entity instanceof ApplicantBasicDetails details) {
+            return applicantChanged(details.getApplicant(), LoanAggregatePart.BASIC_DETAILS);
+        }
+        if (entity instanceof ApplicantEmployment details) {
+            return applicantChanged(details.getApplicant(), LoanAggregatePart.EMPLOYMENT);
+        }
+        if (entity instanceof ApplicantFinancials details) {
+            return applicantChanged(details.getApplicant(), LoanAggregatePart.FINANCIALS);
+        }
+        if (entity instanceof ApplicantCreditHistory details) {
+            return applicantChanged(details.getApplicant(), LoanAggregatePart.CREDIT_HISTORY);
+        }
+        if (entity instanceof ApplicantPropertyDetails details) {
+            return applicantChanged(details.getApplicant(), LoanAggregatePart.PROPERTY);
+        }
+        if (entity instanceof ApplicantDependent dependent) {
+            return applicantChanged(dependent.getApplicant(), LoanAggregatePart.DEPENDENT);
+        }
+        if (entity instanceof AadhaarDetails details) {
+            return applicantChanged(details.getApplicant(), LoanAggregatePart.AADHAAR);
+        }
+        if (entity instanceof PanDetails details) {
+            return applicantChanged(details.getApplicant(), LoanAggregatePart.PAN);
+        }
+        if (entity instanceof PassportDetails details) {
+            return applicantChanged(details.getApplicant(), LoanAggregatePart.PASSPORT);
+        }
+        if (entity instanceof OtherDocument document) {
+            return applicantChanged(document.getApplicant(), LoanAggregatePart.OTHER_DOCUMENT);
+        }
+        return null;
+    }
+
+    private static LoanAggregateChangedEvent applicantChanged(Applicant applicant, LoanAggregatePart part) {
+        return new LoanAggregateChangedEvent(applicantId(applicant), null, part);
+    }
+
+    // Reading the id of a lazy proxy does not initialize it
+    private static Long applicantId(Applicant applicant) {
+        return applicant != null ? applicant.getApplicantId() : null;
+    }
+}
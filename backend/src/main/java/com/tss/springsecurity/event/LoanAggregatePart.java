@@ -0,0 +1,22 @@
+package com.tss.springsecurity.event;
+
+/**
+ * Entity type within a loan's aggregate that a {@link LoanAggregateChangedEvent} is about
+ */
+public enum LoanAggregatePart {
+    APPLICANT,
+    BASIC_DETAILS,
+    AADHAAR,
+    PAN,
+    PASSPORT,
+    EMPLOYMENT,
+    FINANCIALS,
+    CREDIT_HISTORY,
+    PROPERTY,
+    DEPENDENT,
+    LOAN,
+    COLLATERAL,
+    ASSIGNMENT,
+    UPLOADED_DOCUMENT,
+    OTHER_DOCUMENT
+}
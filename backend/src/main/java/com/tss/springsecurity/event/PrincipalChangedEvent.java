@@ -0,0 +1,10 @@
+package com.tss.springsecurity.event;
+
+import java.util.List;
+
+/**
+ * An admin, applicant, loan officer or compliance officer was created or
+ * updated; {@code identifiers} are the username/email values it can log in with.
+ */
+public record PrincipalChangedEvent(String role, Long entityId, List<String> identifiers) {
+}
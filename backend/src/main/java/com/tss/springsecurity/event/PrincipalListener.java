@@ -0,0 +1,68 @@
+package com.tss.springsecurity.event;
+
+import com.tss.springsecurity.entity.Admin;
+import com.tss.springsecurity.entity.Applicant;
+import com.tss.springsecurity.entity.ComplianceOfficer;
+import com.tss.springsecurity.entity.LoanOfficer;
+import com.tss.springsecurity.service.CredentialIndexService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JPA listener on the four principal tables that turns every insert and update
+ * into a {@link PrincipalChangedEvent}, so the credential index follows new
+ * accounts and changed usernames/emails.
+ */
+public class PrincipalListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    public PrincipalListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void changed(Object entity) {
+        PrincipalChangedEvent event = toEvent(entity);
+        if (event != null && event.entityId() != null) {
+            publisher.publishEvent(event);
+        }
+    }
+
+    private static PrincipalChangedEvent toEvent(Object entity) {
+        if (entity instanceof Admin admin) {
+            return new PrincipalChangedEvent(CredentialIndexService.ADMIN, admin.getAdminId(),
+                    identifiers(admin.getUsername(), admin.getEmail()));
+        }
+        if (entity instanceof Applicant applicant) {
+            // Applicants log in by email only
+            return new PrincipalChangedEvent(CredentialIndexService.APPLICANT, applicant.getApplicantId(),
+                    identifiers(null, applicant.getEmail()));
+        }
+        if (entity instanceof LoanOfficer officer) {
+            return new PrincipalChangedEvent(CredentialIndexService.LOAN_OFFICER, officer.getOfficerId(),
+                    identifiers(officer.getUsername(), officer.getEmail()));
+        }
+        if (entity instanceof ComplianceOfficer officer) {
+            return new PrincipalChangedEvent(CredentialIndexService.COMPLIANCE_OFFICER, officer.getOfficerId(),
+                    identifiers(officer.getUsername(), officer.getEmail()));
+        }
+        return null;
+    }
+
+    private static List<String> identifiers(String username, String email) {
+        List<String> identifiers = new ArrayList<>(2);
+        for (String value : new String[] { username, email }) {
+            String identifier = CredentialIndexService.normalize(value);
+            if (!identifier.isEmpty() && !identifiers.contains(identifier)) {
+                identifiers.add(identifier);
+            }
+        }
+        return identifiers;
+    }
+}
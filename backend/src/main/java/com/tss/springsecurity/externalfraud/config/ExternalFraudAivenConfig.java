@@ -1,10 +1,11 @@
 package com.tss.springsecurity.externalfraud.config;
 
+import com.tss.springsecurity.datasource.DataSourcePools;
+import com.tss.springsecurity.datasource.Workload;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.boot.jdbc.DataSourceBuilder;
 import javax.sql.DataSource;
 
 /**
@@ -17,14 +18,14 @@ import javax.sql.DataSource;
 public class ExternalFraudAivenConfig {
 
     @Bean(name = "externalDataSource")
-    public DataSource externalDataSource() {
+    public DataSource externalDataSource(DataSourcePools dataSourcePools) {
         log.info("Connecting to Aiven MySQL cloud database...");
 
-        return DataSourceBuilder.create()
-                .url("jdbc:mysql://mysql-509864-lms-external-db.b.aivencloud.com:25060/defaultdb")
-                .username("avnaadmin")
-                .password("AVNS_rqE__ioF5VVnjsU01bl")
-                .driverClassName("com.mysql.cj.jdbc.Driver")
-                .build();
+        return dataSourcePools.create("aiven_external",
+                "jdbc:mysql://mysql-509864-lms-external-db.b.aivencloud.com:25060/defaultdb",
+                "avnaadmin",
+                "AVNS_rqE__ioF5VVnjsU01bl",
+                dataSourcePools.externalPools(),
+                Workload.SCREENING);
     }
 }
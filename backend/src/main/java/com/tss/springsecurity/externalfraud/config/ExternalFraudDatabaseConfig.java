@@ -1,8 +1,10 @@
 package com.tss.springsecurity.externalfraud.config;
 
+import com.tss.springsecurity.cache.SecondLevelCaches;
+import com.tss.springsecurity.datasource.DataSourcePools;
+import com.tss.springsecurity.datasource.Workload;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -29,20 +31,21 @@ import java.util.Map;
 public class ExternalFraudDatabaseConfig {
 
     @Bean(name = "externalDataSource")
-    public DataSource externalDataSource() {
-        return DataSourceBuilder.create()
-                .url("jdbc:mysql://localhost:3306/external_lms?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=Asia/Kolkata")
-                .username("root")
-                // .password("Root@12391@#15") // Original password - didn't work
-                .password("Rishit91@#15")
-                .driverClassName("com.mysql.cj.jdbc.Driver")
-                .build();
+    public DataSource externalDataSource(DataSourcePools dataSourcePools) {
+        return dataSourcePools.create("external_lms",
+                "jdbc:mysql://localhost:3306/external_lms?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=Asia/Kolkata",
+                "root",
+                // "Root@12391@#15", // Original password - didn't work
+                "Rishit91@#15",
+                dataSourcePools.externalPools(),
+                Workload.SCREENING);
     }
 
     @Bean(name = "externalEntityManagerFactory")
     public LocalContainerEntityManagerFactoryBean externalEntityManagerFactory(
             EntityManagerFactoryBuilder builder,
-            @Qualifier("externalDataSource") DataSource dataSource) {
+            @Qualifier("externalDataSource") DataSource dataSource,
+            SecondLevelCaches secondLevelCaches) {
         
         Map<String, Object> properties = new HashMap<>();
         // Remove explicit dialect - Hibernate will auto-detect MySQL dialect
@@ -50,7 +53,8 @@ public class ExternalFraudDatabaseConfig {
         properties.put("hibernate.show_sql", false);
         properties.put("hibernate.format_sql", true);
         properties.put("hibernate.connection.autocommit", false);
-        properties.put("hibernate.connection.pool_size", 5);
+        // Person lookups by id are cached across sessions
+        properties.putAll(secondLevelCaches.hibernateSettings("external_lms"));
         
         return builder
                 .dataSource(dataSource)
@@ -11,6 +11,9 @@ public class ExternalFraudProperties {
     
     private Screening screening = new Screening();
     private Rules rules = new Rules();
+    private BulkLoad bulkLoad = new BulkLoad();
+    private IdentifierIndex identifierIndex = new IdentifierIndex();
+    private RiskProfile riskProfile = new RiskProfile();
     
     @Data
     public static class Screening {
@@ -43,4 +46,34 @@ public class ExternalFraudProperties {
         private double internalWeight = 0.6;
         private double externalWeight = 0.4;
     }
+    
+    @Data
+    public static class BulkLoad {
+        // Files are only read from inside this directory
+        private String directory = "imports";
+        private int chunkSize = 5000;
+        // Drop non-unique secondary indexes for the load and rebuild them once at the end
+        private boolean deferSecondaryIndexes = true;
+        // SET unique_checks/foreign_key_checks = 0 per chunk; input must already be clean
+        private boolean relaxSessionChecks = true;
+        private int progressLogEveryChunks = 10;
+        private int maxErrorSamples = 20;
+    }
+    
+    @Data
+    public static class IdentifierIndex {
+        // Fill pan/aadhaar/phone/email hash columns for rows written before they existed
+        private boolean backfillOnStartup = true;
+        private int backfillBatchSize = 5000;
+        // HMAC-SHA256 key for the hash columns (at least 32 bytes); required, keep it out of the repo
+        private String hashKey;
+        // Bump together with hashKey; the startup backfill re-hashes rows of older versions
+        private int hashKeyVersion = 1;
+    }
+    
+    @Data
+    public static class RiskProfile {
+        // Persons aggregated per set of GROUP BY queries
+        private int batchSize = 500;
+    }
 }
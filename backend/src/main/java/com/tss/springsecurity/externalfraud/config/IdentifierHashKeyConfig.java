@@ -0,0 +1,46 @@
+package com.tss.springsecurity.externalfraud.config;
+
+import com.tss.springsecurity.externalfraud.util.IdentifierHash;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Hands the configured identifier hash key to {@link IdentifierHash}, which
+ * entity callbacks and the bulk loader call statically.
+ *
+ * Key rotation: set {@code external-fraud.identifier-index.hash-key} to the
+ * new key and increment {@code hash-key-version}. On the next start the
+ * backfill re-hashes every person whose {@code hash_key_version} differs;
+ * until it finishes, lookups that miss the hash index fall back to the raw
+ * columns. The identifier blacklist file is keyed per version and is rebuilt.
+ * Never change the key without bumping the version.
+ */
+@Configuration
+@RequiredArgsConstructor
+@Slf4j
+public class IdentifierHashKeyConfig {
+
+    private static final int MIN_KEY_BYTES = 32;
+
+    private final ExternalFraudProperties properties;
+
+    @PostConstruct
+    void configure() {
+        ExternalFraudProperties.IdentifierIndex index = properties.getIdentifierIndex();
+        String secret = index.getHashKey();
+        // A generated fallback key would silently orphan every stored hash on the next restart
+        if (secret == null || secret.getBytes(StandardCharsets.UTF_8).length < MIN_KEY_BYTES) {
+            throw new IllegalStateException("external-fraud.identifier-index.hash-key must be set to at least "
+                    + MIN_KEY_BYTES + " bytes");
+        }
+        if (index.getHashKeyVersion() < 1) {
+            throw new IllegalStateException("external-fraud.identifier-index.hash-key-version must be positive");
+        }
+        IdentifierHash.configure(secret.getBytes(StandardCharsets.UTF_8), index.getHashKeyVersion());
+        log.info("Identifier hashes use key version {}", index.getHashKeyVersion());
+    }
+}
@@ -4,6 +4,10 @@ import com.tss.springsecurity.externalfraud.service.BulkDataInsertionService;
 import com.tss.springsecurity.externalfraud.service.BulkDataInsertionService.BulkDataRequest;
 import com.tss.springsecurity.externalfraud.service.BulkDataInsertionService.BulkInsertionResult;
 import com.tss.springsecurity.externalfraud.service.BulkDataInsertionService.DatabaseStats;
+import com.tss.springsecurity.externalfraud.service.PersonRiskProfileService;
+import com.tss.springsecurity.externalfraud.service.StreamingBulkLoadService;
+import com.tss.springsecurity.externalfraud.service.StreamingBulkLoadService.BulkLoadRequest;
+import com.tss.springsecurity.externalfraud.service.StreamingBulkLoadService.BulkLoadResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -21,9 +25,12 @@ import java.util.Map;
 public class BulkDataController {
     
     private final BulkDataInsertionService bulkDataService;
+    private final StreamingBulkLoadService streamingBulkLoadService;
+    private final PersonRiskProfileService personRiskProfileService;
     
     /**
-     * Bulk insert data into all external fraud database tables
+     * Bulk insert data into all external fraud database tables.
+     * Suited to small payloads; use /load for bureau-sized snapshots.
      */
     @PostMapping("/insert")
     public ResponseEntity<?> bulkInsertData(@RequestBody BulkDataRequest request) {
@@ -63,6 +70,81 @@ public class BulkDataController {
         }
     }
     
+    /**
+     * Stream a server-side NDJSON/CSV file for one entity type into its table.
+     * Re-posting the same request resumes after the last committed chunk.
+     */
+    @PostMapping("/load")
+    public ResponseEntity<?> loadFile(@RequestBody BulkLoadRequest request) {
+        try {
+            log.info("Received streaming bulk load request for {} from {}",
+                    request.getEntityType(), request.getFilePath());
+            BulkLoadResult result = streamingBulkLoadService.load(request);
+            
+            if (StreamingBulkLoadService.STATUS_FAILED.equals(result.getStatus())) {
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(result);
+            }
+            return ResponseEntity.ok(result);
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(createErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error in streaming bulk load API", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(createErrorResponse("Internal server error: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * Checkpoint of a streaming bulk load
+     */
+    @GetMapping("/load/status")
+    public ResponseEntity<?> getLoadStatus(@RequestParam String jobId) {
+        return streamingBulkLoadService.getCheckpoint(jobId)
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(createErrorResponse("No bulk load found for job " + jobId)));
+    }
+    
+    @GetMapping("/load/entity-types")
+    public ResponseEntity<?> getLoadEntityTypes() {
+        return ResponseEntity.ok(streamingBulkLoadService.getSupportedEntityTypes());
+    }
+    
+    /**
+     * Recompute every stored person risk profile (e.g. after editing rows by hand)
+     */
+    @PostMapping("/profiles/rebuild")
+    public ResponseEntity<?> rebuildRiskProfiles() {
+        try {
+            long started = System.currentTimeMillis();
+            long rebuilt = personRiskProfileService.rebuildAll();
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("profilesRebuilt", rebuilt);
+            response.put("elapsedMs", System.currentTimeMillis() - started);
+            response.put("status", "success");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("Error rebuilding person risk profiles", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(createErrorResponse("Error rebuilding risk profiles: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/profiles/{personId}")
+    public ResponseEntity<?> getRiskProfile(@PathVariable Long personId) {
+        try {
+            return ResponseEntity.ok(personRiskProfileService.getProfile(personId));
+        } catch (Exception e) {
+            log.error("Error getting risk profile for person {}", personId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(createErrorResponse("Error getting risk profile: " + e.getMessage()));
+        }
+    }
+    
     /**
      * Get database statistics
      */
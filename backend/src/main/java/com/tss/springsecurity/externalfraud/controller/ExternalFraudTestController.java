@@ -5,6 +5,7 @@ import com.tss.springsecurity.externalfraud.model.ExternalFraudCheckResult;
 import com.tss.springsecurity.externalfraud.repository.PersonRepository;
 import com.tss.springsecurity.externalfraud.service.CombinedFraudScreeningService;
 import com.tss.springsecurity.externalfraud.service.ExternalFraudScreeningService;
+import com.tss.springsecurity.externalfraud.service.PersonLookupService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -28,6 +29,20 @@ public class ExternalFraudTestController {
     @Autowired
     private PersonRepository personRepository;
     
+    @Autowired
+    private PersonLookupService personLookupService;
+    
+    /**
+     * Hash identifier columns of legacy rows now instead of waiting for startup
+     */
+    @PostMapping("/identifier-hash-backfill")
+    public ResponseEntity<Map<String, Object>> backfillIdentifierHashes() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("updatedPersons", personLookupService.backfillIdentifierHashes());
+        response.put("hashesComplete", personLookupService.isHashesComplete());
+        return ResponseEntity.ok(response);
+    }
+    
     /**
      * Test endpoint to check external database connectivity
      */
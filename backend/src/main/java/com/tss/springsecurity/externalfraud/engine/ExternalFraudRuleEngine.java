@@ -5,6 +5,9 @@ import com.tss.springsecurity.externalfraud.model.ExternalFraudCheckResult;
 import com.tss.springsecurity.externalfraud.model.ExternalFraudFlag;
 import com.tss.springsecurity.externalfraud.entity.*;
 import com.tss.springsecurity.externalfraud.repository.*;
+import com.tss.springsecurity.externalfraud.service.PersonLookupService;
+import com.tss.springsecurity.externalfraud.service.PersonRiskProfileService;
+import com.tss.springsecurity.fraud.telemetry.RuleTelemetryService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -12,26 +15,22 @@ import org.springframework.stereotype.Component;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 @Component
 @Slf4j
 public class ExternalFraudRuleEngine {
     
     @Autowired
-    private PersonRepository personRepository;
+    private PersonLookupService personLookupService;
     
     @Autowired
-    private CriminalRecordRepository criminalRecordRepository;
+    private PersonRiskProfileService personRiskProfileService;
     
     @Autowired
-    private HistoricalAndCurrentLoanRepository loanRepository;
-    
-    @Autowired
-    private BankRecordRepository bankRecordRepository;
+    private GovernmentIssuedDocumentRepository documentRepository;
     
     @Autowired
-    private GovernmentIssuedDocumentRepository documentRepository;
+    private RuleTelemetryService ruleTelemetry;
     
     public ExternalFraudCheckResult performFraudCheck(ExternalFraudCheckRequest request) {
         long startTime = System.currentTimeMillis();
@@ -56,22 +55,27 @@ public class ExternalFraudRuleEngine {
             result.setPersonFound(true);
             result.setExternalPersonId(person.getId());
             
-            // Step 2: Run fraud rules
+            // Step 2: Run fraud rules against the precomputed per-person aggregates
+            RuleTelemetryService.Screening<ExternalFraudFlag> screening = ruleTelemetry.begin(
+                    "EXTERNAL", person.getId(), result.getFraudFlags(), ExternalFraudFlag::getRuleCode);
+            PersonRiskProfile profile = personRiskProfileService.getProfile(person.getId());
+            
             if (request.isCheckCriminalRecords()) {
-                checkCriminalRecords(person.getId(), result);
+                screening.run("CRIMINAL_RECORDS", () -> checkCriminalRecords(profile, result));
             }
             
             if (request.isCheckLoanHistory()) {
-                checkLoanHistory(person.getId(), result);
+                screening.run("LOAN_HISTORY", () -> checkLoanHistory(profile, result));
             }
             
             if (request.isCheckBankRecords()) {
-                checkBankRecords(person.getId(), result);
+                screening.run("BANK_RECORDS", () -> checkBankRecords(profile, result));
             }
             
             if (request.isCheckDocumentVerification()) {
-                checkDocumentVerification(person.getId(), result);
+                screening.run("DOCUMENT_VERIFICATION", () -> checkDocumentVerification(profile, result));
             }
+            screening.finish();
             
             // Step 3: Calculate final risk assessment
             result.calculateRiskLevel();
@@ -99,60 +103,25 @@ public class ExternalFraudRuleEngine {
     }
     
     private Person findPersonInExternalDB(ExternalFraudCheckRequest request) {
-        // Try to find by PAN first
-        if (request.getPanNumber() != null) {
-            Optional<Person> personByPan = personRepository.findByPanNumber(request.getPanNumber());
-            if (personByPan.isPresent()) {
-                return personByPan.get();
-            }
-        }
-        
-        // Try to find by Aadhaar
-        if (request.getAadhaarNumber() != null) {
-            Optional<Person> personByAadhaar = personRepository.findByAadhaarNumber(request.getAadhaarNumber());
-            if (personByAadhaar.isPresent()) {
-                return personByAadhaar.get();
-            }
-        }
-        
-        // Try to find by phone
-        if (request.getPhoneNumber() != null) {
-            List<Person> personsByPhone = personRepository.findByPhoneNumber(request.getPhoneNumber());
-            if (!personsByPhone.isEmpty()) {
-                return personsByPhone.get(0); // Return first match
-            }
-        }
-        
-        // Try to find by email
-        if (request.getEmail() != null) {
-            List<Person> personsByEmail = personRepository.findByEmail(request.getEmail());
-            if (!personsByEmail.isEmpty()) {
-                return personsByEmail.get(0); // Return first match
-            }
-        }
-        
-        return null;
+        // PAN, then Aadhaar, phone and email through the indexed hash columns
+        return personLookupService.findByIdentifiers(
+                request.getPanNumber(),
+                request.getAadhaarNumber(),
+                request.getPhoneNumber(),
+                request.getEmail()).orElse(null);
     }
     
-    private void checkCriminalRecords(Long personId, ExternalFraudCheckResult result) {
-        List<CriminalRecord> criminalRecords = criminalRecordRepository.findByPersonId(personId);
+    private void checkCriminalRecords(PersonRiskProfile profile, ExternalFraudCheckResult result) {
+        result.setHasCriminalRecord(profile.getTotalCriminalCases() > 0);
+        result.setTotalCriminalCases(profile.getTotalCriminalCases());
         
-        result.setHasCriminalRecord(!criminalRecords.isEmpty());
-        result.setTotalCriminalCases(criminalRecords.size());
-        
-        if (!criminalRecords.isEmpty()) {
-            long convictedCases = criminalRecordRepository.countConvictedCases(personId);
-            long openCases = criminalRecordRepository.countOpenCases(personId);
+        if (profile.getTotalCriminalCases() > 0) {
+            long convictedCases = profile.getConvictedCases();
+            long openCases = profile.getOpenCases();
             
             result.setConvictedCases(convictedCases);
             result.setOpenCases(openCases);
-            
-            // Extract case types
-            criminalRecords.forEach(record -> {
-                if (!result.getCriminalCaseTypes().contains(record.getCaseType())) {
-                    result.getCriminalCaseTypes().add(record.getCaseType());
-                }
-            });
+            result.getCriminalCaseTypes().addAll(profile.criminalCaseTypeList());
             
             // Apply fraud rules for criminal records
             if (convictedCases > 0) {
@@ -181,32 +150,19 @@ public class ExternalFraudRuleEngine {
         }
     }
     
-    private void checkLoanHistory(Long personId, ExternalFraudCheckResult result) {
-        List<HistoricalAndCurrentLoan> loans = loanRepository.findByPersonId(personId);
+    private void checkLoanHistory(PersonRiskProfile profile, ExternalFraudCheckResult result) {
+        result.setHasLoanHistory(profile.getTotalLoans() > 0);
+        result.setTotalLoans(profile.getTotalLoans());
         
-        result.setHasLoanHistory(!loans.isEmpty());
-        result.setTotalLoans(loans.size());
-        
-        if (!loans.isEmpty()) {
-            long activeLoans = loanRepository.countActiveLoans(personId);
-            long defaultedLoans = loanRepository.countDefaultedLoans(personId);
-            BigDecimal totalOutstanding = loanRepository.getTotalOutstandingBalance(personId);
+        if (profile.getTotalLoans() > 0) {
+            long activeLoans = profile.getActiveLoans();
+            long defaultedLoans = profile.getDefaultedLoans();
+            BigDecimal totalOutstanding = profile.getActiveOutstanding();
             
             result.setActiveLoans(activeLoans);
             result.setDefaultedLoans(defaultedLoans);
             result.setTotalOutstandingAmount(totalOutstanding != null ? totalOutstanding : BigDecimal.ZERO);
-            
-            // Find worst loan status
-            String worstStatus = "CLOSED";
-            for (HistoricalAndCurrentLoan loan : loans) {
-                if ("DEFAULTED".equals(loan.getStatus())) {
-                    worstStatus = "DEFAULTED";
-                    break;
-                } else if ("ACTIVE".equals(loan.getStatus()) && !"DEFAULTED".equals(worstStatus)) {
-                    worstStatus = "ACTIVE";
-                }
-            }
-            result.setWorstLoanStatus(worstStatus);
+            result.setWorstLoanStatus(profile.getWorstLoanStatus());
             
             // Apply fraud rules for loan history
             if (defaultedLoans > 0) {
@@ -250,33 +206,26 @@ public class ExternalFraudRuleEngine {
         }
     }
     
-    private void checkBankRecords(Long personId, ExternalFraudCheckResult result) {
-        List<BankRecord> bankRecords = bankRecordRepository.findByPersonId(personId);
+    private void checkBankRecords(PersonRiskProfile profile, ExternalFraudCheckResult result) {
+        int totalAccounts = profile.getTotalBankAccounts();
         
-        result.setHasBankRecords(!bankRecords.isEmpty());
-        result.setTotalBankAccounts(bankRecords.size());
+        result.setHasBankRecords(totalAccounts > 0);
+        result.setTotalBankAccounts(totalAccounts);
         
-        if (!bankRecords.isEmpty()) {
-            BigDecimal totalBalance = bankRecords.stream()
-                    .filter(record -> record.getBalanceAmount() != null)
-                    .map(BankRecord::getBalanceAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-            result.setTotalBankBalance(totalBalance);
+        if (totalAccounts > 0) {
+            result.setTotalBankBalance(profile.getTotalBankBalance());
             
             // Check for suspicious bank patterns
-            long inactiveAccounts = bankRecords.stream()
-                    .mapToLong(record -> record.getIsActive() ? 0 : 1)
-                    .sum();
+            long inactiveAccounts = profile.getInactiveBankAccounts();
             
-            if (bankRecords.size() >= 10) {
+            if (totalAccounts >= 10) {
                 result.addFraudFlag(ExternalFraudFlag.create(
                     "EXCESSIVE_BANK_ACCOUNTS",
                     "Excessive Bank Accounts",
                     "BANK_RECORDS",
                     "MEDIUM",
                     30,
-                    "Person has " + bankRecords.size() + " bank accounts",
+                    "Person has " + totalAccounts + " bank accounts",
                     "May indicate money laundering or fraud"
                 ));
             }
@@ -295,8 +244,12 @@ public class ExternalFraudRuleEngine {
         }
     }
     
-    private void checkDocumentVerification(Long personId, ExternalFraudCheckResult result) {
-        List<GovernmentIssuedDocument> documents = documentRepository.findByPersonId(personId);
+    private void checkDocumentVerification(PersonRiskProfile profile, ExternalFraudCheckResult result) {
+        // Per-document flags need type and expiry, so only drill down when the profile shows an issue
+        if (profile.getExpiredDocuments() + profile.getUnverifiedDocuments() == 0) {
+            return;
+        }
+        List<GovernmentIssuedDocument> documents = documentRepository.findByPersonId(profile.getPersonId());
         
         if (!documents.isEmpty()) {
             for (GovernmentIssuedDocument doc : documents) {
@@ -10,7 +10,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bank_records")
+@Table(name = "bank_records", indexes = {
+    @Index(name = "idx_bank_records_person_active", columnList = "person_id, is_active")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
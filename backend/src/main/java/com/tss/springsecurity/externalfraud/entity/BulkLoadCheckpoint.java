@@ -0,0 +1,72 @@
+package com.tss.springsecurity.externalfraud.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a streaming bulk load. Updated in the same transaction as each
+ * committed chunk so a restarted load resumes exactly after the last chunk.
+ */
+@Entity
+@Table(name = "bulk_load_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkLoadCheckpoint {
+    
+    @Id
+    @Column(name = "job_id", length = 200)
+    private String jobId;
+    
+    @Column(name = "entity_type", nullable = false, length = 50)
+    private String entityType;
+    
+    @Column(name = "file_path", nullable = false, length = 500)
+    private String filePath;
+    
+    @Column(name = "file_size")
+    private Long fileSize;
+    
+    @Column(name = "file_modified_at")
+    private Long fileModifiedAt;
+    
+    @Column(name = "status", nullable = false, length = 20)
+    private String status; // RUNNING, COMPLETED, FAILED
+    
+    // Input records consumed through the last committed chunk (inserted + rejected)
+    @Column(name = "records_processed", nullable = false)
+    private Long recordsProcessed = 0L;
+    
+    @Column(name = "rows_inserted", nullable = false)
+    private Long rowsInserted = 0L;
+    
+    @Column(name = "rows_rejected", nullable = false)
+    private Long rowsRejected = 0L;
+    
+    // Highest table id before the first chunk; rows above it belong to this load
+    @Column(name = "id_watermark")
+    private Long idWatermark;
+    
+    @Column(name = "chunks_committed", nullable = false)
+    private Long chunksCommitted = 0L;
+    
+    // Indexes dropped for the load that still have to be rebuilt ("name (col, ...)" per line)
+    @Column(name = "pending_indexes", columnDefinition = "TEXT")
+    private String pendingIndexes;
+    
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+    
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -9,7 +9,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "criminal_records")
+@Table(name = "criminal_records", indexes = {
+    @Index(name = "idx_criminal_records_person_status", columnList = "person_id, status")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -9,7 +9,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "government_issued_documents")
+@Table(name = "government_issued_documents", indexes = {
+    @Index(name = "idx_documents_person_status", columnList = "person_id, verification_status"),
+    @Index(name = "idx_documents_person_type", columnList = "person_id, document_type"),
+    @Index(name = "idx_documents_number", columnList = "document_number")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
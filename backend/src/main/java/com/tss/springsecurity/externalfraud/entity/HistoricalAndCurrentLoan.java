@@ -10,7 +10,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "historical_and_current_loans")
+@Table(name = "historical_and_current_loans", indexes = {
+    @Index(name = "idx_loans_person_status", columnList = "person_id, status"),
+    @Index(name = "idx_loans_person_default", columnList = "person_id, default_flag")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,15 +1,25 @@
 package com.tss.springsecurity.externalfraud.entity;
 
+import com.tss.springsecurity.cache.CacheRegions;
+import com.tss.springsecurity.externalfraud.util.IdentifierHash;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "persons")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PERSON)
+@Table(name = "persons", indexes = {
+    @Index(name = "idx_persons_pan_hash", columnList = "pan_hash"),
+    @Index(name = "idx_persons_aadhaar_hash", columnList = "aadhaar_hash"),
+    @Index(name = "idx_persons_phone_hash", columnList = "phone_hash"),
+    @Index(name = "idx_persons_email_hash", columnList = "email_hash")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -49,6 +59,23 @@ public class Person {
     @Column(name = "aadhaar_number")
     private String aadhaarNumber;
     
+    // HMAC-SHA256 of the normalized identifiers, see IdentifierHash
+    @Column(name = "pan_hash", length = 64)
+    private String panHash;
+    
+    @Column(name = "aadhaar_hash", length = 64)
+    private String aadhaarHash;
+    
+    @Column(name = "phone_hash", length = 64)
+    private String phoneHash;
+    
+    @Column(name = "email_hash", length = 64)
+    private String emailHash;
+    
+    // Key version the hashes were computed with; older rows are re-hashed by the backfill
+    @Column(name = "hash_key_version")
+    private Integer hashKeyVersion;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -59,10 +86,20 @@ public class Person {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        refreshIdentifierHashes();
     }
     
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        refreshIdentifierHashes();
+    }
+    
+    public void refreshIdentifierHashes() {
+        panHash = IdentifierHash.pan(panNumber);
+        aadhaarHash = IdentifierHash.aadhaar(aadhaarNumber);
+        phoneHash = IdentifierHash.phone(phoneNumber);
+        emailHash = IdentifierHash.email(email);
+        hashKeyVersion = IdentifierHash.keyVersion();
     }
 }
@@ -0,0 +1,129 @@
+package com.tss.springsecurity.externalfraud.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One precomputed row per external person with every aggregate screening and
+ * compliance views need, so they don't load and re-aggregate the child rows.
+ * Maintained by PersonRiskProfileService.
+ */
+@Entity
+@Table(name = "person_risk_profiles", indexes = {
+    @Index(name = "idx_person_risk_profiles_level", columnList = "risk_level")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonRiskProfile {
+
+    public static final String CASE_TYPE_SEPARATOR = "|";
+
+    @Id
+    @Column(name = "person_id")
+    private Long personId;
+
+    // Bank records
+    @Column(name = "total_bank_accounts", nullable = false)
+    private int totalBankAccounts;
+
+    @Column(name = "active_bank_accounts", nullable = false)
+    private int activeBankAccounts;
+
+    @Column(name = "inactive_bank_accounts", nullable = false)
+    private int inactiveBankAccounts;
+
+    @Column(name = "total_bank_balance", precision = 18, scale = 2)
+    private BigDecimal totalBankBalance = BigDecimal.ZERO;
+
+    // Loans
+    @Column(name = "total_loans", nullable = false)
+    private int totalLoans;
+
+    @Column(name = "active_loans", nullable = false)
+    private int activeLoans;
+
+    // Closed without default
+    @Column(name = "closed_clean_loans", nullable = false)
+    private int closedCleanLoans;
+
+    @Column(name = "defaulted_loans", nullable = false)
+    private int defaultedLoans;
+
+    @Column(name = "total_borrowed", precision = 18, scale = 2)
+    private BigDecimal totalBorrowed = BigDecimal.ZERO;
+
+    @Column(name = "total_outstanding", precision = 18, scale = 2)
+    private BigDecimal totalOutstanding = BigDecimal.ZERO;
+
+    // Outstanding on ACTIVE loans only
+    @Column(name = "active_outstanding", precision = 18, scale = 2)
+    private BigDecimal activeOutstanding = BigDecimal.ZERO;
+
+    @Column(name = "worst_loan_status", length = 20)
+    private String worstLoanStatus; // DEFAULTED, ACTIVE, CLOSED or null without loans
+
+    @Column(name = "last_loan_start_date")
+    private LocalDate lastLoanStartDate;
+
+    // Criminal records
+    @Column(name = "total_criminal_cases", nullable = false)
+    private int totalCriminalCases;
+
+    @Column(name = "convicted_cases", nullable = false)
+    private int convictedCases;
+
+    @Column(name = "open_cases", nullable = false)
+    private int openCases;
+
+    // Distinct case types in record order, joined with CASE_TYPE_SEPARATOR
+    @Column(name = "criminal_case_types", columnDefinition = "TEXT")
+    private String criminalCaseTypes;
+
+    // Government documents
+    @Column(name = "total_documents", nullable = false)
+    private int totalDocuments;
+
+    @Column(name = "verified_documents", nullable = false)
+    private int verifiedDocuments;
+
+    @Column(name = "expired_documents", nullable = false)
+    private int expiredDocuments;
+
+    @Column(name = "unverified_documents", nullable = false)
+    private int unverifiedDocuments;
+
+    // Derived scores
+    @Column(name = "cibil_score", nullable = false)
+    private int cibilScore;
+
+    @Column(name = "credit_utilization", nullable = false)
+    private double creditUtilization;
+
+    @Column(name = "payment_history", length = 20)
+    private String paymentHistory;
+
+    @Column(name = "risk_score", nullable = false)
+    private int riskScore;
+
+    @Column(name = "risk_level", length = 20)
+    private String riskLevel;
+
+    @Column(name = "computed_at")
+    private LocalDateTime computedAt;
+
+    public List<String> criminalCaseTypeList() {
+        if (criminalCaseTypes == null || criminalCaseTypes.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.asList(criminalCaseTypes.split("\\" + CASE_TYPE_SEPARATOR));
+    }
+}
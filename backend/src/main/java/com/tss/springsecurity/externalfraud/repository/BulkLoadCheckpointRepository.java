@@ -0,0 +1,9 @@
+package com.tss.springsecurity.externalfraud.repository;
+
+import com.tss.springsecurity.externalfraud.entity.BulkLoadCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BulkLoadCheckpointRepository extends JpaRepository<BulkLoadCheckpoint, String> {
+}
@@ -39,4 +39,21 @@ public interface PersonRepository extends JpaRepository<Person, Long> {
     
     @Query("SELECT COUNT(p) FROM Person p WHERE p.email = :email")
     long countByEmail(@Param("email") String email);
+    
+    // Indexed lookups on the hashed identifier columns (see IdentifierHash)
+    Optional<Person> findFirstByPanHashOrderByIdAsc(String panHash);
+    
+    Optional<Person> findFirstByAadhaarHashOrderByIdAsc(String aadhaarHash);
+    
+    Optional<Person> findFirstByPhoneHashOrderByIdAsc(String phoneHash);
+    
+    Optional<Person> findFirstByEmailHashOrderByIdAsc(String emailHash);
+    
+    long countByPanHash(String panHash);
+    
+    long countByAadhaarHash(String aadhaarHash);
+    
+    long countByPhoneHash(String phoneHash);
+    
+    long countByEmailHash(String emailHash);
 }
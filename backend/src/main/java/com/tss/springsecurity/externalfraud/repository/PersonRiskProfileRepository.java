@@ -0,0 +1,9 @@
+package com.tss.springsecurity.externalfraud.repository;
+
+import com.tss.springsecurity.externalfraud.entity.PersonRiskProfile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PersonRiskProfileRepository extends JpaRepository<PersonRiskProfile, Long> {
+}
@@ -10,6 +10,9 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +24,7 @@ public class BulkDataInsertionService {
     private final BankRecordRepository bankRecordRepository;
     private final HistoricalAndCurrentLoanRepository loanRepository;
     private final GovernmentIssuedDocumentRepository documentRepository;
+    private final PersonRiskProfileService personRiskProfileService;
     
     @Transactional
     public BulkInsertionResult insertBulkData(BulkDataRequest request) {
@@ -71,6 +75,16 @@ public class BulkDataInsertionService {
                 log.info("Successfully inserted {} government documents", savedDocs.size());
             }
             
+            // Keep the stored risk profiles in line with the child rows just written
+            Set<Long> touchedPersons = new HashSet<>();
+            collectPersonIds(request.getCriminalRecords(), CriminalRecord::getPersonId, touchedPersons);
+            collectPersonIds(request.getBankRecords(), BankRecord::getPersonId, touchedPersons);
+            collectPersonIds(request.getLoans(), HistoricalAndCurrentLoan::getPersonId, touchedPersons);
+            collectPersonIds(request.getGovernmentDocuments(), GovernmentIssuedDocument::getPersonId, touchedPersons);
+            if (!touchedPersons.isEmpty()) {
+                insertedCounts.put("riskProfilesRefreshed", personRiskProfileService.refreshProfiles(touchedPersons));
+            }
+            
             result.setSuccess(true);
             result.setMessage("Bulk data insertion completed successfully");
             result.setInsertedCounts(insertedCounts);
@@ -95,6 +109,7 @@ public class BulkDataInsertionService {
         log.info("Clearing all external fraud database data");
         
         // Delete in reverse order to maintain referential integrity
+        personRiskProfileService.deleteAll();
         criminalRecordRepository.deleteAll();
         bankRecordRepository.deleteAll();
         loanRepository.deleteAll();
@@ -104,6 +119,18 @@ public class BulkDataInsertionService {
         log.info("All external fraud database data cleared successfully");
     }
     
+    private <T> void collectPersonIds(List<T> records, Function<T, Long> personId, Set<Long> target) {
+        if (records == null) {
+            return;
+        }
+        for (T record : records) {
+            Long id = personId.apply(record);
+            if (id != null) {
+                target.add(id);
+            }
+        }
+    }
+    
     public DatabaseStats getDatabaseStats() {
         DatabaseStats stats = new DatabaseStats();
         
@@ -0,0 +1,211 @@
+package com.tss.springsecurity.externalfraud.service;
+
+import com.tss.springsecurity.externalfraud.config.ExternalFraudProperties;
+import com.tss.springsecurity.externalfraud.entity.Person;
+import com.tss.springsecurity.externalfraud.repository.PersonRepository;
+import com.tss.springsecurity.externalfraud.util.IdentifierHash;
+import com.tss.springsecurity.util.LatencyHistogram;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Finds external persons by identifier through the indexed hash columns.
+ * Until the startup backfill has hashed every legacy row (or re-hashed every
+ * row after a key rotation), a miss on the hash index falls back to the raw
+ * column so no match is lost during rollout.
+ */
+@Service
+@Slf4j
+public class PersonLookupService {
+
+    private final PersonRepository personRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ExternalFraudProperties properties;
+
+    private final AtomicBoolean backfillRunning = new AtomicBoolean();
+    private volatile boolean hashesComplete;
+
+    public PersonLookupService(PersonRepository personRepository,
+                               @Qualifier("externalDataSource") DataSource dataSource,
+                               @Qualifier("externalTransactionManager") PlatformTransactionManager transactionManager,
+                               ExternalFraudProperties properties) {
+        this.personRepository = personRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    public Optional<Person> findByPan(String pan) {
+        String hash = IdentifierHash.pan(pan);
+        if (hash == null) return Optional.empty();
+        Optional<Person> person = personRepository.findFirstByPanHashOrderByIdAsc(hash);
+        return person.isPresent() || hashesComplete ? person : personRepository.findByPanNumber(pan);
+    }
+
+    public Optional<Person> findByAadhaar(String aadhaar) {
+        String hash = IdentifierHash.aadhaar(aadhaar);
+        if (hash == null) return Optional.empty();
+        Optional<Person> person = personRepository.findFirstByAadhaarHashOrderByIdAsc(hash);
+        return person.isPresent() || hashesComplete ? person : personRepository.findByAadhaarNumber(aadhaar);
+    }
+
+    public Optional<Person> findByPhone(String phone) {
+        String hash = IdentifierHash.phone(phone);
+        if (hash == null) return Optional.empty();
+        Optional<Person> person = personRepository.findFirstByPhoneHashOrderByIdAsc(hash);
+        return person.isPresent() || hashesComplete
+                ? person : personRepository.findByPhoneNumber(phone).stream().findFirst();
+    }
+
+    public Optional<Person> findByEmail(String email) {
+        String hash = IdentifierHash.email(email);
+        if (hash == null) return Optional.empty();
+        Optional<Person> person = personRepository.findFirstByEmailHashOrderByIdAsc(hash);
+        return person.isPresent() || hashesComplete
+                ? person : personRepository.findByEmail(email).stream().findFirst();
+    }
+
+    /**
+     * Strongest identifier first: PAN, Aadhaar, phone, email
+     */
+    public Optional<Person> findByIdentifiers(String pan, String aadhaar, String phone, String email) {
+        Optional<Person> person = findByPan(pan);
+        if (person.isEmpty()) person = findByAadhaar(aadhaar);
+        if (person.isEmpty()) person = findByPhone(phone);
+        if (person.isEmpty()) person = findByEmail(email);
+        return person;
+    }
+
+    public boolean isHashesComplete() {
+        return hashesComplete;
+    }
+
+    // ==================== BACKFILL ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!properties.getIdentifierIndex().isBackfillOnStartup()) {
+            return;
+        }
+        Thread worker = new Thread(this::backfillIdentifierHashes, "person-hash-backfill");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Hash identifiers of rows written before the hash columns existed or
+     * under an older key version (after a key rotation).
+     * Walks the primary key in batches, one commit per batch.
+     */
+    public long backfillIdentifierHashes() {
+        if (!backfillRunning.compareAndSet(false, true)) {
+            return 0;
+        }
+        long updated = 0;
+        long started = System.currentTimeMillis();
+        try {
+            int batchSize = properties.getIdentifierIndex().getBackfillBatchSize();
+            int keyVersion = IdentifierHash.keyVersion();
+            long lastId = 0;
+            while (true) {
+                List<Object[]> batch = jdbcTemplate.query(
+                        "SELECT id, pan_number, aadhaar_number, phone_number, email FROM persons " +
+                        "WHERE id > ? AND (hash_key_version IS NULL OR hash_key_version <> ?) ORDER BY id LIMIT ?",
+                        (rs, rowNum) -> new Object[] {
+                                IdentifierHash.pan(rs.getString("pan_number")),
+                                IdentifierHash.aadhaar(rs.getString("aadhaar_number")),
+                                IdentifierHash.phone(rs.getString("phone_number")),
+                                IdentifierHash.email(rs.getString("email")),
+                                keyVersion,
+                                rs.getLong("id")
+                        },
+                        lastId, keyVersion, batchSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                        "UPDATE persons SET pan_hash = ?, aadhaar_hash = ?, phone_hash = ?, email_hash = ?, " +
+                        "hash_key_version = ? WHERE id = ?",
+                        batch));
+                updated += batch.size();
+                lastId = (Long) batch.get(batch.size() - 1)[5];
+            }
+            hashesComplete = true;
+            if (updated > 0) {
+                log.info("Backfilled identifier hashes for {} persons in {} ms",
+                        updated, System.currentTimeMillis() - started);
+            }
+        } catch (RuntimeException e) {
+            log.error("Identifier hash backfill stopped after {} persons: {}", updated, e.getMessage(), e);
+        } finally {
+            backfillRunning.set(false);
+        }
+        return updated;
+    }
+
+    // ==================== BENCHMARK ====================
+
+    /**
+     * Lookup latency on the current dataset: indexed hash lookups for
+     * {@code samples} random persons vs. a few raw-column lookups.
+     */
+    public Map<String, Object> benchmarkLookups(int samples, int rawSamples) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        Long minId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM persons", Long.class);
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM persons", Long.class);
+        report.put("persons", personRepository.count());
+        report.put("hashesComplete", hashesComplete);
+        if (minId == null || maxId == null) {
+            report.put("message", "persons table is empty");
+            return report;
+        }
+
+        List<Map<String, Object>> sample = new ArrayList<>(samples);
+        for (int i = 0; i < samples; i++) {
+            long id = ThreadLocalRandom.current().nextLong(minId, maxId + 1);
+            sample.addAll(jdbcTemplate.queryForList(
+                    "SELECT pan_number, aadhaar_number, phone_number, email FROM persons WHERE id >= ? ORDER BY id LIMIT 1", id));
+        }
+
+        report.put("panHash", time(sample, "pan_number", samples, this::findByPan));
+        report.put("aadhaarHash", time(sample, "aadhaar_number", samples, this::findByAadhaar));
+        report.put("phoneHash", time(sample, "phone_number", samples, this::findByPhone));
+        report.put("emailHash", time(sample, "email", samples, this::findByEmail));
+        report.put("panRawColumn", time(sample, "pan_number", rawSamples, personRepository::countByPanNumber));
+        report.put("aadhaarRawColumn", time(sample, "aadhaar_number", rawSamples, personRepository::countByAadhaarNumber));
+        return report;
+    }
+
+    private Map<String, Object> time(List<Map<String, Object>> sample, String column, int limit,
+                                     Function<String, ?> lookup) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        int runs = 0;
+        for (Map<String, Object> row : sample) {
+            if (runs >= limit) break;
+            Object value = row.get(column);
+            if (value == null) continue;
+            long start = System.nanoTime();
+            lookup.apply(value.toString());
+            histogram.recordNanos(System.nanoTime() - start);
+            runs++;
+        }
+        return histogram.snapshot();
+    }
+}
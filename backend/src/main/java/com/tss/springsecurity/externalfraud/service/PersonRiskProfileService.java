@@ -0,0 +1,274 @@
+package com.tss.springsecurity.externalfraud.service;
+
+import com.tss.springsecurity.externalfraud.config.ExternalFraudProperties;
+import com.tss.springsecurity.externalfraud.entity.PersonRiskProfile;
+import com.tss.springsecurity.externalfraud.repository.PersonRiskProfileRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Computes and stores {@link PersonRiskProfile} rows. Aggregation runs in SQL,
+ * a batch of persons at a time, whenever bulk data for those persons is loaded;
+ * readers get the stored row and a missing one is computed on first access.
+ */
+@Service
+@Slf4j
+public class PersonRiskProfileService {
+
+    private static final String UPSERT_SQL = "REPLACE INTO person_risk_profiles (" +
+            "person_id, total_bank_accounts, active_bank_accounts, inactive_bank_accounts, total_bank_balance, " +
+            "total_loans, active_loans, closed_clean_loans, defaulted_loans, total_borrowed, total_outstanding, " +
+            "active_outstanding, worst_loan_status, last_loan_start_date, total_criminal_cases, convicted_cases, " +
+            "open_cases, criminal_case_types, total_documents, verified_documents, expired_documents, " +
+            "unverified_documents, cibil_score, credit_utilization, payment_history, risk_score, risk_level, computed_at" +
+            ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final PersonRiskProfileRepository profileRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final ExternalFraudProperties properties;
+
+    public PersonRiskProfileService(PersonRiskProfileRepository profileRepository,
+                                    @Qualifier("externalDataSource") DataSource dataSource,
+                                    ExternalFraudProperties properties) {
+        this.profileRepository = profileRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.properties = properties;
+    }
+
+    /**
+     * Stored profile, computed and saved on first access
+     */
+    public PersonRiskProfile getProfile(Long personId) {
+        return profileRepository.findById(personId).orElseGet(() -> {
+            PersonRiskProfile profile = computeProfiles(List.of(personId)).get(personId);
+            save(List.of(profile));
+            return profile;
+        });
+    }
+
+    /**
+     * Recompute the profiles of the given persons
+     */
+    public int refreshProfiles(Collection<Long> personIds) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(personIds));
+        int batchSize = properties.getRiskProfile().getBatchSize();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + batchSize));
+            save(computeProfiles(batch).values());
+        }
+        return ids.size();
+    }
+
+    /**
+     * Recompute the profiles of every person that owns a row in {@code table}
+     * with an id above {@code afterId}, i.e. everything a bulk load appended
+     */
+    public int refreshProfilesForRowsAfter(String table, long afterId) {
+        int refreshed = 0;
+        int batchSize = properties.getRiskProfile().getBatchSize();
+        long lastId = afterId;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT id, person_id FROM " + table + " WHERE id > ? ORDER BY id LIMIT ?", lastId, batchSize * 4);
+            if (rows.isEmpty()) {
+                break;
+            }
+            Set<Long> personIds = new LinkedHashSet<>();
+            for (Map<String, Object> row : rows) {
+                if (row.get("person_id") != null) {
+                    personIds.add(((Number) row.get("person_id")).longValue());
+                }
+            }
+            refreshed += refreshProfiles(personIds);
+            lastId = ((Number) rows.get(rows.size() - 1).get("id")).longValue();
+        }
+        log.info("Refreshed {} person risk profiles after loading {}", refreshed, table);
+        return refreshed;
+    }
+
+    /**
+     * Recompute every profile, walking persons by primary key
+     */
+    public long rebuildAll() {
+        long started = System.currentTimeMillis();
+        int batchSize = properties.getRiskProfile().getBatchSize();
+        long lastId = 0;
+        long rebuilt = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM persons WHERE id > ? ORDER BY id LIMIT ?", Long.class, lastId, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            save(computeProfiles(ids).values());
+            rebuilt += ids.size();
+            lastId = ids.get(ids.size() - 1);
+        }
+        log.info("Rebuilt {} person risk profiles in {} ms", rebuilt, System.currentTimeMillis() - started);
+        return rebuilt;
+    }
+
+    public void deleteAll() {
+        profileRepository.deleteAllInBatch();
+    }
+
+    // ==================== AGGREGATION ====================
+
+    private Map<Long, PersonRiskProfile> computeProfiles(List<Long> personIds) {
+        Map<Long, PersonRiskProfile> profiles = new LinkedHashMap<>();
+        for (Long personId : personIds) {
+            PersonRiskProfile profile = new PersonRiskProfile();
+            profile.setPersonId(personId);
+            profiles.put(personId, profile);
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", personIds);
+
+        namedJdbcTemplate.query(
+                "SELECT person_id, COUNT(*) AS total, SUM(is_active = 1) AS active, SUM(is_active = 0) AS inactive, " +
+                "COALESCE(SUM(balance_amount), 0) AS balance " +
+                "FROM bank_records WHERE person_id IN (:ids) GROUP BY person_id",
+                params,
+                (RowCallbackHandler) rs -> {
+                    PersonRiskProfile p = profiles.get(rs.getLong("person_id"));
+                    p.setTotalBankAccounts(rs.getInt("total"));
+                    p.setActiveBankAccounts(rs.getInt("active"));
+                    p.setInactiveBankAccounts(rs.getInt("inactive"));
+                    p.setTotalBankBalance(rs.getBigDecimal("balance"));
+                });
+
+        namedJdbcTemplate.query(
+                "SELECT person_id, COUNT(*) AS total, SUM(status = 'ACTIVE') AS active, " +
+                "SUM(default_flag = 0 AND status = 'CLOSED') AS closed_clean, SUM(default_flag = 1) AS defaulted, " +
+                "SUM(status = 'DEFAULTED') AS defaulted_status, " +
+                "COALESCE(SUM(loan_amount), 0) AS borrowed, COALESCE(SUM(outstanding_balance), 0) AS outstanding, " +
+                "COALESCE(SUM(CASE WHEN status = 'ACTIVE' THEN outstanding_balance END), 0) AS active_outstanding, " +
+                "MAX(start_date) AS last_start " +
+                "FROM historical_and_current_loans WHERE person_id IN (:ids) GROUP BY person_id",
+                params,
+                (RowCallbackHandler) rs -> {
+                    PersonRiskProfile p = profiles.get(rs.getLong("person_id"));
+                    p.setTotalLoans(rs.getInt("total"));
+                    p.setActiveLoans(rs.getInt("active"));
+                    p.setClosedCleanLoans(rs.getInt("closed_clean"));
+                    p.setDefaultedLoans(rs.getInt("defaulted"));
+                    p.setTotalBorrowed(rs.getBigDecimal("borrowed"));
+                    p.setTotalOutstanding(rs.getBigDecimal("outstanding"));
+                    p.setActiveOutstanding(rs.getBigDecimal("active_outstanding"));
+                    p.setWorstLoanStatus(rs.getInt("defaulted_status") > 0 ? "DEFAULTED"
+                            : p.getActiveLoans() > 0 ? "ACTIVE" : "CLOSED");
+                    Date lastStart = rs.getDate("last_start");
+                    p.setLastLoanStartDate(lastStart != null ? lastStart.toLocalDate() : null);
+                });
+
+        Map<Long, Set<String>> caseTypes = new LinkedHashMap<>();
+        namedJdbcTemplate.query(
+                "SELECT person_id, status, case_type FROM criminal_records WHERE person_id IN (:ids) ORDER BY id",
+                params,
+                (RowCallbackHandler) rs -> {
+                    long personId = rs.getLong("person_id");
+                    PersonRiskProfile p = profiles.get(personId);
+                    String status = rs.getString("status");
+                    p.setTotalCriminalCases(p.getTotalCriminalCases() + 1);
+                    if ("CONVICTED".equals(status)) p.setConvictedCases(p.getConvictedCases() + 1);
+                    if ("OPEN".equals(status)) p.setOpenCases(p.getOpenCases() + 1);
+                    String caseType = rs.getString("case_type");
+                    if (caseType != null) {
+                        caseTypes.computeIfAbsent(personId, k -> new LinkedHashSet<>()).add(caseType);
+                    }
+                });
+        caseTypes.forEach((personId, types) ->
+                profiles.get(personId).setCriminalCaseTypes(String.join(PersonRiskProfile.CASE_TYPE_SEPARATOR, types)));
+
+        namedJdbcTemplate.query(
+                "SELECT person_id, COUNT(*) AS total, SUM(verification_status = 'VERIFIED') AS verified, " +
+                "SUM(verification_status = 'EXPIRED') AS expired, SUM(verification_status = 'UNVERIFIED') AS unverified " +
+                "FROM government_issued_documents WHERE person_id IN (:ids) GROUP BY person_id",
+                params,
+                (RowCallbackHandler) rs -> {
+                    PersonRiskProfile p = profiles.get(rs.getLong("person_id"));
+                    p.setTotalDocuments(rs.getInt("total"));
+                    p.setVerifiedDocuments(rs.getInt("verified"));
+                    p.setExpiredDocuments(rs.getInt("expired"));
+                    p.setUnverifiedDocuments(rs.getInt("unverified"));
+                });
+
+        LocalDateTime now = LocalDateTime.now();
+        for (PersonRiskProfile profile : profiles.values()) {
+            score(profile);
+            profile.setComputedAt(now);
+        }
+        return profiles;
+    }
+
+    // ==================== SCORING ====================
+
+    /**
+     * Derived scores, formerly recomputed from the raw rows on every compliance view
+     */
+    static void score(PersonRiskProfile p) {
+        // Bureau-style score: 300 base, +50 per active account, +75 per cleanly closed loan, -100 per default
+        int cibil = 300 + p.getActiveBankAccounts() * 50 + p.getClosedCleanLoans() * 75 - p.getDefaultedLoans() * 100;
+        p.setCibilScore(Math.min(850, Math.max(300, cibil)));
+
+        BigDecimal borrowed = p.getTotalBorrowed() != null ? p.getTotalBorrowed() : BigDecimal.ZERO;
+        BigDecimal outstanding = p.getTotalOutstanding() != null ? p.getTotalOutstanding() : BigDecimal.ZERO;
+        p.setCreditUtilization(borrowed.signum() == 0 ? 0.0
+                : outstanding.multiply(BigDecimal.valueOf(100)).divide(borrowed, 2, RoundingMode.HALF_UP).doubleValue());
+
+        if (p.getTotalLoans() == 0) {
+            p.setPaymentHistory("NO_HISTORY");
+        } else {
+            double defaultRate = (double) p.getDefaultedLoans() / p.getTotalLoans();
+            p.setPaymentHistory(defaultRate == 0 ? "EXCELLENT" : defaultRate < 0.1 ? "GOOD" : defaultRate < 0.3 ? "FAIR" : "POOR");
+        }
+
+        // Compliance risk score (0-100, higher is riskier)
+        int risk = Math.min(40, p.getTotalCriminalCases() * 10)
+                + Math.min(30, p.getDefaultedLoans() * 15)
+                + Math.min(20, p.getInactiveBankAccounts() * 5)
+                + Math.min(10, (p.getTotalDocuments() - p.getVerifiedDocuments()) * 2);
+        p.setRiskScore(risk);
+        p.setRiskLevel(risk >= 70 ? "CRITICAL" : risk >= 50 ? "HIGH" : risk >= 30 ? "MEDIUM" : risk >= 15 ? "LOW" : "MINIMAL");
+    }
+
+    private void save(Collection<PersonRiskProfile> profiles) {
+        List<Object[]> rows = new ArrayList<>(profiles.size());
+        for (PersonRiskProfile p : profiles) {
+            rows.add(new Object[] {
+                    p.getPersonId(), p.getTotalBankAccounts(), p.getActiveBankAccounts(), p.getInactiveBankAccounts(),
+                    p.getTotalBankBalance(), p.getTotalLoans(), p.getActiveLoans(), p.getClosedCleanLoans(),
+                    p.getDefaultedLoans(), p.getTotalBorrowed(), p.getTotalOutstanding(), p.getActiveOutstanding(),
+                    p.getWorstLoanStatus(),
+                    p.getLastLoanStartDate() != null ? Date.valueOf(p.getLastLoanStartDate()) : null,
+                    p.getTotalCriminalCases(), p.getConvictedCases(), p.getOpenCases(), p.getCriminalCaseTypes(),
+                    p.getTotalDocuments(), p.getVerifiedDocuments(), p.getExpiredDocuments(), p.getUnverifiedDocuments(),
+                    p.getCibilScore(), p.getCreditUtilization(), p.getPaymentHistory(), p.getRiskScore(),
+                    p.getRiskLevel(), Timestamp.valueOf(p.getComputedAt())
+            });
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        }
+    }
+}
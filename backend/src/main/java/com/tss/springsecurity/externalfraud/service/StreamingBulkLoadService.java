@@ -0,0 +1,646 @@
+package com.tss.springsecurity.externalfraud.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tss.springsecurity.datasource.Workload;
+import com.tss.springsecurity.datasource.WorkloadContext;
+import com.tss.springsecurity.externalfraud.config.ExternalFraudProperties;
+import com.tss.springsecurity.externalfraud.entity.BulkLoadCheckpoint;
+import com.tss.springsecurity.externalfraud.repository.BulkLoadCheckpointRepository;
+import com.tss.springsecurity.externalfraud.util.BulkRecordReader;
+import com.tss.springsecurity.externalfraud.util.BulkRecordReader.Format;
+import com.tss.springsecurity.externalfraud.util.IdentifierHash;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * High-throughput loader for the external fraud database. Streams one NDJSON or
+ * CSV file per entity type, writes with JDBC batch inserts, commits every chunk
+ * together with its checkpoint and can resume after the last committed chunk.
+ */
+@Service
+@Slf4j
+public class StreamingBulkLoadService {
+
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private static final int MAX_CHUNK_SIZE = 50000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BulkLoadCheckpointRepository checkpointRepository;
+    private final ExternalFraudProperties properties;
+    private final ObjectMapper objectMapper;
+    private final PersonRiskProfileService personRiskProfileService;
+
+    private final Set<String> activeJobs = ConcurrentHashMap.newKeySet();
+
+    public StreamingBulkLoadService(@Qualifier("externalDataSource") DataSource dataSource,
+                                    @Qualifier("externalTransactionManager") PlatformTransactionManager transactionManager,
+                                    BulkLoadCheckpointRepository checkpointRepository,
+                                    ExternalFraudProperties properties,
+                                    ObjectMapper objectMapper,
+                                    PersonRiskProfileService personRiskProfileService) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.checkpointRepository = checkpointRepository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.personRiskProfileService = personRiskProfileService;
+    }
+
+    /**
+     * Load one file into the table for {@code request.entityType}
+     */
+    public BulkLoadResult load(BulkLoadRequest request) throws IOException {
+        Target target = Target.from(request.getEntityType());
+        Path file = resolveFile(request.getFilePath());
+        Format format = request.getFormat() != null && !request.getFormat().isBlank()
+                ? Format.valueOf(request.getFormat().trim().toUpperCase())
+                : BulkRecordReader.detectFormat(file);
+        int chunkSize = request.getChunkSize() != null && request.getChunkSize() > 0
+                ? Math.min(request.getChunkSize(), MAX_CHUNK_SIZE)
+                : properties.getBulkLoad().getChunkSize();
+        String jobId = request.getJobId() != null && !request.getJobId().isBlank()
+                ? request.getJobId().trim()
+                : target.name() + ":" + baseDirectory().relativize(file);
+
+        if (!activeJobs.add(jobId)) {
+            throw new IllegalStateException("Bulk load " + jobId + " is already running");
+        }
+        try (WorkloadContext.Scope ignored = WorkloadContext.enter(Workload.BULK_LOAD)) {
+            return runLoad(jobId, target, file, format, chunkSize, request.isRestart());
+        } finally {
+            activeJobs.remove(jobId);
+        }
+    }
+
+    public Optional<BulkLoadCheckpoint> getCheckpoint(String jobId) {
+        return checkpointRepository.findById(jobId);
+    }
+
+    public List<String> getSupportedEntityTypes() {
+        List<String> types = new ArrayList<>();
+        for (Target target : Target.values()) {
+            types.add(target.name());
+        }
+        return types;
+    }
+
+    // ==================== LOADING ====================
+
+    private BulkLoadResult runLoad(String jobId, Target target, Path file, Format format,
+                                   int chunkSize, boolean restart) throws IOException {
+        ExternalFraudProperties.BulkLoad config = properties.getBulkLoad();
+        long fileSize = Files.size(file);
+        long fileModifiedAt = Files.getLastModifiedTime(file).toMillis();
+
+        BulkLoadCheckpoint existing = checkpointRepository.findById(jobId).orElse(null);
+        boolean sameFile = existing != null
+                && existing.getFileSize() != null && existing.getFileSize() == fileSize
+                && existing.getFileModifiedAt() != null && existing.getFileModifiedAt() == fileModifiedAt;
+
+        BulkLoadResult result = new BulkLoadResult();
+        result.setJobId(jobId);
+        result.setEntityType(target.name());
+        result.setTable(target.table);
+        result.setChunkSize(chunkSize);
+
+        if (sameFile && !restart && STATUS_COMPLETED.equals(existing.getStatus())) {
+            result.setStatus(STATUS_COMPLETED);
+            result.setMessage("File was already loaded completely; pass restart=true to load it again");
+            result.setTotalRowsInserted(existing.getRowsInserted());
+            return result;
+        }
+
+        BulkLoadCheckpoint checkpoint;
+        if (sameFile && !restart) {
+            checkpoint = existing;
+            result.setResumedFromRecord(existing.getRecordsProcessed());
+        } else {
+            checkpoint = new BulkLoadCheckpoint();
+            checkpoint.setJobId(jobId);
+            checkpoint.setEntityType(target.name());
+            checkpoint.setFilePath(file.toString());
+            checkpoint.setFileSize(fileSize);
+            checkpoint.setFileModifiedAt(fileModifiedAt);
+            checkpoint.setStartedAt(LocalDateTime.now());
+            checkpoint.setIdWatermark(jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(MAX(id), 0) FROM " + target.table, Long.class));
+            // A crashed earlier run may still owe us an index rebuild
+            checkpoint.setPendingIndexes(existing != null ? existing.getPendingIndexes() : null);
+        }
+        checkpoint.setStatus(STATUS_RUNNING);
+        checkpoint.setLastError(null);
+        checkpoint.setCompletedAt(null);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+
+        if (config.isDeferSecondaryIndexes() && checkpoint.getPendingIndexes() == null) {
+            checkpoint.setPendingIndexes(dropSecondaryIndexes(target.table));
+        }
+        checkpoint = checkpointRepository.save(checkpoint);
+
+        long started = System.nanoTime();
+        long insertedThisRun = 0;
+        long rejectedThisRun = 0;
+        List<String> errorSamples = new ArrayList<>();
+
+        try (BulkRecordReader reader = new BulkRecordReader(file, format, objectMapper)) {
+            long skipped = reader.skip(checkpoint.getRecordsProcessed());
+            if (skipped > 0) {
+                log.info("Bulk load {} resuming after {} committed records", jobId, skipped);
+            }
+
+            List<Object[]> rows = new ArrayList<>(chunkSize);
+            int chunkRecords = 0;
+            int chunkRejected = 0;
+            LocalDateTime now = LocalDateTime.now();
+
+            while (true) {
+                Object[] row;
+                try {
+                    Map<String, Object> record = reader.next();
+                    if (record == null) {
+                        break;
+                    }
+                    row = target.toRow(record, now);
+                } catch (IllegalArgumentException e) {
+                    row = null;
+                    chunkRejected++;
+                    if (errorSamples.size() < config.getMaxErrorSamples()) {
+                        errorSamples.add("Line " + reader.getLineNumber() + ": " + e.getMessage());
+                    }
+                }
+                if (row != null) {
+                    rows.add(row);
+                }
+                chunkRecords++;
+
+                if (chunkRecords == chunkSize) {
+                    commitChunk(checkpoint, target, rows, chunkRecords, chunkRejected);
+                    insertedThisRun += rows.size();
+                    rejectedThisRun += chunkRejected;
+                    logProgress(jobId, checkpoint, insertedThisRun, started);
+                    rows.clear();
+                    chunkRecords = 0;
+                    chunkRejected = 0;
+                    now = LocalDateTime.now();
+                }
+            }
+
+            if (chunkRecords > 0) {
+                commitChunk(checkpoint, target, rows, chunkRecords, chunkRejected);
+                insertedThisRun += rows.size();
+                rejectedThisRun += chunkRejected;
+            }
+
+            checkpoint.setStatus(STATUS_COMPLETED);
+            checkpoint.setCompletedAt(LocalDateTime.now());
+            result.setStatus(STATUS_COMPLETED);
+            result.setMessage("Bulk load completed");
+        } catch (IOException | RuntimeException e) {
+            log.error("Bulk load {} failed after {} committed records: {}",
+                    jobId, checkpoint.getRecordsProcessed(), e.getMessage(), e);
+            checkpoint.setStatus(STATUS_FAILED);
+            checkpoint.setLastError(e.getMessage());
+            result.setStatus(STATUS_FAILED);
+            result.setMessage("Bulk load failed; rerun the same request to resume from record "
+                    + checkpoint.getRecordsProcessed() + ": " + e.getMessage());
+        }
+
+        long loadNanos = System.nanoTime() - started;
+        result.setIndexRebuildMs(restoreSecondaryIndexes(target.table, checkpoint));
+        if (STATUS_COMPLETED.equals(checkpoint.getStatus()) && target != Target.PERSONS) {
+            // Child rows changed: recompute the stored risk profiles of the persons they belong to
+            try {
+                result.setProfilesRefreshed(personRiskProfileService.refreshProfilesForRowsAfter(
+                        target.table, checkpoint.getIdWatermark() != null ? checkpoint.getIdWatermark() : 0L));
+            } catch (RuntimeException e) {
+                log.error("Bulk load {} loaded but risk profile refresh failed: {}", jobId, e.getMessage(), e);
+                result.setMessage("Bulk load completed; risk profile refresh failed, run the profile rebuild: "
+                        + e.getMessage());
+            }
+        }
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+
+        result.setRowsInserted(insertedThisRun);
+        result.setRowsRejected(rejectedThisRun);
+        result.setTotalRowsInserted(checkpoint.getRowsInserted());
+        result.setRecordsProcessed(checkpoint.getRecordsProcessed());
+        result.setChunksCommitted(checkpoint.getChunksCommitted());
+        result.setErrorSamples(errorSamples);
+        result.setElapsedMs(loadNanos / 1_000_000);
+        result.setRowsPerSecond(loadNanos > 0 ? Math.round(insertedThisRun * 1_000_000_000.0 / loadNanos) : 0);
+
+        log.info("Bulk load {} {}: {} rows inserted, {} rejected in {} ms ({} rows/s, index rebuild {} ms)",
+                jobId, result.getStatus(), insertedThisRun, rejectedThisRun,
+                result.getElapsedMs(), result.getRowsPerSecond(), result.getIndexRebuildMs());
+        return result;
+    }
+
+    /**
+     * Insert one chunk and advance the checkpoint in the same transaction
+     */
+    private void commitChunk(BulkLoadCheckpoint checkpoint, Target target, List<Object[]> rows,
+                             int chunkRecords, int chunkRejected) {
+        long previousRecords = checkpoint.getRecordsProcessed();
+        long previousInserted = checkpoint.getRowsInserted();
+        long previousRejected = checkpoint.getRowsRejected();
+        long previousChunks = checkpoint.getChunksCommitted();
+        boolean relaxChecks = properties.getBulkLoad().isRelaxSessionChecks();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!rows.isEmpty()) {
+                    if (relaxChecks) {
+                        jdbcTemplate.execute("SET SESSION unique_checks = 0, foreign_key_checks = 0");
+                    }
+                    try {
+                        jdbcTemplate.batchUpdate(target.insertSql, rows, target.sqlTypes);
+                    } finally {
+                        if (relaxChecks) {
+                            jdbcTemplate.execute("SET SESSION unique_checks = 1, foreign_key_checks = 1");
+                        }
+                    }
+                }
+                checkpoint.setRecordsProcessed(previousRecords + chunkRecords);
+                checkpoint.setRowsInserted(previousInserted + rows.size());
+                checkpoint.setRowsRejected(previousRejected + chunkRejected);
+                checkpoint.setChunksCommitted(previousChunks + 1);
+                checkpoint.setUpdatedAt(LocalDateTime.now());
+                checkpointRepository.save(checkpoint);
+            });
+        } catch (RuntimeException e) {
+            // Keep the in-memory checkpoint in line with what was actually committed
+            checkpoint.setRecordsProcessed(previousRecords);
+            checkpoint.setRowsInserted(previousInserted);
+            checkpoint.setRowsRejected(previousRejected);
+            checkpoint.setChunksCommitted(previousChunks);
+            throw e;
+        }
+    }
+
+    private void logProgress(String jobId, BulkLoadCheckpoint checkpoint, long insertedThisRun, long started) {
+        int every = Math.max(1, properties.getBulkLoad().getProgressLogEveryChunks());
+        if (checkpoint.getChunksCommitted() % every != 0) {
+            return;
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        long rowsPerSecond = elapsedNanos > 0 ? Math.round(insertedThisRun * 1_000_000_000.0 / elapsedNanos) : 0;
+        log.info("Bulk load {}: {} records committed in {} chunks ({} rows/s)",
+                jobId, checkpoint.getRecordsProcessed(), checkpoint.getChunksCommitted(), rowsPerSecond);
+    }
+
+    // ==================== INDEX DEFERRAL ====================
+
+    /**
+     * Drop the non-unique secondary indexes of a table and return their definitions.
+     * Indexes MySQL refuses to drop (e.g. ones backing a foreign key) are left alone.
+     */
+    private String dropSecondaryIndexes(String table) {
+        Map<String, List<String>> indexes = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                "SELECT INDEX_NAME, COLUMN_NAME, SUB_PART FROM information_schema.STATISTICS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND NON_UNIQUE = 1 AND INDEX_NAME <> 'PRIMARY' " +
+                "ORDER BY INDEX_NAME, SEQ_IN_INDEX",
+                (RowCallbackHandler) rs -> {
+                    String column = "`" + rs.getString("COLUMN_NAME") + "`";
+                    Object subPart = rs.getObject("SUB_PART");
+                    indexes.computeIfAbsent(rs.getString("INDEX_NAME"), k -> new ArrayList<>())
+                            .add(subPart != null ? column + "(" + subPart + ")" : column);
+                },
+                table);
+
+        List<String> dropped = new ArrayList<>();
+        for (Map.Entry<String, List<String>> index : indexes.entrySet()) {
+            try {
+                jdbcTemplate.execute("ALTER TABLE `" + table + "` DROP INDEX `" + index.getKey() + "`");
+                dropped.add("`" + index.getKey() + "` (" + String.join(", ", index.getValue()) + ")");
+            } catch (DataAccessException e) {
+                log.debug("Keeping index {} on {} during bulk load: {}", index.getKey(), table, e.getMessage());
+            }
+        }
+        if (!dropped.isEmpty()) {
+            log.info("Deferred {} secondary indexes on {} until the load finishes", dropped.size(), table);
+        }
+        return dropped.isEmpty() ? null : String.join("\n", dropped);
+    }
+
+    /**
+     * Rebuild deferred indexes in a single ALTER so the table is scanned once
+     */
+    private long restoreSecondaryIndexes(String table, BulkLoadCheckpoint checkpoint) {
+        String pending = checkpoint.getPendingIndexes();
+        if (pending == null || pending.isBlank()) {
+            return 0;
+        }
+        long started = System.nanoTime();
+        String clauses = pending.lines()
+                .filter(line -> !line.isBlank())
+                .map(line -> "ADD INDEX " + line)
+                .collect(Collectors.joining(", "));
+        try {
+            jdbcTemplate.execute("ALTER TABLE `" + table + "` " + clauses);
+            checkpoint.setPendingIndexes(null);
+        } catch (DataAccessException e) {
+            // Left on the checkpoint so the next run for this job retries the rebuild
+            log.error("Failed to rebuild deferred indexes on {}: {}", table, e.getMessage(), e);
+        }
+        return (System.nanoTime() - started) / 1_000_000;
+    }
+
+    // ==================== FILES ====================
+
+    private Path baseDirectory() {
+        return Paths.get(properties.getBulkLoad().getDirectory()).toAbsolutePath().normalize();
+    }
+
+    private Path resolveFile(String filePath) {
+        if (filePath == null || filePath.isBlank()) {
+            throw new IllegalArgumentException("filePath is required");
+        }
+        Path base = baseDirectory();
+        Path file = base.resolve(filePath).normalize();
+        if (!file.startsWith(base)) {
+            throw new IllegalArgumentException("filePath must be inside the bulk load directory " + base);
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("File not found: " + filePath);
+        }
+        return file;
+    }
+
+    // ==================== TARGET TABLES ====================
+
+    private enum Kind {
+        STRING(Types.VARCHAR), LONG(Types.BIGINT), DATE(Types.DATE),
+        DATETIME(Types.TIMESTAMP), DECIMAL(Types.DECIMAL), BOOLEAN(Types.BIT);
+
+        private final int sqlType;
+
+        Kind(int sqlType) {
+            this.sqlType = sqlType;
+        }
+    }
+
+    private record Column(String name, Kind kind, boolean required, Object defaultValue,
+                          String derivedFrom, UnaryOperator<String> derive) {
+
+        Column(String name, Kind kind, boolean required, Object defaultValue) {
+            this(name, kind, required, defaultValue, null, null);
+        }
+
+        static Column of(String name, Kind kind) {
+            return new Column(name, kind, false, null);
+        }
+
+        /**
+         * Computed from another column of the same row instead of read from the file
+         */
+        static Column derived(String name, String source, UnaryOperator<String> derive) {
+            return new Column(name, Kind.STRING, false, null, BulkRecordReader.normalizeKey(source), derive);
+        }
+
+        String key() {
+            return BulkRecordReader.normalizeKey(name);
+        }
+    }
+
+    /**
+     * Column layout of each external table; values may use camelCase or snake_case keys
+     */
+    private enum Target {
+        PERSONS("persons",
+                Column.of("id", Kind.LONG),
+                Column.of("first_name", Kind.STRING),
+                Column.of("last_name", Kind.STRING),
+                Column.of("dob", Kind.DATE),
+                Column.of("gender", Kind.STRING),
+                Column.of("phone_number", Kind.STRING),
+                Column.of("email", Kind.STRING),
+                Column.of("marital_status", Kind.STRING),
+                Column.of("nationality", Kind.STRING),
+                Column.of("pan_number", Kind.STRING),
+                Column.of("aadhaar_number", Kind.STRING),
+                Column.derived("pan_hash", "pan_number", IdentifierHash::pan),
+                Column.derived("aadhaar_hash", "aadhaar_number", IdentifierHash::aadhaar),
+                Column.derived("phone_hash", "phone_number", IdentifierHash::phone),
+                Column.derived("email_hash", "email", IdentifierHash::email),
+                Column.derived("hash_key_version", "id", id -> String.valueOf(IdentifierHash.keyVersion())),
+                Column.of("created_at", Kind.DATETIME),
+                Column.of("updated_at", Kind.DATETIME)),
+        CRIMINAL_RECORDS("criminal_records",
+                Column.of("id", Kind.LONG),
+                new Column("person_id", Kind.LONG, true, null),
+                Column.of("case_number", Kind.STRING),
+                Column.of("case_type", Kind.STRING),
+                Column.of("description", Kind.STRING),
+                Column.of("court_name", Kind.STRING),
+                Column.of("status", Kind.STRING),
+                Column.of("verdict_date", Kind.DATE),
+                Column.of("created_at", Kind.DATETIME)),
+        BANK_RECORDS("bank_records",
+                Column.of("id", Kind.LONG),
+                new Column("person_id", Kind.LONG, true, null),
+                Column.of("bank_name", Kind.STRING),
+                Column.of("account_number", Kind.STRING),
+                Column.of("account_type", Kind.STRING),
+                Column.of("balance_amount", Kind.DECIMAL),
+                Column.of("last_transaction_date", Kind.DATE),
+                new Column("is_active", Kind.BOOLEAN, false, Boolean.TRUE),
+                Column.of("created_at", Kind.DATETIME)),
+        LOANS("historical_and_current_loans",
+                Column.of("id", Kind.LONG),
+                new Column("person_id", Kind.LONG, true, null),
+                Column.of("loan_type", Kind.STRING),
+                Column.of("institution_name", Kind.STRING),
+                Column.of("loan_amount", Kind.DECIMAL),
+                Column.of("outstanding_balance", Kind.DECIMAL),
+                Column.of("start_date", Kind.DATE),
+                Column.of("end_date", Kind.DATE),
+                Column.of("status", Kind.STRING),
+                new Column("default_flag", Kind.BOOLEAN, false, Boolean.FALSE),
+                Column.of("created_at", Kind.DATETIME)),
+        GOVERNMENT_DOCUMENTS("government_issued_documents",
+                Column.of("id", Kind.LONG),
+                new Column("person_id", Kind.LONG, true, null),
+                Column.of("document_type", Kind.STRING),
+                Column.of("document_number", Kind.STRING),
+                Column.of("issued_date", Kind.DATE),
+                Column.of("expiry_date", Kind.DATE),
+                Column.of("issuing_authority", Kind.STRING),
+                Column.of("verification_status", Kind.STRING),
+                Column.of("created_at", Kind.DATETIME));
+
+        private final String table;
+        private final Column[] columns;
+        private final String insertSql;
+        private final int[] sqlTypes;
+
+        Target(String table, Column... columns) {
+            this.table = table;
+            this.columns = columns;
+            StringBuilder names = new StringBuilder();
+            StringBuilder placeholders = new StringBuilder();
+            this.sqlTypes = new int[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    names.append(", ");
+                    placeholders.append(", ");
+                }
+                names.append(columns[i].name());
+                placeholders.append('?');
+                sqlTypes[i] = columns[i].kind().sqlType;
+            }
+            this.insertSql = "INSERT INTO " + table + " (" + names + ") VALUES (" + placeholders + ")";
+        }
+
+        static Target from(String entityType) {
+            if (entityType == null || entityType.isBlank()) {
+                throw new IllegalArgumentException("entityType is required");
+            }
+            String normalized = entityType.trim().toUpperCase().replace('-', '_');
+            switch (normalized) {
+                case "PERSON": return PERSONS;
+                case "CRIMINAL_RECORD": case "CRIMINALRECORDS": return CRIMINAL_RECORDS;
+                case "BANK_RECORD": case "BANKRECORDS": return BANK_RECORDS;
+                case "LOAN": case "HISTORICAL_AND_CURRENT_LOANS": return LOANS;
+                case "GOVERNMENT_DOCUMENT": case "GOVERNMENTDOCUMENTS": return GOVERNMENT_DOCUMENTS;
+                default:
+                    try {
+                        return Target.valueOf(normalized);
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Unsupported entityType: " + entityType);
+                    }
+            }
+        }
+
+        /**
+         * Convert a parsed record into positional JDBC parameters.
+         * A null id lets AUTO_INCREMENT assign one.
+         */
+        Object[] toRow(Map<String, Object> record, LocalDateTime now) {
+            Object[] row = new Object[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                Column column = columns[i];
+                Object value;
+                try {
+                    value = column.derive() != null
+                            ? column.derive().apply((String) convert(record.get(column.derivedFrom()), Kind.STRING))
+                            : convert(record.get(column.key()), column.kind());
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException("invalid " + column.name() + ": " + e.getMessage());
+                }
+                if (value == null) {
+                    if (column.required()) {
+                        throw new IllegalArgumentException(column.name() + " is required");
+                    }
+                    value = column.kind() == Kind.DATETIME ? Timestamp.valueOf(now) : column.defaultValue();
+                }
+                row[i] = value;
+            }
+            return row;
+        }
+
+        private static Object convert(Object raw, Kind kind) {
+            if (raw == null) {
+                return null;
+            }
+            if (raw instanceof String text) {
+                text = text.trim();
+                if (text.isEmpty()) {
+                    return null;
+                }
+                raw = text;
+            }
+            switch (kind) {
+                case LONG:
+                    return raw instanceof Number n ? n.longValue() : Long.parseLong(raw.toString());
+                case DECIMAL:
+                    return new BigDecimal(raw.toString());
+                case BOOLEAN:
+                    if (raw instanceof Boolean b) {
+                        return b;
+                    }
+                    String flag = raw.toString().toLowerCase();
+                    return flag.equals("true") || flag.equals("1") || flag.equals("y") || flag.equals("yes");
+                case DATE:
+                    return Date.valueOf(LocalDate.parse(raw.toString()));
+                case DATETIME:
+                    String dateTime = raw.toString();
+                    return Timestamp.valueOf(dateTime.length() == 10
+                            ? LocalDate.parse(dateTime).atStartOfDay()
+                            : LocalDateTime.parse(dateTime.replace(' ', 'T')));
+                default:
+                    return raw.toString();
+            }
+        }
+    }
+
+    // ==================== REQUEST / RESULT ====================
+
+    @Data
+    public static class BulkLoadRequest {
+        private String entityType;
+        // Relative to external-fraud.bulk-load.directory
+        private String filePath;
+        // NDJSON or CSV; detected from the extension when omitted
+        private String format;
+        private Integer chunkSize;
+        // Defaults to ENTITY_TYPE:filePath
+        private String jobId;
+        // Ignore any checkpoint and load the file from the beginning
+        private boolean restart;
+    }
+
+    @Data
+    public static class BulkLoadResult {
+        private String jobId;
+        private String entityType;
+        private String table;
+        private String status;
+        private String message;
+        private int chunkSize;
+        private long resumedFromRecord;
+        private long rowsInserted;
+        private long rowsRejected;
+        private long totalRowsInserted;
+        private long recordsProcessed;
+        private long chunksCommitted;
+        private long elapsedMs;
+        private long rowsPerSecond;
+        private long indexRebuildMs;
+        private long profilesRefreshed;
+        private List<String> errorSamples;
+    }
+}
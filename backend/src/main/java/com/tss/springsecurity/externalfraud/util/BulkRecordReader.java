@@ -0,0 +1,181 @@
+package com.tss.springsecurity.externalfraud.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads one record at a time from an NDJSON or CSV file (optionally gzipped)
+ * so bulk loads never hold more than a single line in memory.
+ * Keys are normalized to lower case without underscores, so both
+ * {@code panNumber} and {@code pan_number} map to {@code pannumber}.
+ */
+public class BulkRecordReader implements Closeable {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private long lineNumber;
+
+    public BulkRecordReader(Path file, Format format, ObjectMapper objectMapper) throws IOException {
+        InputStream in = Files.newInputStream(file);
+        if (file.getFileName().toString().toLowerCase().endsWith(".gz")) {
+            in = new GZIPInputStream(in, 64 * 1024);
+        }
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 256 * 1024);
+        this.format = format;
+        this.objectMapper = objectMapper;
+
+        if (format == Format.CSV) {
+            String headerLine = nextNonBlankLine();
+            if (headerLine == null) {
+                header = List.of();
+            } else {
+                header = new ArrayList<>();
+                for (String column : parseCsvLine(headerLine)) {
+                    header.add(normalizeKey(column));
+                }
+            }
+        }
+    }
+
+    /**
+     * Infer the format from the file name (.csv / .ndjson / .jsonl, with optional .gz)
+     */
+    public static Format detectFormat(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - 3);
+        }
+        return name.endsWith(".csv") ? Format.CSV : Format.NDJSON;
+    }
+
+    public static String normalizeKey(String key) {
+        return key.replace("_", "").trim().toLowerCase();
+    }
+
+    /**
+     * Next record, or null at end of file. Malformed lines throw
+     * {@link IllegalArgumentException} and count as a consumed record.
+     */
+    public Map<String, Object> next() throws IOException {
+        String line = nextNonBlankLine();
+        if (line == null) {
+            return null;
+        }
+
+        Map<String, Object> record = new HashMap<>();
+        if (format == Format.NDJSON) {
+            Map<String, Object> raw;
+            try {
+                raw = objectMapper.readValue(line, MAP_TYPE);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": invalid JSON - " + e.getOriginalMessage());
+            }
+            raw.forEach((key, value) -> record.put(normalizeKey(key), value));
+        } else {
+            List<String> values = parseCsvLine(line);
+            if (values.size() != header.size()) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": expected " + header.size()
+                        + " columns but found " + values.size());
+            }
+            for (int i = 0; i < values.size(); i++) {
+                record.put(header.get(i), values.get(i));
+            }
+        }
+        return record;
+    }
+
+    /**
+     * Skip already-committed records without parsing them; returns how many were skipped
+     */
+    public long skip(long records) throws IOException {
+        long skipped = 0;
+        while (skipped < records && nextNonBlankLine() != null) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String nextNonBlankLine() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!line.isBlank()) {
+                return line;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * RFC 4180 style split for a single line: quoted fields may contain commas
+     * and doubled quotes, but not line breaks. Empty fields become null.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(toField(current, wasQuoted));
+                current.setLength(0);
+                wasQuoted = false;
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(toField(current, wasQuoted));
+        return fields;
+    }
+
+    private static String toField(StringBuilder value, boolean wasQuoted) {
+        String field = wasQuoted ? value.toString() : value.toString().trim();
+        return field.isEmpty() && !wasQuoted ? null : field;
+    }
+}
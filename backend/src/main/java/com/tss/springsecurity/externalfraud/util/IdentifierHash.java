@@ -0,0 +1,124 @@
+package com.tss.springsecurity.externalfraud.util;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+
+/**
+ * Normalization and keyed hashing (HMAC-SHA256) of person identifiers. The
+ * hash columns on {@code persons} are what gets indexed, so lookups never need
+ * an index over raw Aadhaar/PAN values. PAN, Aadhaar and phone numbers have few
+ * enough possible values to enumerate, so a plain digest would give them away;
+ * without the key the hashes can't be recomputed. Every writer (JPA, bulk
+ * loader, backfill) and every reader must go through these methods so the
+ * hashes line up.
+ *
+ * The key and its version come from configuration at startup, see
+ * {@link com.tss.springsecurity.externalfraud.config.IdentifierHashKeyConfig}.
+ */
+public final class IdentifierHash {
+
+    private static final HexFormat HEX = HexFormat.of();
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static volatile SecretKeySpec key;
+    private static volatile int keyVersion;
+
+    // Mac instances are not thread-safe; one per thread, re-initialized when the key changes
+    private static final ThreadLocal<KeyedMac> MAC = new ThreadLocal<>();
+
+    private IdentifierHash() {
+    }
+
+    /**
+     * Set the HMAC key; rows hashed under another {@code version} are re-hashed by the backfill
+     */
+    public static void configure(byte[] secret, int version) {
+        key = new SecretKeySpec(secret, ALGORITHM);
+        keyVersion = version;
+    }
+
+    public static int keyVersion() {
+        return keyVersion;
+    }
+
+    public static String normalizePan(String pan) {
+        if (pan == null) return null;
+        String value = pan.replaceAll("\\s", "").toUpperCase();
+        return value.isEmpty() ? null : value;
+    }
+
+    public static String normalizeAadhaar(String aadhaar) {
+        if (aadhaar == null) return null;
+        String value = aadhaar.replaceAll("\\D", "");
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Digits only, keeping the last 10 so "+91 98765 43210" and "9876543210" match
+     */
+    public static String normalizePhone(String phone) {
+        if (phone == null) return null;
+        String value = phone.replaceAll("\\D", "");
+        if (value.length() > 10) {
+            value = value.substring(value.length() - 10);
+        }
+        return value.isEmpty() ? null : value;
+    }
+
+    public static String normalizeEmail(String email) {
+        if (email == null) return null;
+        String value = email.trim().toLowerCase();
+        return value.isEmpty() ? null : value;
+    }
+
+    public static String pan(String pan) {
+        return hash("pan:", normalizePan(pan));
+    }
+
+    public static String aadhaar(String aadhaar) {
+        return hash("aadhaar:", normalizeAadhaar(aadhaar));
+    }
+
+    public static String phone(String phone) {
+        return hash("phone:", normalizePhone(phone));
+    }
+
+    public static String email(String email) {
+        return hash("email:", normalizeEmail(email));
+    }
+
+    /**
+     * Hex HMAC-SHA256 of a type-prefixed value so equal strings of different types never collide
+     */
+    private static String hash(String prefix, String normalized) {
+        if (normalized == null) {
+            return null;
+        }
+        return HEX.formatHex(mac().doFinal((prefix + normalized).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static Mac mac() {
+        SecretKeySpec current = key;
+        if (current == null) {
+            throw new IllegalStateException("Identifier hash key is not configured");
+        }
+        KeyedMac keyed = MAC.get();
+        if (keyed == null || keyed.key() != current) {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(current);
+                keyed = new KeyedMac(current, mac);
+                MAC.set(keyed);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 not available", e);
+            }
+        }
+        return keyed.mac();
+    }
+
+    private record KeyedMac(SecretKeySpec key, Mac mac) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.tss.springsecurity.filter;
 
-import com.tss.springsecurity.util.JwtUtil;
+import com.tss.springsecurity.util.JwtTokenVerifier;
+import com.tss.springsecurity.util.JwtTokenVerifier.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,14 +16,15 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
+    private final JwtTokenVerifier jwtTokenVerifier;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -35,17 +37,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
                 String jwt = authHeader.substring(7);
-                String username = jwtUtil.extractUsername(jwt);
                 
-                // If token is valid and no authentication is set
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // If no authentication is set, verify the token (signature + expiry, parsed once)
+                if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                    VerifiedToken token = jwtTokenVerifier.verify(jwt);
                     
-                    if (jwtUtil.validateToken(jwt, username)) {
+                    if (token != null) {
+                        String username = token.username();
+                        
+                        // Every signed-in user is ROLE_USER; the token's role (ADMIN, LOAN_OFFICER, ...) is added on top
+                        List<SimpleGrantedAuthority> authorities = new ArrayList<>();
+                        authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
+                        if (token.role() != null) {
+                            authorities.add(new SimpleGrantedAuthority("ROLE_" + token.role()));
+                        }
+                        
                         // Create authentication token
                         UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                                 username, 
                                 null, 
-                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
+                                authorities
                         );
                         
                         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -54,7 +65,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                         SecurityContextHolder.getContext().setAuthentication(authToken);
                         log.debug("JWT authentication successful for user: {}", username);
                     } else {
-                        log.warn("Invalid JWT token for user: {}", username);
+                        log.warn("Invalid or expired JWT token");
                     }
                 }
             }
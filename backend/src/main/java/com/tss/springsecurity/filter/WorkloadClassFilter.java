@@ -0,0 +1,57 @@
+package com.tss.springsecurity.filter;
+
+import com.tss.springsecurity.config.DataSourcePoolProperties;
+import com.tss.springsecurity.datasource.ReadRoutingContext;
+import com.tss.springsecurity.datasource.Workload;
+import com.tss.springsecurity.datasource.WorkloadContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Tags each request with its workload class before any transaction opens, so
+ * its connections come from the matching pool, and tracks whether the request
+ * has written so its later reads can stay on the primary.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class WorkloadClassFilter extends OncePerRequestFilter {
+
+    private final DataSourcePoolProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        try (WorkloadContext.Scope workload = WorkloadContext.enter(classify(request.getRequestURI()));
+             WorkloadContext.Scope reads = ReadRoutingContext.begin()) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    Workload classify(String path) {
+        if (matches(properties.getBulkLoadPaths(), path)) return Workload.BULK_LOAD;
+        if (matches(properties.getReportingPaths(), path)) return Workload.REPORTING;
+        if (matches(properties.getScreeningPaths(), path)) return Workload.SCREENING;
+        return Workload.OLTP;
+    }
+
+    private boolean matches(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) return true;
+        }
+        return false;
+    }
+}
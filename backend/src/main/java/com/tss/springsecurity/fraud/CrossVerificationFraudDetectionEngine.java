@@ -1,7 +1,10 @@
 package com.tss.springsecurity.fraud;
 
 import com.tss.springsecurity.entity.*;
+import com.tss.springsecurity.fraud.incremental.CheckPlan;
+import com.tss.springsecurity.fraud.telemetry.RuleTelemetryService;
 import com.tss.springsecurity.repository.*;
+import com.tss.springsecurity.util.Lazy;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -27,6 +30,7 @@ public class CrossVerificationFraudDetectionEngine {
     private final ApplicantCreditHistoryRepository creditHistoryRepository;
     private final LoanCollateralRepository collateralRepository;
     private final DatabaseFraudRuleEngine dbRuleEngine;
+    private final RuleTelemetryService ruleTelemetry;
     
     public CrossVerificationFraudDetectionEngine(
             ApplicantRepository applicantRepository,
@@ -41,7 +45,8 @@ public class CrossVerificationFraudDetectionEngine {
             ApplicantLoanDetailsRepository loanDetailsRepository,
             ApplicantCreditHistoryRepository creditHistoryRepository,
             LoanCollateralRepository collateralRepository,
-            DatabaseFraudRuleEngine dbRuleEngine) {
+            DatabaseFraudRuleEngine dbRuleEngine,
+            RuleTelemetryService ruleTelemetry) {
         this.applicantRepository = applicantRepository;
         this.basicDetailsRepository = basicDetailsRepository;
         this.employmentRepository = employmentRepository;
@@ -55,60 +60,71 @@ public class CrossVerificationFraudDetectionEngine {
         this.creditHistoryRepository = creditHistoryRepository;
         this.collateralRepository = collateralRepository;
         this.dbRuleEngine = dbRuleEngine;
+        this.ruleTelemetry = ruleTelemetry;
     }
     
     /**
      * Run all cross-verification fraud detection rules
      */
     public FraudDetectionResult detectCrossVerificationFraud(Long applicantId) {
+        return detectCrossVerificationFraud(applicantId, null);
+    }
+    
+    /**
+     * Same, skipping the checks {@code plan} can answer from a previous screening (null runs every check)
+     */
+    public FraudDetectionResult detectCrossVerificationFraud(Long applicantId, CheckPlan<FraudRule> plan) {
         Applicant applicant = applicantRepository.findById(applicantId)
                 .orElseThrow(() -> new RuntimeException("Applicant not found"));
         
         FraudDetectionResult result = new FraudDetectionResult();
         result.setApplicantId(applicantId);
         result.setApplicantName(applicant.getFirstName() + " " + applicant.getLastName());
+        RuleTelemetryService.Screening<FraudRule> screening = ruleTelemetry.begin(
+                "CROSS_VERIFICATION", applicantId, result.getTriggeredRules(), FraudRule::getRuleName,
+                plan, result::addTriggeredRule);
         
         // Load active rules from database for CROSS_VERIFICATION category
         Map<String, FraudRuleDefinition> rules = dbRuleEngine.getRulesAsMap("CROSS_VERIFICATION");
         
-        // Get all related data
-        ApplicantBasicDetails basicDetails = basicDetailsRepository
-                .findByApplicant_ApplicantId(applicantId).orElse(null);
-        ApplicantEmployment employment = employmentRepository
-                .findByApplicant_ApplicantId(applicantId).orElse(null);
-        ApplicantFinancials financials = financialsRepository
-                .findByApplicant_ApplicantId(applicantId).orElse(null);
-        ApplicantPropertyDetails property = propertyDetailsRepository
-                .findByApplicant_ApplicantId(applicantId).orElse(null);
-        ApplicantCreditHistory creditHistory = creditHistoryRepository
-                .findByApplicant_ApplicantId(applicantId).orElse(null);
-        
-        List<AadhaarDetails> aadhaarList = aadhaarDetailsRepository
-                .findByApplicant_ApplicantId(applicantId);
-        List<PanDetails> panList = panDetailsRepository
-                .findByApplicant_ApplicantId(applicantId);
-        List<PassportDetails> passportList = passportDetailsRepository
-                .findByApplicant_ApplicantId(applicantId);
-        List<OtherDocument> documents = otherDocumentRepository
-                .findByApplicant_ApplicantId(applicantId);
-        List<ApplicantLoanDetails> loans = loanDetailsRepository
-                .findByApplicant_ApplicantId(applicantId);
-        
-        ApplicantLoanDetails currentLoan = loans.isEmpty() ? null : loans.get(loans.size() - 1);
-        List<LoanCollateral> collaterals = currentLoan != null ? 
-                collateralRepository.findByLoan_LoanId(currentLoan.getLoanId()) : new ArrayList<>();
+        // Get all related data, loaded by the first check that needs it
+        Lazy<ApplicantBasicDetails> basicDetails = Lazy.of(() -> basicDetailsRepository
+                .findByApplicant_ApplicantId(applicantId).orElse(null));
+        Lazy<ApplicantEmployment> employment = Lazy.of(() -> employmentRepository
+                .findByApplicant_ApplicantId(applicantId).orElse(null));
+        Lazy<ApplicantFinancials> financials = Lazy.of(() -> financialsRepository
+                .findByApplicant_ApplicantId(applicantId).orElse(null));
+        Lazy<ApplicantPropertyDetails> property = Lazy.of(() -> propertyDetailsRepository
+                .findByApplicant_ApplicantId(applicantId).orElse(null));
+        Lazy<ApplicantCreditHistory> creditHistory = Lazy.of(() -> creditHistoryRepository
+                .findByApplicant_ApplicantId(applicantId).orElse(null));
+        
+        Lazy<List<AadhaarDetails>> aadhaarList = Lazy.of(() -> aadhaarDetailsRepository
+                .findByApplicant_ApplicantId(applicantId));
+        Lazy<List<PanDetails>> panList = Lazy.of(() -> panDetailsRepository
+                .findByApplicant_ApplicantId(applicantId));
+        Lazy<List<PassportDetails>> passportList = Lazy.of(() -> passportDetailsRepository
+                .findByApplicant_ApplicantId(applicantId));
+        Lazy<List<OtherDocument>> documents = Lazy.of(() -> otherDocumentRepository
+                .findByApplicant_ApplicantId(applicantId));
+        Lazy<ApplicantLoanDetails> currentLoan = Lazy.of(() -> loanDetailsRepository
+                .findFirstByApplicant_ApplicantIdOrderByLoanIdDesc(applicantId).orElse(null));
+        Lazy<List<LoanCollateral>> collaterals = Lazy.of(() -> currentLoan.get() != null ? 
+                collateralRepository.findByLoan_LoanId(currentLoan.get().getLoanId()) : new ArrayList<>());
         
         // Run all cross-verification rules (only if enabled in database)
-        crossVerifyIdentity(applicant, basicDetails, aadhaarList, panList, passportList, financials, rules, result);
-        crossVerifyAddress(applicant, aadhaarList, documents, rules, result);
-        crossVerifyPANAadhaar(basicDetails, aadhaarList, panList, documents, rules, result);
-        crossVerifyIncome(employment, financials, documents, rules, result);
-        crossVerifyEmployment(employment, documents, financials, rules, result);
-        crossVerifyBanking(applicant, financials, basicDetails, rules, result);
-        crossVerifyLoanLiabilities(creditHistory, financials, documents, rules, result);
-        crossVerifyProperty(applicant, property, documents, collaterals, rules, result);
-        crossVerifyGoldLoan(applicant, currentLoan, collaterals, rules, result);
-        crossVerifyBehavioral(applicant, aadhaarList, employment, rules, result);
+        screening.run("CROSS_VERIFY_IDENTITY", () -> crossVerifyIdentity(applicant, basicDetails.get(), aadhaarList.get(), panList.get(), passportList.get(), financials.get(), rules, result));
+        screening.run("CROSS_VERIFY_ADDRESS", () -> crossVerifyAddress(applicant, aadhaarList.get(), documents.get(), rules, result));
+        screening.run("CROSS_VERIFY_PAN_AADHAAR", () -> crossVerifyPANAadhaar(basicDetails.get(), aadhaarList.get(), panList.get(), documents.get(), rules, result));
+        screening.run("CROSS_VERIFY_INCOME", () -> crossVerifyIncome(employment.get(), financials.get(), documents.get(), rules, result));
+        screening.run("CROSS_VERIFY_EMPLOYMENT", () -> crossVerifyEmployment(employment.get(), documents.get(), financials.get(), rules, result));
+        screening.run("CROSS_VERIFY_BANKING", () -> crossVerifyBanking(applicant, financials.get(), basicDetails.get(), rules, result));
+        screening.run("CROSS_VERIFY_LOAN_LIABILITIES", () -> crossVerifyLoanLiabilities(creditHistory.get(), financials.get(), documents.get(), rules, result));
+        screening.run("CROSS_VERIFY_PROPERTY", () -> crossVerifyProperty(applicant, property.get(), documents.get(), collaterals.get(), rules, result));
+        screening.run("CROSS_VERIFY_GOLD_LOAN", () -> crossVerifyGoldLoan(applicant, currentLoan.get(), collaterals.get(), rules, result));
+        screening.run("CROSS_VERIFY_BEHAVIORAL", () -> crossVerifyBehavioral(applicant, aadhaarList.get(), employment.get(), rules, result));
+        
+        screening.finish();
         
         // Calculate final risk level
         result.calculateRiskLevel();
@@ -752,16 +768,13 @@ public class CrossVerificationFraudDetectionEngine {
             
             // Check for duplicate gold valuation reports across applicants
             if (gold.getValuationReportUrl() != null) {
-                List<LoanCollateral> duplicateGold = collateralRepository.findAll().stream()
-                        .filter(c -> c.getValuationReportUrl() != null &&
-                                    c.getValuationReportUrl().equals(gold.getValuationReportUrl()) &&
-                                    !c.getId().equals(gold.getId()))
-                        .toList();
+                long duplicateGold = collateralRepository.countByCollateralTypeAndValuationReportUrlAndIdNot(
+                        gold.getCollateralType(), gold.getValuationReportUrl(), gold.getId());
                 
-                if (!duplicateGold.isEmpty()) {
+                if (duplicateGold > 0) {
                     FraudRuleDefinition ruleDef = rules.get("DUPLICATE_GOLD_VALUATION");
                     if (ruleDef != null && ruleDef.getIsActive()) {
-                        String customDesc = "Same gold valuation report used in " + (duplicateGold.size() + 1) + " applications";
+                        String customDesc = "Same gold valuation report used in " + (duplicateGold + 1) + " applications";
                         String flagDetails = "Gold valuation slip reused across multiple applications - Fraud ring detected";
                         FraudRule rule = dbRuleEngine.createFraudRule(ruleDef, customDesc, flagDetails);
                         result.addTriggeredRule(rule);
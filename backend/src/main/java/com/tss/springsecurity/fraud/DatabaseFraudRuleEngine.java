@@ -1,6 +1,7 @@
 package com.tss.springsecurity.fraud;
 
 import com.tss.springsecurity.entity.FraudRuleDefinition;
+import com.tss.springsecurity.fraud.service.FraudRulePlanService;
 import com.tss.springsecurity.repository.FraudRuleDefinitionRepository;
 import org.springframework.stereotype.Service;
 
@@ -17,9 +18,11 @@ import java.util.Optional;
 public class DatabaseFraudRuleEngine {
     
     private final FraudRuleDefinitionRepository ruleRepository;
+    private final FraudRulePlanService planService;
     
-    public DatabaseFraudRuleEngine(FraudRuleDefinitionRepository ruleRepository) {
+    public DatabaseFraudRuleEngine(FraudRuleDefinitionRepository ruleRepository, FraudRulePlanService planService) {
         this.ruleRepository = ruleRepository;
+        this.planService = planService;
     }
     
     /**
@@ -83,15 +86,11 @@ public class DatabaseFraudRuleEngine {
     }
     
     /**
-     * Get rule configuration as map for easy access
+     * Get rule configuration as map for easy access.
+     * Served from the compiled rule plan, so engines no longer query per check; read-only.
      */
     public Map<String, FraudRuleDefinition> getRulesAsMap(String category) {
-        List<FraudRuleDefinition> rules = getActiveRulesByCategory(category);
-        Map<String, FraudRuleDefinition> ruleMap = new HashMap<>();
-        for (FraudRuleDefinition rule : rules) {
-            ruleMap.put(rule.getRuleCode(), rule);
-        }
-        return ruleMap;
+        return planService.getPlan().rulesByCode(category);
     }
     
     /**
@@ -1,7 +1,10 @@
 package com.tss.springsecurity.fraud;
 
 import com.tss.springsecurity.entity.*;
+import com.tss.springsecurity.fraud.incremental.CheckPlan;
+import com.tss.springsecurity.fraud.telemetry.RuleTelemetryService;
 import com.tss.springsecurity.repository.*;
+import com.tss.springsecurity.util.Lazy;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -19,6 +22,7 @@ public class EmploymentFraudDetectionEngine {
     private final ApplicantBasicDetailsRepository basicDetailsRepository;
     private final OtherDocumentRepository otherDocumentRepository;
     private final DatabaseFraudRuleEngine dbRuleEngine;
+    private final RuleTelemetryService ruleTelemetry;
     
     // Valid corporate email domains (can be expanded)
     private static final List<String> INVALID_EMAIL_DOMAINS = Arrays.asList(
@@ -45,24 +49,36 @@ public class EmploymentFraudDetectionEngine {
             ApplicantEmploymentRepository employmentRepository,
             ApplicantBasicDetailsRepository basicDetailsRepository,
             OtherDocumentRepository otherDocumentRepository,
-            DatabaseFraudRuleEngine dbRuleEngine) {
+            DatabaseFraudRuleEngine dbRuleEngine,
+            RuleTelemetryService ruleTelemetry) {
         this.applicantRepository = applicantRepository;
         this.employmentRepository = employmentRepository;
         this.basicDetailsRepository = basicDetailsRepository;
         this.otherDocumentRepository = otherDocumentRepository;
         this.dbRuleEngine = dbRuleEngine;
+        this.ruleTelemetry = ruleTelemetry;
     }
     
     /**
      * Run all employment fraud detection rules for an applicant
      */
     public FraudDetectionResult detectEmploymentFraud(Long applicantId) {
+        return detectEmploymentFraud(applicantId, null);
+    }
+    
+    /**
+     * Same, skipping the checks {@code plan} can answer from a previous screening (null runs every check)
+     */
+    public FraudDetectionResult detectEmploymentFraud(Long applicantId, CheckPlan<FraudRule> plan) {
         Applicant applicant = applicantRepository.findById(applicantId)
                 .orElseThrow(() -> new RuntimeException("Applicant not found"));
         
         FraudDetectionResult result = new FraudDetectionResult();
         result.setApplicantId(applicantId);
         result.setApplicantName(applicant.getFirstName() + " " + applicant.getLastName());
+        RuleTelemetryService.Screening<FraudRule> screening = ruleTelemetry.begin(
+                "EMPLOYMENT", applicantId, result.getTriggeredRules(), FraudRule::getRuleName,
+                plan, result::addTriggeredRule);
         
         // Load active rules from database for EMPLOYMENT category
         Map<String, FraudRuleDefinition> rules = dbRuleEngine.getRulesAsMap("EMPLOYMENT");
@@ -70,10 +86,10 @@ public class EmploymentFraudDetectionEngine {
         // Get related data
         ApplicantEmployment employment = employmentRepository
                 .findByApplicant_ApplicantId(applicantId).orElse(null);
-        ApplicantBasicDetails basicDetails = basicDetailsRepository
-                .findByApplicant_ApplicantId(applicantId).orElse(null);
-        List<OtherDocument> documents = otherDocumentRepository
-                .findByApplicant_ApplicantId(applicantId);
+        Lazy<ApplicantBasicDetails> basicDetails = Lazy.of(() -> basicDetailsRepository
+                .findByApplicant_ApplicantId(applicantId).orElse(null));
+        Lazy<List<OtherDocument>> documents = Lazy.of(() -> otherDocumentRepository
+                .findByApplicant_ApplicantId(applicantId));
         
         if (employment == null) {
             FraudRuleDefinition ruleDef = rules.get("MISSING_EMPLOYMENT_DETAILS");
@@ -82,18 +98,21 @@ public class EmploymentFraudDetectionEngine {
                 FraudRule rule = dbRuleEngine.createFraudRule(ruleDef, flagDetails);
                 result.addTriggeredRule(rule);
             }
+            screening.finish();
             result.calculateRiskLevel();
             return result;
         }
         
         // Run all employment fraud rules (only if enabled in database)
-        checkEmployerNotInValidDB(employment, rules, result);
-        checkFakeEmployerEmail(employment, rules, result);
-        checkPayslipFormatting(employment, documents, rules, result);
-        checkInvalidEmployerAddress(employment, rules, result);
-        checkEmploymentDurationMismatch(employment, documents, rules, result);
-        checkUnverifiableSelfEmployed(employment, basicDetails, documents, rules, result);
-        checkGhostCompany(employment, rules, result);
+        screening.run("EMPLOYER_NOT_IN_VALID_DB", () -> checkEmployerNotInValidDB(employment, rules, result));
+        screening.run("FAKE_EMPLOYER_EMAIL", () -> checkFakeEmployerEmail(employment, rules, result));
+        screening.run("PAYSLIP_FORMATTING", () -> checkPayslipFormatting(employment, documents.get(), rules, result));
+        screening.run("INVALID_EMPLOYER_ADDRESS", () -> checkInvalidEmployerAddress(employment, rules, result));
+        screening.run("EMPLOYMENT_DURATION_MISMATCH", () -> checkEmploymentDurationMismatch(employment, documents.get(), rules, result));
+        screening.run("UNVERIFIABLE_SELF_EMPLOYED", () -> checkUnverifiableSelfEmployed(employment, basicDetails.get(), documents.get(), rules, result));
+        screening.run("GHOST_COMPANY", () -> checkGhostCompany(employment, rules, result));
+        
+        screening.finish();
         
         // Calculate final risk level
         result.calculateRiskLevel();
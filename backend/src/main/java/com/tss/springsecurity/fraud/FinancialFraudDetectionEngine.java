@@ -1,7 +1,10 @@
 package com.tss.springsecurity.fraud;
 
 import com.tss.springsecurity.entity.*;
+import com.tss.springsecurity.fraud.incremental.CheckPlan;
+import com.tss.springsecurity.fraud.telemetry.RuleTelemetryService;
 import com.tss.springsecurity.repository.*;
+import com.tss.springsecurity.util.Lazy;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -21,6 +24,7 @@ public class FinancialFraudDetectionEngine {
     private final ApplicantLoanDetailsRepository loanDetailsRepository;
     private final OtherDocumentRepository otherDocumentRepository;
     private final DatabaseFraudRuleEngine dbRuleEngine;
+    private final RuleTelemetryService ruleTelemetry;
     
     public FinancialFraudDetectionEngine(
             ApplicantRepository applicantRepository,
@@ -29,7 +33,8 @@ public class FinancialFraudDetectionEngine {
             ApplicantCreditHistoryRepository creditHistoryRepository,
             ApplicantLoanDetailsRepository loanDetailsRepository,
             OtherDocumentRepository otherDocumentRepository,
-            DatabaseFraudRuleEngine dbRuleEngine) {
+            DatabaseFraudRuleEngine dbRuleEngine,
+            RuleTelemetryService ruleTelemetry) {
         this.applicantRepository = applicantRepository;
         this.employmentRepository = employmentRepository;
         this.financialsRepository = financialsRepository;
@@ -37,48 +42,59 @@ public class FinancialFraudDetectionEngine {
         this.loanDetailsRepository = loanDetailsRepository;
         this.otherDocumentRepository = otherDocumentRepository;
         this.dbRuleEngine = dbRuleEngine;
+        this.ruleTelemetry = ruleTelemetry;
     }
     
     /**
      * Run all financial fraud detection rules for an applicant
      */
     public FraudDetectionResult detectFinancialFraud(Long applicantId) {
+        return detectFinancialFraud(applicantId, null);
+    }
+    
+    /**
+     * Same, skipping the checks {@code plan} can answer from a previous screening (null runs every check)
+     */
+    public FraudDetectionResult detectFinancialFraud(Long applicantId, CheckPlan<FraudRule> plan) {
         Applicant applicant = applicantRepository.findById(applicantId)
                 .orElseThrow(() -> new RuntimeException("Applicant not found"));
         
         FraudDetectionResult result = new FraudDetectionResult();
         result.setApplicantId(applicantId);
         result.setApplicantName(applicant.getFirstName() + " " + applicant.getLastName());
+        RuleTelemetryService.Screening<FraudRule> screening = ruleTelemetry.begin(
+                "FINANCIAL", applicantId, result.getTriggeredRules(), FraudRule::getRuleName,
+                plan, result::addTriggeredRule);
         
         // Load active rules from database for FINANCIAL category
         Map<String, FraudRuleDefinition> rules = dbRuleEngine.getRulesAsMap("FINANCIAL");
         
-        // Get related data
-        ApplicantEmployment employment = employmentRepository
-                .findByApplicant_ApplicantId(applicantId).orElse(null);
-        ApplicantFinancials financials = financialsRepository
-                .findByApplicant_ApplicantId(applicantId).orElse(null);
-        ApplicantCreditHistory creditHistory = creditHistoryRepository
-                .findByApplicant_ApplicantId(applicantId).orElse(null);
-        List<ApplicantLoanDetails> loans = loanDetailsRepository
-                .findByApplicant_ApplicantId(applicantId);
-        List<OtherDocument> documents = otherDocumentRepository
-                .findByApplicant_ApplicantId(applicantId);
-        
-        ApplicantLoanDetails currentLoan = loans.isEmpty() ? null : loans.get(loans.size() - 1);
+        // Get related data, loaded by the first check that needs it
+        Lazy<ApplicantEmployment> employment = Lazy.of(() -> employmentRepository
+                .findByApplicant_ApplicantId(applicantId).orElse(null));
+        Lazy<ApplicantFinancials> financials = Lazy.of(() -> financialsRepository
+                .findByApplicant_ApplicantId(applicantId).orElse(null));
+        Lazy<ApplicantCreditHistory> creditHistory = Lazy.of(() -> creditHistoryRepository
+                .findByApplicant_ApplicantId(applicantId).orElse(null));
+        Lazy<ApplicantLoanDetails> currentLoan = Lazy.of(() -> loanDetailsRepository
+                .findFirstByApplicant_ApplicantIdOrderByLoanIdDesc(applicantId).orElse(null));
+        Lazy<List<OtherDocument>> documents = Lazy.of(() -> otherDocumentRepository
+                .findByApplicant_ApplicantId(applicantId));
         
         // Run all financial fraud rules (only if enabled in database)
-        checkLoanToIncomeRatio(employment, currentLoan, rules, result);
-        checkDebtToIncomeRatio(employment, creditHistory, rules, result);
-        checkSalaryMismatch(employment, financials, documents, rules, result);
-        checkLowBalanceHighLoan(financials, currentLoan, rules, result);
-        checkChequeBounces(financials, rules, result);
-        checkCashSalary(employment, rules, result);
-        checkUnfiledITR(employment, documents, rules, result);
-        checkITRSalaryMismatch(employment, documents, rules, result);
-        checkExcessiveCreditUtilization(creditHistory, rules, result);
-        checkMultipleActiveLoans(creditHistory, rules, result);
-        checkShortCreditHistory(applicant, creditHistory, documents, rules, result);
+        screening.run("LOAN_TO_INCOME_RATIO", () -> checkLoanToIncomeRatio(employment.get(), currentLoan.get(), rules, result));
+        screening.run("DEBT_TO_INCOME_RATIO", () -> checkDebtToIncomeRatio(employment.get(), creditHistory.get(), rules, result));
+        screening.run("SALARY_MISMATCH", () -> checkSalaryMismatch(employment.get(), financials.get(), documents.get(), rules, result));
+        screening.run("LOW_BALANCE_HIGH_LOAN", () -> checkLowBalanceHighLoan(financials.get(), currentLoan.get(), rules, result));
+        screening.run("CHEQUE_BOUNCES", () -> checkChequeBounces(financials.get(), rules, result));
+        screening.run("CASH_SALARY", () -> checkCashSalary(employment.get(), rules, result));
+        screening.run("UNFILED_ITR", () -> checkUnfiledITR(employment.get(), documents.get(), rules, result));
+        screening.run("ITR_SALARY_MISMATCH", () -> checkITRSalaryMismatch(employment.get(), documents.get(), rules, result));
+        screening.run("EXCESSIVE_CREDIT_UTILIZATION", () -> checkExcessiveCreditUtilization(creditHistory.get(), rules, result));
+        screening.run("MULTIPLE_ACTIVE_LOANS", () -> checkMultipleActiveLoans(creditHistory.get(), rules, result));
+        screening.run("SHORT_CREDIT_HISTORY", () -> checkShortCreditHistory(applicant, creditHistory.get(), documents.get(), rules, result));
+        
+        screening.finish();
         
         // Calculate final risk level
         result.calculateRiskLevel();
@@ -1,8 +1,11 @@
 package com.tss.springsecurity.fraud;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -13,23 +16,60 @@ import java.util.Map;
 @NoArgsConstructor
 @AllArgsConstructor
 public class FraudDetectionResult {
+
+    private static final Map<String, String> THRESHOLDS = Map.of(
+            "CLEAN", "0-9 points",
+            "LOW", "10-29 points",
+            "MEDIUM", "30-59 points",
+            "HIGH", "60-99 points",
+            "CRITICAL", "100+ points");
+
     private Long applicantId;
     private String applicantName;
     private int totalFraudScore;
-    private String riskLevel; 
+    private String riskLevel;
     private boolean isFraudulent;
     private List<FraudRule> triggeredRules = new ArrayList<>();
-    private String recommendation; 
-    
-    // Enhanced scoring breakdown
-    private Map<String, Object> fraudScoreBreakdown = new HashMap<>();
-    private List<String> scoringExplanation = new ArrayList<>();
-    
+    private String recommendation;
+
+    // Points by severity, kept as rules are added so scoring never walks the rule list
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private int criticalPoints;
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private int highPoints;
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private int mediumPoints;
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private int lowPoints;
+
+    // Expensive rules not run because the score already reached plan.skip-expensive-at-score
+    private int skippedExpensiveRules;
+
+    // Enhanced scoring breakdown, built on first read (serialization or an explicit get)
+    private Map<String, Object> fraudScoreBreakdown;
+    private List<String> scoringExplanation;
+
     public void addTriggeredRule(FraudRule rule) {
         this.triggeredRules.add(rule);
         this.totalFraudScore += rule.getFraudPoints();
+        addSeverityPoints(rule.getSeverity(), rule.getFraudPoints());
+        invalidateExplanation();
+    }
+
+    /**
+     * Add every rule, score and severity count of {@code other}
+     */
+    public void merge(FraudDetectionResult other) {
+        this.triggeredRules.addAll(other.triggeredRules);
+        this.totalFraudScore += other.totalFraudScore;
+        this.criticalPoints += other.criticalPoints;
+        this.highPoints += other.highPoints;
+        this.mediumPoints += other.mediumPoints;
+        this.lowPoints += other.lowPoints;
+        this.skippedExpensiveRules += other.skippedExpensiveRules;
+        invalidateExplanation();
     }
-    
+
     public void calculateRiskLevel() {
         // Set risk level and fraud status
         if (totalFraudScore >= 100) {
@@ -53,50 +93,77 @@ public class FraudDetectionResult {
             this.isFraudulent = false;
             this.recommendation = "APPROVE";
         }
-        
-        // Generate detailed scoring breakdown
-        generateScoreBreakdown();
-        generateScoringExplanation();
+
+        // The breakdown and explanation describe the latest scoring; they are rebuilt when next read
+        invalidateExplanation();
+    }
+
+    public void setSkippedExpensiveRules(int skippedExpensiveRules) {
+        this.skippedExpensiveRules = skippedExpensiveRules;
+        invalidateExplanation();
+    }
+
+    public Map<String, Object> getFraudScoreBreakdown() {
+        if (fraudScoreBreakdown == null) {
+            fraudScoreBreakdown = generateScoreBreakdown();
+        }
+        return fraudScoreBreakdown;
+    }
+
+    public List<String> getScoringExplanation() {
+        if (scoringExplanation == null) {
+            scoringExplanation = generateScoringExplanation();
+        }
+        return scoringExplanation;
+    }
+
+    private void addSeverityPoints(String severity, int points) {
+        if (severity == null) return;
+        switch (severity) {
+            case "CRITICAL" -> criticalPoints += points;
+            case "HIGH" -> highPoints += points;
+            case "MEDIUM" -> mediumPoints += points;
+            case "LOW" -> lowPoints += points;
+            default -> { }
+        }
+    }
+
+    private void invalidateExplanation() {
+        this.fraudScoreBreakdown = null;
+        this.scoringExplanation = null;
     }
-    
-    private void generateScoreBreakdown() {
+
+    private Map<String, Object> generateScoreBreakdown() {
         // Calculate points by severity
         Map<String, Integer> pointsBySeverity = new HashMap<>();
-        pointsBySeverity.put("CRITICAL", 0);
-        pointsBySeverity.put("HIGH", 0);
-        pointsBySeverity.put("MEDIUM", 0);
-        pointsBySeverity.put("LOW", 0);
-        
-        for (FraudRule rule : triggeredRules) {
-            String severity = rule.getSeverity();
-            pointsBySeverity.put(severity, pointsBySeverity.get(severity) + rule.getFraudPoints());
-        }
-        
+        pointsBySeverity.put("CRITICAL", criticalPoints);
+        pointsBySeverity.put("HIGH", highPoints);
+        pointsBySeverity.put("MEDIUM", mediumPoints);
+        pointsBySeverity.put("LOW", lowPoints);
+
         // Create breakdown map
-        fraudScoreBreakdown.put("totalPoints", totalFraudScore);
-        fraudScoreBreakdown.put("calculationMethod", "Sum of all triggered rule points");
-        fraudScoreBreakdown.put("pointsDistribution", pointsBySeverity);
-        
-        Map<String, String> thresholds = new HashMap<>();
-        thresholds.put("CLEAN", "0-9 points");
-        thresholds.put("LOW", "10-29 points");
-        thresholds.put("MEDIUM", "30-59 points");
-        thresholds.put("HIGH", "60-99 points");
-        thresholds.put("CRITICAL", "100+ points");
-        fraudScoreBreakdown.put("thresholds", thresholds);
+        Map<String, Object> breakdown = new HashMap<>();
+        breakdown.put("totalPoints", totalFraudScore);
+        breakdown.put("calculationMethod", "Sum of all triggered rule points");
+        breakdown.put("pointsDistribution", pointsBySeverity);
+        breakdown.put("thresholds", THRESHOLDS);
+        if (skippedExpensiveRules > 0) {
+            breakdown.put("skippedExpensiveRules", skippedExpensiveRules);
+        }
+        return breakdown;
     }
-    
-    private void generateScoringExplanation() {
-        scoringExplanation.clear();
-        
+
+    private List<String> generateScoringExplanation() {
+        List<String> explanation = new ArrayList<>();
+
         if (triggeredRules.isEmpty()) {
-            scoringExplanation.add("No fraud rules were triggered");
-            scoringExplanation.add("Total Score = 0 points");
-            scoringExplanation.add("Risk Level = CLEAN (no fraud indicators)");
-            scoringExplanation.add("Recommendation = APPROVE");
+            explanation.add("No fraud rules were triggered");
+            explanation.add("Total Score = 0 points");
+            explanation.add("Risk Level = CLEAN (no fraud indicators)");
+            explanation.add("Recommendation = APPROVE");
         } else {
-            scoringExplanation.add("Step 1: Identified " + triggeredRules.size() + " fraud rule violation(s)");
-            
+            explanation.add("Step 1: Identified " + triggeredRules.size() + " fraud rule violation(s)");
+
             StringBuilder ruleBreakdown = new StringBuilder("Step 2: Points breakdown - ");
             for (int i = 0; i < triggeredRules.size(); i++) {
                 FraudRule rule = triggeredRules.get(i);
@@ -107,16 +174,17 @@ public class FraudDetectionResult {
                     ruleBreakdown.append(", ");
                 }
             }
-            scoringExplanation.add(ruleBreakdown.toString());
-            
-            scoringExplanation.add("Step 3: Total Score = " + totalFraudScore + " points");
-            scoringExplanation.add("Step 4: " + totalFraudScore + " points falls in " + riskLevel + " risk range");
-            
+            explanation.add(ruleBreakdown.toString());
+
+            explanation.add("Step 3: Total Score = " + totalFraudScore + " points");
+            explanation.add("Step 4: " + totalFraudScore + " points falls in " + riskLevel + " risk range");
+
             if (isFraudulent) {
-                scoringExplanation.add("Step 5: Above fraud threshold (60+), marked as FRAUDULENT - " + recommendation);
+                explanation.add("Step 5: Above fraud threshold (60+), marked as FRAUDULENT - " + recommendation);
             } else {
-                scoringExplanation.add("Step 5: Below fraud threshold (60+), marked as NON-FRAUDULENT but requires " + recommendation);
+                explanation.add("Step 5: Below fraud threshold (60+), marked as NON-FRAUDULENT but requires " + recommendation);
             }
         }
+        return explanation;
     }
 }
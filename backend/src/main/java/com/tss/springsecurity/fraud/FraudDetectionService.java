@@ -3,6 +3,8 @@ package com.tss.springsecurity.fraud;
 import com.tss.springsecurity.entity.Applicant;
 import com.tss.springsecurity.entity.ApplicantLoanDetails;
 import com.tss.springsecurity.entity.FraudFlag;
+import com.tss.springsecurity.fraud.incremental.CheckPlan;
+import com.tss.springsecurity.fraud.incremental.IncrementalScreeningService;
 import com.tss.springsecurity.repository.ApplicantLoanDetailsRepository;
 import com.tss.springsecurity.repository.ApplicantRepository;
 import com.tss.springsecurity.repository.FraudFlagRepository;
@@ -11,7 +13,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
 
 @Service
 public class FraudDetectionService {
@@ -25,6 +36,7 @@ public class FraudDetectionService {
     private final ApplicantRepository applicantRepository;
     private final ApplicantLoanDetailsRepository loanDetailsRepository;
     private final FraudFlagRepository fraudFlagRepository;
+    private final IncrementalScreeningService incrementalScreening;
     
     public FraudDetectionService(
             IdentityFraudDetectionEngine identityFraudEngine,
@@ -33,7 +45,8 @@ public class FraudDetectionService {
             CrossVerificationFraudDetectionEngine crossVerificationEngine,
             ApplicantRepository applicantRepository,
             ApplicantLoanDetailsRepository loanDetailsRepository,
-            FraudFlagRepository fraudFlagRepository) {
+            FraudFlagRepository fraudFlagRepository,
+            IncrementalScreeningService incrementalScreening) {
         this.identityFraudEngine = identityFraudEngine;
         this.financialFraudEngine = financialFraudEngine;
         this.employmentFraudEngine = employmentFraudEngine;
@@ -41,37 +54,27 @@ public class FraudDetectionService {
         this.applicantRepository = applicantRepository;
         this.loanDetailsRepository = loanDetailsRepository;
         this.fraudFlagRepository = fraudFlagRepository;
+        this.incrementalScreening = incrementalScreening;
     }
     
     /**
-     * Run complete fraud detection for an applicant and save flags to database
+     * Run complete fraud detection for an applicant and save flags to database.
+     * Checks whose inputs haven't changed since the applicant's last screening
+     * keep their previous outcome instead of running again.
      */
     @Transactional
     public FraudDetectionResult runFraudDetection(Long applicantId) {
+        // Versions are captured before anything is read
+        IncrementalScreeningService.Rescreen rescreen = incrementalScreening.open(applicantId);
         Applicant applicant = applicantRepository.findById(applicantId)
                 .orElseThrow(() -> new RuntimeException("Applicant not found with ID: " + applicantId));
         
-        // Run identity fraud detection
-        FraudDetectionResult identityResult = identityFraudEngine.detectIdentityFraud(applicantId);
-        
-        // Run financial fraud detection
-        FraudDetectionResult financialResult = financialFraudEngine.detectFinancialFraud(applicantId);
-        
-        // Run employment fraud detection
-        FraudDetectionResult employmentResult = employmentFraudEngine.detectEmploymentFraud(applicantId);
-        
-        // Run cross-verification fraud detection
-        FraudDetectionResult crossVerificationResult = crossVerificationEngine.detectCrossVerificationFraud(applicantId);
-        
-        // Merge results
-        FraudDetectionResult combinedResult = mergeResults(identityResult, financialResult, employmentResult, crossVerificationResult);
+        FraudDetectionResult combinedResult = screen(applicantId, rescreen);
+        rescreen.save();
         
         // Get the latest loan application for this applicant
-        List<ApplicantLoanDetails> loans = loanDetailsRepository
-                .findByApplicant_ApplicantId(applicantId);
-        
-        ApplicantLoanDetails latestLoan = loans.isEmpty() ? null : 
-                loans.get(loans.size() - 1);
+        ApplicantLoanDetails latestLoan = loanDetailsRepository
+                .findFirstByApplicant_ApplicantIdOrderByLoanIdDesc(applicantId).orElse(null);
         
         // Save fraud flags to database (for audit trail)
         saveFraudFlags(applicant, latestLoan, combinedResult);
@@ -90,6 +93,28 @@ public class FraudDetectionService {
         return combinedResult;
     }
     
+    /**
+     * All four engines, each skipped, partly re-run or fully run as {@code rescreen} allows; saves nothing
+     */
+    public FraudDetectionResult screen(Long applicantId, IncrementalScreeningService.Rescreen rescreen) {
+        FraudDetectionResult identityResult = screen("IDENTITY", applicantId, rescreen, identityFraudEngine::detectIdentityFraud);
+        FraudDetectionResult financialResult = screen("FINANCIAL", applicantId, rescreen, financialFraudEngine::detectFinancialFraud);
+        FraudDetectionResult employmentResult = screen("EMPLOYMENT", applicantId, rescreen, employmentFraudEngine::detectEmploymentFraud);
+        FraudDetectionResult crossVerificationResult = screen("CROSS_VERIFICATION", applicantId, rescreen,
+                crossVerificationEngine::detectCrossVerificationFraud);
+        return mergeResults(identityResult, financialResult, employmentResult, crossVerificationResult);
+    }
+    
+    private FraudDetectionResult screen(String engine, Long applicantId, IncrementalScreeningService.Rescreen rescreen,
+                                        BiFunction<Long, CheckPlan<FraudRule>, FraudDetectionResult> detector) {
+        if (rescreen.canSkip(engine)) {
+            return rescreen.replay(engine);
+        }
+        FraudDetectionResult result = detector.apply(applicantId, rescreen.engine(engine));
+        rescreen.finished(engine, result);
+        return result;
+    }
+    
     /**
      * Run only identity fraud detection
      */
@@ -100,9 +125,8 @@ public class FraudDetectionService {
         
         FraudDetectionResult result = identityFraudEngine.detectIdentityFraud(applicantId);
         
-        List<ApplicantLoanDetails> loans = loanDetailsRepository
-                .findByApplicant_ApplicantId(applicantId);
-        ApplicantLoanDetails latestLoan = loans.isEmpty() ? null : loans.get(loans.size() - 1);
+        ApplicantLoanDetails latestLoan = loanDetailsRepository
+                .findFirstByApplicant_ApplicantIdOrderByLoanIdDesc(applicantId).orElse(null);
         
         saveFraudFlags(applicant, latestLoan, result);
         
@@ -119,9 +143,8 @@ public class FraudDetectionService {
         
         FraudDetectionResult result = financialFraudEngine.detectFinancialFraud(applicantId);
         
-        List<ApplicantLoanDetails> loans = loanDetailsRepository
-                .findByApplicant_ApplicantId(applicantId);
-        ApplicantLoanDetails latestLoan = loans.isEmpty() ? null : loans.get(loans.size() - 1);
+        ApplicantLoanDetails latestLoan = loanDetailsRepository
+                .findFirstByApplicant_ApplicantIdOrderByLoanIdDesc(applicantId).orElse(null);
         
         saveFraudFlags(applicant, latestLoan, result);
         
@@ -138,9 +161,8 @@ public class FraudDetectionService {
         
         FraudDetectionResult result = employmentFraudEngine.detectEmploymentFraud(applicantId);
         
-        List<ApplicantLoanDetails> loans = loanDetailsRepository
-                .findByApplicant_ApplicantId(applicantId);
-        ApplicantLoanDetails latestLoan = loans.isEmpty() ? null : loans.get(loans.size() - 1);
+        ApplicantLoanDetails latestLoan = loanDetailsRepository
+                .findFirstByApplicant_ApplicantIdOrderByLoanIdDesc(applicantId).orElse(null);
         
         saveFraudFlags(applicant, latestLoan, result);
         
@@ -157,9 +179,8 @@ public class FraudDetectionService {
         
         FraudDetectionResult result = crossVerificationEngine.detectCrossVerificationFraud(applicantId);
         
-        List<ApplicantLoanDetails> loans = loanDetailsRepository
-                .findByApplicant_ApplicantId(applicantId);
-        ApplicantLoanDetails latestLoan = loans.isEmpty() ? null : loans.get(loans.size() - 1);
+        ApplicantLoanDetails latestLoan = loanDetailsRepository
+                .findFirstByApplicant_ApplicantIdOrderByLoanIdDesc(applicantId).orElse(null);
         
         saveFraudFlags(applicant, latestLoan, result);
         
@@ -177,17 +198,11 @@ public class FraudDetectionService {
         merged.setApplicantId(identity.getApplicantId());
         merged.setApplicantName(identity.getApplicantName());
         
-        // Add all triggered rules from all four engines
-        merged.getTriggeredRules().addAll(identity.getTriggeredRules());
-        merged.getTriggeredRules().addAll(financial.getTriggeredRules());
-        merged.getTriggeredRules().addAll(employment.getTriggeredRules());
-        merged.getTriggeredRules().addAll(crossVerification.getTriggeredRules());
-        
-        // Calculate combined fraud score
-        merged.setTotalFraudScore(identity.getTotalFraudScore() + 
-                                 financial.getTotalFraudScore() + 
-                                 employment.getTotalFraudScore() +
-                                 crossVerification.getTotalFraudScore());
+        // Add all triggered rules, points and severity counts from all four engines
+        merged.merge(identity);
+        merged.merge(financial);
+        merged.merge(employment);
+        merged.merge(crossVerification);
         
         // Recalculate risk level based on combined score
         merged.calculateRiskLevel();
@@ -204,42 +219,59 @@ public class FraudDetectionService {
             log.info("Saving {} fraud flags for applicant ID: {}", 
                     result.getTriggeredRules().size(), applicant.getApplicantId());
             
-            for (FraudRule rule : result.getTriggeredRules()) {
+            // One flag per (applicant, loan, rule): re-screening refreshes it instead of adding another,
+            // since the notes carry amounts and dates that change between screenings
+            Map<String, FraudFlag> existingFlags = new HashMap<>();
+            List<FraudFlag> previous = loan != null
+                    ? fraudFlagRepository.findByApplicant_ApplicantIdAndLoan_LoanId(applicant.getApplicantId(), loan.getLoanId())
+                    : fraudFlagRepository.findByApplicant_ApplicantIdAndLoanIsNull(applicant.getApplicantId());
+            for (FraudFlag existing : previous) {
+                existingFlags.putIfAbsent(existing.getRuleName(), existing);
+            }
+            
+            int unchanged = 0;
+            int updated = 0;
+            for (Map.Entry<String, List<FraudRule>> byRule : groupByRuleName(result.getTriggeredRules()).entrySet()) {
+                String notes = joinFlagDetails(byRule.getValue());
+                int severityInt = 0;
+                for (FraudRule rule : byRule.getValue()) {
+                    severityInt = Math.max(severityInt, severityLevel(rule.getSeverity()));
+                }
                 try {
-                    FraudFlag flag = new FraudFlag();
-                    flag.setApplicant(applicant);
-                    
-                    // Only set loan if it exists (nullable field)
-                    if (loan != null) {
-                        flag.setLoan(loan);
-                        log.debug("Setting loan ID: {} for fraud flag", loan.getLoanId());
-                    } else {
-                        log.debug("No loan associated with this fraud flag");
+                    FraudFlag flag = existingFlags.get(byRule.getKey());
+                    if (flag != null) {
+                        if (Objects.equals(flag.getSeverity(), severityInt)) {
+                            if (Objects.equals(flag.getFlagNotes(), notes)) {
+                                unchanged++;
+                            } else {
+                                flag.setFlagNotes(notes);
+                                fraudFlagRepository.save(flag);
+                                updated++;
+                            }
+                            continue;
+                        }
+                        // A severity change replaces the flag so id-watermarked readers (identifier blacklist) see it
+                        fraudFlagRepository.delete(flag);
+                        // Flush the delete first; the insert below would otherwise hit the unique key
+                        fraudFlagRepository.flush();
+                        updated++;
                     }
                     
-                    flag.setRuleName(rule.getRuleName());
-                    flag.setFlagNotes(rule.getFlagDetails());
-                    
-                    // Map severity to integer (1=LOW, 2=MEDIUM, 3=HIGH, 4=CRITICAL)
-                    int severityInt = switch (rule.getSeverity()) {
-                        case "LOW" -> 1;
-                        case "MEDIUM" -> 2;
-                        case "HIGH" -> 3;
-                        case "CRITICAL" -> 4;
-                        default -> 2;
-                    };
-                    flag.setSeverity(severityInt);
-                    
-                    fraudFlagRepository.save(flag);
-                    log.debug("Saved fraud flag: {} with severity: {}", rule.getRuleName(), rule.getSeverity());
+                    // Upsert: a concurrent screening of the same applicant may have inserted this
+                    // (applicant, loan, rule) since we read the existing flags
+                    fraudFlagRepository.upsertFlag(applicant.getApplicantId(),
+                            loan != null ? loan.getLoanId() : null, FraudFlag.loanKey(loan),
+                            byRule.getKey(), severityInt, notes, LocalDateTime.now());
+                    log.debug("Saved fraud flag: {} with severity: {}", byRule.getKey(), severityInt);
                     
                 } catch (Exception e) {
-                    log.error("Error saving individual fraud flag '{}': {}", rule.getRuleName(), e.getMessage(), e);
+                    log.error("Error saving individual fraud flag '{}': {}", byRule.getKey(), e.getMessage(), e);
                     // Continue with other flags even if one fails
                 }
             }
             
-            log.info("Successfully saved fraud flags for applicant ID: {}", applicant.getApplicantId());
+            log.info("Successfully saved fraud flags for applicant ID: {} ({} updated, {} unchanged)", 
+                    applicant.getApplicantId(), updated, unchanged);
             
         } catch (Exception e) {
             log.error("Error in saveFraudFlags for applicant ID {}: {}", 
@@ -248,6 +280,39 @@ public class FraudDetectionService {
         }
     }
     
+    private Map<String, List<FraudRule>> groupByRuleName(List<FraudRule> rules) {
+        Map<String, List<FraudRule>> byRule = new LinkedHashMap<>();
+        for (FraudRule rule : rules) {
+            byRule.computeIfAbsent(rule.getRuleName(), name -> new ArrayList<>()).add(rule);
+        }
+        return byRule;
+    }
+    
+    /**
+     * Distinct details of every firing of one rule, in order
+     */
+    private String joinFlagDetails(List<FraudRule> rules) {
+        Set<String> details = new LinkedHashSet<>();
+        for (FraudRule rule : rules) {
+            if (rule.getFlagDetails() != null) {
+                details.add(rule.getFlagDetails());
+            }
+        }
+        return details.isEmpty() ? null : String.join("; ", details);
+    }
+    
+    // Map severity to integer (1=LOW, 2=MEDIUM, 3=HIGH, 4=CRITICAL)
+    private int severityLevel(String severity) {
+        if (severity == null) return 2;
+        return switch (severity) {
+            case "LOW" -> 1;
+            case "MEDIUM" -> 2;
+            case "HIGH" -> 3;
+            case "CRITICAL" -> 4;
+            default -> 2;
+        };
+    }
+    
     /**
      * Get all fraud flags for an applicant
      */
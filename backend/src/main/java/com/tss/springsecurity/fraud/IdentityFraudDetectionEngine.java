@@ -1,13 +1,31 @@
 package com.tss.springsecurity.fraud;
 
+import com.tss.springsecurity.config.FraudRingProperties;
+import com.tss.springsecurity.config.IdentifierBlacklistProperties;
+import com.tss.springsecurity.config.VelocityProperties;
+import com.tss.springsecurity.config.WatchlistScreeningProperties;
 import com.tss.springsecurity.entity.*;
+import com.tss.springsecurity.fraud.ring.FraudRingReport;
+import com.tss.springsecurity.fraud.ring.FraudRingService;
+import com.tss.springsecurity.fraud.incremental.CheckPlan;
+import com.tss.springsecurity.fraud.telemetry.RuleTelemetryService;
 import com.tss.springsecurity.repository.*;
+import com.tss.springsecurity.screening.BlacklistSource;
+import com.tss.springsecurity.screening.IdentifierBlacklistService;
+import com.tss.springsecurity.screening.WatchlistEntry;
+import com.tss.springsecurity.screening.WatchlistMatch;
+import com.tss.springsecurity.screening.WatchlistScreeningService;
+import com.tss.springsecurity.util.Lazy;
+import com.tss.springsecurity.velocity.VelocityDimension;
+import com.tss.springsecurity.velocity.VelocityHit;
+import com.tss.springsecurity.velocity.VelocityService;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.Period;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 @Service
@@ -19,6 +37,16 @@ public class IdentityFraudDetectionEngine {
     private final PanDetailsRepository panDetailsRepository;
     private final PassportDetailsRepository passportDetailsRepository;
     private final DatabaseFraudRuleEngine dbRuleEngine;
+    private final WatchlistScreeningService watchlistScreeningService;
+    private final WatchlistScreeningProperties watchlistProperties;
+    private final IdentifierBlacklistService blacklistService;
+    private final IdentifierBlacklistProperties blacklistProperties;
+    private final FraudFlagRepository fraudFlagRepository;
+    private final FraudRingService fraudRingService;
+    private final FraudRingProperties fraudRingProperties;
+    private final VelocityService velocityService;
+    private final VelocityProperties velocityProperties;
+    private final RuleTelemetryService ruleTelemetry;
     
     // Regex patterns
     private static final Pattern PAN_PATTERN = Pattern.compile("[A-Z]{5}[0-9]{4}[A-Z]{1}");
@@ -30,54 +58,90 @@ public class IdentityFraudDetectionEngine {
             AadhaarDetailsRepository aadhaarDetailsRepository,
             PanDetailsRepository panDetailsRepository,
             PassportDetailsRepository passportDetailsRepository,
-            DatabaseFraudRuleEngine dbRuleEngine) {
+            DatabaseFraudRuleEngine dbRuleEngine,
+            WatchlistScreeningService watchlistScreeningService,
+            WatchlistScreeningProperties watchlistProperties,
+            IdentifierBlacklistService blacklistService,
+            IdentifierBlacklistProperties blacklistProperties,
+            FraudFlagRepository fraudFlagRepository,
+            FraudRingService fraudRingService,
+            FraudRingProperties fraudRingProperties,
+            VelocityService velocityService,
+            VelocityProperties velocityProperties,
+            RuleTelemetryService ruleTelemetry) {
         this.applicantRepository = applicantRepository;
         this.basicDetailsRepository = basicDetailsRepository;
         this.aadhaarDetailsRepository = aadhaarDetailsRepository;
         this.panDetailsRepository = panDetailsRepository;
         this.passportDetailsRepository = passportDetailsRepository;
         this.dbRuleEngine = dbRuleEngine;
+        this.watchlistScreeningService = watchlistScreeningService;
+        this.watchlistProperties = watchlistProperties;
+        this.blacklistService = blacklistService;
+        this.blacklistProperties = blacklistProperties;
+        this.fraudFlagRepository = fraudFlagRepository;
+        this.fraudRingService = fraudRingService;
+        this.fraudRingProperties = fraudRingProperties;
+        this.velocityService = velocityService;
+        this.velocityProperties = velocityProperties;
+        this.ruleTelemetry = ruleTelemetry;
     }
     
     /**
      * Run all identity fraud detection rules for an applicant
      */
     public FraudDetectionResult detectIdentityFraud(Long applicantId) {
+        return detectIdentityFraud(applicantId, null);
+    }
+    
+    /**
+     * Same, skipping the checks {@code plan} can answer from a previous screening (null runs every check)
+     */
+    public FraudDetectionResult detectIdentityFraud(Long applicantId, CheckPlan<FraudRule> plan) {
         Applicant applicant = applicantRepository.findById(applicantId)
                 .orElseThrow(() -> new RuntimeException("Applicant not found"));
         
         FraudDetectionResult result = new FraudDetectionResult();
         result.setApplicantId(applicantId);
         result.setApplicantName(applicant.getFirstName() + " " + applicant.getLastName());
+        RuleTelemetryService.Screening<FraudRule> screening = ruleTelemetry.begin(
+                "IDENTITY", applicantId, result.getTriggeredRules(), FraudRule::getRuleName,
+                plan, result::addTriggeredRule);
         
         // Load active rules from database for IDENTITY category
         Map<String, FraudRuleDefinition> rules = dbRuleEngine.getRulesAsMap("IDENTITY");
         
-        // Get related data
-        ApplicantBasicDetails basicDetails = basicDetailsRepository
-                .findByApplicant_ApplicantId(applicantId).orElse(null);
-        List<AadhaarDetails> aadhaarList = aadhaarDetailsRepository
-                .findByApplicant_ApplicantId(applicantId);
-        List<PanDetails> panList = panDetailsRepository
-                .findByApplicant_ApplicantId(applicantId);
-        List<PassportDetails> passportList = passportDetailsRepository
-                .findByApplicant_ApplicantId(applicantId);
+        // Get related data, loaded by the first check that needs it
+        Lazy<ApplicantBasicDetails> basicDetails = Lazy.of(() -> basicDetailsRepository
+                .findByApplicant_ApplicantId(applicantId).orElse(null));
+        Lazy<List<AadhaarDetails>> aadhaarList = Lazy.of(() -> aadhaarDetailsRepository
+                .findByApplicant_ApplicantId(applicantId));
+        Lazy<List<PanDetails>> panList = Lazy.of(() -> panDetailsRepository
+                .findByApplicant_ApplicantId(applicantId));
+        Lazy<List<PassportDetails>> passportList = Lazy.of(() -> passportDetailsRepository
+                .findByApplicant_ApplicantId(applicantId));
         
         // Run all identity fraud rules (only if enabled in database)
-        checkDuplicateAadhaar(applicant, basicDetails, rules, result);
-        checkDuplicatePAN(applicant, basicDetails, rules, result);
-        checkInvalidPANFormat(basicDetails, rules, result);
+        screening.run("DUPLICATE_AADHAAR", () -> checkDuplicateAadhaar(applicant, basicDetails.get(), rules, result));
+        screening.run("DUPLICATE_PAN", () -> checkDuplicatePAN(applicant, basicDetails.get(), rules, result));
+        screening.run("INVALID_PAN_FORMAT", () -> checkInvalidPANFormat(basicDetails.get(), rules, result));
 //        checkInvalidAadhaarNumber(basicDetails, rules, result);
-        checkDOBMismatch(applicant, aadhaarList, panList, passportList, rules, result);
-        checkNameMismatch(applicant, aadhaarList, panList, passportList, rules, result);
-        checkGenderMismatch(applicant, aadhaarList, rules, result);
-        checkExpiredPassport(passportList, rules, result);
-        checkDuplicatePhoneEmail(applicant, rules, result);
-        checkMinorApplicant(applicant, rules, result);
-        checkSuspiciousAge(applicant, rules, result);
-        checkMissingCriticalDocuments(aadhaarList, panList, rules, result);
-        checkDocumentTampering(aadhaarList, panList, passportList, rules, result);
-        checkAddressMismatch(applicant, aadhaarList, rules, result);
+        screening.run("DOB_MISMATCH", () -> checkDOBMismatch(applicant, aadhaarList.get(), panList.get(), passportList.get(), rules, result));
+        screening.run("NAME_MISMATCH", () -> checkNameMismatch(applicant, aadhaarList.get(), panList.get(), passportList.get(), rules, result));
+        screening.run("GENDER_MISMATCH", () -> checkGenderMismatch(applicant, aadhaarList.get(), rules, result));
+        screening.run("EXPIRED_PASSPORT", () -> checkExpiredPassport(passportList.get(), rules, result));
+        screening.run("DUPLICATE_PHONE_EMAIL", () -> checkDuplicatePhoneEmail(applicant, rules, result));
+        screening.run("MINOR_APPLICANT", () -> checkMinorApplicant(applicant, rules, result));
+        screening.run("SUSPICIOUS_AGE", () -> checkSuspiciousAge(applicant, rules, result));
+        screening.run("MISSING_CRITICAL_DOCUMENTS", () -> checkMissingCriticalDocuments(aadhaarList.get(), panList.get(), rules, result));
+        screening.run("DOCUMENT_TAMPERING", () -> checkDocumentTampering(aadhaarList.get(), panList.get(), passportList.get(), rules, result));
+        screening.run("ADDRESS_MISMATCH", () -> checkAddressMismatch(applicant, aadhaarList.get(), rules, result));
+        screening.run("WATCHLIST_MATCH", () -> checkWatchlistMatch(applicant, rules, result));
+        screening.run("IDENTIFIER_BLACKLIST", () -> checkIdentifierBlacklist(applicant, basicDetails.get(), rules, result));
+        screening.run("FRAUD_RING", () -> checkFraudRing(applicant, rules, result));
+        screening.run("APPLICATION_VELOCITY", () -> checkApplicationVelocity(applicant, basicDetails.get(), rules, result));
+        
+        screening.finish();
         
         // Calculate final risk level
         result.calculateRiskLevel();
@@ -94,16 +158,13 @@ public class IdentityFraudDetectionEngine {
         if (ruleDef == null || !ruleDef.getIsActive()) return;
         if (basicDetails == null || basicDetails.getAadhaarNumber() == null) return;
         
-        List<ApplicantBasicDetails> duplicates = basicDetailsRepository.findAll().stream()
-                .filter(bd -> bd.getAadhaarNumber() != null && 
-                             bd.getAadhaarNumber().equals(basicDetails.getAadhaarNumber()) &&
-                             !bd.getApplicant().getApplicantId().equals(applicant.getApplicantId()))
-                .toList();
+        long duplicates = basicDetailsRepository.countByAadhaarNumberAndApplicant_ApplicantIdNot(
+                basicDetails.getAadhaarNumber(), applicant.getApplicantId());
         
-        if (!duplicates.isEmpty()) {
+        if (duplicates > 0) {
             String customDesc = "Aadhaar number " + maskAadhaar(basicDetails.getAadhaarNumber()) + 
-                " is already used by " + duplicates.size() + " other applicant(s)";
-            String flagDetails = "Duplicate Aadhaar found in " + duplicates.size() + " application(s)";
+                " is already used by " + duplicates + " other applicant(s)";
+            String flagDetails = "Duplicate Aadhaar found in " + duplicates + " application(s)";
             FraudRule rule = dbRuleEngine.createFraudRule(ruleDef, customDesc, flagDetails);
             result.addTriggeredRule(rule);
         }
@@ -118,16 +179,13 @@ public class IdentityFraudDetectionEngine {
         if (ruleDef == null || !ruleDef.getIsActive()) return;
         if (basicDetails == null || basicDetails.getPanNumber() == null) return;
         
-        List<ApplicantBasicDetails> duplicates = basicDetailsRepository.findAll().stream()
-                .filter(bd -> bd.getPanNumber() != null && 
-                             bd.getPanNumber().equals(basicDetails.getPanNumber()) &&
-                             !bd.getApplicant().getApplicantId().equals(applicant.getApplicantId()))
-                .toList();
+        long duplicates = basicDetailsRepository.countByPanNumberAndApplicant_ApplicantIdNot(
+                basicDetails.getPanNumber(), applicant.getApplicantId());
         
-        if (!duplicates.isEmpty()) {
+        if (duplicates > 0) {
             String customDesc = "PAN number " + basicDetails.getPanNumber() + 
-                " is already used by " + duplicates.size() + " other applicant(s)";
-            String flagDetails = "Duplicate PAN found in " + duplicates.size() + " application(s)";
+                " is already used by " + duplicates + " other applicant(s)";
+            String flagDetails = "Duplicate PAN found in " + duplicates + " application(s)";
             FraudRule rule = dbRuleEngine.createFraudRule(ruleDef, customDesc, flagDetails);
             result.addTriggeredRule(rule);
         }
@@ -345,15 +403,12 @@ public class IdentityFraudDetectionEngine {
         if (applicant.getPhone() != null) {
             FraudRuleDefinition ruleDef = rules.get("DUPLICATE_PHONE");
             if (ruleDef != null && ruleDef.getIsActive()) {
-                List<Applicant> phoneMatches = applicantRepository.findAll().stream()
-                        .filter(a -> a.getPhone() != null && 
-                                    a.getPhone().equals(applicant.getPhone()) &&
-                                    !a.getApplicantId().equals(applicant.getApplicantId()))
-                        .toList();
+                long phoneMatches = applicantRepository.countByPhoneAndApplicantIdNot(
+                        applicant.getPhone(), applicant.getApplicantId());
                 
-                if (!phoneMatches.isEmpty()) {
+                if (phoneMatches > 0) {
                     String customDesc = "Phone number " + applicant.getPhone() + " is used by " + 
-                        phoneMatches.size() + " other applicant(s)";
+                        phoneMatches + " other applicant(s)";
                     String flagDetails = "Possible synthetic identity fraud - shared phone number";
                     FraudRule rule = dbRuleEngine.createFraudRule(ruleDef, customDesc, flagDetails);
                     result.addTriggeredRule(rule);
@@ -365,15 +420,12 @@ public class IdentityFraudDetectionEngine {
         if (applicant.getEmail() != null) {
             FraudRuleDefinition ruleDef = rules.get("DUPLICATE_EMAIL");
             if (ruleDef != null && ruleDef.getIsActive()) {
-                List<Applicant> emailMatches = applicantRepository.findAll().stream()
-                        .filter(a -> a.getEmail() != null && 
-                                    a.getEmail().equalsIgnoreCase(applicant.getEmail()) &&
-                                    !a.getApplicantId().equals(applicant.getApplicantId()))
-                        .toList();
+                long emailMatches = applicantRepository.countByEmailAndApplicantIdNot(
+                        applicant.getEmail(), applicant.getApplicantId());
                 
-                if (!emailMatches.isEmpty()) {
+                if (emailMatches > 0) {
                     String customDesc = "Email " + applicant.getEmail() + " is used by " + 
-                        emailMatches.size() + " other applicant(s)";
+                        emailMatches + " other applicant(s)";
                     String flagDetails = "Possible synthetic identity fraud - shared email";
                     FraudRule rule = dbRuleEngine.createFraudRule(ruleDef, customDesc, flagDetails);
                     result.addTriggeredRule(rule);
@@ -528,6 +580,126 @@ public class IdentityFraudDetectionEngine {
     
     // ==================== UTILITY METHODS ====================
     
+    /**
+     * Rule 15: Sanctions / PEP list match on the applicant's name.
+     * An active fraud_rule_definition row with the same code overrides the built-in points.
+     */
+    private void checkWatchlistMatch(Applicant applicant, Map<String, FraudRuleDefinition> rules,
+                                     FraudDetectionResult result) {
+        String name = applicant.getFirstName() + " " + applicant.getLastName();
+        
+        List<WatchlistMatch> sanctions = watchlistScreeningService.screen(name, WatchlistEntry.CATEGORY_SANCTIONS, null);
+        if (!sanctions.isEmpty()) {
+            WatchlistMatch best = sanctions.get(0);
+            String customDesc = "Applicant name matches " + best.getSource() + " sanctions entry "
+                + best.getListedName() + " (score " + best.getMatchScore() + ")";
+            String flagDetails = best.getMatchType() + " sanctions match: " + best.getEntryId();
+            FraudRuleDefinition ruleDef = rules.get("SANCTIONS_LIST_MATCH");
+            result.addTriggeredRule(ruleDef != null
+                ? dbRuleEngine.createFraudRule(ruleDef, customDesc, flagDetails)
+                : new FraudRule("SANCTIONS_LIST_MATCH", customDesc, watchlistProperties.getSanctionsFraudPoints(),
+                    "CRITICAL", "IDENTITY", true, flagDetails));
+        }
+        
+        List<WatchlistMatch> peps = watchlistScreeningService.screenPep(name);
+        if (!peps.isEmpty()) {
+            WatchlistMatch best = peps.get(0);
+            String customDesc = "Applicant name matches politically exposed person "
+                + best.getListedName() + " (score " + best.getMatchScore() + ")";
+            String flagDetails = "PEP match requires enhanced due diligence: " + best.getEntryId();
+            FraudRuleDefinition ruleDef = rules.get("PEP_MATCH");
+            result.addTriggeredRule(ruleDef != null
+                ? dbRuleEngine.createFraudRule(ruleDef, customDesc, flagDetails)
+                : new FraudRule("PEP_MATCH", customDesc, watchlistProperties.getPepFraudPoints(),
+                    "MEDIUM", "IDENTITY", true, flagDetails));
+        }
+    }
+    
+    /**
+     * Rule 16: PAN / Aadhaar on the RBI defaulter list or linked to confirmed fraud.
+     * Probes the memory-mapped blacklist; the database is only consulted on an internal hit.
+     */
+    private void checkIdentifierBlacklist(Applicant applicant, ApplicantBasicDetails basicDetails,
+                                          Map<String, FraudRuleDefinition> rules, FraudDetectionResult result) {
+        if (basicDetails == null) return;
+        
+        Set<BlacklistSource> sources = blacklistService.lookup(basicDetails.getPanNumber(), basicDetails.getAadhaarNumber());
+        if (sources.isEmpty()) return;
+        
+        if (sources.contains(BlacklistSource.RBI_DEFAULTERS)) {
+            String customDesc = "PAN " + basicDetails.getPanNumber() + " is on the RBI wilful defaulters list";
+            String flagDetails = "RBI defaulter list match";
+            FraudRuleDefinition ruleDef = rules.get("RBI_DEFAULTER_MATCH");
+            result.addTriggeredRule(ruleDef != null
+                ? dbRuleEngine.createFraudRule(ruleDef, customDesc, flagDetails)
+                : new FraudRule("RBI_DEFAULTER_MATCH", customDesc, blacklistProperties.getRbiDefaulterFraudPoints(),
+                    "HIGH", "IDENTITY", true, flagDetails));
+        }
+        
+        boolean blacklisted = sources.contains(BlacklistSource.EXTERNAL_LIST);
+        if (!blacklisted && sources.contains(BlacklistSource.INTERNAL_FRAUD)) {
+            // The applicant's own confirmed flags put their identifiers in the set; only count other people
+            int minSeverity = blacklistProperties.getInternalMinSeverity();
+            boolean ownFlags = fraudFlagRepository.findByApplicant_ApplicantId(applicant.getApplicantId()).stream()
+                .anyMatch(flag -> flag.getSeverity() != null && flag.getSeverity() >= minSeverity);
+            blacklisted = !ownFlags || fraudFlagRepository.countConfirmedFraudByOtherApplicants(minSeverity,
+                applicant.getApplicantId(), basicDetails.getPanNumber(), basicDetails.getAadhaarNumber()) > 0;
+        }
+        if (blacklisted) {
+            String customDesc = "PAN/Aadhaar is linked to confirmed fraud on another application";
+            String flagDetails = "Identifier blacklist match: " + sources;
+            FraudRuleDefinition ruleDef = rules.get("INTERNAL_BLACKLIST_MATCH");
+            result.addTriggeredRule(ruleDef != null
+                ? dbRuleEngine.createFraudRule(ruleDef, customDesc, flagDetails)
+                : new FraudRule("INTERNAL_BLACKLIST_MATCH", customDesc, blacklistProperties.getInternalBlacklistFraudPoints(),
+                    "CRITICAL", "IDENTITY", true, flagDetails));
+        }
+    }
+    
+    /**
+     * Rule 17: Fraud Ring - applicant is chained to several others through shared
+     * phones, emails, addresses, employers, bank accounts or collateral
+     */
+    private void checkFraudRing(Applicant applicant, Map<String, FraudRuleDefinition> rules,
+                                FraudDetectionResult result) {
+        FraudRingReport ring = fraudRingService.inspect(applicant.getApplicantId());
+        if (!ring.isRingMember()) return;
+        
+        String customDesc = "Applicant shares identity, contact, bank or collateral details with "
+            + (ring.getComponentSize() - 1) + " other applicant(s)";
+        String flagDetails = "Fraud ring of " + ring.getComponentSize() + " applicants, linked: "
+            + ring.getLinkedApplicantIds();
+        FraudRuleDefinition ruleDef = rules.get("FRAUD_RING_MEMBER");
+        result.addTriggeredRule(ruleDef != null
+            ? dbRuleEngine.createFraudRule(ruleDef, customDesc, flagDetails)
+            : new FraudRule("FRAUD_RING_MEMBER", customDesc, fraudRingProperties.getRingMemberFraudPoints(),
+                "HIGH", "IDENTITY", true, flagDetails));
+    }
+    
+    /**
+     * Rule 18: Application Velocity - too many applications sharing the applicant's
+     * phone, email, PAN, device, IP or employer within the configured window
+     */
+    private void checkApplicationVelocity(Applicant applicant, ApplicantBasicDetails basicDetails,
+                                          Map<String, FraudRuleDefinition> rules, FraudDetectionResult result) {
+        List<VelocityHit> hits = velocityService.check(applicant.getApplicantId(), applicant.getPhone(),
+            applicant.getEmail(), basicDetails != null ? basicDetails.getPanNumber() : null);
+        
+        for (VelocityHit hit : hits) {
+            if (!hit.isExceeded()) continue;
+            String code = hit.getDimension().getRuleCode();
+            String customDesc = hit.getCount() + " applications from the same " + hit.getDimension().getLabel()
+                + " in the last " + hit.getWindowMinutes() + " minutes (limit " + hit.getThreshold() + ")";
+            String flagDetails = "Velocity " + hit.getDimension() + ": " + hit.getCount() + " > " + hit.getThreshold();
+            boolean shared = hit.getDimension() == VelocityDimension.IP || hit.getDimension() == VelocityDimension.EMPLOYER;
+            FraudRuleDefinition ruleDef = rules.get(code);
+            result.addTriggeredRule(ruleDef != null
+                ? dbRuleEngine.createFraudRule(ruleDef, customDesc, flagDetails)
+                : new FraudRule(code, customDesc, velocityProperties.forDimension(hit.getDimension()).getFraudPoints(),
+                    shared ? "MEDIUM" : "HIGH", "IDENTITY", true, flagDetails));
+        }
+    }
+    
     /**
      * Verify Aadhaar using Verhoeff algorithm
      */
@@ -0,0 +1,399 @@
+package com.tss.springsecurity.fraud.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tss.springsecurity.config.AuthThrottlingProperties;
+import com.tss.springsecurity.config.EngineBenchmarkProperties;
+import com.tss.springsecurity.config.FraudRingProperties;
+import com.tss.springsecurity.config.FraudRulePlanProperties;
+import com.tss.springsecurity.config.IdentifierBlacklistProperties;
+import com.tss.springsecurity.config.RuleTelemetryProperties;
+import com.tss.springsecurity.config.VelocityProperties;
+import com.tss.springsecurity.config.WatchlistScreeningProperties;
+import com.tss.springsecurity.entity.*;
+import com.tss.springsecurity.externalfraud.engine.ExternalFraudRuleEngine;
+import com.tss.springsecurity.externalfraud.entity.PersonRiskProfile;
+import com.tss.springsecurity.externalfraud.model.ExternalFraudCheckResult;
+import com.tss.springsecurity.externalfraud.repository.GovernmentIssuedDocumentRepository;
+import com.tss.springsecurity.fraud.*;
+import com.tss.springsecurity.fraud.ring.FraudRingService;
+import com.tss.springsecurity.fraud.service.FraudRulePlanService;
+import com.tss.springsecurity.fraud.telemetry.RuleTelemetryService;
+import com.tss.springsecurity.repository.*;
+import com.tss.springsecurity.security.ClientIpResolver;
+import com.tss.springsecurity.screening.IdentifierBlacklistService;
+import com.tss.springsecurity.screening.WatchlistScreeningService;
+import com.tss.springsecurity.synthetic.SyntheticValues;
+import com.tss.springsecurity.util.LatencyHistogram;
+import com.tss.springsecurity.velocity.VelocityService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongConsumer;
+
+/**
+ * Benchmarks the fraud screening engines on a synthetic applicant graph held
+ * in memory, so the numbers measure rule evaluation rather than the database.
+ *
+ * Each engine is a private instance wired to {@link InMemoryRepository}
+ * stand-ins. The watchlist and blacklist lookups use the live in-memory
+ * indexes; fraud rings and the external bureau lookups have their own
+ * benchmarks and are left out. Active rule definitions are read once from the
+ * live rule set. Each run is appended as one JSON line to the results file.
+ * Only created under the {@code benchmark} profile.
+ */
+@Service
+@Profile("benchmark")
+@RequiredArgsConstructor
+@Slf4j
+public class FraudEngineBenchmarkService {
+
+    private static final String[] CROSS_VERIFICATION_EXTRACTORS = {
+        "extractPANFromOCR", "extractAadhaarFromOCR", "extractNameFromBankStatement",
+        "extractAddressFromDocument", "extractIncomeFromPayslip", "extractIncomeFromITR",
+        "extractIncomeFromForm16", "extractEmployerFromPayslip"
+    };
+
+    private final EngineBenchmarkProperties properties;
+    private final DatabaseFraudRuleEngine liveRuleEngine;
+    private final WatchlistScreeningService watchlistScreeningService;
+    private final WatchlistScreeningProperties watchlistProperties;
+    private final IdentifierBlacklistService blacklistService;
+    private final IdentifierBlacklistProperties blacklistProperties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Build a graph of {@code applicants} and time every engine over it.
+     * Runs on its own thread so no HTTP request context leaks into the engines.
+     */
+    public Map<String, Object> run(int applicants, int documentsPerApplicant, int ocrChars, double duplicateRate) {
+        AtomicReference<Map<String, Object>> report = new AtomicReference<>();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Thread runner = new Thread(() -> {
+            try {
+                report.set(runInline(Math.min(applicants, properties.getMaxApplicants()),
+                        documentsPerApplicant, ocrChars, duplicateRate));
+            } catch (RuntimeException e) {
+                failure.set(e);
+            }
+        }, "fraud-engine-benchmark");
+        runner.start();
+        try {
+            runner.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Benchmark interrupted");
+        }
+        if (failure.get() != null) throw failure.get();
+        return report.get();
+    }
+
+    private Map<String, Object> runInline(int count, int documentsPerApplicant, int ocrChars, double duplicateRate) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", LocalDateTime.now().toString());
+        Map<String, Object> spec = new LinkedHashMap<>();
+        spec.put("applicants", count);
+        spec.put("documentsPerApplicant", documentsPerApplicant);
+        spec.put("ocrChars", ocrChars);
+        spec.put("duplicateRate", duplicateRate);
+        spec.put("seed", properties.getSeed());
+        report.put("spec", spec);
+
+        long buildStart = System.nanoTime();
+        SyntheticValues values = new SyntheticValues(properties.getSeed(), duplicateRate, 4);
+        SyntheticApplicantGraph graph = new SyntheticApplicantGraph(values, count, documentsPerApplicant, ocrChars);
+        Map<String, Object> dataset = new LinkedHashMap<>();
+        dataset.put("applicants", graph.applicants.size());
+        dataset.put("documents", graph.documents.size());
+        dataset.put("ocrMegabytes", Math.round(graph.getOcrBytes() / 10485.76) / 100.0);
+        dataset.put("buildMs", (System.nanoTime() - buildStart) / 1_000_000);
+        report.put("dataset", dataset);
+
+        List<FraudRuleDefinition> rules = liveRuleEngine.getAllActiveRules();
+        report.put("activeRules", rules.size());
+        if (rules.isEmpty()) {
+            report.put("warning", "No active fraud rules; engines skip most checks");
+        }
+
+        Engines engines = new Engines(graph, rules);
+        int iterations = count;
+        int warmup = Math.min(count, 2000);
+
+        Map<String, Object> engineResults = new LinkedHashMap<>();
+        engineResults.put("IDENTITY", measure(warmup, iterations, i -> engines.identity.detectIdentityFraud(applicantId(i, count))));
+        engineResults.put("FINANCIAL", measure(warmup, iterations, i -> engines.financial.detectFinancialFraud(applicantId(i, count))));
+        engineResults.put("EMPLOYMENT", measure(warmup, iterations, i -> engines.employment.detectEmploymentFraud(applicantId(i, count))));
+        engineResults.put("CROSS_VERIFICATION", measure(warmup, iterations,
+                i -> engines.crossVerification.detectCrossVerificationFraud(applicantId(i, count))));
+        report.put("engines", engineResults);
+
+        report.put("external", benchmarkExternalChecks(values, Math.max(iterations, 10000)));
+        report.put("calculateRiskLevel", benchmarkRiskLevel(Math.max(iterations, 10000)));
+        report.put("extractors", benchmarkExtractors(engines, graph, Math.max(iterations, 10000)));
+
+        appendResult(report);
+        return report;
+    }
+
+    // ==================== ENGINES ====================
+
+    /**
+     * Private engine instances over the in-memory graph
+     */
+    private final class Engines {
+        final IdentityFraudDetectionEngine identity;
+        final FinancialFraudDetectionEngine financial;
+        final EmploymentFraudDetectionEngine employment;
+        final CrossVerificationFraudDetectionEngine crossVerification;
+
+        Engines(SyntheticApplicantGraph graph, List<FraudRuleDefinition> rules) {
+            InMemoryRepository<FraudRuleDefinition> ruleTable =
+                    new InMemoryRepository<>(FraudRuleDefinition::getRuleId, null, null, FraudRuleDefinition::getRuleCategory);
+            rules.forEach(ruleTable::add);
+            FraudRuleDefinitionRepository ruleRepository = ruleTable.proxy(FraudRuleDefinitionRepository.class);
+            FraudRulePlanService planService = new FraudRulePlanService(ruleRepository, List.of());
+            DatabaseFraudRuleEngine dbRuleEngine = new DatabaseFraudRuleEngine(ruleRepository, planService);
+
+            RuleTelemetryProperties telemetryProperties = new RuleTelemetryProperties();
+            telemetryProperties.setEnabled(false);
+            RuleTelemetryService telemetry = new RuleTelemetryService(telemetryProperties, planService);
+
+            ApplicantRepository applicantRepository = graph.applicants.proxy(ApplicantRepository.class);
+            ApplicantBasicDetailsRepository basicRepository = graph.basicDetails.proxy(ApplicantBasicDetailsRepository.class);
+            AadhaarDetailsRepository aadhaarRepository = graph.aadhaar.proxy(AadhaarDetailsRepository.class);
+            PanDetailsRepository panRepository = graph.pan.proxy(PanDetailsRepository.class);
+            PassportDetailsRepository passportRepository = graph.passports.proxy(PassportDetailsRepository.class);
+            ApplicantEmploymentRepository employmentRepository = graph.employment.proxy(ApplicantEmploymentRepository.class);
+            ApplicantFinancialsRepository financialsRepository = graph.financials.proxy(ApplicantFinancialsRepository.class);
+            ApplicantCreditHistoryRepository creditRepository = graph.creditHistory.proxy(ApplicantCreditHistoryRepository.class);
+            ApplicantPropertyDetailsRepository propertyRepository = graph.property.proxy(ApplicantPropertyDetailsRepository.class);
+            ApplicantLoanDetailsRepository loanRepository = graph.loans.proxy(ApplicantLoanDetailsRepository.class);
+            LoanCollateralRepository collateralRepository = graph.collateral.proxy(LoanCollateralRepository.class);
+            OtherDocumentRepository documentRepository = graph.documents.proxy(OtherDocumentRepository.class);
+            FraudFlagRepository flagRepository = new InMemoryRepository<FraudFlag>(FraudFlag::getId, null, null, null)
+                    .proxy(FraudFlagRepository.class);
+
+            FraudRingProperties ringProperties = new FraudRingProperties();
+            ringProperties.setEnabled(false);
+            FraudRingService ringService = new FraudRingService(ringProperties, applicantRepository, basicRepository,
+                    employmentRepository, financialsRepository, loanRepository, collateralRepository);
+
+            VelocityProperties velocityProperties = new VelocityProperties();
+            velocityProperties.setSnapshotFile("benchmarks/no-velocity-snapshot.bin");
+            VelocityService velocityService = new VelocityService(velocityProperties,
+                    new ClientIpResolver(new AuthThrottlingProperties()));
+            velocityService.loadSnapshot();
+            for (Applicant applicant : applicantRepository.findAll()) {
+                velocityService.recordApplication(applicant.getApplicantId(), applicant.getPhone(),
+                        applicant.getEmail(), null, null);
+            }
+
+            identity = new IdentityFraudDetectionEngine(applicantRepository, basicRepository, aadhaarRepository,
+                    panRepository, passportRepository, dbRuleEngine, watchlistScreeningService, watchlistProperties,
+                    blacklistService, blacklistProperties, flagRepository, ringService, ringProperties,
+                    velocityService, velocityProperties, telemetry);
+            financial = new FinancialFraudDetectionEngine(applicantRepository, employmentRepository,
+                    financialsRepository, creditRepository, loanRepository, documentRepository, dbRuleEngine, telemetry);
+            employment = new EmploymentFraudDetectionEngine(applicantRepository, employmentRepository,
+                    basicRepository, documentRepository, dbRuleEngine, telemetry);
+            crossVerification = new CrossVerificationFraudDetectionEngine(applicantRepository, basicRepository,
+                    employmentRepository, financialsRepository, propertyRepository, aadhaarRepository, panRepository,
+                    passportRepository, documentRepository, loanRepository, creditRepository, collateralRepository,
+                    dbRuleEngine, telemetry);
+        }
+    }
+
+    // ==================== EXTERNAL / SCORING / EXTRACTORS ====================
+
+    private Map<String, Object> benchmarkExternalChecks(SyntheticValues values, int iterations) {
+        ExternalFraudRuleEngine engine = new ExternalFraudRuleEngine();
+        setField(engine, "documentRepository",
+                new InMemoryRepository<Object>(null, null, null, null).proxy(GovernmentIssuedDocumentRepository.class));
+
+        PersonRiskProfile[] profiles = new PersonRiskProfile[256];
+        for (int i = 0; i < profiles.length; i++) {
+            java.util.SplittableRandom random = values.random(i);
+            PersonRiskProfile profile = new PersonRiskProfile();
+            profile.setPersonId((long) i);
+            profile.setTotalCriminalCases(random.nextInt(8) == 0 ? 1 + random.nextInt(3) : 0);
+            profile.setConvictedCases(profile.getTotalCriminalCases() > 0 ? random.nextInt(2) : 0);
+            profile.setOpenCases(profile.getTotalCriminalCases() - profile.getConvictedCases());
+            profile.setCriminalCaseTypes(profile.getTotalCriminalCases() > 0 ? "FRAUD" : null);
+            profile.setTotalLoans(random.nextInt(6));
+            profile.setActiveLoans(Math.min(profile.getTotalLoans(), random.nextInt(4)));
+            profile.setDefaultedLoans(random.nextInt(10) == 0 ? 1 : 0);
+            profile.setActiveOutstanding(BigDecimal.valueOf(random.nextInt(3_000_000)));
+            profile.setWorstLoanStatus(profile.getDefaultedLoans() > 0 ? "DEFAULTED" : "ACTIVE");
+            profile.setTotalBankAccounts(1 + random.nextInt(5));
+            profile.setInactiveBankAccounts(random.nextInt(2));
+            profile.setTotalBankBalance(BigDecimal.valueOf(random.nextInt(1_000_000)));
+            profiles[i] = profile;
+        }
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (String check : new String[] { "checkCriminalRecords", "checkLoanHistory", "checkBankRecords", "checkDocumentVerification" }) {
+            Method method = privateMethod(ExternalFraudRuleEngine.class, check, PersonRiskProfile.class, ExternalFraudCheckResult.class);
+            results.put(check, measure(Math.min(iterations, 10000), iterations, i -> invoke(method, engine,
+                    profiles[(int) (i & (profiles.length - 1))], ExternalFraudCheckResult.builder().build())));
+        }
+        return results;
+    }
+
+    private Map<String, Object> benchmarkRiskLevel(int iterations) {
+        Map<String, Object> results = new LinkedHashMap<>();
+        String[] severities = { "LOW", "MEDIUM", "HIGH", "CRITICAL" };
+        for (int triggered : new int[] { 0, 5, 20 }) {
+            FraudRule[] rules = new FraudRule[triggered];
+            for (int r = 0; r < triggered; r++) {
+                rules[r] = new FraudRule("RULE_" + r, "Synthetic rule " + r, 10 + r,
+                        severities[r % severities.length], "IDENTITY", true, "details");
+            }
+            // Score as a screening does (per engine, then the merged result); the explanation only when read
+            results.put(triggered + "Rules", measure(Math.min(iterations, 10000), iterations,
+                    i -> scoreScreening(rules, false)));
+            results.put(triggered + "RulesExplained", measure(Math.min(iterations, 10000), iterations,
+                    i -> scoreScreening(rules, true)));
+        }
+        return results;
+    }
+
+    private static void scoreScreening(FraudRule[] rules, boolean explain) {
+        FraudDetectionResult engine = new FraudDetectionResult();
+        for (FraudRule rule : rules) {
+            engine.addTriggeredRule(rule);
+        }
+        engine.calculateRiskLevel();
+        FraudDetectionResult merged = new FraudDetectionResult();
+        merged.merge(engine);
+        merged.calculateRiskLevel();
+        if (explain) {
+            merged.getFraudScoreBreakdown();
+            merged.getScoringExplanation();
+        }
+    }
+
+    private Map<String, Object> benchmarkExtractors(Engines engines, SyntheticApplicantGraph graph, int iterations) {
+        List<OtherDocument> documents = graph.documents.proxy(OtherDocumentRepository.class).findAll();
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < documents.size() && texts.size() < 1024; i++) {
+            texts.add(documents.get(i).getOcrText());
+        }
+        if (texts.isEmpty()) return Map.of();
+        int mask = Integer.highestOneBit(texts.size()) - 1;
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (String extractor : CROSS_VERIFICATION_EXTRACTORS) {
+            Method method = privateMethod(CrossVerificationFraudDetectionEngine.class, extractor, String.class);
+            results.put(extractor, measure(Math.min(iterations, 10000), iterations,
+                    i -> invoke(method, engines.crossVerification, texts.get((int) (i & mask)))));
+        }
+        Method ocrIncome = privateMethod(FinancialFraudDetectionEngine.class, "extractIncomeFromOCR", String.class);
+        results.put("extractIncomeFromOCR", measure(Math.min(iterations, 10000), iterations,
+                i -> invoke(ocrIncome, engines.financial, texts.get((int) (i & mask)))));
+        return results;
+    }
+
+    // ==================== MEASUREMENT ====================
+
+    /**
+     * Warm up, then time each call; throughput over the whole measured loop
+     */
+    private static Map<String, Object> measure(int warmup, int iterations, LongConsumer operation) {
+        for (int i = 0; i < warmup; i++) {
+            operation.accept(i);
+        }
+        LatencyHistogram latency = new LatencyHistogram();
+        long allocatedBefore = allocatedBytes();
+        long loopStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            operation.accept(i);
+            latency.recordNanos(System.nanoTime() - start);
+        }
+        long loopNanos = System.nanoTime() - loopStart;
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("iterations", iterations);
+        result.put("opsPerSecond", loopNanos == 0 ? 0 : Math.round(iterations * 1e9 / loopNanos));
+        result.put("meanNs", iterations == 0 ? 0 : loopNanos / iterations);
+        if (allocatedBefore >= 0 && iterations > 0) {
+            result.put("allocatedBytesPerOp", allocated / iterations);
+        }
+        result.put("latency", latency.snapshot());
+        return result;
+    }
+
+    // Bytes allocated so far by this thread, or -1 when the JVM does not track it
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private static long applicantId(long iteration, int count) {
+        return iteration % count + 1;
+    }
+
+    private void appendResult(Map<String, Object> report) {
+        Path file = Paths.get(properties.getResultsFile()).toAbsolutePath().normalize();
+        try {
+            if (file.getParent() != null) Files.createDirectories(file.getParent());
+            Files.writeString(file, objectMapper.writeValueAsString(report) + System.lineSeparator(),
+                    StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            report.put("resultsFile", file.toString());
+        } catch (IOException e) {
+            log.warn("Could not append benchmark result to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static Method privateMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            Method method = type.getDeclaredMethod(name, parameterTypes);
+            method.setAccessible(true);
+            return method;
+        } catch (NoSuchMethodException e) {
+            throw new RuntimeException("Benchmark target not found: " + type.getSimpleName() + "." + name);
+        }
+    }
+
+    private static void invoke(Method method, Object target, Object... args) {
+        try {
+            method.invoke(target, args);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        } catch (InvocationTargetException e) {
+            throw new RuntimeException("Benchmark target failed: " + method.getName(), e.getCause());
+        }
+    }
+
+    private static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Benchmark wiring failed: " + name);
+        }
+    }
+}
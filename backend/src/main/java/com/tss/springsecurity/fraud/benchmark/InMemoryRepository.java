@@ -0,0 +1,132 @@
+package com.tss.springsecurity.fraud.benchmark;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * In-memory stand-in for a Spring Data repository, built as a dynamic proxy so
+ * engines can be benchmarked without a database. It answers the lookups the
+ * engines make:
+ * <ul>
+ *   <li>{@code findById}, {@code findAll}, {@code count}</li>
+ *   <li>{@code findByApplicant_ApplicantId} and {@code findByLoan_LoanId}, as a list or an Optional</li>
+ *   <li>{@code findFirstByApplicant_ApplicantIdOrderBy...Desc}, as the applicant's last added row</li>
+ *   <li>any other finder taking a single String, matched against the optional string key</li>
+ * </ul>
+ * Every other method returns an empty value (empty list/Optional, 0, false, null).
+ */
+final class InMemoryRepository<T> {
+
+    private final List<T> rows = new ArrayList<>();
+    private final Map<Long, T> byId = new HashMap<>();
+    private final Map<Long, List<T>> byApplicant = new HashMap<>();
+    private final Map<Long, List<T>> byLoan = new HashMap<>();
+    private final Map<String, List<T>> byKey = new HashMap<>();
+
+    private final Function<T, Long> id;
+    private final Function<T, Long> applicantId;
+    private final Function<T, Long> loanId;
+    private final Function<T, String> key;
+
+    InMemoryRepository(Function<T, Long> id, Function<T, Long> applicantId,
+                       Function<T, Long> loanId, Function<T, String> key) {
+        this.id = id;
+        this.applicantId = applicantId;
+        this.loanId = loanId;
+        this.key = key;
+    }
+
+    void add(T row) {
+        rows.add(row);
+        if (id != null) byId.put(id.apply(row), row);
+        if (applicantId != null) byApplicant.computeIfAbsent(applicantId.apply(row), k -> new ArrayList<>()).add(row);
+        if (loanId != null) byLoan.computeIfAbsent(loanId.apply(row), k -> new ArrayList<>()).add(row);
+        if (key != null) byKey.computeIfAbsent(key.apply(row), k -> new ArrayList<>()).add(row);
+    }
+
+    int size() {
+        return rows.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    <R> R proxy(Class<R> repositoryType) {
+        return (R) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[] { repositoryType },
+                (proxy, method, args) -> invoke(repositoryType, method, args));
+    }
+
+    private Object invoke(Class<?> repositoryType, Method method, Object[] args) {
+        String name = method.getName();
+        switch (name) {
+            case "toString":
+                return "InMemory" + repositoryType.getSimpleName();
+            case "hashCode":
+                return System.identityHashCode(this);
+            case "equals":
+                return args[0] == this;
+            case "findById":
+                return Optional.ofNullable(byId.get((Long) args[0]));
+            case "existsById":
+                return byId.containsKey((Long) args[0]);
+            case "findAll":
+                if (args == null || args.length == 0) return new ArrayList<>(rows);
+                break;
+            case "count":
+                return (long) rows.size();
+            default:
+                break;
+        }
+        if (name.startsWith("findByApplicant_ApplicantId") && args != null && args.length == 1) {
+            return shape(method, byApplicant.get((Long) args[0]));
+        }
+        if (name.startsWith("findFirstByApplicant_ApplicantIdOrderBy") && name.endsWith("Desc")
+                && args != null && args.length == 1) {
+            // Rows are added in id order, so the last one has the highest id
+            List<T> matches = byApplicant.get((Long) args[0]);
+            return matches == null || matches.isEmpty() ? Optional.empty() : Optional.of(matches.get(matches.size() - 1));
+        }
+        if (name.startsWith("findByLoan_LoanId") && args != null && args.length == 1) {
+            return shape(method, byLoan.get((Long) args[0]));
+        }
+        if (name.startsWith("findBy") && args != null && args.length == 1 && args[0] instanceof String value) {
+            return shape(method, byKey.get(value));
+        }
+        if (name.startsWith("findBy") && (args == null || args.length == 0)) {
+            return shape(method, rows);
+        }
+        return empty(method.getReturnType());
+    }
+
+    private Object shape(Method method, List<T> matches) {
+        Class<?> type = method.getReturnType();
+        if (type == Optional.class) {
+            return matches == null || matches.isEmpty() ? Optional.empty() : Optional.of(matches.get(0));
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return matches == null ? new ArrayList<>() : new ArrayList<>(matches);
+        }
+        if (type == long.class || type == Long.class) {
+            return (long) (matches == null ? 0 : matches.size());
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return matches != null && !matches.isEmpty();
+        }
+        return matches == null || matches.isEmpty() ? empty(type) : matches.get(0);
+    }
+
+    private static Object empty(Class<?> type) {
+        if (type == Optional.class) return Optional.empty();
+        if (List.class.isAssignableFrom(type) || type == Collection.class) return new ArrayList<>();
+        if (type == long.class) return 0L;
+        if (type == int.class) return 0;
+        if (type == boolean.class) return false;
+        if (type == double.class) return 0.0;
+        return null;
+    }
+}
@@ -0,0 +1,121 @@
+package com.tss.springsecurity.fraud.benchmark;
+
+import com.tss.springsecurity.datasource.QueryCounter;
+import com.tss.springsecurity.datasource.WorkloadContext;
+import com.tss.springsecurity.event.LoanAggregatePart;
+import com.tss.springsecurity.fraud.CrossVerificationFraudDetectionEngine;
+import com.tss.springsecurity.fraud.EmploymentFraudDetectionEngine;
+import com.tss.springsecurity.fraud.FinancialFraudDetectionEngine;
+import com.tss.springsecurity.fraud.FraudDetectionService;
+import com.tss.springsecurity.fraud.IdentityFraudDetectionEngine;
+import com.tss.springsecurity.fraud.incremental.IncrementalScreeningService;
+import com.tss.springsecurity.fraud.telemetry.RuleTelemetryService;
+import com.tss.springsecurity.repository.ApplicantRepository;
+import com.tss.springsecurity.util.LatencyHistogram;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Full versus incremental re-screening of one live applicant.
+ *
+ * Runs read-only against a detached {@link IncrementalScreeningService}, so
+ * the simulated changes and saved outcomes never reach live re-screening, and
+ * with rule telemetry paused so live check stats are not skewed. Only exists
+ * under the {@code benchmark} profile.
+ */
+@Service
+@Profile("benchmark")
+@RequiredArgsConstructor
+public class RescreenBenchmarkService {
+
+    private final FraudDetectionService fraudDetectionService;
+    private final IdentityFraudDetectionEngine identityFraudEngine;
+    private final FinancialFraudDetectionEngine financialFraudEngine;
+    private final EmploymentFraudDetectionEngine employmentFraudEngine;
+    private final CrossVerificationFraudDetectionEngine crossVerificationEngine;
+    private final ApplicantRepository applicantRepository;
+    private final IncrementalScreeningService incrementalScreeningService;
+    private final RuleTelemetryService ruleTelemetryService;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Screens one applicant repeatedly: every check each time, then
+     * incrementally after a simulated document resubmission and with nothing
+     * changed. Compares statements, latency and checks re-run per screening.
+     */
+    public Map<String, Object> benchmark(Long applicantId, int iterations) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        applicantRepository.findById(applicantId)
+                .orElseThrow(() -> new RuntimeException("Applicant not found with ID: " + applicantId));
+
+        IncrementalScreeningService incremental = incrementalScreeningService.detached();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("applicantId", applicantId);
+        report.put("iterations", iterations);
+        try (WorkloadContext.Scope paused = ruleTelemetryService.pause()) {
+            report.put("full", measureScreenings(iterations, template, id -> {
+                identityFraudEngine.detectIdentityFraud(id);
+                financialFraudEngine.detectFinancialFraud(id);
+                employmentFraudEngine.detectEmploymentFraud(id);
+                crossVerificationEngine.detectCrossVerificationFraud(id);
+                return null;
+            }, applicantId));
+
+            // Prime the previous outcome, then re-screen
+            template.execute(status -> rescreenOnce(incremental, applicantId));
+            report.put("afterDocumentChange", measureScreenings(iterations, template, id -> {
+                incremental.markChanged(id, LoanAggregatePart.OTHER_DOCUMENT);
+                return rescreenOnce(incremental, id);
+            }, applicantId));
+            report.put("unchanged", measureScreenings(iterations, template,
+                    id -> rescreenOnce(incremental, id), applicantId));
+        }
+        report.put("incremental", incremental.getStats());
+        return report;
+    }
+
+    private IncrementalScreeningService.Rescreen rescreenOnce(IncrementalScreeningService incremental,
+                                                              Long applicantId) {
+        IncrementalScreeningService.Rescreen rescreen = incremental.open(applicantId);
+        fraudDetectionService.screen(applicantId, rescreen);
+        rescreen.save();
+        return rescreen;
+    }
+
+    private Map<String, Object> measureScreenings(int iterations, TransactionTemplate template,
+                                                  Function<Long, IncrementalScreeningService.Rescreen> screening,
+                                                  Long applicantId) {
+        LatencyHistogram latency = new LatencyHistogram();
+        long statements = 0;
+        long checksRun = 0;
+        long checksReused = 0;
+        for (int i = 0; i < iterations; i++) {
+            long begin = System.nanoTime();
+            try (WorkloadContext.Scope counting = QueryCounter.start()) {
+                IncrementalScreeningService.Rescreen rescreen = template.execute(status -> screening.apply(applicantId));
+                statements += QueryCounter.current();
+                if (rescreen != null) {
+                    checksRun += rescreen.getChecksRun();
+                    checksReused += rescreen.getChecksReused();
+                }
+            }
+            latency.recordNanos(System.nanoTime() - begin);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statementsPerScreening", iterations > 0 ? statements / (double) iterations : 0);
+        if (checksRun + checksReused > 0) {
+            result.put("checksRunPerScreening", checksRun / (double) iterations);
+            result.put("checksReusedPerScreening", checksReused / (double) iterations);
+        }
+        result.put("latency", latency.snapshot());
+        return result;
+    }
+}
@@ -0,0 +1,237 @@
+package com.tss.springsecurity.fraud.benchmark;
+
+import com.tss.springsecurity.entity.*;
+import com.tss.springsecurity.synthetic.SyntheticValues;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * A complete applicant graph held in {@link InMemoryRepository} tables: basic
+ * details, KYC documents, employment, financials, credit history, property,
+ * loans with collateral and other documents with OCR text. Generated
+ * deterministically from {@link SyntheticValues}.
+ */
+final class SyntheticApplicantGraph {
+
+    final InMemoryRepository<Applicant> applicants =
+            new InMemoryRepository<>(Applicant::getApplicantId, null, null, null);
+    final InMemoryRepository<ApplicantBasicDetails> basicDetails =
+            new InMemoryRepository<>(ApplicantBasicDetails::getId, b -> b.getApplicant().getApplicantId(), null, null);
+    final InMemoryRepository<AadhaarDetails> aadhaar =
+            new InMemoryRepository<>(AadhaarDetails::getId, a -> a.getApplicant().getApplicantId(), null, null);
+    final InMemoryRepository<PanDetails> pan =
+            new InMemoryRepository<>(PanDetails::getId, p -> p.getApplicant().getApplicantId(), null, null);
+    final InMemoryRepository<PassportDetails> passports =
+            new InMemoryRepository<>(PassportDetails::getId, p -> p.getApplicant().getApplicantId(), null, null);
+    final InMemoryRepository<ApplicantEmployment> employment =
+            new InMemoryRepository<>(ApplicantEmployment::getId, e -> e.getApplicant().getApplicantId(), null, null);
+    final InMemoryRepository<ApplicantFinancials> financials =
+            new InMemoryRepository<>(ApplicantFinancials::getId, f -> f.getApplicant().getApplicantId(), null, null);
+    final InMemoryRepository<ApplicantCreditHistory> creditHistory =
+            new InMemoryRepository<>(ApplicantCreditHistory::getId, c -> c.getApplicant().getApplicantId(), null, null);
+    final InMemoryRepository<ApplicantPropertyDetails> property =
+            new InMemoryRepository<>(ApplicantPropertyDetails::getId, p -> p.getApplicant().getApplicantId(), null, null);
+    final InMemoryRepository<ApplicantLoanDetails> loans =
+            new InMemoryRepository<>(ApplicantLoanDetails::getLoanId, l -> l.getApplicant().getApplicantId(), null, null);
+    final InMemoryRepository<LoanCollateral> collateral =
+            new InMemoryRepository<>(LoanCollateral::getId, null, c -> c.getLoan().getLoanId(), null);
+    final InMemoryRepository<OtherDocument> documents =
+            new InMemoryRepository<>(OtherDocument::getId, d -> d.getApplicant().getApplicantId(), null, null);
+
+    private long ocrBytes;
+
+    /**
+     * @param documentsPerApplicant other documents per applicant (payslips, statements, ITR, ...)
+     * @param ocrChars              approximate OCR text length of each of those documents
+     */
+    SyntheticApplicantGraph(SyntheticValues values, int count, int documentsPerApplicant, int ocrChars) {
+        for (long index = 0; index < count; index++) {
+            addApplicant(values, index, documentsPerApplicant, ocrChars);
+        }
+    }
+
+    long getOcrBytes() {
+        return ocrBytes;
+    }
+
+    private void addApplicant(SyntheticValues values, long index, int documentsPerApplicant, int ocrChars) {
+        SplittableRandom random = values.random(index);
+        long id = index + 1;
+        long identity = values.identityIndex(index);
+        LocalDateTime now = LocalDateTime.now();
+
+        String firstName = values.firstName(random);
+        String lastName = values.lastName(random);
+        String fullName = firstName + " " + lastName;
+        int city = values.cityIndex(random);
+        LocalDate dob = values.dateOfBirth(random);
+        String gender = random.nextBoolean() ? "Male" : "Female";
+        String panNumber = values.pan(identity, lastName);
+        String aadhaarNumber = values.aadhaar(identity);
+        String phone = values.phone(identity);
+        String address = values.address(random, city);
+        String employerName = values.employer(random);
+        BigDecimal income = values.monthlyIncome(random);
+        String[] bank = values.bank(random);
+
+        Applicant applicant = new Applicant();
+        applicant.setApplicantId(id);
+        applicant.setFirstName(firstName);
+        applicant.setLastName(lastName);
+        applicant.setDob(dob);
+        applicant.setGender(gender);
+        applicant.setUsername("bench" + id);
+        applicant.setEmail(values.email(firstName, lastName, index));
+        applicant.setPhone(phone);
+        applicant.setAddress(address);
+        applicant.setCity(SyntheticValues.CITIES[city]);
+        applicant.setState(SyntheticValues.STATES[city]);
+        applicant.setCountry("India");
+        applicant.setCreatedAt(now);
+        applicants.add(applicant);
+
+        ApplicantBasicDetails basic = new ApplicantBasicDetails();
+        basic.setId(id);
+        basic.setApplicant(applicant);
+        basic.setFirstName(firstName);
+        basic.setLastName(lastName);
+        basic.setDateOfBirth(dob);
+        basic.setGender(gender);
+        basic.setPhone(phone);
+        basic.setEmail(applicant.getEmail());
+        basic.setCurrentAddress(address);
+        basic.setCurrentCity(SyntheticValues.CITIES[city]);
+        basic.setCurrentState(SyntheticValues.STATES[city]);
+        basic.setCurrentPincode(values.pincode(random));
+        basic.setPanNumber(panNumber);
+        basic.setAadhaarNumber(aadhaarNumber);
+        basic.setNationality("Indian");
+        basicDetails.add(basic);
+
+        AadhaarDetails aadhaarDetails = new AadhaarDetails();
+        aadhaarDetails.setId(id);
+        aadhaarDetails.setApplicant(applicant);
+        aadhaarDetails.setAadhaarNumber(aadhaarNumber);
+        aadhaarDetails.setName(fullName);
+        aadhaarDetails.setDob(dob);
+        aadhaarDetails.setGender(gender);
+        aadhaarDetails.setAddress(address);
+        aadhaarDetails.setQrCodeData("name=" + fullName + ";mobile=" + phone);
+        aadhaarDetails.setOcrText("GOVERNMENT OF INDIA\n" + fullName + "\nDOB: " + dob + "\n" + aadhaarNumber);
+        aadhaar.add(aadhaarDetails);
+
+        PanDetails panDetails = new PanDetails();
+        panDetails.setId(id);
+        panDetails.setApplicant(applicant);
+        panDetails.setPanNumber(panNumber);
+        panDetails.setName(fullName.toUpperCase());
+        panDetails.setFatherName(values.firstName(random) + " " + lastName);
+        panDetails.setDob(dob);
+        panDetails.setOcrText("INCOME TAX DEPARTMENT\n" + fullName.toUpperCase() + "\n" + panNumber);
+        pan.add(panDetails);
+
+        if (random.nextInt(4) == 0) {
+            PassportDetails passport = new PassportDetails();
+            passport.setId(id);
+            passport.setApplicant(applicant);
+            passport.setPassportNumber(values.passport(random));
+            passport.setName(fullName);
+            passport.setDob(dob);
+            passport.setNationality("Indian");
+            passport.setExpiryDate(LocalDate.now().plusDays(random.nextInt(3650) - 365));
+            passports.add(passport);
+        }
+
+        boolean selfEmployed = random.nextInt(10) == 0;
+        ApplicantEmployment job = new ApplicantEmployment();
+        job.setId(id);
+        job.setApplicant(applicant);
+        job.setEmploymentType(selfEmployed ? "self-employed" : "salaried");
+        job.setEmployerName(employerName);
+        job.setCompanyName(employerName);
+        job.setDesignation("Engineer");
+        job.setStartDate(LocalDate.now().minusMonths(6 + random.nextInt(180)));
+        job.setWorkExperience(1 + random.nextInt(20));
+        job.setOfficeAddress(values.address(random, city));
+        job.setOfficeCity(SyntheticValues.CITIES[city]);
+        job.setOfficeState(SyntheticValues.STATES[city]);
+        job.setMonthlyIncome(income);
+        job.setCreatedAt(now);
+        employment.add(job);
+
+        ApplicantFinancials money = new ApplicantFinancials();
+        money.setId(id);
+        money.setApplicant(applicant);
+        money.setMonthlyIncome(income);
+        money.setMonthlyExpenses(income.multiply(BigDecimal.valueOf(0.4)));
+        money.setExistingLoanEmi(BigDecimal.valueOf(random.nextInt(30000)));
+        money.setBankName(bank[0]);
+        money.setAccountNumber(values.accountNumber(random));
+        money.setIfscCode(values.ifsc(random, bank[1]));
+        money.setAccountType("savings");
+        money.setTotalCreditLastMonth(income);
+        money.setTotalDebitLastMonth(income.multiply(BigDecimal.valueOf(0.8)));
+        financials.add(money);
+
+        ApplicantCreditHistory credit = new ApplicantCreditHistory();
+        credit.setId(id);
+        credit.setApplicant(applicant);
+        credit.setCreditScore(550 + random.nextInt(350));
+        credit.setCreditBureau("CIBIL");
+        credit.setTotalActiveLoans(random.nextInt(6));
+        credit.setTotalOutstandingDebt(BigDecimal.valueOf(random.nextInt(2_000_000)));
+        credit.setTotalMonthlyEmi(BigDecimal.valueOf(random.nextInt(60000)));
+        credit.setCreditCardCount(random.nextInt(5));
+        credit.setCreditUtilizationRatio(BigDecimal.valueOf(random.nextInt(100)));
+        credit.setPaymentHistory("good");
+        creditHistory.add(credit);
+
+        ApplicantPropertyDetails home = new ApplicantPropertyDetails();
+        home.setId(id);
+        home.setApplicant(applicant);
+        home.setResidenceType(random.nextBoolean() ? "owned" : "rented");
+        home.setPropertyValue(BigDecimal.valueOf(2_000_000 + random.nextInt(20_000_000)));
+        home.setYearsAtCurrentAddress(random.nextInt(20));
+        property.add(home);
+
+        boolean gold = random.nextInt(8) == 0;
+        ApplicantLoanDetails loan = new ApplicantLoanDetails();
+        loan.setLoanId(id);
+        loan.setApplicant(applicant);
+        loan.setLoanType(gold ? "gold" : "personal");
+        loan.setLoanAmount(values.loanAmount(random, income));
+        loan.setTenureMonths(12 + random.nextInt(84));
+        loan.setApplicantPan(panNumber);
+        loan.setApplicantAadhar(aadhaarNumber);
+        loan.setEmployerName(employerName);
+        loan.setMonthlyIncome(income);
+        loan.setSubmittedAt(now);
+        loans.add(loan);
+
+        if (gold || random.nextInt(4) == 0) {
+            LoanCollateral pledge = new LoanCollateral();
+            pledge.setId(id);
+            pledge.setLoan(loan);
+            pledge.setCollateralType(gold ? "gold" : "property");
+            pledge.setCollateralDescription(gold ? "22K gold ornaments" : address);
+            pledge.setEstimatedValue(loan.getLoanAmount().multiply(BigDecimal.valueOf(1.2)));
+            pledge.setValuationBy(random.nextBoolean() ? "Approved Valuer" : null);
+            collateral.add(pledge);
+        }
+
+        for (int d = 0; d < documentsPerApplicant; d++) {
+            String docType = SyntheticValues.DOC_TYPES[d % SyntheticValues.DOC_TYPES.length];
+            OtherDocument document = new OtherDocument();
+            document.setId(id * 1000 + d);
+            document.setApplicant(applicant);
+            document.setDocType(docType);
+            document.setOcrText(values.ocrText(random, docType, fullName, panNumber, aadhaarNumber,
+                    employerName, income, address, ocrChars));
+            ocrBytes += document.getOcrText().length();
+            documents.add(document);
+        }
+    }
+}
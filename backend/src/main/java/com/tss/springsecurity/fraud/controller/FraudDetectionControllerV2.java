@@ -2,6 +2,7 @@ package com.tss.springsecurity.fraud.controller;
 
 import com.tss.springsecurity.fraud.FraudDetectionResult;
 import com.tss.springsecurity.fraud.model.FraudDetectionRequest;
+import com.tss.springsecurity.fraud.service.FraudRulePlanService;
 import com.tss.springsecurity.fraud.service.FraudValidationService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -20,9 +21,12 @@ import java.util.Map;
 public class FraudDetectionControllerV2 {
     
     private final FraudValidationService fraudValidationService;
+    private final FraudRulePlanService rulePlanService;
     
-    public FraudDetectionControllerV2(FraudValidationService fraudValidationService) {
+    public FraudDetectionControllerV2(FraudValidationService fraudValidationService,
+                                      FraudRulePlanService rulePlanService) {
         this.fraudValidationService = fraudValidationService;
+        this.rulePlanService = rulePlanService;
     }
     
     /**
@@ -79,6 +83,30 @@ public class FraudDetectionControllerV2 {
         }
     }
     
+    /**
+     * Compiled rule plan: run order per category and rules without a validator
+     */
+    @GetMapping("/plan")
+    public ResponseEntity<Map<String, Object>> getRulePlan() {
+        try {
+            return ResponseEntity.ok(rulePlanService.getPlan().describe());
+        } catch (Exception e) {
+            return createErrorResponse(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+    
+    /**
+     * Recompile the rule plan now instead of waiting for the periodic check
+     */
+    @PostMapping("/plan/recompile")
+    public ResponseEntity<Map<String, Object>> recompileRulePlan() {
+        try {
+            return ResponseEntity.ok(rulePlanService.recompile().describe());
+        } catch (Exception e) {
+            return createErrorResponse(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+    
     /**
      * Create standardized success response
      */
@@ -0,0 +1,20 @@
+package com.tss.springsecurity.fraud.incremental;
+
+import java.util.List;
+
+/**
+ * Decides, per check of one screening, whether the check has to run or its
+ * previous outcome still holds.
+ */
+public interface CheckPlan<T> {
+
+    /**
+     * Entries the check triggered last time, or null when the check must run
+     */
+    List<T> reuse(String check);
+
+    /**
+     * The check ran and triggered {@code fired}
+     */
+    void ran(String check, List<T> fired);
+}
@@ -0,0 +1,312 @@
+package com.tss.springsecurity.fraud.incremental;
+
+import com.tss.springsecurity.config.IncrementalScreeningProperties;
+import com.tss.springsecurity.event.LoanAggregateChangedEvent;
+import com.tss.springsecurity.event.LoanAggregatePart;
+import com.tss.springsecurity.fraud.FraudDetectionResult;
+import com.tss.springsecurity.fraud.FraudRule;
+import com.tss.springsecurity.fraud.service.FraudRulePlanService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets a re-screening skip the fraud checks whose inputs have not changed.
+ *
+ * Every write to a loan's aggregate bumps a change version for the applicant
+ * and part it touched (again after the writing transaction completes, so a
+ * screening that read the uncommitted state is not trusted). A screening
+ * captures the versions before it reads anything and keeps what each check
+ * triggered; the next screening of that applicant re-runs only the checks
+ * whose declared {@link RuleInputs} moved since, and takes the rest from the
+ * previous outcome. A changed rule set, a new day for date-based checks or an
+ * expired outcome fall back to running everything.
+ */
+@Service
+@RequiredArgsConstructor
+public class IncrementalScreeningService {
+
+    private static final int PARTS = LoanAggregatePart.values().length;
+
+    private final IncrementalScreeningProperties properties;
+    private final FraudRulePlanService rulePlanService;
+
+    // Applicants with a screening kept or in progress -> change version per part
+    private final Map<Long, AtomicLongArray> versions = new ConcurrentHashMap<>();
+    // Changes to any applicant, per part
+    private final AtomicLongArray globalVersions = new AtomicLongArray(PARTS);
+    // Changes the writer could not attribute to an applicant (collaterals only know their loan)
+    private final AtomicLongArray unattributedVersions = new AtomicLongArray(PARTS);
+    private final AtomicLong epoch = new AtomicLong();
+
+    private final Map<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    private final LongAdder checksRun = new LongAdder();
+    private final LongAdder checksReused = new LongAdder();
+    private final LongAdder enginesSkipped = new LongAdder();
+
+    @EventListener
+    public void onAggregateChanged(LoanAggregateChangedEvent event) {
+        bump(event);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bump(event);
+                }
+            });
+        }
+    }
+
+    /**
+     * Record a change made without an entity write, e.g. by a bulk load
+     */
+    public void markChanged(Long applicantId, LoanAggregatePart part) {
+        bump(new LoanAggregateChangedEvent(applicantId, null, part));
+    }
+
+    /**
+     * Start a screening of {@code applicantId}; call before reading any of its data
+     */
+    public Rescreen open(Long applicantId) {
+        if (!properties.isEnabled()) {
+            return new Rescreen(applicantId, false, 0, null, null, null);
+        }
+        if (!versions.containsKey(applicantId) && versions.size() >= properties.getMaxTrackedApplicants()) {
+            // Drop everything; outcomes captured under the old epoch are never reused
+            epoch.incrementAndGet();
+            versions.clear();
+            snapshots.clear();
+        }
+        long currentEpoch = epoch.get();
+        AtomicLongArray applicantVersions = versions.computeIfAbsent(applicantId, id -> new AtomicLongArray(PARTS));
+        long[] own = new long[PARTS];
+        long[] global = new long[PARTS];
+        for (int i = 0; i < PARTS; i++) {
+            own[i] = applicantVersions.get(i) + unattributedVersions.get(i);
+            global[i] = globalVersions.get(i);
+        }
+        Snapshot previous = snapshots.get(applicantId);
+        Snapshot current = new Snapshot(currentEpoch, rulePlanService.getPlan().getFingerprint(),
+                LocalDate.now().toEpochDay(), own, global, new LinkedHashMap<>(), 0);
+        if (previous != null && (previous.epoch() != currentEpoch || previous.fingerprint() != current.fingerprint()
+                || System.nanoTime() >= previous.expiresAtNanos())) {
+            previous = null;
+        }
+        return new Rescreen(applicantId, true, currentEpoch, current, previous, new LinkedHashMap<>());
+    }
+
+    public void clear() {
+        snapshots.clear();
+    }
+
+    /**
+     * A separate instance that is not a bean: it gets no aggregate events and
+     * keeps its own versions, outcomes and stats, so a benchmark can mark
+     * changes and save outcomes without touching live re-screening
+     */
+    public IncrementalScreeningService detached() {
+        IncrementalScreeningProperties copy = new IncrementalScreeningProperties();
+        copy.setEnabled(true);
+        copy.setTtlSeconds(properties.getTtlSeconds());
+        copy.setMaxEntries(properties.getMaxEntries());
+        copy.setMaxTrackedApplicants(properties.getMaxTrackedApplicants());
+        return new IncrementalScreeningService(copy, rulePlanService);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", properties.isEnabled());
+        stats.put("trackedApplicants", versions.size());
+        stats.put("snapshots", snapshots.size());
+        stats.put("checksRun", checksRun.sum());
+        stats.put("checksReused", checksReused.sum());
+        stats.put("enginesSkipped", enginesSkipped.sum());
+        return stats;
+    }
+
+    private void bump(LoanAggregateChangedEvent event) {
+        if (event.part() == null) return;
+        int part = event.part().ordinal();
+        globalVersions.incrementAndGet(part);
+        if (event.applicantId() == null) {
+            unattributedVersions.incrementAndGet(part);
+            return;
+        }
+        // Applicants never screened have nothing to invalidate
+        AtomicLongArray applicantVersions = versions.get(event.applicantId());
+        if (applicantVersions != null) {
+            applicantVersions.incrementAndGet(part);
+        }
+    }
+
+    /**
+     * One screening: hands each engine a {@link CheckPlan}, replays engines
+     * with nothing to re-run and keeps the new outcome on {@link #save()}.
+     * Used from the screening thread only.
+     */
+    public final class Rescreen {
+        private final Long applicantId;
+        private final boolean enabled;
+        private final long epoch;
+        private final Snapshot current;
+        private final Snapshot previous;
+        private final Map<String, EnginePlan> plans;
+        private int run;
+        private int reused;
+
+        private Rescreen(Long applicantId, boolean enabled, long epoch, Snapshot current, Snapshot previous,
+                         Map<String, EnginePlan> plans) {
+            this.applicantId = applicantId;
+            this.enabled = enabled;
+            this.epoch = epoch;
+            this.current = current;
+            this.previous = previous;
+            this.plans = plans;
+        }
+
+        /**
+         * Plan for the checks of {@code engine}, or null when incremental screening is off
+         */
+        public CheckPlan<FraudRule> engine(String engine) {
+            if (!enabled) return null;
+            EngineOutcome before = previous != null ? previous.engines().get(engine) : null;
+            EnginePlan plan = new EnginePlan(before != null && before.complete() ? before : null);
+            plans.put(engine, plan);
+            return plan;
+        }
+
+        /**
+         * Every check {@code engine} ran last time can be reused
+         */
+        public boolean canSkip(String engine) {
+            if (!enabled || previous == null) return false;
+            EngineOutcome before = previous.engines().get(engine);
+            // An engine that ran no checks (missing employment) has nothing saying when it would
+            if (before == null || !before.complete() || before.firedByCheck().isEmpty()) return false;
+            for (String check : before.firedByCheck().keySet()) {
+                if (!unchanged(check)) return false;
+            }
+            return true;
+        }
+
+        /**
+         * The previous outcome of a skippable engine, scored as the engine would
+         */
+        public FraudDetectionResult replay(String engine) {
+            EngineOutcome before = previous.engines().get(engine);
+            FraudDetectionResult result = new FraudDetectionResult();
+            result.setApplicantId(applicantId);
+            for (List<FraudRule> fired : before.firedByCheck().values()) {
+                fired.forEach(result::addTriggeredRule);
+            }
+            result.calculateRiskLevel();
+            current.engines().put(engine, before);
+            reused += before.firedByCheck().size();
+            enginesSkipped.increment();
+            checksReused.add(before.firedByCheck().size());
+            return result;
+        }
+
+        /**
+         * {@code engine} ran with the plan from {@link #engine(String)} and produced {@code result}
+         */
+        public void finished(String engine, FraudDetectionResult result) {
+            EnginePlan plan = plans.get(engine);
+            if (plan == null) return;
+            // Rules added outside a check (e.g. missing employment details) can't be attributed, so the
+            // outcome is only good for a full re-run
+            int attributed = 0;
+            for (List<FraudRule> fired : plan.firedByCheck.values()) {
+                attributed += fired.size();
+            }
+            current.engines().put(engine, new EngineOutcome(
+                    Collections.unmodifiableMap(plan.firedByCheck), attributed == result.getTriggeredRules().size()));
+        }
+
+        /**
+         * Keep this screening's outcome for the next one
+         */
+        public void save() {
+            if (!enabled || epoch != IncrementalScreeningService.this.epoch.get()) return;
+            long now = System.nanoTime();
+            if (snapshots.size() >= properties.getMaxEntries() && !snapshots.containsKey(applicantId)) {
+                snapshots.entrySet().removeIf(entry -> now >= entry.getValue().expiresAtNanos());
+                if (snapshots.size() >= properties.getMaxEntries()) return;
+            }
+            snapshots.put(applicantId, new Snapshot(current.epoch(), current.fingerprint(), current.epochDay(),
+                    current.own(), current.global(), current.engines(),
+                    now + TimeUnit.SECONDS.toNanos(properties.getTtlSeconds())));
+        }
+
+        public int getChecksRun() {
+            return run;
+        }
+
+        public int getChecksReused() {
+            return reused;
+        }
+
+        private boolean unchanged(String check) {
+            RuleInputs.Inputs inputs = RuleInputs.of(check);
+            if (inputs == null) return false;
+            if (inputs.dateDependent() && previous.epochDay() != current.epochDay()) return false;
+            for (LoanAggregatePart part : inputs.own()) {
+                if (previous.own()[part.ordinal()] != current.own()[part.ordinal()]) return false;
+            }
+            for (LoanAggregatePart part : inputs.anyApplicant()) {
+                if (previous.global()[part.ordinal()] != current.global()[part.ordinal()]) return false;
+            }
+            return true;
+        }
+
+        private final class EnginePlan implements CheckPlan<FraudRule> {
+            private final EngineOutcome before;
+            private final Map<String, List<FraudRule>> firedByCheck = new LinkedHashMap<>();
+
+            private EnginePlan(EngineOutcome before) {
+                this.before = before;
+            }
+
+            @Override
+            public List<FraudRule> reuse(String check) {
+                if (before == null) return null;
+                List<FraudRule> fired = before.firedByCheck().get(check);
+                if (fired == null || !unchanged(check)) return null;
+                firedByCheck.put(check, fired);
+                reused++;
+                checksReused.increment();
+                return fired;
+            }
+
+            @Override
+            public void ran(String check, List<FraudRule> fired) {
+                firedByCheck.put(check, fired.isEmpty() ? List.of() : new ArrayList<>(fired));
+                run++;
+                checksRun.increment();
+            }
+        }
+    }
+
+    private record Snapshot(long epoch, long fingerprint, long epochDay, long[] own, long[] global,
+                            Map<String, EngineOutcome> engines, long expiresAtNanos) {
+    }
+
+    // Triggered rules per check, in run order; complete when they account for every rule the engine returned
+    private record EngineOutcome(Map<String, List<FraudRule>> firedByCheck, boolean complete) {
+    }
+}
@@ -0,0 +1,124 @@
+package com.tss.springsecurity.fraud.incremental;
+
+import com.tss.springsecurity.event.LoanAggregatePart;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.tss.springsecurity.event.LoanAggregatePart.*;
+
+/**
+ * What each fraud check reads. A check's previous outcome can be reused while
+ * none of these parts changed: {@code own} for the screened applicant,
+ * {@code anyApplicant} for anyone (duplicate lookups), and the calendar day
+ * for checks that compare against today. Checks without declared inputs,
+ * such as watchlist, blacklist, fraud-ring and velocity lookups against data
+ * outside the applicant's aggregate, always run.
+ *
+ * Keep in step with the engines: a check that starts reading another part
+ * must declare it, or it will be reused after that part changes. A new check
+ * must be declared or listed as always-run; RuleInputsTest fails otherwise.
+ */
+public final class RuleInputs {
+
+    public record Inputs(Set<LoanAggregatePart> own, Set<LoanAggregatePart> anyApplicant, boolean dateDependent) {
+    }
+
+    private static final Map<String, Inputs> CHECKS = new HashMap<>();
+    // Checks against data outside the aggregate; never reused
+    private static final Set<String> ALWAYS_RUN = new HashSet<>();
+
+    static {
+        // IDENTITY
+        declare("DUPLICATE_AADHAAR", own(APPLICANT, BASIC_DETAILS), any(BASIC_DETAILS), false);
+        declare("DUPLICATE_PAN", own(APPLICANT, BASIC_DETAILS), any(BASIC_DETAILS), false);
+        declare("INVALID_PAN_FORMAT", own(BASIC_DETAILS));
+        declare("DOB_MISMATCH", own(APPLICANT, AADHAAR, PAN, PASSPORT));
+        declare("NAME_MISMATCH", own(APPLICANT, AADHAAR, PAN, PASSPORT));
+        declare("GENDER_MISMATCH", own(APPLICANT, AADHAAR));
+        declare("EXPIRED_PASSPORT", own(PASSPORT), any(), true);
+        declare("DUPLICATE_PHONE_EMAIL", own(APPLICANT), any(APPLICANT), false);
+        declare("MINOR_APPLICANT", own(APPLICANT), any(), true);
+        declare("SUSPICIOUS_AGE", own(APPLICANT), any(), true);
+        declare("MISSING_CRITICAL_DOCUMENTS", own(AADHAAR, PAN));
+        declare("DOCUMENT_TAMPERING", own(AADHAAR, PAN, PASSPORT));
+        declare("ADDRESS_MISMATCH", own(APPLICANT, AADHAAR));
+
+        // FINANCIAL
+        declare("LOAN_TO_INCOME_RATIO", own(EMPLOYMENT, LOAN));
+        declare("DEBT_TO_INCOME_RATIO", own(EMPLOYMENT, CREDIT_HISTORY));
+        declare("SALARY_MISMATCH", own(EMPLOYMENT, FINANCIALS, OTHER_DOCUMENT));
+        declare("LOW_BALANCE_HIGH_LOAN", own(FINANCIALS, LOAN));
+        declare("CHEQUE_BOUNCES", own(FINANCIALS));
+        declare("CASH_SALARY", own(EMPLOYMENT));
+        declare("UNFILED_ITR", own(EMPLOYMENT, OTHER_DOCUMENT));
+        declare("ITR_SALARY_MISMATCH", own(EMPLOYMENT, OTHER_DOCUMENT));
+        declare("EXCESSIVE_CREDIT_UTILIZATION", own(CREDIT_HISTORY));
+        declare("MULTIPLE_ACTIVE_LOANS", own(CREDIT_HISTORY));
+        declare("SHORT_CREDIT_HISTORY", own(APPLICANT, CREDIT_HISTORY, OTHER_DOCUMENT), any(), true);
+
+        // EMPLOYMENT
+        declare("EMPLOYER_NOT_IN_VALID_DB", own(EMPLOYMENT));
+        declare("FAKE_EMPLOYER_EMAIL", own(EMPLOYMENT));
+        declare("PAYSLIP_FORMATTING", own(EMPLOYMENT, OTHER_DOCUMENT));
+        declare("INVALID_EMPLOYER_ADDRESS", own(EMPLOYMENT));
+        declare("EMPLOYMENT_DURATION_MISMATCH", own(EMPLOYMENT, OTHER_DOCUMENT), any(), true);
+        declare("UNVERIFIABLE_SELF_EMPLOYED", own(EMPLOYMENT, BASIC_DETAILS, OTHER_DOCUMENT));
+        declare("GHOST_COMPANY", own(EMPLOYMENT));
+
+        // CROSS_VERIFICATION
+        declare("CROSS_VERIFY_IDENTITY", own(APPLICANT, BASIC_DETAILS, AADHAAR, PAN, PASSPORT, FINANCIALS));
+        declare("CROSS_VERIFY_ADDRESS", own(APPLICANT, AADHAAR, OTHER_DOCUMENT));
+        declare("CROSS_VERIFY_PAN_AADHAAR", own(BASIC_DETAILS, AADHAAR, PAN, OTHER_DOCUMENT));
+        declare("CROSS_VERIFY_INCOME", own(EMPLOYMENT, FINANCIALS, OTHER_DOCUMENT));
+        declare("CROSS_VERIFY_EMPLOYMENT", own(EMPLOYMENT, FINANCIALS, OTHER_DOCUMENT));
+        declare("CROSS_VERIFY_BANKING", own(APPLICANT, FINANCIALS, BASIC_DETAILS));
+        declare("CROSS_VERIFY_LOAN_LIABILITIES", own(CREDIT_HISTORY, FINANCIALS, OTHER_DOCUMENT));
+        declare("CROSS_VERIFY_PROPERTY", own(APPLICANT, PROPERTY, OTHER_DOCUMENT, LOAN, COLLATERAL));
+        declare("CROSS_VERIFY_GOLD_LOAN", own(APPLICANT, LOAN, COLLATERAL), any(COLLATERAL), false);
+        declare("CROSS_VERIFY_BEHAVIORAL", own(APPLICANT, AADHAAR, EMPLOYMENT));
+
+        // Watchlists, blacklist file, fraud-ring graph and velocity counters
+        ALWAYS_RUN.addAll(List.of("WATCHLIST_MATCH", "IDENTIFIER_BLACKLIST", "FRAUD_RING", "APPLICATION_VELOCITY"));
+    }
+
+    private RuleInputs() {
+    }
+
+    /**
+     * Declared inputs of {@code check}, or null when it must always run
+     */
+    public static Inputs of(String check) {
+        return CHECKS.get(check);
+    }
+
+    /**
+     * Every check an engine may run: those with declared inputs and those that always run
+     */
+    public static Set<String> knownChecks() {
+        Set<String> checks = new HashSet<>(CHECKS.keySet());
+        checks.addAll(ALWAYS_RUN);
+        return checks;
+    }
+
+    private static void declare(String check, Set<LoanAggregatePart> own) {
+        declare(check, own, any(), false);
+    }
+
+    private static void declare(String check, Set<LoanAggregatePart> own, Set<LoanAggregatePart> anyApplicant,
+                                boolean dateDependent) {
+        CHECKS.put(check, new Inputs(own, anyApplicant, dateDependent));
+    }
+
+    private static Set<LoanAggregatePart> own(LoanAggregatePart... parts) {
+        return parts.length == 0 ? EnumSet.noneOf(LoanAggregatePart.class) : EnumSet.of(parts[0], parts);
+    }
+
+    private static Set<LoanAggregatePart> any(LoanAggregatePart... parts) {
+        return own(parts);
+    }
+}
@@ -0,0 +1,284 @@
+package com.tss.springsecurity.fraud.ring;
+
+import java.util.Arrays;
+
+/**
+ * Union-find over applicants, joined through shared {@link LinkAttribute} keys.
+ * Each attribute remembers the first applicant that used it; a later applicant
+ * with the same key is unioned with that owner, so linking and component-size
+ * queries are O(α(n)). Components also keep a circular member list (swapping
+ * two {@code next} pointers merges two cycles), so listing a ring costs its
+ * size rather than a scan.
+ *
+ * All state lives in primitive arrays behind open-addressing indexes. Methods
+ * are synchronized: each call is a handful of array reads, so the lock is
+ * held for well under a microsecond.
+ */
+public final class FraudRingGraph {
+
+    private static final int NO_OWNER = -1;
+    private static final int HUB = -2;
+
+    private final int maxAttributeDegree;
+
+    // Applicant nodes, by dense node id
+    private final LongIndex applicants;
+    private int[] parent;
+    private int[] size;
+    private int[] next;
+
+    // Attributes, by dense attribute id
+    private final LongIndex attributes;
+    private int[] owner;
+    private int[] degree;
+
+    private int hubCount;
+
+    public FraudRingGraph(int maxAttributeDegree, int expectedApplicants) {
+        this.maxAttributeDegree = maxAttributeDegree;
+        int capacity = Math.max(16, expectedApplicants);
+        this.applicants = new LongIndex(capacity);
+        this.parent = new int[capacity];
+        this.size = new int[capacity];
+        this.next = new int[capacity];
+        this.attributes = new LongIndex(capacity * 4);
+        this.owner = new int[capacity * 4];
+        this.degree = new int[capacity * 4];
+    }
+
+    // ==================== BUILD ====================
+
+    /**
+     * First rebuild pass: count how many applicants use each attribute,
+     * without linking, so hubs are known before any union happens.
+     */
+    public synchronized void countAttributes(long[] keys, int length) {
+        for (int i = 0; i < length; i++) {
+            if (keys[i] == 0) continue;
+            degree[attribute(keys[i])]++;
+        }
+    }
+
+    /**
+     * End of the counting pass: attributes above the degree cap never link
+     */
+    public synchronized int markHubs() {
+        for (int a = 0; a < attributes.size(); a++) {
+            if (degree[a] > maxAttributeDegree && owner[a] != HUB) {
+                owner[a] = HUB;
+                hubCount++;
+            }
+        }
+        return hubCount;
+    }
+
+    /**
+     * Add the applicant (if new) and union it with the owners of its attributes.
+     *
+     * @param countDegree false in the second rebuild pass, where degrees are already counted
+     * @return applicants in the applicant's component afterwards
+     */
+    public synchronized int link(long applicantId, long[] keys, int length, boolean countDegree) {
+        int node = applicant(applicantId);
+        for (int i = 0; i < length; i++) {
+            if (keys[i] == 0) continue;
+            int a = attribute(keys[i]);
+            if (owner[a] == HUB) continue;
+            if (owner[a] == NO_OWNER) {
+                owner[a] = node;
+                if (countDegree) degree[a] = 1;
+                continue;
+            }
+            if (find(owner[a]) == find(node)) continue;
+            if (countDegree && ++degree[a] > maxAttributeDegree) {
+                owner[a] = HUB;
+                hubCount++;
+                continue;
+            }
+            union(owner[a], node);
+        }
+        return size[find(node)];
+    }
+
+    // ==================== QUERY ====================
+
+    public synchronized boolean contains(long applicantId) {
+        return applicants.find(applicantId) >= 0;
+    }
+
+    /**
+     * Applicants in the applicant's component (1 when linked to nobody), 0 when not indexed
+     */
+    public synchronized int componentSize(long applicantId) {
+        int node = applicants.find(applicantId);
+        return node < 0 ? 0 : size[find(node)];
+    }
+
+    /**
+     * Up to {@code limit} other applicants in the same component
+     */
+    public synchronized long[] members(long applicantId, int limit) {
+        int node = applicants.find(applicantId);
+        if (node < 0) return new long[0];
+        long[] members = new long[Math.min(limit, size[find(node)] - 1)];
+        int count = 0;
+        for (int member = next[node]; member != node && count < members.length; member = next[member]) {
+            members[count++] = applicants.key(member);
+        }
+        return members;
+    }
+
+    public synchronized int getApplicantCount() {
+        return applicants.size();
+    }
+
+    public synchronized int getAttributeCount() {
+        return attributes.size();
+    }
+
+    public synchronized int getHubCount() {
+        return hubCount;
+    }
+
+    /**
+     * Components with at least {@code minSize} applicants and the applicants in them; a full scan
+     */
+    public synchronized int[] countRings(int minSize) {
+        int rings = 0;
+        int members = 0;
+        for (int node = 0; node < applicants.size(); node++) {
+            if (parent[node] == node && size[node] >= minSize) {
+                rings++;
+                members += size[node];
+            }
+        }
+        return new int[] { rings, members };
+    }
+
+    public synchronized long getEstimatedBytes() {
+        return applicants.bytes() + 12L * parent.length + attributes.bytes() + 8L * owner.length;
+    }
+
+    // ==================== UNION-FIND ====================
+
+    private int find(int node) {
+        while (parent[node] != node) {
+            // Path halving
+            parent[node] = parent[parent[node]];
+            node = parent[node];
+        }
+        return node;
+    }
+
+    private void union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) return;
+        if (size[rootA] < size[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parent[rootB] = rootA;
+        size[rootA] += size[rootB];
+        int swap = next[rootA];
+        next[rootA] = next[rootB];
+        next[rootB] = swap;
+    }
+
+    private int applicant(long applicantId) {
+        int node = applicants.find(applicantId);
+        if (node >= 0) return node;
+        node = applicants.add(applicantId);
+        if (node == parent.length) {
+            int capacity = parent.length * 2;
+            parent = Arrays.copyOf(parent, capacity);
+            size = Arrays.copyOf(size, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+        parent[node] = node;
+        size[node] = 1;
+        next[node] = node;
+        return node;
+    }
+
+    private int attribute(long key) {
+        int a = attributes.find(key);
+        if (a >= 0) return a;
+        a = attributes.add(key);
+        if (a == owner.length) {
+            int capacity = owner.length * 2;
+            owner = Arrays.copyOf(owner, capacity);
+            degree = Arrays.copyOf(degree, capacity);
+        }
+        owner[a] = NO_OWNER;
+        degree[a] = 0;
+        return a;
+    }
+
+    /**
+     * Open-addressing map from a long key to a dense id (insertion order), linear probing
+     */
+    private static final class LongIndex {
+        private long[] keys;
+        private int[] slots;
+        private int size;
+
+        LongIndex(int expected) {
+            this.keys = new long[expected];
+            this.slots = new int[tableSize(expected)];
+        }
+
+        int find(long key) {
+            int mask = slots.length - 1;
+            for (int slot = (int) LinkAttribute.mix(key) & mask; ; slot = (slot + 1) & mask) {
+                int id = slots[slot] - 1;
+                if (id < 0) return -1;
+                if (keys[id] == key) return id;
+            }
+        }
+
+        int add(long key) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            if ((size + 1) * 4L > slots.length * 3L) {
+                rehash(slots.length * 2);
+            }
+            int id = size++;
+            keys[id] = key;
+            place(id);
+            return id;
+        }
+
+        long key(int id) {
+            return keys[id];
+        }
+
+        int size() {
+            return size;
+        }
+
+        long bytes() {
+            return 8L * keys.length + 4L * slots.length;
+        }
+
+        private void place(int id) {
+            int mask = slots.length - 1;
+            int slot = (int) LinkAttribute.mix(keys[id]) & mask;
+            while (slots[slot] != 0) slot = (slot + 1) & mask;
+            slots[slot] = id + 1;
+        }
+
+        private void rehash(int capacity) {
+            slots = new int[capacity];
+            for (int id = 0; id < size; id++) place(id);
+        }
+
+        private static int tableSize(int expected) {
+            int capacity = 16;
+            while (capacity * 3L < expected * 4L) capacity <<= 1;
+            return capacity;
+        }
+    }
+}
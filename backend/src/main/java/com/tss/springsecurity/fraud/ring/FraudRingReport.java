@@ -0,0 +1,28 @@
+package com.tss.springsecurity.fraud.ring;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FraudRingReport {
+
+    private Long applicantId;
+
+    // False until the ring index is built or when the applicant is unknown to it
+    private boolean indexed;
+
+    // Applicants connected to this one through shared attributes, itself included
+    private int componentSize;
+
+    private boolean ringMember;
+
+    // Other applicants in the component, capped at app.fraud-ring.max-reported-members
+    private List<Long> linkedApplicantIds;
+}
@@ -0,0 +1,423 @@
+package com.tss.springsecurity.fraud.ring;
+
+import com.tss.springsecurity.config.FraudRingProperties;
+import com.tss.springsecurity.entity.Applicant;
+import com.tss.springsecurity.entity.ApplicantBasicDetails;
+import com.tss.springsecurity.entity.ApplicantLoanDetails;
+import com.tss.springsecurity.entity.LoanCollateral;
+import com.tss.springsecurity.repository.ApplicantBasicDetailsRepository;
+import com.tss.springsecurity.repository.ApplicantEmploymentRepository;
+import com.tss.springsecurity.repository.ApplicantFinancialsRepository;
+import com.tss.springsecurity.repository.ApplicantLoanDetailsRepository;
+import com.tss.springsecurity.repository.ApplicantRepository;
+import com.tss.springsecurity.repository.LoanCollateralRepository;
+import com.tss.springsecurity.util.LatencyHistogram;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the {@link FraudRingGraph} in step with the applicant tables: every
+ * submitted application is linked in after its transaction commits, and a
+ * rebuild from the database runs at startup and nightly (which also drops
+ * links made through attributes that have since turned out to be hubs).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FraudRingService {
+
+    private final FraudRingProperties properties;
+    private final ApplicantRepository applicantRepository;
+    private final ApplicantBasicDetailsRepository basicDetailsRepository;
+    private final ApplicantEmploymentRepository employmentRepository;
+    private final ApplicantFinancialsRepository financialsRepository;
+    private final ApplicantLoanDetailsRepository loanDetailsRepository;
+    private final LoanCollateralRepository collateralRepository;
+
+    // Null until the first rebuild finishes
+    private volatile FraudRingGraph graph;
+    private volatile boolean rebuilding;
+    private volatile LocalDateTime builtAt;
+    private volatile long buildMs;
+
+    // Applicants submitted while a rebuild runs, replayed into the new graph
+    private final Queue<Long> submittedDuringRebuild = new ConcurrentLinkedQueue<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Thread loader = new Thread(this::rebuild, "fraud-ring-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @Scheduled(cron = "${app.fraud-ring.rebuild-cron:0 15 3 * * *}")
+    public void scheduledRebuild() {
+        if (properties.isEnabled()) {
+            rebuild();
+        }
+    }
+
+    // ==================== INCREMENTAL ====================
+
+    /**
+     * Link the applicant once the surrounding transaction commits (immediately
+     * without one), so a rolled-back application never joins a ring.
+     */
+    public void indexAfterCommit(Long applicantId) {
+        if (!properties.isEnabled() || applicantId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    indexQuietly(applicantId);
+                }
+            });
+        } else {
+            indexQuietly(applicantId);
+        }
+    }
+
+    /**
+     * Link one applicant's current attributes into the graph
+     *
+     * @return applicants in its component, 0 while the graph is not built
+     */
+    public int indexApplicant(Long applicantId) {
+        if (rebuilding) {
+            submittedDuringRebuild.add(applicantId);
+        }
+        FraudRingGraph current = graph;
+        if (current == null) {
+            return 0;
+        }
+        KeyBuffer keys = loadKeys(applicantId);
+        return current.link(applicantId, keys.keys, keys.length, true);
+    }
+
+    private void indexQuietly(Long applicantId) {
+        try {
+            indexApplicant(applicantId);
+        } catch (RuntimeException e) {
+            // The nightly rebuild picks the applicant up
+            log.warn("Could not link applicant {} into the fraud-ring graph: {}", applicantId, e.getMessage());
+        }
+    }
+
+    private KeyBuffer loadKeys(Long applicantId) {
+        KeyBuffer keys = new KeyBuffer();
+        Applicant applicant = applicantRepository.findById(applicantId).orElse(null);
+        ApplicantBasicDetails basic = basicDetailsRepository.findByApplicant_ApplicantId(applicantId).orElse(null);
+        keys.identity(
+                applicant != null ? applicant.getPhone() : null,
+                applicant != null ? applicant.getEmail() : null,
+                basic != null ? basic.getPhone() : null,
+                basic != null ? basic.getEmail() : null,
+                basic != null ? basic.getCurrentAddress() : null,
+                basic != null ? basic.getCurrentPincode() : null,
+                basic != null ? basic.getPanNumber() : null,
+                basic != null ? basic.getAadhaarNumber() : null);
+        employmentRepository.findByApplicant_ApplicantId(applicantId).ifPresent(employment ->
+                keys.employer(employment.getCompanyName(), employment.getEmployerName(), employment.getOfficePincode()));
+        financialsRepository.findByApplicant_ApplicantId(applicantId).ifPresent(financials ->
+                keys.bankAccount(financials.getAccountNumber(), financials.getIfscCode()));
+        for (ApplicantLoanDetails loan : loanDetailsRepository.findByApplicant_ApplicantId(applicantId)) {
+            for (LoanCollateral collateral : collateralRepository.findByLoan_LoanId(loan.getLoanId())) {
+                keys.collateral(collateral.getCollateralDescription(), collateral.getCollateralType());
+            }
+        }
+        return keys;
+    }
+
+    // ==================== QUERY ====================
+
+    /**
+     * Component size and ring membership; links the applicant first if the graph has not seen it
+     */
+    public FraudRingReport inspect(Long applicantId) {
+        FraudRingGraph current = graph;
+        if (!properties.isEnabled() || current == null) {
+            return FraudRingReport.builder().applicantId(applicantId).indexed(false).linkedApplicantIds(List.of()).build();
+        }
+        if (!current.contains(applicantId)) {
+            indexApplicant(applicantId);
+            current = graph;
+        }
+        int componentSize = current.componentSize(applicantId);
+        boolean ringMember = componentSize >= properties.getMinRingSize();
+        return FraudRingReport.builder()
+                .applicantId(applicantId)
+                .indexed(true)
+                .componentSize(componentSize)
+                .ringMember(ringMember)
+                .linkedApplicantIds(Arrays.stream(current.members(applicantId, properties.getMaxReportedMembers()))
+                        .boxed().collect(Collectors.toList()))
+                .build();
+    }
+
+    public boolean isReady() {
+        return graph != null;
+    }
+
+    // ==================== REBUILD ====================
+
+    /**
+     * Build a new graph from the database in two passes (count attribute use,
+     * then link with hubs excluded) and swap it in.
+     */
+    public synchronized Map<String, Object> rebuild() {
+        rebuilding = true;
+        submittedDuringRebuild.clear();
+        long started = System.currentTimeMillis();
+        try {
+            long applicants = applicantRepository.count();
+            FraudRingGraph next = new FraudRingGraph(properties.getMaxAttributeDegree(),
+                    (int) Math.min(Integer.MAX_VALUE / 4, applicants + 1024));
+            scan((applicantId, keys) -> next.countAttributes(keys.keys, keys.length));
+            int hubs = next.markHubs();
+            scan((applicantId, keys) -> next.link(applicantId, keys.keys, keys.length, false));
+
+            graph = next;
+            rebuilding = false;
+            Long applicantId;
+            while ((applicantId = submittedDuringRebuild.poll()) != null) {
+                indexQuietly(applicantId);
+            }
+            builtAt = LocalDateTime.now();
+            buildMs = System.currentTimeMillis() - started;
+            log.info("Fraud-ring graph rebuilt: {} applicants, {} attributes, {} hubs in {} ms",
+                    next.getApplicantCount(), next.getAttributeCount(), hubs, buildMs);
+        } catch (RuntimeException e) {
+            log.error("Fraud-ring rebuild failed, keeping the current graph: {}", e.getMessage(), e);
+            throw new RuntimeException("Fraud-ring rebuild failed: " + e.getMessage());
+        } finally {
+            rebuilding = false;
+        }
+        return getStatus();
+    }
+
+    private interface RowSink {
+        void accept(long applicantId, KeyBuffer keys);
+    }
+
+    /**
+     * Walk the attribute tables in id order and hand each row's keys to the sink
+     */
+    private void scan(RowSink sink) {
+        int batchSize = properties.getBatchSize();
+        KeyBuffer keys = new KeyBuffer();
+
+        long afterId = 0;
+        List<Object[]> rows;
+        do {
+            rows = applicantRepository.findRingIdentityAttributes(afterId, batchSize);
+            for (Object[] row : rows) {
+                afterId = ((Number) row[0]).longValue();
+                keys.clear();
+                keys.identity(text(row[1]), text(row[2]), text(row[3]), text(row[4]),
+                        text(row[5]), text(row[6]), text(row[7]), text(row[8]));
+                sink.accept(afterId, keys);
+            }
+        } while (rows.size() == batchSize);
+
+        afterId = 0;
+        do {
+            rows = employmentRepository.findRingEmployerAttributes(afterId, batchSize);
+            for (Object[] row : rows) {
+                afterId = ((Number) row[0]).longValue();
+                if (row[1] == null) continue;
+                keys.clear();
+                keys.employer(text(row[2]), text(row[3]), text(row[4]));
+                sink.accept(((Number) row[1]).longValue(), keys);
+            }
+        } while (rows.size() == batchSize);
+
+        afterId = 0;
+        do {
+            rows = financialsRepository.findRingBankAttributes(afterId, batchSize);
+            for (Object[] row : rows) {
+                afterId = ((Number) row[0]).longValue();
+                if (row[1] == null) continue;
+                keys.clear();
+                keys.bankAccount(text(row[3]), text(row[2]));
+                sink.accept(((Number) row[1]).longValue(), keys);
+            }
+        } while (rows.size() == batchSize);
+
+        afterId = 0;
+        do {
+            rows = collateralRepository.findRingCollateralAttributes(afterId, batchSize);
+            for (Object[] row : rows) {
+                afterId = ((Number) row[0]).longValue();
+                if (row[1] == null) continue;
+                keys.clear();
+                keys.collateral(text(row[3]), text(row[2]));
+                sink.accept(((Number) row[1]).longValue(), keys);
+            }
+        } while (rows.size() == batchSize);
+    }
+
+    private static String text(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    // ==================== STATUS / BENCHMARK ====================
+
+    public Map<String, Object> getStatus() {
+        FraudRingGraph current = graph;
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", properties.isEnabled());
+        status.put("ready", current != null);
+        status.put("rebuilding", rebuilding);
+        if (current != null) {
+            int[] rings = current.countRings(properties.getMinRingSize());
+            status.put("applicants", current.getApplicantCount());
+            status.put("attributes", current.getAttributeCount());
+            status.put("hubAttributes", current.getHubCount());
+            status.put("rings", rings[0]);
+            status.put("ringMembers", rings[1]);
+            status.put("estimatedBytes", current.getEstimatedBytes());
+            status.put("builtAt", builtAt);
+            status.put("buildMs", buildMs);
+        }
+        return status;
+    }
+
+    /**
+     * Builds a throwaway graph of synthetic applicants (unique contacts, a few
+     * giant employers that become hubs, planted rings of five sharing a phone
+     * or bank account) and times incremental linking and component-size lookups.
+     * Per-operation times are below the histogram's microsecond resolution, so
+     * mean nanoseconds are reported alongside the tail.
+     */
+    public Map<String, Object> benchmark(int applicants) {
+        Random random = new Random(42);
+        FraudRingGraph synthetic = new FraudRingGraph(properties.getMaxAttributeDegree(), applicants);
+        LatencyHistogram linkLatency = new LatencyHistogram();
+        LatencyHistogram lookupLatency = new LatencyHistogram();
+        KeyBuffer keys = new KeyBuffer();
+        int ringSize = 5;
+        int plantedRings = 0;
+        long linkNanos = 0;
+
+        for (int i = 0; i < applicants; i++) {
+            keys.clear();
+            // Every 200th block of five applicants is a ring: even members share a phone,
+            // odd members and the first one a bank account
+            boolean ring = (i / ringSize) % 200 == 0;
+            String ringId = Integer.toString(i / ringSize);
+            keys.identity(
+                    ring && i % 2 == 0 ? "9" + String.format("%09d", i / ringSize) : "8" + String.format("%09d", i),
+                    "applicant" + i + "@mail.test", null, null,
+                    i + " synthetic street block " + (i % 97), Integer.toString(400000 + i % 5000),
+                    "PANXX" + String.format("%05d", i % 100000) + (char) ('A' + i / 100000 % 26),
+                    String.format("%012d", 100000000000L + i));
+            // A third work for one of 100 large employers, the rest are spread thin
+            int employer = random.nextInt(3) == 0 ? random.nextInt(100) : 100 + random.nextInt(applicants * 10);
+            keys.employer("employer " + employer, null, "400001");
+            boolean ringAccount = ring && (i % 2 == 1 || i % ringSize == 0);
+            keys.bankAccount(ringAccount ? "ring" + ringId : "acct" + i, "SBIN000" + (i % 1000));
+            if (ring && i % ringSize == 0) plantedRings++;
+
+            long start = System.nanoTime();
+            synthetic.link(i + 1L, keys.keys, keys.length, true);
+            long elapsed = System.nanoTime() - start;
+            linkNanos += elapsed;
+            linkLatency.recordNanos(elapsed);
+        }
+
+        int lookups = Math.min(applicants, 200000);
+        long lookupNanos = 0;
+        for (int i = 0; i < lookups; i++) {
+            long applicantId = 1 + random.nextInt(applicants);
+            long start = System.nanoTime();
+            synthetic.componentSize(applicantId);
+            long elapsed = System.nanoTime() - start;
+            lookupNanos += elapsed;
+            lookupLatency.recordNanos(elapsed);
+        }
+
+        int[] rings = synthetic.countRings(properties.getMinRingSize());
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("applicants", applicants);
+        report.put("attributes", synthetic.getAttributeCount());
+        report.put("hubAttributes", synthetic.getHubCount());
+        report.put("linkTotalMs", linkNanos / 1_000_000);
+        report.put("linkMeanNs", applicants == 0 ? 0 : linkNanos / applicants);
+        report.put("link", linkLatency.snapshot());
+        report.put("componentSizeMeanNs", lookups == 0 ? 0 : lookupNanos / lookups);
+        report.put("componentSize", lookupLatency.snapshot());
+        report.put("plantedRings", plantedRings);
+        report.put("ringsFound", rings[0]);
+        report.put("ringMembers", rings[1]);
+        report.put("estimatedBytes", synthetic.getEstimatedBytes());
+        return report;
+    }
+
+    /**
+     * Attribute keys of one applicant or one row, without duplicates
+     */
+    private static final class KeyBuffer {
+        long[] keys = new long[16];
+        int length;
+
+        void clear() {
+            length = 0;
+        }
+
+        void identity(String phone, String email, String detailsPhone, String detailsEmail,
+                      String address, String pincode, String pan, String aadhaar) {
+            add(LinkAttribute.PHONE.key(phone));
+            add(LinkAttribute.PHONE.key(detailsPhone));
+            add(LinkAttribute.EMAIL.key(email));
+            add(LinkAttribute.EMAIL.key(detailsEmail));
+            add(LinkAttribute.ADDRESS.key(address, pincode));
+            add(LinkAttribute.PAN.key(pan));
+            add(LinkAttribute.AADHAAR.key(aadhaar));
+        }
+
+        void employer(String companyName, String employerName, String officePincode) {
+            String name = companyName != null && !companyName.isBlank() ? companyName : employerName;
+            add(LinkAttribute.EMPLOYER.key(name, officePincode));
+        }
+
+        void bankAccount(String accountNumber, String ifscCode) {
+            add(LinkAttribute.BANK_ACCOUNT.key(accountNumber, ifscCode));
+        }
+
+        void collateral(String description, String type) {
+            add(LinkAttribute.COLLATERAL.key(description, type));
+        }
+
+        private void add(long key) {
+            if (key == 0) return;
+            for (int i = 0; i < length; i++) {
+                if (keys[i] == key) return;
+            }
+            if (length == keys.length) {
+                keys = Arrays.copyOf(keys, length * 2);
+            }
+            keys[length++] = key;
+        }
+    }
+}
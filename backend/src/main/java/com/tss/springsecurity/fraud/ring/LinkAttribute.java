@@ -0,0 +1,89 @@
+package com.tss.springsecurity.fraud.ring;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Applicant attributes that can tie applications together. Every value is
+ * normalized and reduced to a 64-bit key seeded with its type, so the ring
+ * graph stores no strings and equal values of different types never meet.
+ */
+public enum LinkAttribute {
+    PHONE,
+    EMAIL,
+    ADDRESS,
+    PAN,
+    AADHAAR,
+    EMPLOYER,
+    BANK_ACCOUNT,
+    COLLATERAL;
+
+    private static final Pattern NON_ALNUM = Pattern.compile("[^a-z0-9]+");
+
+    // Employer values that say nothing about who the applicant works for
+    private static final Set<String> NO_EMPLOYER = Set.of(
+            "", "na", "n a", "none", "nil", "self", "self employed", "selfemployed", "business",
+            "own business", "unemployed", "student", "retired", "housewife", "homemaker");
+
+    /**
+     * Key for a value, or 0 when it is missing or too generic to link on. The
+     * first part identifies (it alone must be long enough, e.g. the account
+     * number); later parts only qualify it (IFSC, pincode, collateral type).
+     */
+    public long key(String... parts) {
+        String primary = parts.length == 0 || parts[0] == null ? "" : normalize(parts[0]);
+        if (primary.length() < minimumLength() || (this == EMPLOYER && NO_EMPLOYER.contains(primary))) {
+            return 0;
+        }
+        StringBuilder value = new StringBuilder(primary);
+        for (int i = 1; i < parts.length; i++) {
+            if (parts[i] != null) {
+                value.append('|').append(normalize(parts[i]));
+            }
+        }
+        long hash = 0xcbf29ce484222325L ^ (ordinal() + 1L) * 0x9e3779b97f4a7c15L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        hash = mix(hash);
+        // 0 marks "no key" in the graph
+        return hash == 0 ? 1 : hash;
+    }
+
+    private String normalize(String part) {
+        String value = part.trim().toLowerCase(Locale.ROOT);
+        return switch (this) {
+            // Last 10 digits, so "+91 98765 43210" and "9876543210" meet
+            case PHONE, AADHAAR -> {
+                String digits = value.replaceAll("\\D", "");
+                yield this == PHONE && digits.length() > 10 ? digits.substring(digits.length() - 10) : digits;
+            }
+            case EMAIL, PAN -> value.replaceAll("\\s", "");
+            default -> NON_ALNUM.matcher(value).replaceAll(" ").trim();
+        };
+    }
+
+    private int minimumLength() {
+        return switch (this) {
+            case PHONE, PAN -> 10;
+            case AADHAAR -> 12;
+            case EMAIL -> 5;
+            case ADDRESS, COLLATERAL -> 12;
+            case BANK_ACCOUNT -> 6;
+            case EMPLOYER -> 3;
+        };
+    }
+
+    /**
+     * Murmur3 finalizer; FNV alone spreads similar strings poorly over the low bits
+     */
+    static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
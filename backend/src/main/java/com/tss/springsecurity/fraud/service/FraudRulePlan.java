@@ -0,0 +1,183 @@
+package com.tss.springsecurity.fraud.service;
+
+import com.tss.springsecurity.entity.FraudRuleDefinition;
+import com.tss.springsecurity.fraud.validator.FraudValidator;
+import com.tss.springsecurity.fraud.validator.ValidatorCost;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable execution plan for the active rule set. Each active rule is bound
+ * to the validator that handles it once, at compile time, so evaluating an
+ * applicant is a walk over parallel arrays with no lookups.
+ *
+ * Entries are ordered by validator cost, then by execution order, so every
+ * OCR-cost entry sits at the end of its stage ({@link Stage#expensiveFrom}).
+ */
+public final class FraudRulePlan {
+
+    private static final Comparator<Binding> ORDER = Comparator
+            .comparing((Binding b) -> b.validator.getCost())
+            .thenComparing(b -> b.rule.getExecutionOrder() != null ? b.rule.getExecutionOrder() : Integer.MAX_VALUE)
+            .thenComparing(b -> b.rule.getRuleCode());
+
+    private final Map<String, Stage> stages;
+    private final Stage all;
+    private final Map<String, Map<String, FraudRuleDefinition>> rulesByCategory;
+    private final List<FraudRuleDefinition> activeRules;
+    private final List<String> unboundRules;
+    private final long fingerprint;
+    private final LocalDateTime compiledAt;
+
+    private FraudRulePlan(Map<String, Stage> stages, Stage all,
+                          Map<String, Map<String, FraudRuleDefinition>> rulesByCategory,
+                          List<FraudRuleDefinition> activeRules, List<String> unboundRules, long fingerprint) {
+        this.stages = stages;
+        this.activeRules = activeRules;
+        this.all = all;
+        this.rulesByCategory = rulesByCategory;
+        this.unboundRules = unboundRules;
+        this.fingerprint = fingerprint;
+        this.compiledAt = LocalDateTime.now();
+    }
+
+    /**
+     * Bind active rules to validators. Every validator category gets a stage, even
+     * with no rules; rules no validator can handle stay available by code for the
+     * engines but are left out of the stages.
+     */
+    public static FraudRulePlan compile(List<FraudRuleDefinition> activeRules, List<FraudValidator> validators) {
+        Map<String, List<Binding>> bindings = new LinkedHashMap<>();
+        for (FraudValidator validator : validators) {
+            bindings.putIfAbsent(validator.getCategory(), new ArrayList<>());
+        }
+
+        Map<String, Map<String, FraudRuleDefinition>> rulesByCategory = new HashMap<>();
+        List<String> unbound = new ArrayList<>();
+        for (FraudRuleDefinition rule : activeRules) {
+            rulesByCategory.computeIfAbsent(rule.getRuleCategory(), c -> new HashMap<>()).put(rule.getRuleCode(), rule);
+
+            FraudValidator validator = null;
+            for (FraudValidator candidate : validators) {
+                if (candidate.canHandle(rule)) {
+                    validator = candidate;
+                    break;
+                }
+            }
+            if (validator == null) {
+                unbound.add(rule.getRuleCode());
+                continue;
+            }
+            bindings.get(validator.getCategory()).add(new Binding(rule, validator));
+        }
+
+        Map<String, Stage> stages = new LinkedHashMap<>();
+        List<Binding> combined = new ArrayList<>();
+        for (Map.Entry<String, List<Binding>> entry : bindings.entrySet()) {
+            stages.put(entry.getKey(), new Stage(entry.getValue()));
+            combined.addAll(entry.getValue());
+        }
+        rulesByCategory.replaceAll((category, rules) -> Collections.unmodifiableMap(rules));
+
+        return new FraudRulePlan(Collections.unmodifiableMap(stages), new Stage(combined),
+                Collections.unmodifiableMap(rulesByCategory), List.copyOf(activeRules), Collections.unmodifiableList(unbound),
+                fingerprint(activeRules));
+    }
+
+    /**
+     * Hash of every rule field the plan depends on; equal fingerprints mean nothing to recompile
+     */
+    public static long fingerprint(List<FraudRuleDefinition> activeRules) {
+        long hash = 0xcbf29ce484222325L;
+        for (FraudRuleDefinition rule : activeRules) {
+            hash = (hash ^ Objects.hash(rule.getRuleId(), rule.getRuleCode(), rule.getRuleName(),
+                    rule.getRuleDescription(), rule.getRuleCategory(), rule.getSeverity(), rule.getFraudPoints(),
+                    rule.getRuleType(), rule.getExecutionOrder())) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    public Stage stage(String category) {
+        return stages.get(category);
+    }
+
+    public Stage all() {
+        return all;
+    }
+
+    public Map<String, FraudRuleDefinition> rulesByCode(String category) {
+        return rulesByCategory.getOrDefault(category, Collections.emptyMap());
+    }
+
+    public List<FraudRuleDefinition> activeRules() {
+        return activeRules;
+    }
+
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public LocalDateTime getCompiledAt() {
+        return compiledAt;
+    }
+
+    public Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("compiledAt", compiledAt);
+        description.put("fingerprint", Long.toHexString(fingerprint));
+        Map<String, Object> stageSummary = new LinkedHashMap<>();
+        for (Map.Entry<String, Stage> entry : stages.entrySet()) {
+            Stage stage = entry.getValue();
+            List<String> order = new ArrayList<>();
+            for (int i = 0; i < stage.size(); i++) {
+                order.add(stage.rules[i].getRuleCode() + " (" + stage.validators[i].getCost() + ")");
+            }
+            stageSummary.put(entry.getKey(), order);
+        }
+        description.put("stages", stageSummary);
+        description.put("unboundRules", unboundRules);
+        return description;
+    }
+
+    /**
+     * Rules of one category (or all of them) with their bound validators, in run order
+     */
+    public static final class Stage {
+        final FraudRuleDefinition[] rules;
+        final FraudValidator[] validators;
+        // Index of the first OCR-cost entry; size() when there is none
+        final int expensiveFrom;
+
+        private Stage(List<Binding> bindings) {
+            bindings.sort(ORDER);
+            int size = bindings.size();
+            this.rules = new FraudRuleDefinition[size];
+            this.validators = new FraudValidator[size];
+            int expensive = size;
+            for (int i = 0; i < size; i++) {
+                Binding binding = bindings.get(i);
+                rules[i] = binding.rule;
+                validators[i] = binding.validator;
+                if (expensive == size && binding.validator.getCost() == ValidatorCost.OCR) {
+                    expensive = i;
+                }
+            }
+            this.expensiveFrom = expensive;
+        }
+
+        public int size() {
+            return rules.length;
+        }
+    }
+
+    private record Binding(FraudRuleDefinition rule, FraudValidator validator) {
+    }
+}
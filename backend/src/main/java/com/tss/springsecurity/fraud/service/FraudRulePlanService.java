@@ -0,0 +1,64 @@
+package com.tss.springsecurity.fraud.service;
+
+import com.tss.springsecurity.entity.FraudRuleDefinition;
+import com.tss.springsecurity.fraud.validator.FraudValidator;
+import com.tss.springsecurity.repository.FraudRuleDefinitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the compiled {@link FraudRulePlan} for the active rule set. The plan is
+ * compiled on first use, recompiled right after rule edits made through the
+ * management API, and re-checked periodically for edits made anywhere else
+ * (other endpoints, SQL scripts).
+ */
+@Service
+@Slf4j
+public class FraudRulePlanService {
+
+    private final FraudRuleDefinitionRepository ruleRepository;
+    private final List<FraudValidator> validators;
+
+    private final AtomicReference<FraudRulePlan> plan = new AtomicReference<>();
+
+    public FraudRulePlanService(FraudRuleDefinitionRepository ruleRepository, List<FraudValidator> validators) {
+        this.ruleRepository = ruleRepository;
+        this.validators = validators;
+    }
+
+    public FraudRulePlan getPlan() {
+        FraudRulePlan current = plan.get();
+        return current != null ? current : recompile();
+    }
+
+    /**
+     * Compile the active rule set and swap it in; call after changing rules
+     */
+    public synchronized FraudRulePlan recompile() {
+        List<FraudRuleDefinition> activeRules = ruleRepository.findByIsActiveTrueOrderByExecutionOrderAsc();
+        FraudRulePlan compiled = FraudRulePlan.compile(activeRules, validators);
+        plan.set(compiled);
+        log.info("Compiled fraud rule plan: {} active rules, {} validators", activeRules.size(), validators.size());
+        return compiled;
+    }
+
+    @Scheduled(fixedDelayString = "${app.fraud-rule-plan.refresh-interval-ms:30000}",
+               initialDelayString = "${app.fraud-rule-plan.refresh-interval-ms:30000}")
+    public void refreshIfChanged() {
+        FraudRulePlan current = plan.get();
+        if (current == null) return;
+        try {
+            List<FraudRuleDefinition> activeRules = ruleRepository.findByIsActiveTrueOrderByExecutionOrderAsc();
+            if (FraudRulePlan.fingerprint(activeRules) != current.getFingerprint()) {
+                log.info("Fraud rule set changed, recompiling plan");
+                recompile();
+            }
+        } catch (Exception e) {
+            log.warn("Fraud rule plan refresh failed, keeping the current plan: {}", e.getMessage());
+        }
+    }
+}
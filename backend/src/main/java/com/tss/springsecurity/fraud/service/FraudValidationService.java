@@ -1,97 +1,85 @@
 package com.tss.springsecurity.fraud.service;
 
+import com.tss.springsecurity.config.FraudRulePlanProperties;
 import com.tss.springsecurity.entity.FraudRuleDefinition;
 import com.tss.springsecurity.fraud.FraudDetectionResult;
 import com.tss.springsecurity.fraud.FraudRule;
 import com.tss.springsecurity.fraud.model.FraudValidationResult;
+import com.tss.springsecurity.fraud.telemetry.RuleTelemetryService;
 import com.tss.springsecurity.fraud.validator.FraudValidator;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
-
 /**
  * Service for orchestrating fraud validation
- * Coordinates between validators and rule service
+ * Walks the compiled {@link FraudRulePlan}; rules are bound to validators at compile time
  */
 @Service
 public class FraudValidationService {
     
     private final FraudRuleService fraudRuleService;
-    private final Map<String, List<FraudValidator>> validatorsByCategory;
+    private final FraudRulePlanService planService;
+    private final FraudRulePlanProperties planProperties;
+    private final RuleTelemetryService ruleTelemetry;
     
-    public FraudValidationService(FraudRuleService fraudRuleService, List<FraudValidator> validators) {
+    public FraudValidationService(FraudRuleService fraudRuleService, FraudRulePlanService planService,
+                                  FraudRulePlanProperties planProperties, RuleTelemetryService ruleTelemetry) {
         this.fraudRuleService = fraudRuleService;
-        this.validatorsByCategory = validators.stream()
-                .collect(Collectors.groupingBy(FraudValidator::getCategory));
+        this.planService = planService;
+        this.planProperties = planProperties;
+        this.ruleTelemetry = ruleTelemetry;
     }
     
     /**
      * Run fraud validation for a specific category
      */
     public FraudDetectionResult validateCategory(String category, Long applicantId) {
+        FraudRulePlan.Stage stage = planService.getPlan().stage(category);
+        if (stage == null) {
+            throw new RuntimeException("No validators found for category: " + category);
+        }
+        return evaluate(stage, applicantId);
+    }
+    
+    /**
+     * Run fraud validation for all categories in one pass, so the score from
+     * every category counts towards skipping expensive rules
+     */
+    public FraudDetectionResult validateAll(Long applicantId) {
+        return evaluate(planService.getPlan().all(), applicantId);
+    }
+    
+    /**
+     * Cheap entries always run; OCR-cost entries (the tail of the stage) stop
+     * once the running score reaches the configured cut-off
+     */
+    private FraudDetectionResult evaluate(FraudRulePlan.Stage stage, Long applicantId) {
         FraudDetectionResult result = new FraudDetectionResult();
         result.setApplicantId(applicantId);
-        
-        // Set applicant name (you may need to inject ApplicantRepository for this)
         result.setApplicantName("Applicant " + applicantId);
+        RuleTelemetryService.Screening<FraudRule> screening = ruleTelemetry.begin(
+                "VALIDATOR_PLAN", applicantId, result.getTriggeredRules(), FraudRule::getRuleName);
         
-        // Get rules for category
-        List<FraudRuleDefinition> rules = fraudRuleService.getActiveRulesByCategory(category);
-        
-        // Get validators for category
-        List<FraudValidator> validators = validatorsByCategory.get(category);
-        if (validators == null || validators.isEmpty()) {
-            throw new RuntimeException("No validators found for category: " + category);
-        }
-        
-        // Validate each rule
-        for (FraudRuleDefinition rule : rules) {
-            FraudValidator validator = findValidatorForRule(validators, rule);
-            if (validator != null) {
+        int cutoff = planProperties.getSkipExpensiveAtScore();
+        int size = stage.size();
+        int i = 0;
+        for (; i < size; i++) {
+            if (i >= stage.expensiveFrom && result.getTotalFraudScore() >= cutoff) {
+                break;
+            }
+            FraudRuleDefinition rule = stage.rules[i];
+            FraudValidator validator = stage.validators[i];
+            screening.run(rule.getRuleCode(), () -> {
                 FraudValidationResult validationResult = validator.validate(rule, applicantId);
-                
                 if (validationResult.isTriggered()) {
                     FraudRule fraudRule = fraudRuleService.createFraudRule(rule, validationResult.getFlagDetails());
                     result.addTriggeredRule(fraudRule);
                 }
-            }
+            });
         }
+        screening.finish();
         
+        result.setSkippedExpensiveRules(size - i);
         result.calculateRiskLevel();
         return result;
     }
-    
-    /**
-     * Run fraud validation for all categories
-     */
-    public FraudDetectionResult validateAll(Long applicantId) {
-        FraudDetectionResult combinedResult = new FraudDetectionResult();
-        combinedResult.setApplicantId(applicantId);
-        combinedResult.setApplicantName("Applicant " + applicantId);
-        
-        // Validate each category
-        for (String category : validatorsByCategory.keySet()) {
-            FraudDetectionResult categoryResult = validateCategory(category, applicantId);
-            
-            // Merge results
-            for (FraudRule rule : categoryResult.getTriggeredRules()) {
-                combinedResult.addTriggeredRule(rule);
-            }
-        }
-        
-        combinedResult.calculateRiskLevel();
-        return combinedResult;
-    }
-    
-    /**
-     * Find appropriate validator for a rule
-     */
-    private FraudValidator findValidatorForRule(List<FraudValidator> validators, FraudRuleDefinition rule) {
-        return validators.stream()
-                .filter(validator -> validator.canHandle(rule))
-                .findFirst()
-                .orElse(null);
-    }
 }
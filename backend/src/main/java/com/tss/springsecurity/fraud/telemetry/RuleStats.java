@@ -0,0 +1,49 @@
+package com.tss.springsecurity.fraud.telemetry;
+
+import com.tss.springsecurity.util.LatencyHistogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timer and counters for one check of one engine
+ */
+final class RuleStats {
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder triggers = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    // Kept alongside the µs histogram so sub-microsecond checks still show a mean
+    private final LongAdder totalNanos = new LongAdder();
+
+    void record(long nanos, int triggered, boolean failed) {
+        latency.recordNanos(nanos);
+        totalNanos.add(nanos);
+        evaluations.increment();
+        if (triggered > 0) triggers.add(triggered);
+        if (failed) errors.increment();
+    }
+
+    long getEvaluations() {
+        return evaluations.sum();
+    }
+
+    long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    Map<String, Object> snapshot() {
+        long count = evaluations.sum();
+        long fired = triggers.sum();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("evaluations", count);
+        snapshot.put("triggers", fired);
+        snapshot.put("triggerRate", count == 0 ? 0.0 : Math.round(fired * 10000.0 / count) / 10000.0);
+        snapshot.put("errors", errors.sum());
+        snapshot.put("meanNs", count == 0 ? 0 : totalNanos.sum() / count);
+        snapshot.put("latency", latency.snapshot());
+        return snapshot;
+    }
+}
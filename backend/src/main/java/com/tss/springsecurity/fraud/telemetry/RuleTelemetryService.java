@@ -0,0 +1,332 @@
+package com.tss.springsecurity.fraud.telemetry;
+
+import com.tss.springsecurity.config.RuleTelemetryProperties;
+import com.tss.springsecurity.datasource.WorkloadContext;
+import com.tss.springsecurity.entity.FraudRuleDefinition;
+import com.tss.springsecurity.fraud.incremental.CheckPlan;
+import com.tss.springsecurity.fraud.service.FraudRulePlanService;
+import com.tss.springsecurity.util.LatencyHistogram;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Per-check execution telemetry for the fraud engines: a latency histogram and
+ * evaluation/trigger/error counters per check and engine, trigger counters per
+ * rule, and a small ring of sampled step-by-step traces.
+ *
+ * An engine opens a {@link Screening} per applicant and runs each check through
+ * it. Recording is two {@code nanoTime} calls and a few adder increments per
+ * check, with no allocation unless the screening is sampled for a trace.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RuleTelemetryService {
+
+    private final RuleTelemetryProperties properties;
+    private final FraudRulePlanService rulePlanService;
+
+    private final Map<String, EngineStats> engines = new ConcurrentHashMap<>();
+    private final Deque<RuleTrace> traces = new ArrayDeque<>();
+
+    // Set while this thread's screenings should not be recorded (benchmarks against live data)
+    private static final ThreadLocal<Boolean> PAUSED = new ThreadLocal<>();
+
+    /**
+     * Start timing one screening.
+     *
+     * @param triggered the result's live list of triggered rules; checks that grow it count as triggers
+     * @param ruleName  how to name an entry of that list
+     */
+    public <T> Screening<T> begin(String engine, Long applicantId, List<T> triggered, Function<T, String> ruleName) {
+        return begin(engine, applicantId, triggered, ruleName, null, null);
+    }
+
+    /**
+     * Start timing one screening whose checks may be skipped by {@code plan}.
+     *
+     * @param add how a reused entry is put back into the result; null when {@code plan} is null
+     */
+    public <T> Screening<T> begin(String engine, Long applicantId, List<T> triggered, Function<T, String> ruleName,
+                                  CheckPlan<T> plan, Consumer<T> add) {
+        if (!properties.isEnabled() || PAUSED.get() != null) {
+            return new Screening<>(null, null, triggered, ruleName, plan, add);
+        }
+        EngineStats stats = engines.computeIfAbsent(engine, e -> new EngineStats());
+        RuleTrace trace = null;
+        int sampleRate = properties.getTraceSampleRate();
+        if (sampleRate > 0 && ThreadLocalRandom.current().nextInt(sampleRate) == 0) {
+            trace = new RuleTrace();
+            trace.setEngine(engine);
+            trace.setApplicantId(applicantId);
+            trace.setStartedAt(LocalDateTime.now());
+        }
+        return new Screening<>(stats, trace, triggered, ruleName, plan, add);
+    }
+
+    /**
+     * Stop recording screenings on this thread until the scope is closed
+     */
+    public WorkloadContext.Scope pause() {
+        Boolean previous = PAUSED.get();
+        PAUSED.set(Boolean.TRUE);
+        return () -> {
+            if (previous == null) {
+                PAUSED.remove();
+            }
+        };
+    }
+
+    /**
+     * Timed wrapper around the checks of one screening; not thread-safe, use from the screening thread
+     */
+    public final class Screening<T> {
+        private final EngineStats stats;
+        private final RuleTrace trace;
+        private final List<T> triggered;
+        private final Function<T, String> ruleName;
+        private final CheckPlan<T> plan;
+        private final Consumer<T> add;
+        private final long startNanos;
+
+        private Screening(EngineStats stats, RuleTrace trace, List<T> triggered, Function<T, String> ruleName,
+                          CheckPlan<T> plan, Consumer<T> add) {
+            this.stats = stats;
+            this.trace = trace;
+            this.triggered = triggered;
+            this.ruleName = ruleName;
+            this.plan = plan;
+            this.add = add;
+            this.startNanos = stats != null ? System.nanoTime() : 0;
+        }
+
+        public void run(String check, Runnable body) {
+            if (plan != null) {
+                // Reused outcomes are not timed; the check's stats describe real evaluations only
+                List<T> previous = plan.reuse(check);
+                if (previous != null) {
+                    previous.forEach(add);
+                    return;
+                }
+            }
+            if (stats == null && plan == null) {
+                body.run();
+                return;
+            }
+            int before = triggered.size();
+            if (stats == null) {
+                body.run();
+                plan.ran(check, triggered.subList(before, triggered.size()));
+                return;
+            }
+            boolean failed = true;
+            long start = System.nanoTime();
+            try {
+                body.run();
+                failed = false;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                int fired = triggered.size() - before;
+                stats.check(check).record(elapsed, fired, failed);
+                if (plan != null && !failed) {
+                    plan.ran(check, triggered.subList(before, before + fired));
+                }
+                for (int i = before; i < before + fired; i++) {
+                    String name = ruleName.apply(triggered.get(i));
+                    if (name != null) stats.rule(name).increment();
+                }
+                if (trace != null) {
+                    addStep(check, elapsed, before, fired, failed);
+                }
+            }
+        }
+
+        public void finish() {
+            if (stats == null) return;
+            long elapsed = System.nanoTime() - startNanos;
+            stats.screenings.recordNanos(elapsed);
+            if (trace != null) {
+                trace.setTotalMicros(elapsed / 1000);
+                keepTrace(trace);
+            }
+        }
+
+        private void addStep(String check, long elapsed, int before, int fired, boolean failed) {
+            RuleTrace.Step step = new RuleTrace.Step();
+            step.setCheck(check);
+            step.setMicros(elapsed / 1000);
+            List<String> names = new ArrayList<>(fired);
+            for (int i = before; i < before + fired; i++) {
+                names.add(ruleName.apply(triggered.get(i)));
+            }
+            step.setTriggeredRules(names);
+            if (failed) step.setError("check threw an exception");
+            trace.getSteps().add(step);
+        }
+    }
+
+    // ==================== REPORTING ====================
+
+    /**
+     * Per engine: screening latency, per-check timers and counters, and trigger counts per rule
+     */
+    public Map<String, Object> getSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", properties.isEnabled());
+        snapshot.put("traceSampleRate", properties.getTraceSampleRate());
+
+        Map<String, Long> firedByRule = new TreeMap<>();
+        Map<String, Object> engineSnapshots = new TreeMap<>();
+        for (Map.Entry<String, EngineStats> entry : engines.entrySet()) {
+            EngineStats stats = entry.getValue();
+            Map<String, Object> engine = new LinkedHashMap<>();
+            engine.put("screening", stats.screenings.snapshot());
+
+            // Slowest checks first, by total time spent
+            List<Map.Entry<String, RuleStats>> checks = new ArrayList<>(stats.checks.entrySet());
+            checks.sort((a, b) -> Long.compare(b.getValue().getTotalNanos(), a.getValue().getTotalNanos()));
+            Map<String, Object> checkSnapshots = new LinkedHashMap<>();
+            for (Map.Entry<String, RuleStats> check : checks) {
+                checkSnapshots.put(check.getKey(), check.getValue().snapshot());
+            }
+            engine.put("checks", checkSnapshots);
+
+            Map<String, Long> triggers = new TreeMap<>();
+            stats.rules.forEach((rule, count) -> triggers.put(rule, count.sum()));
+            engine.put("triggersByRule", triggers);
+            triggers.forEach((rule, count) -> firedByRule.merge(rule, count, Long::sum));
+
+            engineSnapshots.put(entry.getKey(), engine);
+        }
+        snapshot.put("engines", engineSnapshots);
+        snapshot.put("neverTriggered", neverTriggered(firedByRule));
+        return snapshot;
+    }
+
+    public List<RuleTrace> getTraces() {
+        synchronized (traces) {
+            return new ArrayList<>(traces);
+        }
+    }
+
+    public void reset() {
+        engines.clear();
+        synchronized (traces) {
+            traces.clear();
+        }
+    }
+
+    /**
+     * Cost of the wrapper itself: runs a trivial check through a screening with
+     * telemetry on and unwrapped, and compares the difference with the mean
+     * screening time recorded so far.
+     */
+    public Map<String, Object> benchmark(int iterations) {
+        EngineStats scratch = new EngineStats();
+        List<String> triggered = new ArrayList<>();
+        long[] sink = new long[1];
+        Runnable check = () -> sink[0] += System.identityHashCode(triggered);
+
+        // Warm up both paths before measuring
+        Screening<String> warm = new Screening<>(scratch, null, triggered, Function.identity(), null, null);
+        for (int i = 0; i < Math.min(iterations, 100000); i++) {
+            warm.run("BENCHMARK", check);
+            check.run();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            check.run();
+        }
+        long plainNanos = System.nanoTime() - start;
+
+        Screening<String> screening = new Screening<>(scratch, null, triggered, Function.identity(), null, null);
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            screening.run("BENCHMARK", check);
+        }
+        long wrappedNanos = System.nanoTime() - start;
+
+        double overheadNsPerCheck = Math.max(0, (wrappedNanos - plainNanos) / (double) iterations);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("iterations", iterations);
+        report.put("plainNsPerCheck", plainNanos / (double) iterations);
+        report.put("wrappedNsPerCheck", wrappedNanos / (double) iterations);
+        report.put("overheadNsPerCheck", overheadNsPerCheck);
+
+        Map<String, Object> perEngine = new TreeMap<>();
+        for (Map.Entry<String, EngineStats> entry : engines.entrySet()) {
+            EngineStats stats = entry.getValue();
+            long screenings = stats.screenings.getCount();
+            if (screenings == 0) continue;
+            long checkCount = 0;
+            long checkNanos = 0;
+            for (RuleStats rule : stats.checks.values()) {
+                checkCount += rule.getEvaluations();
+                checkNanos += rule.getTotalNanos();
+            }
+            double checksPerScreening = checkCount / (double) screenings;
+            double meanScreeningNs = checkNanos / (double) screenings;
+            Map<String, Object> engine = new LinkedHashMap<>();
+            engine.put("checksPerScreening", checksPerScreening);
+            engine.put("meanCheckTimePerScreeningMs", meanScreeningNs / 1_000_000.0);
+            engine.put("estimatedOverheadPercent", meanScreeningNs == 0 ? 0.0
+                    : Math.round(checksPerScreening * overheadNsPerCheck * 10000.0 / meanScreeningNs) / 100.0);
+            perEngine.put(entry.getKey(), engine);
+        }
+        report.put("engines", perEngine);
+        log.debug("Telemetry benchmark sink {}", sink[0]);
+        return report;
+    }
+
+    private List<String> neverTriggered(Map<String, Long> firedByRule) {
+        List<String> never = new ArrayList<>();
+        for (FraudRuleDefinition rule : rulePlanService.getPlan().activeRules()) {
+            if (!firedByRule.containsKey(rule.getRuleName()) && !firedByRule.containsKey(rule.getRuleCode())) {
+                never.add(rule.getRuleCode());
+            }
+        }
+        return never;
+    }
+
+    private void keepTrace(RuleTrace trace) {
+        synchronized (traces) {
+            traces.addFirst(trace);
+            while (traces.size() > Math.max(1, properties.getMaxTraces())) {
+                traces.removeLast();
+            }
+        }
+    }
+
+    private static final class EngineStats {
+        final LatencyHistogram screenings = new LatencyHistogram();
+        final Map<String, RuleStats> checks = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> rules = new ConcurrentHashMap<>();
+
+        RuleStats check(String check) {
+            RuleStats stats = checks.get(check);
+            return stats != null ? stats : checks.computeIfAbsent(check, c -> new RuleStats());
+        }
+
+        LongAdder rule(String rule) {
+            LongAdder count = rules.get(rule);
+            return count != null ? count : rules.computeIfAbsent(rule, r -> new LongAdder());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.tss.springsecurity.fraud.telemetry;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Step-by-step record of one sampled screening
+ */
+@Data
+public class RuleTrace {
+    private String engine;
+    private Long applicantId;
+    private LocalDateTime startedAt;
+    private long totalMicros;
+    private List<Step> steps = new ArrayList<>();
+
+    @Data
+    public static class Step {
+        private String check;
+        private long micros;
+        private List<String> triggeredRules;
+        private String error;
+    }
+}
@@ -27,6 +27,13 @@ public interface FraudValidator {
      */
     String[] getSupportedRuleTypes();
     
+    /**
+     * Cost tier used to order rules in the compiled plan
+     */
+    default ValidatorCost getCost() {
+        return ValidatorCost.QUERY;
+    }
+    
     /**
      * Check if this validator can handle the given rule
      */
@@ -0,0 +1,12 @@
+package com.tss.springsecurity.fraud.validator;
+
+/**
+ * Relative cost of running a validator once. The compiled rule plan runs
+ * cheaper tiers first so expensive ones can be skipped when the outcome is
+ * already decided.
+ */
+public enum ValidatorCost {
+    IN_MEMORY,
+    QUERY,
+    OCR
+}
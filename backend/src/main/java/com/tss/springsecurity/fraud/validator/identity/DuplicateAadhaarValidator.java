@@ -4,10 +4,11 @@ import com.tss.springsecurity.entity.Applicant;
 import com.tss.springsecurity.entity.FraudRuleDefinition;
 import com.tss.springsecurity.fraud.model.FraudValidationResult;
 import com.tss.springsecurity.fraud.validator.AbstractFraudValidator;
+import com.tss.springsecurity.repository.AadhaarDetailsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Validator for duplicate Aadhaar numbers
@@ -16,6 +17,9 @@ import java.util.stream.Collectors;
 @Component
 public class DuplicateAadhaarValidator extends AbstractFraudValidator {
     
+    @Autowired
+    private AadhaarDetailsRepository aadhaarDetailsRepository;
+    
     @Override
     public FraudValidationResult validate(FraudRuleDefinition ruleDefinition, Long applicantId) {
         Applicant applicant = getApplicant(applicantId);
@@ -27,14 +31,7 @@ public class DuplicateAadhaarValidator extends AbstractFraudValidator {
         }
         
         // Check for duplicate Aadhaar numbers
-        List<Applicant> duplicates = applicantRepository.findAll().stream()
-            .filter(a -> {
-                String otherAadhaar = getAadhaarNumber(a);
-                return otherAadhaar != null && 
-                       otherAadhaar.equals(aadhaarNumber) && 
-                       !a.getApplicantId().equals(applicantId);
-            })
-            .collect(Collectors.toList());
+        List<Applicant> duplicates = aadhaarDetailsRepository.findOtherApplicantsByAadhaarNumber(aadhaarNumber, applicantId);
         
         if (!duplicates.isEmpty()) {
             String flagDetails = String.format(
@@ -1,7 +1,10 @@
 package com.tss.springsecurity.repository;
 
 import com.tss.springsecurity.entity.AadhaarDetails;
+import com.tss.springsecurity.entity.Applicant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +12,10 @@ import java.util.List;
 @Repository
 public interface AadhaarDetailsRepository extends JpaRepository<AadhaarDetails, Long> {
     List<AadhaarDetails> findByApplicant_ApplicantId(Long applicantId);
+    
+    // Other applicants holding the same Aadhaar number (idx_aadhaar_number)
+    @Query("SELECT DISTINCT d.applicant FROM AadhaarDetails d WHERE d.aadhaarNumber = :aadhaarNumber " +
+           "AND d.applicant.applicantId <> :applicantId")
+    List<Applicant> findOtherApplicantsByAadhaarNumber(@Param("aadhaarNumber") String aadhaarNumber,
+                                                       @Param("applicantId") Long applicantId);
 }
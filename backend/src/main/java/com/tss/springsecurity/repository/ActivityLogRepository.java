@@ -4,9 +4,11 @@ import com.tss.springsecurity.entity.ActivityLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -58,4 +60,26 @@ public interface ActivityLogRepository extends JpaRepository<ActivityLog, Long>
            "LOWER(a.description) LIKE LOWER(CONCAT('%', :query, '%')) " +
            "ORDER BY a.timestamp DESC")
     Page<ActivityLog> searchActivities(@Param("query") String query, Pageable pageable);
+    
+    // ==================== Retention / archiving ====================
+    
+    @Query("SELECT MIN(a.timestamp) FROM ActivityLog a")
+    LocalDateTime findOldestTimestamp();
+    
+    // Keyset batch used by the archiver (walks a month in log_id order)
+    @Query("SELECT a FROM ActivityLog a WHERE a.timestamp >= :startDate AND a.timestamp < :endDate " +
+           "AND a.logId > :afterId ORDER BY a.logId ASC")
+    List<ActivityLog> findArchiveBatch(@Param("startDate") LocalDateTime startDate,
+                                       @Param("endDate") LocalDateTime endDate,
+                                       @Param("afterId") Long afterId,
+                                       Pageable pageable);
+    
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM activity_log WHERE timestamp >= :startDate AND timestamp < :endDate " +
+                   "AND log_id <= :maxId LIMIT :batchSize", nativeQuery = true)
+    int deleteArchivedBatch(@Param("startDate") LocalDateTime startDate,
+                            @Param("endDate") LocalDateTime endDate,
+                            @Param("maxId") Long maxId,
+                            @Param("batchSize") int batchSize);
 }
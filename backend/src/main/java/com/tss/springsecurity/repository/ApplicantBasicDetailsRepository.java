@@ -9,4 +9,8 @@ import java.util.Optional;
 @Repository
 public interface ApplicantBasicDetailsRepository extends JpaRepository<ApplicantBasicDetails, Long> {
     Optional<ApplicantBasicDetails> findByApplicant_ApplicantId(Long applicantId);
+    
+    // Duplicate identity checks, on idx_basic_details_aadhaar_number / idx_basic_details_pan_number
+    long countByAadhaarNumberAndApplicant_ApplicantIdNot(String aadhaarNumber, Long applicantId);
+    long countByPanNumberAndApplicant_ApplicantIdNot(String panNumber, Long applicantId);
 }
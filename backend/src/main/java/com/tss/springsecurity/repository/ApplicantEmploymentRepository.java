@@ -2,11 +2,20 @@ package com.tss.springsecurity.repository;
 
 import com.tss.springsecurity.entity.ApplicantEmployment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ApplicantEmploymentRepository extends JpaRepository<ApplicantEmployment, Long> {
     Optional<ApplicantEmployment> findByApplicant_ApplicantId(Long applicantId);
+    
+    // Fraud-ring rebuild: employer attributes, walked by row id
+    @Query(value = "SELECT e.id, e.applicant_id, e.company_name, e.employer_name, e.office_pincode " +
+                   "FROM applicant_employment e WHERE e.id > :afterId ORDER BY e.id LIMIT :batchSize",
+           nativeQuery = true)
+    List<Object[]> findRingEmployerAttributes(@Param("afterId") long afterId, @Param("batchSize") int batchSize);
 }
@@ -2,11 +2,20 @@ package com.tss.springsecurity.repository;
 
 import com.tss.springsecurity.entity.ApplicantFinancials;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ApplicantFinancialsRepository extends JpaRepository<ApplicantFinancials, Long> {
     Optional<ApplicantFinancials> findByApplicant_ApplicantId(Long applicantId);
+    
+    // Fraud-ring rebuild: bank account attributes, walked by row id
+    @Query(value = "SELECT f.id, f.applicant_id, f.ifsc_code, f.account_number " +
+                   "FROM applicant_financials f WHERE f.id > :afterId ORDER BY f.id LIMIT :batchSize",
+           nativeQuery = true)
+    List<Object[]> findRingBankAttributes(@Param("afterId") long afterId, @Param("batchSize") int batchSize);
 }
@@ -3,16 +3,28 @@ package com.tss.springsecurity.repository;
 import com.tss.springsecurity.entity.ApplicantLoanDetails;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ApplicantLoanDetailsRepository extends JpaRepository<ApplicantLoanDetails, Long> {
     List<ApplicantLoanDetails> findByApplicant_ApplicantId(Long applicantId);
+    
+    // The applicant's current loan: highest loan id, read from the end of idx_loan_applicant_loan
+    Optional<ApplicantLoanDetails> findFirstByApplicant_ApplicantIdOrderByLoanIdDesc(Long applicantId);
     List<ApplicantLoanDetails> findByStatus(String status);
     List<ApplicantLoanDetails> findByLoanStatusOrderBySubmittedAtDesc(String loanStatus);
     
     @Query("SELECT SUM(ald.loanAmount) FROM ApplicantLoanDetails ald")
     Double sumAllLoanAmounts();
+    
+    // Loan, applicant and the applicant's one-to-one details in one statement, for the comprehensive loan view
+    @Query("SELECT l FROM ApplicantLoanDetails l JOIN FETCH l.applicant a " +
+           "LEFT JOIN FETCH a.basicDetails LEFT JOIN FETCH a.employment LEFT JOIN FETCH a.financials " +
+           "LEFT JOIN FETCH a.creditHistory LEFT JOIN FETCH a.propertyDetails " +
+           "WHERE l.loanId = :loanId")
+    Optional<ApplicantLoanDetails> findForComprehensiveView(@Param("loanId") Long loanId);
 }
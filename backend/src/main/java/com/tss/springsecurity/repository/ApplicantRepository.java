@@ -1,6 +1,9 @@
 package com.tss.springsecurity.repository;
 
+import com.tss.springsecurity.dto.ApplicantSummaryDTO;
 import com.tss.springsecurity.entity.Applicant;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,6 +14,17 @@ import java.util.Optional;
 
 @Repository
 public interface ApplicantRepository extends JpaRepository<Applicant, Long> {
+    
+    // Applicant read model: scalar columns and loan count, without loading the entity or its one-to-one details
+    String SUMMARY_SELECT = "SELECT new com.tss.springsecurity.dto.ApplicantSummaryDTO(a.applicantId, a.firstName, " +
+            "a.lastName, a.dob, a.gender, a.username, a.email, a.phone, a.address, a.city, a.state, a.country, " +
+            "a.isApproved, a.isEmailVerified, a.approvalStatus, a.createdAt, a.updatedAt, " +
+            "(SELECT COUNT(l) FROM ApplicantLoanDetails l WHERE l.applicant = a)) FROM Applicant a ";
+    String SEARCH_CONDITION = "WHERE LOWER(a.firstName) LIKE LOWER(CONCAT('%', :q, '%')) " +
+            "OR LOWER(a.lastName) LIKE LOWER(CONCAT('%', :q, '%')) " +
+            "OR LOWER(a.email) LIKE LOWER(CONCAT('%', :q, '%')) " +
+            "OR LOWER(a.username) LIKE LOWER(CONCAT('%', :q, '%'))";
+    
     Optional<Applicant> findByEmail(String email);
     Optional<Applicant> findByPhone(String phone);
     Optional<Applicant> findByUsername(String username);
@@ -33,10 +47,41 @@ public interface ApplicantRepository extends JpaRepository<Applicant, Long> {
     
     List<Applicant> findByApprovalStatus(String status);
     
+    // Admin approval queue: verified, not yet approved (idx_applicant_approval_queue)
+    Page<Applicant> findByApprovalStatusAndIsEmailVerifiedTrueAndIsApprovedFalse(String approvalStatus, Pageable pageable);
+    
+    // Duplicate contact checks; the columns use a case-insensitive collation, so email equality ignores case
+    long countByPhoneAndApplicantIdNot(String phone, Long applicantId);
+    long countByEmailAndApplicantIdNot(String email, Long applicantId);
+    
     @Query("SELECT a FROM Applicant a LEFT JOIN FETCH a.basicDetails WHERE a.applicantId = :id")
     Optional<Applicant> findByIdWithBasicDetails(@Param("id") Long id);
     
     // Count applicants by month for dashboard statistics
     @Query("SELECT COUNT(a) FROM Applicant a WHERE MONTH(a.createdAt) = :month AND YEAR(a.createdAt) = YEAR(CURRENT_DATE)")
     Long countApplicantsByMonth(@Param("month") int month);
+    
+    // Fraud-ring rebuild: contact and identity attributes, walked by applicant id
+    @Query(value = "SELECT a.applicant_id, a.phone, a.email, b.phone, b.email, b.current_address, b.current_pincode, " +
+                   "b.pan_number, b.aadhaar_number FROM applicant a " +
+                   "LEFT JOIN applicant_basic_details b ON b.applicant_id = a.applicant_id " +
+                   "WHERE a.applicant_id > :afterId ORDER BY a.applicant_id LIMIT :batchSize",
+           nativeQuery = true)
+    List<Object[]> findRingIdentityAttributes(@Param("afterId") long afterId, @Param("batchSize") int batchSize);
+    
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(a) FROM Applicant a")
+    Page<ApplicantSummaryDTO> findSummaries(Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE a.applicantId = :id")
+    Optional<ApplicantSummaryDTO> findSummaryById(@Param("id") Long id);
+    
+    @Query(SUMMARY_SELECT + "WHERE a.username = :username")
+    Optional<ApplicantSummaryDTO> findSummaryByUsername(@Param("username") String username);
+    
+    @Query(value = SUMMARY_SELECT + SEARCH_CONDITION, countQuery = "SELECT COUNT(a) FROM Applicant a " + SEARCH_CONDITION)
+    Page<ApplicantSummaryDTO> searchSummaries(@Param("q") String query, Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + "WHERE a.approvalStatus = :status",
+           countQuery = "SELECT COUNT(a) FROM Applicant a WHERE a.approvalStatus = :status")
+    Page<ApplicantSummaryDTO> findSummariesByApprovalStatus(@Param("status") String status, Pageable pageable);
 }
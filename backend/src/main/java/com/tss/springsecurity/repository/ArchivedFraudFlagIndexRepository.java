@@ -0,0 +1,23 @@
+package com.tss.springsecurity.repository;
+
+import com.tss.springsecurity.entity.ArchivedFraudFlagIndex;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedFraudFlagIndexRepository extends JpaRepository<ArchivedFraudFlagIndex, Long> {
+    
+    // Served by uk_archived_flag_applicant_segment
+    List<ArchivedFraudFlagIndex> findByApplicantId(Long applicantId);
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ArchivedFraudFlagIndex i WHERE i.segmentId = :segmentId")
+    int deleteBySegmentId(@Param("segmentId") Long segmentId);
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +24,14 @@ public interface ComplianceOfficerApplicationAssignmentRepository extends JpaRep
     @Query("SELECT COUNT(c) FROM ComplianceOfficerApplicationAssignment c WHERE c.complianceOfficer.officerId = :officerId AND c.status IN ('PENDING', 'IN_PROGRESS')")
     Long countActiveAssignmentsByOfficer(@Param("officerId") Long officerId);
     
+    // Active case count per compliance officer in one query, for the assignment router
+    @Query("SELECT c.complianceOfficer.officerId, COUNT(c) FROM ComplianceOfficerApplicationAssignment c WHERE c.status IN ('PENDING', 'IN_PROGRESS') GROUP BY c.complianceOfficer.officerId")
+    List<Object[]> countActiveAssignmentsGroupedByOfficer();
+    
+    // (officerId, assignedAt, completedAt) of cases closed since the given time
+    @Query("SELECT c.complianceOfficer.officerId, c.assignedAt, c.completedAt FROM ComplianceOfficerApplicationAssignment c WHERE c.completedAt >= :since AND c.assignedAt IS NOT NULL")
+    List<Object[]> findCompletionTimesSince(@Param("since") LocalDateTime since);
+    
     // New methods using loan_id relationship
     List<ComplianceOfficerApplicationAssignment> findByLoan_LoanId(Long loanId);
     
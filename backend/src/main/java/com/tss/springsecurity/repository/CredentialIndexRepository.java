@@ -0,0 +1,20 @@
+package com.tss.springsecurity.repository;
+
+import com.tss.springsecurity.entity.CredentialIndexEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CredentialIndexRepository extends JpaRepository<CredentialIndexEntry, Long> {
+    
+    List<CredentialIndexEntry> findByIdentifier(String identifier);
+    
+    // Served by idx_credential_role_entity
+    List<CredentialIndexEntry> findByRoleAndEntityId(String role, Long entityId);
+    
+    // Served by idx_credential_role_entity
+    List<CredentialIndexEntry> findByRoleAndEntityIdIn(String role, Collection<Long> entityIds);
+}
@@ -0,0 +1,30 @@
+package com.tss.springsecurity.repository;
+
+import com.tss.springsecurity.entity.DataArchiveSegment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DataArchiveSegmentRepository extends JpaRepository<DataArchiveSegment, Long> {
+    
+    List<DataArchiveSegment> findByTableNameOrderByRangeStartDesc(String tableName);
+    
+    // Segments whose [rangeStart, rangeEnd) overlaps the requested window, newest first
+    @Query("SELECT s FROM DataArchiveSegment s WHERE s.tableName = :tableName " +
+           "AND s.rangeStart < :endDate AND s.rangeEnd > :startDate ORDER BY s.rangeStart DESC, s.segmentId DESC")
+    List<DataArchiveSegment> findOverlapping(@Param("tableName") String tableName,
+                                             @Param("startDate") LocalDateTime startDate,
+                                             @Param("endDate") LocalDateTime endDate);
+    
+    List<DataArchiveSegment> findByTableNameAndPeriod(String tableName, String period);
+    
+    // Segments archived before the applicant index existed (or whose indexing was interrupted)
+    @Query("SELECT s FROM DataArchiveSegment s WHERE s.tableName = :tableName " +
+           "AND (s.applicantIndexed IS NULL OR s.applicantIndexed = false)")
+    List<DataArchiveSegment> findNotApplicantIndexed(@Param("tableName") String tableName);
+}
@@ -1,9 +1,15 @@
 package com.tss.springsecurity.repository;
 
 import com.tss.springsecurity.entity.FraudFlag;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -11,4 +17,66 @@ public interface FraudFlagRepository extends JpaRepository<FraudFlag, Long> {
     List<FraudFlag> findByApplicant_ApplicantId(Long applicantId);
     List<FraudFlag> findByLoan_LoanId(Long loanId);
     List<FraudFlag> findBySeverity(Integer severity);
+    
+    // Existing flags for a screening target, used to avoid re-inserting on re-screen
+    List<FraudFlag> findByApplicant_ApplicantIdAndLoan_LoanId(Long applicantId, Long loanId);
+    List<FraudFlag> findByApplicant_ApplicantIdAndLoanIsNull(Long applicantId);
+    
+    // Insert a flag, or refresh the one a concurrent screening inserted first under the same
+    // uk_fraud_flag_applicant_loan_rule key
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO fraud_flags (applicant_id, loan_id, loan_key, rule_name, severity, flag_notes, created_at) " +
+                   "VALUES (:applicantId, :loanId, :loanKey, :ruleName, :severity, :flagNotes, :createdAt) " +
+                   "ON DUPLICATE KEY UPDATE severity = VALUES(severity), flag_notes = VALUES(flag_notes)",
+           nativeQuery = true)
+    int upsertFlag(@Param("applicantId") Long applicantId,
+                   @Param("loanId") Long loanId,
+                   @Param("loanKey") long loanKey,
+                   @Param("ruleName") String ruleName,
+                   @Param("severity") Integer severity,
+                   @Param("flagNotes") String flagNotes,
+                   @Param("createdAt") LocalDateTime createdAt);
+    
+    // ==================== Retention / archiving ====================
+    
+    @Query("SELECT MIN(f.createdAt) FROM FraudFlag f")
+    LocalDateTime findOldestCreatedAt();
+    
+    // Keyset batch used by the archiver (walks a month in id order)
+    @Query("SELECT f FROM FraudFlag f WHERE f.createdAt >= :startDate AND f.createdAt < :endDate " +
+           "AND f.id > :afterId ORDER BY f.id ASC")
+    List<FraudFlag> findArchiveBatch(@Param("startDate") LocalDateTime startDate,
+                                     @Param("endDate") LocalDateTime endDate,
+                                     @Param("afterId") Long afterId,
+                                     Pageable pageable);
+    
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM fraud_flags WHERE created_at >= :startDate AND created_at < :endDate " +
+                   "AND id <= :maxId LIMIT :batchSize", nativeQuery = true)
+    int deleteArchivedBatch(@Param("startDate") LocalDateTime startDate,
+                            @Param("endDate") LocalDateTime endDate,
+                            @Param("maxId") Long maxId,
+                            @Param("batchSize") int batchSize);
+    
+    // ==================== Identifier blacklist ====================
+    
+    // Identifiers of applicants with confirmed fraud, walked by flag id for incremental blacklist builds
+    @Query(value = "SELECT f.id, b.pan_number, b.aadhaar_number FROM fraud_flags f " +
+                   "JOIN applicant_basic_details b ON b.applicant_id = f.applicant_id " +
+                   "WHERE f.severity >= :minSeverity AND f.id > :afterId ORDER BY f.id LIMIT :batchSize",
+           nativeQuery = true)
+    List<Object[]> findConfirmedFraudIdentifiers(@Param("minSeverity") int minSeverity,
+                                                 @Param("afterId") long afterId,
+                                                 @Param("batchSize") int batchSize);
+    
+    // Confirms a blacklist hit belongs to someone other than the applicant being screened
+    @Query("SELECT COUNT(f) FROM FraudFlag f, ApplicantBasicDetails b WHERE b.applicant = f.applicant " +
+           "AND f.severity >= :minSeverity AND f.applicant.applicantId <> :applicantId " +
+           "AND (b.panNumber = :pan OR b.aadhaarNumber = :aadhaar)")
+    long countConfirmedFraudByOtherApplicants(@Param("minSeverity") int minSeverity,
+                                              @Param("applicantId") Long applicantId,
+                                              @Param("pan") String pan,
+                                              @Param("aadhaar") String aadhaar);
 }
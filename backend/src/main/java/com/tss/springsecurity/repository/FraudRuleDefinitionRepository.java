@@ -1,8 +1,12 @@
 package com.tss.springsecurity.repository;
 
+import com.tss.springsecurity.cache.CacheRegions;
 import com.tss.springsecurity.entity.FraudRuleDefinition;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -20,11 +24,19 @@ public interface FraudRuleDefinitionRepository extends JpaRepository<FraudRuleDe
     /**
      * Find active rules by category
      */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.FRAUD_RULE_QUERIES)
+    })
     List<FraudRuleDefinition> findByRuleCategoryAndIsActiveTrueOrderByExecutionOrderAsc(String ruleCategory);
     
     /**
      * Find rule by code
      */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.FRAUD_RULE_QUERIES)
+    })
     Optional<FraudRuleDefinition> findByRuleCode(String ruleCode);
     
     /**
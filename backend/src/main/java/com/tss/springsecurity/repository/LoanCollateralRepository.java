@@ -2,6 +2,8 @@ package com.tss.springsecurity.repository;
 
 import com.tss.springsecurity.entity.LoanCollateral;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +11,14 @@ import java.util.List;
 @Repository
 public interface LoanCollateralRepository extends JpaRepository<LoanCollateral, Long> {
     List<LoanCollateral> findByLoan_LoanId(Long loanId);
+    
+    // Reused valuation reports; the URL is TEXT and can't be indexed whole, so idx_collateral_type narrows the scan
+    long countByCollateralTypeAndValuationReportUrlAndIdNot(String collateralType, String valuationReportUrl, Long id);
+    
+    // Fraud-ring rebuild: collateral attributes with the owning applicant, walked by row id
+    @Query(value = "SELECT c.id, l.applicant_id, c.collateral_type, c.collateral_description " +
+                   "FROM loan_collateral c JOIN applicant_loan_details l ON l.loan_id = c.loan_id " +
+                   "WHERE c.id > :afterId ORDER BY c.id LIMIT :batchSize",
+           nativeQuery = true)
+    List<Object[]> findRingCollateralAttributes(@Param("afterId") long afterId, @Param("batchSize") int batchSize);
 }
@@ -1,8 +1,11 @@
 package com.tss.springsecurity.repository;
 
 import com.tss.springsecurity.entity.LoanOfficer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,10 +15,13 @@ import java.util.Optional;
 @Repository
 public interface LoanOfficerRepository extends JpaRepository<LoanOfficer, Long> {
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<LoanOfficer> findByUsername(String username);
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<LoanOfficer> findByEmail(String email);
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<LoanOfficer> findByUsernameOrEmail(String username, String email);
     
     Boolean existsByUsername(String username);
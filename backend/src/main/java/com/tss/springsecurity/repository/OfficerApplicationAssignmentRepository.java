@@ -1,11 +1,14 @@
 package com.tss.springsecurity.repository;
 
 import com.tss.springsecurity.entity.OfficerApplicationAssignment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +17,18 @@ public interface OfficerApplicationAssignmentRepository extends JpaRepository<Of
     
     List<OfficerApplicationAssignment> findByOfficer_OfficerId(Long officerId);
     
+    // Admin assignment list: applicant, officer and loan come in the same row as the assignment
+    @Query(value = "SELECT a FROM OfficerApplicationAssignment a JOIN FETCH a.applicant JOIN FETCH a.officer LEFT JOIN FETCH a.loan",
+           countQuery = "SELECT COUNT(a) FROM OfficerApplicationAssignment a")
+    Page<OfficerApplicationAssignment> findPageWithParticipants(Pageable pageable);
+    
+    // Dashboard window [from, to), on idx_assignment_assigned_at and idx_assignment_officer_assigned_at
+    List<OfficerApplicationAssignment> findByAssignedAtGreaterThanEqualAndAssignedAtLessThan(
+            LocalDateTime from, LocalDateTime to);
+    
+    List<OfficerApplicationAssignment> findByOfficer_OfficerIdAndAssignedAtGreaterThanEqualAndAssignedAtLessThan(
+            Long officerId, LocalDateTime from, LocalDateTime to);
+    
     List<OfficerApplicationAssignment> findByApplicant_ApplicantId(Long applicantId);
     
     List<OfficerApplicationAssignment> findByStatus(String status);
@@ -23,12 +38,24 @@ public interface OfficerApplicationAssignmentRepository extends JpaRepository<Of
     @Query("SELECT COUNT(a) FROM OfficerApplicationAssignment a WHERE a.officer.officerId = :officerId AND a.status IN ('PENDING', 'IN_PROGRESS')")
     Long countActiveAssignmentsByOfficer(@Param("officerId") Long officerId);
     
+    // Active case count per officer in one query, for the assignment router
+    @Query("SELECT a.officer.officerId, COUNT(a) FROM OfficerApplicationAssignment a WHERE a.status IN ('PENDING', 'IN_PROGRESS') GROUP BY a.officer.officerId")
+    List<Object[]> countActiveAssignmentsGroupedByOfficer();
+    
+    // (officerId, assignedAt, completedAt) of cases closed since the given time
+    @Query("SELECT a.officer.officerId, a.assignedAt, a.completedAt FROM OfficerApplicationAssignment a WHERE a.completedAt >= :since AND a.assignedAt IS NOT NULL")
+    List<Object[]> findCompletionTimesSince(@Param("since") LocalDateTime since);
+    
     @Query("SELECT a FROM OfficerApplicationAssignment a WHERE a.officer.loanType = :loanType AND a.status IN ('PENDING', 'IN_PROGRESS') GROUP BY a.officer ORDER BY COUNT(a.officer) ASC")
     List<OfficerApplicationAssignment> findOfficersWithLeastWorkloadByLoanType(@Param("loanType") String loanType);
     
     // New methods using loan_id relationship
     List<OfficerApplicationAssignment> findByLoan_LoanId(Long loanId);
     
+    // Assignments of a loan with their officer, most recent first
+    @Query("SELECT a FROM OfficerApplicationAssignment a JOIN FETCH a.officer WHERE a.loan.loanId = :loanId ORDER BY a.assignedAt DESC, a.assignmentId DESC")
+    List<OfficerApplicationAssignment> findByLoanIdWithOfficer(@Param("loanId") Long loanId);
+    
     Optional<OfficerApplicationAssignment> findByLoan_LoanIdAndStatus(Long loanId, String status);
     
     @Query("SELECT a FROM OfficerApplicationAssignment a WHERE a.loan.loanId = :loanId ORDER BY a.assignedAt DESC")
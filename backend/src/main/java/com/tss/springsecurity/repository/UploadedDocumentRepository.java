@@ -16,6 +16,16 @@ public interface UploadedDocumentRepository extends JpaRepository<UploadedDocume
      */
     List<UploadedDocument> findByApplicant_ApplicantId(Long applicantId);
     
+    /**
+     * Columns the comprehensive loan view shows for an applicant's documents, without the OCR text and JSON:
+     * (documentId, documentType, documentName, cloudinaryUrl, verificationStatus, verifiedBy, verifiedAt,
+     * verificationNotes, uploadedAt)
+     */
+    @Query("SELECT d.documentId, d.documentType, d.documentName, d.cloudinaryUrl, d.verificationStatus, " +
+           "d.verifiedBy, d.verifiedAt, d.verificationNotes, d.uploadedAt " +
+           "FROM UploadedDocument d WHERE d.applicant.applicantId = :applicantId")
+    List<Object[]> findViewRowsByApplicantId(@Param("applicantId") Long applicantId);
+    
     /**
      * Find all documents for a specific loan
      */
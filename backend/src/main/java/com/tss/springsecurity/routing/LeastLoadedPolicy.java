@@ -0,0 +1,22 @@
+package com.tss.springsecurity.routing;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Fewest active cases first; among equals, whoever was picked longest ago
+ */
+@Component
+public class LeastLoadedPolicy implements RoutingPolicy {
+
+    public static final String NAME = "LEAST_LOADED";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public long rank(OfficerSlot slot) {
+        return slot.getActive();
+    }
+}
@@ -0,0 +1,222 @@
+package com.tss.springsecurity.routing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Officers that can take the same kind of case (one loan type, or compliance),
+ * kept in a heap ordered by the pool's {@link RoutingPolicy}. Picking the head,
+ * charging it one case and re-ranking it happen under one short lock, so two
+ * concurrent assignments can never both receive the same "least loaded"
+ * officer. Every operation is O(log n) in the pool size.
+ */
+final class OfficerPool {
+
+    private static final Comparator<OfficerSlot> ORDER = Comparator
+            .comparingLong((OfficerSlot slot) -> slot.rank)
+            .thenComparingLong(OfficerSlot::getLastAssignedSequence)
+            .thenComparing(OfficerSlot::getOfficerId);
+
+    private final String name;
+    private final AtomicLong sequence;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TreeSet<OfficerSlot> heap = new TreeSet<>(ORDER);
+    private final Map<Long, OfficerSlot> slots = new HashMap<>();
+    private RoutingPolicy policy;
+
+    OfficerPool(String name, RoutingPolicy policy, AtomicLong sequence) {
+        this.name = name;
+        this.policy = policy;
+        this.sequence = sequence;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Take the best officer and charge it one active case
+     *
+     * @param maxActive officers at this load are passed over while anyone is below it; 0 for no cap
+     * @return the officer id, or null when the pool is empty
+     */
+    Long pick(int maxActive) {
+        lock.lock();
+        try {
+            if (heap.isEmpty()) return null;
+            OfficerSlot chosen = heap.first();
+            if (maxActive > 0 && chosen.getActive() >= maxActive) {
+                // Only the load-ordered policies keep capped officers at the back; scan for the others
+                for (Iterator<OfficerSlot> it = heap.iterator(); it.hasNext(); ) {
+                    OfficerSlot slot = it.next();
+                    if (slot.getActive() < maxActive) {
+                        chosen = slot;
+                        break;
+                    }
+                }
+            }
+            heap.remove(chosen);
+            chosen.addActive(1);
+            chosen.markAssigned(sequence.incrementAndGet());
+            policy.onAssigned(chosen);
+            insert(chosen);
+            return chosen.getOfficerId();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Change an officer's active load by {@code delta}; false when the officer is not in this pool
+     */
+    boolean adjust(Long officerId, int delta) {
+        lock.lock();
+        try {
+            OfficerSlot slot = slots.get(officerId);
+            if (slot == null) return false;
+            heap.remove(slot);
+            slot.addActive(delta);
+            insert(slot);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Fold one finished case into the officer's running handling-time average
+     */
+    void recordHandling(Long officerId, long millis, double smoothing) {
+        lock.lock();
+        try {
+            OfficerSlot slot = slots.get(officerId);
+            if (slot == null || millis < 0) return;
+            heap.remove(slot);
+            slot.setHandlingMillis(slot.getHandlingMillis() + smoothing * (millis - slot.getHandlingMillis()));
+            insert(slot);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replace membership and active loads with what the database says.
+     * Officers that stay keep their round-robin position; new ones join at the
+     * current front so they are not flooded with every new case.
+     *
+     * @param officers    officer id to display name
+     * @param activeLoads active case count per officer (missing means 0)
+     * @param handling    measured average handling time per officer (missing keeps the running estimate)
+     * @return how many officers had a different load than the router believed
+     */
+    int reconcile(Map<Long, String> officers, Map<Long, Long> activeLoads, Map<Long, Double> handling,
+                  Map<Long, Integer> weights, double defaultHandlingMillis) {
+        lock.lock();
+        try {
+            long frontPass = heap.stream().mapToLong(OfficerSlot::getPass).min().orElse(0);
+            slots.keySet().retainAll(officers.keySet());
+            int drifted = 0;
+            for (Map.Entry<Long, String> officer : officers.entrySet()) {
+                OfficerSlot slot = slots.get(officer.getKey());
+                if (slot == null) {
+                    slot = new OfficerSlot(officer.getKey(), officer.getValue());
+                    slot.setPass(frontPass);
+                    slot.setHandlingMillis(defaultHandlingMillis);
+                    slots.put(officer.getKey(), slot);
+                }
+                int load = activeLoads.getOrDefault(officer.getKey(), 0L).intValue();
+                if (slot.getActive() != load) drifted++;
+                slot.setActive(load);
+                slot.setWeight(weights.getOrDefault(officer.getKey(), 1));
+                Double measured = handling.get(officer.getKey());
+                if (measured != null) slot.setHandlingMillis(measured);
+            }
+            rebuild();
+            return drifted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void setPolicy(RoutingPolicy policy) {
+        lock.lock();
+        try {
+            this.policy = policy;
+            rebuild();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isEmpty() {
+        lock.lock();
+        try {
+            return slots.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Officers in pick order
+     */
+    List<Map<String, Object>> describe() {
+        lock.lock();
+        try {
+            List<Map<String, Object>> view = new ArrayList<>(heap.size());
+            for (OfficerSlot slot : heap) {
+                view.add(slot.describe());
+            }
+            return view;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Officer id to active load, in pick order
+     */
+    Map<Long, Integer> loads() {
+        lock.lock();
+        try {
+            Map<Long, Integer> loads = new LinkedHashMap<>();
+            for (OfficerSlot slot : heap) {
+                loads.put(slot.getOfficerId(), slot.getActive());
+            }
+            return loads;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long totalActive() {
+        lock.lock();
+        try {
+            long total = 0;
+            for (OfficerSlot slot : slots.values()) total += slot.getActive();
+            return total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void rebuild() {
+        heap.clear();
+        for (OfficerSlot slot : slots.values()) {
+            insert(slot);
+        }
+    }
+
+    private void insert(OfficerSlot slot) {
+        slot.rank = policy.rank(slot);
+        heap.add(slot);
+    }
+}
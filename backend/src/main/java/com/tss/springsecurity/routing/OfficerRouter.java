@@ -0,0 +1,458 @@
+package com.tss.springsecurity.routing;
+
+import com.tss.springsecurity.config.OfficerRoutingProperties;
+import com.tss.springsecurity.entity.ComplianceOfficer;
+import com.tss.springsecurity.entity.ComplianceOfficerApplicationAssignment;
+import com.tss.springsecurity.entity.LoanOfficer;
+import com.tss.springsecurity.entity.OfficerApplicationAssignment;
+import com.tss.springsecurity.repository.ComplianceOfficerApplicationAssignmentRepository;
+import com.tss.springsecurity.repository.ComplianceOfficerRepository;
+import com.tss.springsecurity.repository.LoanOfficerRepository;
+import com.tss.springsecurity.repository.OfficerApplicationAssignmentRepository;
+import com.tss.springsecurity.util.LatencyHistogram;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Picks the officer for a new loan assignment or compliance escalation from
+ * in-memory pools instead of ordering officers by a correlated COUNT per
+ * request. Loan officers are pooled by loan type; compliance officers form one
+ * pool.
+ *
+ * Picking reserves the case on the chosen officer immediately, so concurrent
+ * assignments spread out; if the surrounding transaction rolls back the
+ * reservation is returned. Status changes made through the services adjust
+ * the loads after commit. Anything that bypasses them is corrected by the
+ * periodic reconcile, which recounts active cases from the database.
+ */
+@Service
+@Slf4j
+public class OfficerRouter {
+
+    static final String COMPLIANCE_POOL = "COMPLIANCE";
+
+    private final OfficerRoutingProperties properties;
+    private final LoanOfficerRepository loanOfficerRepository;
+    private final ComplianceOfficerRepository complianceOfficerRepository;
+    private final OfficerApplicationAssignmentRepository assignmentRepository;
+    private final ComplianceOfficerApplicationAssignmentRepository complianceAssignmentRepository;
+    private final Map<String, RoutingPolicy> policies = new HashMap<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, OfficerPool> loanPools = new ConcurrentHashMap<>();
+    private final Map<Long, OfficerPool> poolByLoanOfficer = new ConcurrentHashMap<>();
+    private final OfficerPool compliancePool;
+
+    private volatile boolean loaded;
+    private volatile LocalDateTime lastReconciledAt;
+    private final LongAdder picks = new LongAdder();
+    private final LongAdder rolledBack = new LongAdder();
+    private final AtomicLong driftCorrected = new AtomicLong();
+
+    public OfficerRouter(OfficerRoutingProperties properties,
+                         LoanOfficerRepository loanOfficerRepository,
+                         ComplianceOfficerRepository complianceOfficerRepository,
+                         OfficerApplicationAssignmentRepository assignmentRepository,
+                         ComplianceOfficerApplicationAssignmentRepository complianceAssignmentRepository,
+                         List<RoutingPolicy> routingPolicies) {
+        this.properties = properties;
+        this.loanOfficerRepository = loanOfficerRepository;
+        this.complianceOfficerRepository = complianceOfficerRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.complianceAssignmentRepository = complianceAssignmentRepository;
+        for (RoutingPolicy policy : routingPolicies) {
+            policies.put(policy.getName(), policy);
+        }
+        this.compliancePool = new OfficerPool(COMPLIANCE_POOL, policy(properties.getCompliancePolicy()), sequence);
+    }
+
+    // ==================== PICKING ====================
+
+    /**
+     * Loan officer for a new case of {@code loanType}, already charged with it
+     */
+    public Long pickLoanOfficer(String loanType) {
+        OfficerPool pool = loanPool(loanType);
+        Long officerId = pool != null ? pool.pick(properties.getMaxActivePerOfficer()) : null;
+        if (officerId == null) {
+            // An officer may have been added since the last reconcile
+            reconcile();
+            pool = loanPool(loanType);
+            officerId = pool != null ? pool.pick(properties.getMaxActivePerOfficer()) : null;
+        }
+        if (officerId == null) {
+            throw new RuntimeException("No officers available for loan type: " + loanType);
+        }
+        returnOnRollback(pool, officerId);
+        picks.increment();
+        return officerId;
+    }
+
+    /**
+     * Compliance officer for a new escalation, already charged with it
+     */
+    public Long pickComplianceOfficer() {
+        ensureLoaded();
+        Long officerId = compliancePool.pick(properties.getMaxActivePerOfficer());
+        if (officerId == null) {
+            reconcile();
+            officerId = compliancePool.pick(properties.getMaxActivePerOfficer());
+        }
+        if (officerId == null) {
+            throw new RuntimeException("No compliance officers available");
+        }
+        returnOnRollback(compliancePool, officerId);
+        picks.increment();
+        return officerId;
+    }
+
+    /**
+     * A case was given to a specific loan officer (not picked by the router)
+     */
+    public void loanOfficerAssigned(Long officerId) {
+        ensureLoaded();
+        OfficerPool pool = poolByLoanOfficer.get(officerId);
+        if (pool != null && pool.adjust(officerId, 1)) {
+            returnOnRollback(pool, officerId);
+        }
+    }
+
+    /**
+     * Active loads of the officers handling {@code loanType}, best candidate first
+     */
+    public Map<Long, Integer> getLoanOfficerLoads(String loanType) {
+        OfficerPool pool = loanPool(loanType);
+        return pool != null ? pool.loads() : Map.of();
+    }
+
+    // ==================== STATUS CHANGES ====================
+
+    /**
+     * Apply the load change of a loan officer assignment's status change once the transaction commits
+     */
+    public void onStatusChange(OfficerApplicationAssignment assignment, String previousStatus) {
+        if (assignment.getOfficer() == null) return;
+        Long officerId = assignment.getOfficer().getOfficerId();
+        LocalDateTime assignedAt = assignment.getAssignedAt();
+        String status = assignment.getStatus();
+        afterCommit(() -> applyStatusChange(poolByLoanOfficer.get(officerId), officerId, previousStatus, status, assignedAt));
+    }
+
+    /**
+     * Apply the load change of a compliance assignment's status change once the transaction commits
+     */
+    public void onStatusChange(ComplianceOfficerApplicationAssignment assignment, String previousStatus) {
+        if (assignment.getComplianceOfficer() == null) return;
+        Long officerId = assignment.getComplianceOfficer().getOfficerId();
+        LocalDateTime assignedAt = assignment.getAssignedAt();
+        String status = assignment.getStatus();
+        afterCommit(() -> applyStatusChange(compliancePool, officerId, previousStatus, status, assignedAt));
+    }
+
+    /**
+     * Move a loan officer assignment's load from its previous officer to its current one after commit
+     */
+    public void onReassigned(OfficerApplicationAssignment assignment, Long previousOfficerId, String previousStatus) {
+        Long officerId = assignment.getOfficer().getOfficerId();
+        String status = assignment.getStatus();
+        afterCommit(() -> {
+            if (isActive(previousStatus)) adjust(poolByLoanOfficer.get(previousOfficerId), previousOfficerId, -1);
+            if (isActive(status)) adjust(poolByLoanOfficer.get(officerId), officerId, 1);
+        });
+    }
+
+    /**
+     * Same definition of "active" as the workload queries
+     */
+    public static boolean isActive(String status) {
+        return "PENDING".equals(status) || "IN_PROGRESS".equals(status);
+    }
+
+    private void applyStatusChange(OfficerPool pool, Long officerId, String previousStatus, String status,
+                                   LocalDateTime assignedAt) {
+        boolean wasActive = isActive(previousStatus);
+        boolean active = isActive(status);
+        if (wasActive == active || pool == null) return;
+        adjust(pool, officerId, active ? 1 : -1);
+        if (wasActive && assignedAt != null) {
+            pool.recordHandling(officerId, Duration.between(assignedAt, LocalDateTime.now()).toMillis(),
+                    properties.getHandlingTimeSmoothing());
+        }
+    }
+
+    private static void adjust(OfficerPool pool, Long officerId, int delta) {
+        if (pool != null) pool.adjust(officerId, delta);
+    }
+
+    // ==================== RECONCILE ====================
+
+    @Scheduled(fixedDelayString = "${app.officer-routing.reconcile-interval-ms:60000}",
+               initialDelayString = "${app.officer-routing.reconcile-interval-ms:60000}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.warn("Officer routing reconcile failed, keeping current loads: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reload officers and recount every active load from the database
+     */
+    public synchronized Map<String, Object> reconcile() {
+        long started = System.nanoTime();
+        LocalDateTime since = LocalDateTime.now().minusDays(properties.getHandlingTimeWindowDays());
+        double defaultHandling = TimeUnit.MINUTES.toMillis(properties.getDefaultHandlingMinutes());
+
+        Map<Long, Long> loanLoads = toCounts(assignmentRepository.countActiveAssignmentsGroupedByOfficer());
+        Map<Long, Double> loanHandling = toAverageMillis(assignmentRepository.findCompletionTimesSince(since));
+        Map<String, Map<Long, String>> officersByType = new HashMap<>();
+        for (LoanOfficer officer : loanOfficerRepository.findAll()) {
+            if (officer.getLoanType() == null) continue;
+            officersByType.computeIfAbsent(normalize(officer.getLoanType()), t -> new LinkedHashMap<>())
+                    .put(officer.getOfficerId(), officer.getFirstName() + " " + officer.getLastName());
+        }
+
+        RoutingPolicy loanPolicy = policy(properties.getLoanOfficerPolicy());
+        int drifted = 0;
+        Map<Long, OfficerPool> membership = new HashMap<>();
+        for (Map.Entry<String, Map<Long, String>> type : officersByType.entrySet()) {
+            OfficerPool pool = loanPools.computeIfAbsent(type.getKey(), t -> new OfficerPool(t, loanPolicy, sequence));
+            pool.setPolicy(loanPolicy);
+            drifted += pool.reconcile(type.getValue(), loanLoads, loanHandling,
+                    properties.getLoanOfficerWeights(), defaultHandling);
+            type.getValue().keySet().forEach(id -> membership.put(id, pool));
+        }
+        // Loan types whose last officer left keep an empty pool
+        loanPools.forEach((type, pool) -> {
+            if (!officersByType.containsKey(type)) {
+                pool.reconcile(Map.of(), Map.of(), Map.of(), Map.of(), defaultHandling);
+            }
+        });
+        poolByLoanOfficer.putAll(membership);
+        poolByLoanOfficer.keySet().retainAll(membership.keySet());
+
+        Map<Long, String> complianceOfficers = new LinkedHashMap<>();
+        for (ComplianceOfficer officer : complianceOfficerRepository.findAll()) {
+            complianceOfficers.put(officer.getOfficerId(), officer.getFirstName() + " " + officer.getLastName());
+        }
+        compliancePool.setPolicy(policy(properties.getCompliancePolicy()));
+        drifted += compliancePool.reconcile(complianceOfficers,
+                toCounts(complianceAssignmentRepository.countActiveAssignmentsGroupedByOfficer()),
+                toAverageMillis(complianceAssignmentRepository.findCompletionTimesSince(since)),
+                properties.getComplianceOfficerWeights(), defaultHandling);
+
+        loaded = true;
+        lastReconciledAt = LocalDateTime.now();
+        if (drifted > 0) {
+            driftCorrected.addAndGet(drifted);
+            log.info("Officer routing reconciled: {} officer loads corrected", drifted);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("loanOfficers", membership.size());
+        result.put("complianceOfficers", complianceOfficers.size());
+        result.put("loadsCorrected", drifted);
+        result.put("elapsedMs", (System.nanoTime() - started) / 1_000_000);
+        return result;
+    }
+
+    // ==================== REPORTING ====================
+
+    public Map<String, Object> getStatus() {
+        ensureLoaded();
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("loanOfficerPolicy", policy(properties.getLoanOfficerPolicy()).getName());
+        status.put("compliancePolicy", policy(properties.getCompliancePolicy()).getName());
+        status.put("lastReconciledAt", lastReconciledAt);
+        status.put("picks", picks.sum());
+        status.put("rolledBackPicks", rolledBack.sum());
+        status.put("loadsCorrectedByReconcile", driftCorrected.get());
+        Map<String, Object> pools = new TreeMap<>();
+        loanPools.forEach((type, pool) -> pools.put(type, pool.describe()));
+        pools.put(COMPLIANCE_POOL, compliancePool.describe());
+        status.put("pools", pools);
+        return status;
+    }
+
+    /**
+     * Contention benchmark on a scratch pool: {@code threads} workers each pick
+     * and later complete cases against {@code officers} synthetic officers.
+     * Reports picks per second, pick latency and how evenly the load ended up
+     * spread (lost updates would show as a total that does not match).
+     */
+    public Map<String, Object> benchmark(String policyName, int threads, int picksPerThread, int officers) {
+        RoutingPolicy policy = policy(policyName != null ? policyName : properties.getLoanOfficerPolicy());
+        OfficerPool pool = new OfficerPool("BENCHMARK", policy, new AtomicLong());
+        Map<Long, String> members = new LinkedHashMap<>();
+        Map<Long, Integer> weights = new HashMap<>();
+        Map<Long, Double> handling = new HashMap<>();
+        for (long id = 1; id <= officers; id++) {
+            members.put(id, "Officer " + id);
+            weights.put(id, 1 + (int) (id % 3));
+            handling.put(id, (double) TimeUnit.MINUTES.toMillis(60 + id % 7 * 60));
+        }
+        pool.reconcile(members, Map.of(), handling, weights, 0);
+
+        LatencyHistogram latency = new LatencyHistogram();
+        Map<Long, LongAdder> received = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            workers.execute(() -> {
+                List<Long> open = new ArrayList<>();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < picksPerThread; i++) {
+                    long begin = System.nanoTime();
+                    Long officerId = pool.pick(0);
+                    latency.recordNanos(System.nanoTime() - begin);
+                    received.computeIfAbsent(officerId, id -> new LongAdder()).increment();
+                    open.add(officerId);
+                    // Close every other case so loads move in both directions
+                    if (i % 2 == 1) {
+                        Long done = open.remove(open.size() - 2);
+                        pool.adjust(done, -1);
+                    }
+                }
+            });
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        workers.shutdown();
+        try {
+            workers.awaitTermination(10, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Benchmark interrupted");
+        }
+        long elapsedNanos = System.nanoTime() - began;
+
+        long totalPicks = (long) threads * picksPerThread;
+        long expectedActive = (long) threads * (picksPerThread - picksPerThread / 2);
+        long minReceived = Long.MAX_VALUE;
+        long maxReceived = 0;
+        for (long id = 1; id <= officers; id++) {
+            LongAdder count = received.get(id);
+            long value = count != null ? count.sum() : 0;
+            minReceived = Math.min(minReceived, value);
+            maxReceived = Math.max(maxReceived, value);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("policy", policy.getName());
+        report.put("threads", threads);
+        report.put("officers", officers);
+        report.put("picks", totalPicks);
+        report.put("picksPerSecond", elapsedNanos > 0 ? Math.round(totalPicks * 1e9 / elapsedNanos) : 0);
+        report.put("pickLatency", latency.snapshot());
+        report.put("casesPerOfficerMin", minReceived);
+        report.put("casesPerOfficerMax", maxReceived);
+        report.put("activeTotal", pool.totalActive());
+        report.put("activeExpected", expectedActive);
+        report.put("consistent", pool.totalActive() == expectedActive);
+        return report;
+    }
+
+    // ==================== HELPERS ====================
+
+    private OfficerPool loanPool(String loanType) {
+        ensureLoaded();
+        return loanType != null ? loanPools.get(normalize(loanType)) : null;
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) reconcile();
+            }
+        }
+    }
+
+    private RoutingPolicy policy(String name) {
+        RoutingPolicy policy = name != null ? policies.get(name.trim().toUpperCase(Locale.ROOT)) : null;
+        if (policy == null) {
+            policy = policies.get(LeastLoadedPolicy.NAME);
+        }
+        if (policy == null) {
+            throw new RuntimeException("Unknown officer routing policy: " + name);
+        }
+        return policy;
+    }
+
+    private void returnOnRollback(OfficerPool pool, Long officerId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    pool.adjust(officerId, -1);
+                    rolledBack.increment();
+                }
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static String normalize(String loanType) {
+        return loanType.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<Long, Long> toCounts(List<Object[]> rows) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    private static Map<Long, Double> toAverageMillis(List<Object[]> rows) {
+        Map<Long, long[]> sums = new HashMap<>();
+        for (Object[] row : rows) {
+            long millis = Duration.between((LocalDateTime) row[1], (LocalDateTime) row[2]).toMillis();
+            if (millis < 0) continue;
+            long[] sum = sums.computeIfAbsent(((Number) row[0]).longValue(), id -> new long[2]);
+            sum[0] += millis;
+            sum[1]++;
+        }
+        Map<Long, Double> averages = new HashMap<>();
+        sums.forEach((id, sum) -> averages.put(id, sum[0] / (double) sum[1]));
+        return averages;
+    }
+}
@@ -0,0 +1,95 @@
+package com.tss.springsecurity.routing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routing state of one officer inside an {@link OfficerPool}. The active load
+ * is atomic so it can be read without the pool lock; every change that affects
+ * the ordering (load, pass, last pick) is made under the pool lock, with the
+ * slot taken out of the heap and put back.
+ */
+public final class OfficerSlot {
+
+    private final Long officerId;
+    private final String name;
+    private final AtomicInteger active = new AtomicInteger();
+
+    private int weight = 1;
+    private long pass;
+    private long lastAssignedSequence;
+    private long assignedTotal;
+    private double handlingMillis;
+
+    // Ordering key computed by the policy when the slot was last inserted into the heap
+    long rank;
+
+    OfficerSlot(Long officerId, String name) {
+        this.officerId = officerId;
+        this.name = name;
+    }
+
+    public Long getOfficerId() {
+        return officerId;
+    }
+
+    public int getActive() {
+        return active.get();
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Virtual time for weighted round robin; advances by 1/weight per assignment
+     */
+    public long getPass() {
+        return pass;
+    }
+
+    public double getHandlingMillis() {
+        return handlingMillis;
+    }
+
+    void setActive(int value) {
+        active.set(Math.max(0, value));
+    }
+
+    void addActive(int delta) {
+        active.updateAndGet(value -> Math.max(0, value + delta));
+    }
+
+    void setWeight(int weight) {
+        this.weight = Math.max(1, weight);
+    }
+
+    void setPass(long pass) {
+        this.pass = pass;
+    }
+
+    void markAssigned(long sequence) {
+        lastAssignedSequence = sequence;
+        assignedTotal++;
+    }
+
+    long getLastAssignedSequence() {
+        return lastAssignedSequence;
+    }
+
+    void setHandlingMillis(double handlingMillis) {
+        this.handlingMillis = handlingMillis;
+    }
+
+    Map<String, Object> describe() {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("officerId", officerId);
+        view.put("name", name);
+        view.put("active", active.get());
+        view.put("weight", weight);
+        view.put("assignedSinceStart", assignedTotal);
+        view.put("handlingMinutes", Math.round(handlingMillis / 60000.0));
+        return view;
+    }
+}
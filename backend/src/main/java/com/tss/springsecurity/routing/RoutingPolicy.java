@@ -0,0 +1,24 @@
+package com.tss.springsecurity.routing;
+
+/**
+ * Decides the order in which officers of a pool receive new cases. The pool
+ * keeps its officers in a heap ordered by {@link #rank}, then by the oldest
+ * last pick, then by officer id, and hands out the head.
+ *
+ * Policies are Spring beans picked by name from {@code app.officer-routing}.
+ */
+public interface RoutingPolicy {
+
+    String getName();
+
+    /**
+     * Ordering key; lower ranks are picked first. Only called under the pool lock.
+     */
+    long rank(OfficerSlot slot);
+
+    /**
+     * Called under the pool lock right after {@code slot} was picked, before it is re-ranked
+     */
+    default void onAssigned(OfficerSlot slot) {
+    }
+}
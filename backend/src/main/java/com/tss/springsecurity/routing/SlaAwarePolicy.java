@@ -0,0 +1,24 @@
+package com.tss.springsecurity.routing;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Shortest projected wait first: active cases times the officer's average
+ * handling time, so a new case goes where it is likely to be picked up
+ * soonest. Idle officers all rank zero and alternate by last pick.
+ */
+@Component
+public class SlaAwarePolicy implements RoutingPolicy {
+
+    public static final String NAME = "SLA_AWARE";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public long rank(OfficerSlot slot) {
+        return (long) (slot.getActive() * slot.getHandlingMillis());
+    }
+}
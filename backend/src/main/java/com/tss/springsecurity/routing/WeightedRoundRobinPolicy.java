@@ -0,0 +1,32 @@
+package com.tss.springsecurity.routing;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Stride scheduling: every pick advances the officer's pass by a stride
+ * inversely proportional to its weight, and the smallest pass goes next. Over
+ * any window each officer receives cases in proportion to its weight,
+ * regardless of how fast they close them.
+ */
+@Component
+public class WeightedRoundRobinPolicy implements RoutingPolicy {
+
+    public static final String NAME = "WEIGHTED_ROUND_ROBIN";
+
+    private static final long STRIDE = 1L << 20;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public long rank(OfficerSlot slot) {
+        return slot.getPass();
+    }
+
+    @Override
+    public void onAssigned(OfficerSlot slot) {
+        slot.setPass(slot.getPass() + STRIDE / slot.getWeight());
+    }
+}
@@ -0,0 +1,18 @@
+package com.tss.springsecurity.screening;
+
+/**
+ * Where a blacklisted identifier came from. The ordinal is the section
+ * index in the blacklist file, so new values may only be appended.
+ */
+public enum BlacklistSource {
+    RBI_DEFAULTERS,
+    INTERNAL_FRAUD,
+    EXTERNAL_LIST;
+
+    /**
+     * Source for a list dump file: RBI defaulter dumps by name, everything else external
+     */
+    public static BlacklistSource forListFile(String fileName) {
+        return fileName.toLowerCase().contains("rbi") ? RBI_DEFAULTERS : EXTERNAL_LIST;
+    }
+}
@@ -0,0 +1,275 @@
+package com.tss.springsecurity.screening;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Read-only, memory-mapped set of 64-bit identifier keys, one sorted section
+ * per {@link BlacklistSource}, fronted by a Bloom filter. Lookups are a few
+ * absolute reads from the mapping: no allocation beyond the result and no
+ * database access. Keys are the leading 8 bytes of the HMAC-SHA256 identifier
+ * hashes, so PAN and Aadhaar keys share the file without colliding.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * int magic, int sectionCount, long createdAt, long watermark, long listFingerprint,
+ * int bloomWords, int bloomHashes, int[sectionCount] counts, padding to 8 bytes,
+ * long[] keys of every section in order, long[bloomWords] bloom bits
+ * </pre>
+ */
+public final class IdentifierBlacklistFile {
+
+    private static final int MAGIC = 0x49444231; // "IDB1"
+    private static final int FIXED_HEADER = 4 + 4 + 8 + 8 + 8 + 4 + 4;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final long createdAt;
+    private final long watermark;
+    private final long listFingerprint;
+    private final int[] counts;
+    private final long[] sectionOffsets;
+    private final long bloomOffset;
+    private final long bloomBits;
+    private final int bloomHashes;
+
+    private IdentifierBlacklistFile(Path path, MappedByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.capacity() < FIXED_HEADER || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a blacklist file: " + path);
+        }
+        int sectionCount = buffer.getInt(4);
+        this.createdAt = buffer.getLong(8);
+        this.watermark = buffer.getLong(16);
+        this.listFingerprint = buffer.getLong(24);
+        int bloomWords = buffer.getInt(32);
+        this.bloomHashes = buffer.getInt(36);
+
+        this.counts = new int[BlacklistSource.values().length];
+        this.sectionOffsets = new long[counts.length];
+        long offset = dataOffset(sectionCount);
+        for (int s = 0; s < sectionCount; s++) {
+            int count = buffer.getInt(FIXED_HEADER + 4 * s);
+            if (s < counts.length) {
+                counts[s] = count;
+                sectionOffsets[s] = offset;
+            }
+            offset += 8L * count;
+        }
+        this.bloomOffset = offset;
+        this.bloomBits = 64L * bloomWords;
+        if (bloomOffset + 8L * bloomWords != buffer.capacity()) {
+            throw new IOException("Truncated blacklist file: " + path);
+        }
+    }
+
+    public static IdentifierBlacklistFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new IdentifierBlacklistFile(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    // ==================== LOOKUP ====================
+
+    /**
+     * Sources holding the key; empty when it is not blacklisted
+     */
+    public Set<BlacklistSource> lookup(long key) {
+        Set<BlacklistSource> sources = EnumSet.noneOf(BlacklistSource.class);
+        if (!mightContain(key)) {
+            return sources;
+        }
+        for (BlacklistSource source : BlacklistSource.values()) {
+            if (contains(source, key)) {
+                sources.add(source);
+            }
+        }
+        return sources;
+    }
+
+    public boolean mightContain(long key) {
+        if (bloomBits == 0) return false;
+        int h1 = (int) key;
+        int h2 = (int) (key >>> 32);
+        for (int i = 0; i < bloomHashes; i++) {
+            long bit = bloomBit(h1, h2, i, bloomBits);
+            if ((buffer.getLong((int) (bloomOffset + 8 * (bit >>> 6))) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean contains(BlacklistSource source, long key) {
+        int low = 0;
+        int high = counts[source.ordinal()] - 1;
+        long base = sectionOffsets[source.ordinal()];
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long value = buffer.getLong((int) (base + 8L * mid));
+            if (value < key) {
+                low = mid + 1;
+            } else if (value > key) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Copy of one section, used when merging new keys into a rebuilt file
+     */
+    public long[] readSection(BlacklistSource source) {
+        long[] keys = new long[counts[source.ordinal()]];
+        long base = sectionOffsets[source.ordinal()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = buffer.getLong((int) (base + 8L * i));
+        }
+        return keys;
+    }
+
+    public long keyAt(BlacklistSource source, int index) {
+        return buffer.getLong((int) (sectionOffsets[source.ordinal()] + 8L * index));
+    }
+
+    public int count(BlacklistSource source) {
+        return counts[source.ordinal()];
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Highest fraud_flags id folded into the internal section
+     */
+    public long getWatermark() {
+        return watermark;
+    }
+
+    public long getListFingerprint() {
+        return listFingerprint;
+    }
+
+    public long getSizeBytes() {
+        return buffer.capacity();
+    }
+
+    // ==================== WRITE ====================
+
+    /**
+     * Write a new file from sorted, duplicate-free sections indexed by source ordinal
+     */
+    public static void write(Path target, long[][] sections, long watermark, long listFingerprint,
+                             int bloomBitsPerEntry, int bloomHashes) throws IOException {
+        long total = 0;
+        for (long[] section : sections) total += section.length;
+        int bloomWords = (int) Math.max(1, (total * bloomBitsPerEntry + 63) / 64);
+        long bloomBits = 64L * bloomWords;
+        long size = dataOffset(sections.length) + 8 * total + 8L * bloomWords;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Blacklist too large for a single mapping: " + total + " keys");
+        }
+
+        long[] bloom = new long[bloomWords];
+        for (long[] section : sections) {
+            for (long key : section) {
+                int h1 = (int) key;
+                int h2 = (int) (key >>> 32);
+                for (int i = 0; i < bloomHashes; i++) {
+                    long bit = bloomBit(h1, h2, i, bloomBits);
+                    bloom[(int) (bit >>> 6)] |= 1L << (bit & 63);
+                }
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer out = ByteBuffer.allocate(64 * 1024);
+            out.putInt(MAGIC).putInt(sections.length).putLong(System.currentTimeMillis())
+                    .putLong(watermark).putLong(listFingerprint).putInt(bloomWords).putInt(bloomHashes);
+            for (long[] section : sections) out.putInt(section.length);
+            while (out.position() % 8 != 0) out.put((byte) 0);
+            for (long[] section : sections) {
+                for (long key : section) {
+                    if (out.remaining() < 8) drain(channel, out);
+                    out.putLong(key);
+                }
+            }
+            for (long word : bloom) {
+                if (out.remaining() < 8) drain(channel, out);
+                out.putLong(word);
+            }
+            drain(channel, out);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Sorted, duplicate-free copy of the first {@code length} keys
+     */
+    public static long[] sortedDistinct(long[] keys, int length) {
+        long[] sorted = Arrays.copyOf(keys, length);
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, distinct);
+    }
+
+    /**
+     * Union of two sorted, duplicate-free arrays
+     */
+    public static long[] merge(long[] a, long[] b) {
+        long[] merged = new long[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length || j < b.length) {
+            long next;
+            if (j >= b.length || (i < a.length && a[i] <= b[j])) {
+                next = a[i++];
+            } else {
+                next = b[j++];
+            }
+            if (n == 0 || merged[n - 1] != next) {
+                merged[n++] = next;
+            }
+        }
+        return Arrays.copyOf(merged, n);
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer out) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) channel.write(out);
+        out.clear();
+    }
+
+    private static long dataOffset(int sectionCount) {
+        return (FIXED_HEADER + 4L * sectionCount + 7) & ~7L;
+    }
+
+    /**
+     * Double hashing over the two halves of the (already uniformly distributed) key
+     */
+    private static long bloomBit(int h1, int h2, int i, long bits) {
+        long combined = (h1 + (long) i * h2) & Long.MAX_VALUE;
+        return combined % bits;
+    }
+}
@@ -0,0 +1,408 @@
+package com.tss.springsecurity.screening;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tss.springsecurity.config.IdentifierBlacklistProperties;
+import com.tss.springsecurity.externalfraud.util.BulkRecordReader;
+import com.tss.springsecurity.externalfraud.util.IdentifierHash;
+import com.tss.springsecurity.repository.FraudFlagRepository;
+import com.tss.springsecurity.util.LatencyHistogram;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * PAN / Aadhaar blacklist built from local list dumps (RBI defaulters and
+ * other lists) and from our own confirmed-fraud flags. The set lives in a
+ * memory-mapped {@link IdentifierBlacklistFile}; lookups never touch the
+ * database. New flags and changed dumps are merged in the background into a
+ * new versioned file, which is then mapped and swapped in atomically.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdentifierBlacklistService {
+
+    private static final String FILE_PREFIX = "identifier-blacklist-";
+    private static final String FILE_SUFFIX = ".bin";
+
+    private final IdentifierBlacklistProperties properties;
+    private final FraudFlagRepository fraudFlagRepository;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicReference<IdentifierBlacklistFile> current = new AtomicReference<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Thread loader = new Thread(() -> {
+            openLatestFile();
+            refresh(false);
+        }, "identifier-blacklist-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @Scheduled(fixedDelayString = "${app.identifier-blacklist.refresh-interval-ms:60000}",
+               initialDelayString = "${app.identifier-blacklist.refresh-interval-ms:60000}")
+    public void refreshInBackground() {
+        if (properties.isEnabled() && properties.getRefreshIntervalMs() > 0) {
+            refresh(false);
+        }
+    }
+
+    // ==================== LOOKUP ====================
+
+    public Set<BlacklistSource> lookupPan(String pan) {
+        return lookup(IdentifierHash.pan(pan));
+    }
+
+    public Set<BlacklistSource> lookupAadhaar(String aadhaar) {
+        return lookup(IdentifierHash.aadhaar(aadhaar));
+    }
+
+    /**
+     * Union of the PAN and Aadhaar hits
+     */
+    public Set<BlacklistSource> lookup(String pan, String aadhaar) {
+        Set<BlacklistSource> sources = lookupPan(pan);
+        sources.addAll(lookupAadhaar(aadhaar));
+        return sources;
+    }
+
+    public boolean isLoaded() {
+        return current.get() != null;
+    }
+
+    private Set<BlacklistSource> lookup(String identifierHash) {
+        IdentifierBlacklistFile file = current.get();
+        if (file == null || identifierHash == null) {
+            return EnumSet.noneOf(BlacklistSource.class);
+        }
+        return file.lookup(key(identifierHash));
+    }
+
+    /**
+     * Leading 8 bytes of the hex identifier hash
+     */
+    static long key(String identifierHash) {
+        return HexFormat.fromHexDigitsToLong(identifierHash, 0, 16);
+    }
+
+    // ==================== BUILD ====================
+
+    /**
+     * Merge new confirmed-fraud flags and changed list dumps into a new file.
+     * A full rebuild re-reads every confirmed flag instead of keeping the
+     * internal keys of the current file (needed after changing the severity
+     * threshold; note that flags already archived out of fraud_flags are then dropped).
+     */
+    public synchronized Map<String, Object> refresh(boolean full) {
+        IdentifierBlacklistFile file = current.get();
+        Path listDirectory = Paths.get(properties.getDirectory()).toAbsolutePath().normalize();
+        List<Path> dumps;
+        try {
+            dumps = listDumps(listDirectory);
+        } catch (IOException e) {
+            log.error("Cannot read blacklist folder {}: {}", listDirectory, e.getMessage());
+            throw new RuntimeException("Cannot read blacklist folder: " + e.getMessage());
+        }
+        long fingerprint = fingerprint(dumps);
+
+        boolean listsChanged = file == null || full || file.getListFingerprint() != fingerprint;
+        long watermark = file == null || full ? 0 : file.getWatermark();
+        KeyBuffer newInternal = new KeyBuffer();
+        long newWatermark = collectConfirmedFraud(watermark, newInternal);
+
+        if (!listsChanged && newInternal.size == 0) {
+            return getStatus();
+        }
+
+        long started = System.currentTimeMillis();
+        long[][] sections = new long[BlacklistSource.values().length][];
+        if (listsChanged) {
+            KeyBuffer[] listKeys = { new KeyBuffer(), new KeyBuffer(), new KeyBuffer() };
+            for (Path dump : dumps) {
+                readDump(dump, listKeys[BlacklistSource.forListFile(dump.getFileName().toString()).ordinal()]);
+            }
+            sections[BlacklistSource.RBI_DEFAULTERS.ordinal()] = listKeys[BlacklistSource.RBI_DEFAULTERS.ordinal()].sorted();
+            sections[BlacklistSource.EXTERNAL_LIST.ordinal()] = listKeys[BlacklistSource.EXTERNAL_LIST.ordinal()].sorted();
+        } else {
+            sections[BlacklistSource.RBI_DEFAULTERS.ordinal()] = file.readSection(BlacklistSource.RBI_DEFAULTERS);
+            sections[BlacklistSource.EXTERNAL_LIST.ordinal()] = file.readSection(BlacklistSource.EXTERNAL_LIST);
+        }
+        long[] internal = file == null || full ? new long[0] : file.readSection(BlacklistSource.INTERNAL_FRAUD);
+        sections[BlacklistSource.INTERNAL_FRAUD.ordinal()] = IdentifierBlacklistFile.merge(internal, newInternal.sorted());
+
+        try {
+            Path dataDirectory = Paths.get(properties.getDataDirectory()).toAbsolutePath().normalize();
+            Files.createDirectories(dataDirectory);
+            long version = Math.max(System.currentTimeMillis(), file == null ? 0 : version(file.getPath()) + 1);
+            Path target = dataDirectory.resolve(filePrefix() + version + FILE_SUFFIX);
+            Path temp = dataDirectory.resolve(filePrefix() + version + FILE_SUFFIX + ".tmp");
+            IdentifierBlacklistFile.write(temp, sections, Math.max(watermark, newWatermark), fingerprint,
+                    properties.getBloomBitsPerEntry(), properties.getBloomHashes());
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+
+            IdentifierBlacklistFile next = IdentifierBlacklistFile.open(target);
+            current.set(next);
+            log.info("Identifier blacklist swapped in: {} RBI, {} internal, {} external keys ({} bytes) in {} ms",
+                    next.count(BlacklistSource.RBI_DEFAULTERS), next.count(BlacklistSource.INTERNAL_FRAUD),
+                    next.count(BlacklistSource.EXTERNAL_LIST), next.getSizeBytes(),
+                    System.currentTimeMillis() - started);
+            deleteOlderFiles(dataDirectory, target);
+        } catch (IOException e) {
+            log.error("Identifier blacklist rebuild failed, keeping the current file: {}", e.getMessage(), e);
+            throw new RuntimeException("Identifier blacklist rebuild failed: " + e.getMessage());
+        }
+        return getStatus();
+    }
+
+    /**
+     * Adds PAN/Aadhaar keys of flags above the watermark; returns the new watermark
+     */
+    private long collectConfirmedFraud(long afterId, KeyBuffer keys) {
+        long lastId = afterId;
+        while (true) {
+            List<Object[]> batch = fraudFlagRepository.findConfirmedFraudIdentifiers(
+                    properties.getInternalMinSeverity(), lastId, properties.getBatchSize());
+            for (Object[] row : batch) {
+                keys.addIdentifiers((String) row[1], (String) row[2]);
+                lastId = ((Number) row[0]).longValue();
+            }
+            if (batch.size() < properties.getBatchSize()) {
+                return lastId;
+            }
+        }
+    }
+
+    private void readDump(Path dump, KeyBuffer keys) {
+        long records = 0;
+        try (BulkRecordReader reader = new BulkRecordReader(dump, BulkRecordReader.detectFormat(dump), objectMapper)) {
+            while (true) {
+                Map<String, Object> record;
+                try {
+                    record = reader.next();
+                } catch (IllegalArgumentException e) {
+                    log.warn("Skipping blacklist record in {}: {}", dump.getFileName(), e.getMessage());
+                    continue;
+                }
+                if (record == null) break;
+                keys.addIdentifiers(text(record, "pan", "pannumber"), text(record, "aadhaar", "aadhaarnumber"));
+                records++;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Blacklist dump " + dump.getFileName() + " could not be read: " + e.getMessage());
+        }
+        log.info("Read {} records from blacklist dump {}", records, dump.getFileName());
+    }
+
+    private void openLatestFile() {
+        Path dataDirectory = Paths.get(properties.getDataDirectory()).toAbsolutePath().normalize();
+        try {
+            Path latest = listDataFiles(dataDirectory, filePrefix()).stream()
+                    .reduce((first, second) -> second).orElse(null);
+            if (latest != null) {
+                current.set(IdentifierBlacklistFile.open(latest));
+                log.info("Mapped identifier blacklist {}", latest.getFileName());
+            }
+        } catch (IOException e) {
+            log.warn("Could not map the existing identifier blacklist, rebuilding: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Best effort: a file still mapped on Windows cannot be deleted until the mapping is collected
+     */
+    private void deleteOlderFiles(Path dataDirectory, Path keep) {
+        try {
+            for (Path file : listDataFiles(dataDirectory, FILE_PREFIX)) {
+                if (!file.equals(keep)) {
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (IOException e) {
+                        log.debug("Old blacklist file {} not deleted yet: {}", file.getFileName(), e.getMessage());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Could not list blacklist data folder: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Files are named per identifier hash key version, so a rotated key never maps keys of the old one
+     */
+    private static String filePrefix() {
+        return FILE_PREFIX + "k" + IdentifierHash.keyVersion() + "-";
+    }
+
+    private static List<Path> listDataFiles(Path dataDirectory, String prefix) throws IOException {
+        if (!Files.isDirectory(dataDirectory)) {
+            return List.of();
+        }
+        try (Stream<Path> stream = Files.list(dataDirectory)) {
+            return stream.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(prefix) && name.endsWith(FILE_SUFFIX);
+                    })
+                    .sorted((a, b) -> Long.compare(version(a), version(b)))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static long version(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(name.lastIndexOf('-') + 1, name.length() - FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static List<Path> listDumps(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> stream = Files.list(directory)) {
+            return stream.filter(Files::isRegularFile)
+                    .filter(file -> file.getFileName().toString().toLowerCase(Locale.ROOT)
+                            .matches(".*\\.(csv|ndjson|jsonl)(\\.gz)?"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static long fingerprint(List<Path> dumps) {
+        StringBuilder fingerprint = new StringBuilder();
+        for (Path dump : dumps) {
+            try {
+                fingerprint.append(dump.getFileName()).append(':').append(Files.size(dump)).append(':')
+                        .append(Files.getLastModifiedTime(dump).toMillis()).append(';');
+            } catch (IOException e) {
+                fingerprint.append(dump.getFileName()).append(":?;");
+            }
+        }
+        // FNV-1a; never 0, so an empty folder still differs from "no file built yet"
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < fingerprint.length(); i++) {
+            hash = (hash ^ fingerprint.charAt(i)) * 0x100000001b3L;
+        }
+        return hash | 1;
+    }
+
+    private static String text(Map<String, Object> record, String... keys) {
+        for (String key : keys) {
+            Object value = record.get(key);
+            if (value != null && !value.toString().isBlank()) {
+                return value.toString();
+            }
+        }
+        return null;
+    }
+
+    // ==================== STATUS / BENCHMARK ====================
+
+    public Map<String, Object> getStatus() {
+        IdentifierBlacklistFile file = current.get();
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", properties.isEnabled());
+        status.put("loaded", file != null);
+        if (file != null) {
+            status.put("file", file.getPath().getFileName().toString());
+            status.put("sizeBytes", file.getSizeBytes());
+            status.put("builtAt", LocalDateTime.ofInstant(Instant.ofEpochMilli(file.getCreatedAt()), ZoneId.systemDefault()));
+            status.put("rbiDefaulterKeys", file.count(BlacklistSource.RBI_DEFAULTERS));
+            status.put("internalFraudKeys", file.count(BlacklistSource.INTERNAL_FRAUD));
+            status.put("externalListKeys", file.count(BlacklistSource.EXTERNAL_LIST));
+            status.put("fraudFlagWatermark", file.getWatermark());
+        }
+        return status;
+    }
+
+    /**
+     * Lookup latency on the mapped file: keys known to be listed and random keys (misses)
+     */
+    public Map<String, Object> benchmark(int samples) {
+        IdentifierBlacklistFile file = current.get();
+        Map<String, Object> report = new LinkedHashMap<>();
+        if (file == null) {
+            report.put("message", "Blacklist not built yet");
+            return report;
+        }
+        LatencyHistogram hits = new LatencyHistogram();
+        LatencyHistogram misses = new LatencyHistogram();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int bloomFalsePositives = 0;
+        for (int i = 0; i < samples; i++) {
+            BlacklistSource source = BlacklistSource.values()[random.nextInt(BlacklistSource.values().length)];
+            if (file.count(source) > 0) {
+                long key = file.keyAt(source, random.nextInt(file.count(source)));
+                long start = System.nanoTime();
+                file.lookup(key);
+                hits.recordNanos(System.nanoTime() - start);
+            }
+            long key = random.nextLong();
+            long start = System.nanoTime();
+            boolean maybe = file.mightContain(key);
+            file.lookup(key);
+            misses.recordNanos(System.nanoTime() - start);
+            if (maybe) bloomFalsePositives++;
+        }
+        report.put("samples", samples);
+        report.put("listed", hits.snapshot());
+        report.put("notListed", misses.snapshot());
+        report.put("bloomFalsePositiveRate", samples == 0 ? 0 : (double) bloomFalsePositives / samples);
+        return report;
+    }
+
+    /**
+     * Growable primitive buffer of keys
+     */
+    private static final class KeyBuffer {
+        long[] keys = new long[1024];
+        int size;
+
+        void addIdentifiers(String pan, String aadhaar) {
+            add(IdentifierHash.pan(pan));
+            add(IdentifierHash.aadhaar(aadhaar));
+        }
+
+        void add(String identifierHash) {
+            if (identifierHash == null) return;
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            keys[size++] = key(identifierHash);
+        }
+
+        long[] sorted() {
+            return IdentifierBlacklistFile.sortedDistinct(keys, size);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.tss.springsecurity.screening;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Name normalization, phonetic keys and bounded edit distance shared by the
+ * watchlist index builder and the query side, so both see names the same way.
+ */
+public final class NameMatching {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALNUM = Pattern.compile("[^a-z0-9]+");
+
+    // Titles and honorifics that carry no identity
+    private static final Set<String> IGNORED_TOKENS = Set.of(
+            "mr", "mrs", "ms", "miss", "dr", "shri", "sri", "smt", "kumari", "sir", "late", "hon", "col", "gen");
+
+    // Soundex digit per letter a-z, '0' for vowels and h/w/y
+    private static final String SOUNDEX_CODES = "01230120022455012623010202";
+
+    private NameMatching() {
+    }
+
+    /**
+     * Lower case ASCII letters and digits separated by single spaces; accents are stripped
+     */
+    public static String normalize(String name) {
+        if (name == null) return "";
+        String value = MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALNUM.matcher(value.toLowerCase()).replaceAll(" ").trim();
+    }
+
+    public static List<String> tokens(String name) {
+        List<String> tokens = new ArrayList<>();
+        String normalized = normalize(name);
+        if (normalized.isEmpty()) return tokens;
+        for (String token : normalized.split(" ")) {
+            if (!IGNORED_TOKENS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Untruncated Soundex-style key: vowel-initial tokens share one leading class,
+     * so "Mohammed"/"Muhammad" and "Osama"/"Usama" collide.
+     */
+    public static String phonetic(String token) {
+        StringBuilder key = new StringBuilder(token.length());
+        char first = token.charAt(0);
+        key.append("aeiouy".indexOf(first) >= 0 ? 'a' : first);
+        char previous = code(first);
+        for (int i = 1; i < token.length(); i++) {
+            char c = token.charAt(i);
+            char digit = code(c);
+            if (digit != '0' && digit != previous) {
+                key.append(digit);
+            }
+            // h and w do not separate equal codes, vowels do
+            if (c != 'h' && c != 'w') {
+                previous = digit;
+            }
+        }
+        return key.toString();
+    }
+
+    private static char code(char c) {
+        return c >= 'a' && c <= 'z' ? SOUNDEX_CODES.charAt(c - 'a') : c;
+    }
+
+    /**
+     * Edits tolerated for a token of the given length: none for short tokens,
+     * where one edit already changes the name, two for long ones.
+     */
+    public static int maxEdits(int length) {
+        if (length <= 3) return 0;
+        return length <= 7 ? 1 : 2;
+    }
+
+    /**
+     * Optimal string alignment distance (adjacent transpositions count as one edit),
+     * or {@code max + 1} as soon as the distance is known to exceed {@code max}.
+     */
+    public static int boundedDistance(String a, String b, int max) {
+        return boundedDistance(a, b, max, new int[3 * (b.length() + 1)]);
+    }
+
+    /**
+     * Same as {@link #boundedDistance(String, String, int)} using caller-owned
+     * work space of at least {@code 3 * (b.length() + 1)} ints, for hot loops.
+     */
+    public static int boundedDistance(String a, String b, int max, int[] work) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > max) return max + 1;
+
+        int width = m + 1;
+        int twoBack = 0;
+        int previous = width;
+        int current = 2 * width;
+        for (int j = 0; j <= m; j++) work[previous + j] = j;
+
+        for (int i = 1; i <= n; i++) {
+            work[current] = i;
+            int rowMin = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= m; j++) {
+                char cb = b.charAt(j - 1);
+                int cost = ca == cb ? 0 : 1;
+                int value = Math.min(Math.min(work[previous + j] + 1, work[current + j - 1] + 1),
+                        work[previous + j - 1] + cost);
+                if (i > 1 && j > 1 && ca == b.charAt(j - 2) && a.charAt(i - 2) == cb) {
+                    value = Math.min(value, work[twoBack + j - 2] + 1);
+                }
+                work[current + j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) return max + 1;
+            int recycled = twoBack;
+            twoBack = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(work[previous + m], max + 1);
+    }
+
+    /**
+     * Bit per letter/digit present in the token. One edit flips at most two bits,
+     * so {@code bitCount(a ^ b) > 2 * max} proves the distance exceeds {@code max}.
+     */
+    public static long symbolMask(String token) {
+        long mask = 0;
+        for (int i = 0; i < token.length(); i++) {
+            mask |= 1L << symbol(token.charAt(i));
+        }
+        return mask;
+    }
+
+    /**
+     * Padded character trigrams packed into an int ('$' marks word start/end)
+     */
+    public static int[] trigrams(String token) {
+        int length = token.length();
+        int[] grams = new int[length];
+        for (int i = 0; i < length; i++) {
+            int a = i == 0 ? 0 : symbol(token.charAt(i - 1));
+            int b = symbol(token.charAt(i));
+            int c = i + 1 < length ? symbol(token.charAt(i + 1)) : 0;
+            grams[i] = (a * 37 + b) * 37 + c;
+        }
+        return grams;
+    }
+
+    private static int symbol(char c) {
+        if (c >= 'a' && c <= 'z') return c - 'a' + 1;
+        if (c >= '0' && c <= '9') return c - '0' + 27;
+        return 0;
+    }
+}
@@ -0,0 +1,27 @@
+package com.tss.springsecurity.screening;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One listed party from a sanctions or PEP list file with all of its names
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WatchlistEntry {
+
+    public static final String CATEGORY_SANCTIONS = "SANCTIONS";
+    public static final String CATEGORY_PEP = "PEP";
+
+    private String entryId;
+    private String source;   // OFAC, FATF, UN, PEP, ...
+    private String category; // SANCTIONS or PEP
+    private String name;
+    private List<String> aliases;
+    private String country;
+    private String program;
+}
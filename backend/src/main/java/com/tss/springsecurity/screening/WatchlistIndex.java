@@ -0,0 +1,500 @@
+package com.tss.springsecurity.screening;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
+
+/**
+ * Immutable in-memory index over every name and alias of a set of watchlist
+ * entries. Names are broken into a token dictionary with three ways in:
+ * exact token, phonetic key, and character trigrams keyed by token length for
+ * bounded edit distance. Postings are plain int arrays, so a query only touches
+ * the aliases that share at least one (fuzzy) token with it.
+ *
+ * Instances are never modified after {@link #build}; reloads build a new index
+ * and swap the reference.
+ */
+public final class WatchlistIndex {
+
+    public static final WatchlistIndex EMPTY = build(List.of());
+
+    // A phonetic-only match (spelling beyond the edit bound) counts for this share of its
+    // spelling similarity, and is dropped below the minimum
+    private static final float PHONETIC_WEIGHT = 0.9f;
+    private static final float PHONETIC_MIN_SIMILARITY = 0.6f;
+    private static final int MAX_INDEXED_LENGTH = 63;
+    private static final int[] NO_ALIASES = new int[0];
+
+    private final WatchlistEntry[] entries;
+    private final int[] aliasEntry;
+    private final String[] aliasNames;
+    private final int[][] aliasTokens;
+
+    private final String[] tokens;
+    private final long[] tokenMasks;
+    private final Map<String, Integer> tokenIds;
+    private final int[][] tokenAliases;
+    // Aliases consisting of just that token
+    private final int[][] soloAliases;
+    private final Map<String, int[]> phoneticTokens;
+    // (trigram, token length) -> token ids
+    private final Map<Integer, int[]> trigramTokens;
+
+    private final ConcurrentLinkedQueue<Scratch> scratchPool = new ConcurrentLinkedQueue<>();
+    private final int scratchPoolLimit = Runtime.getRuntime().availableProcessors() * 2;
+
+    private WatchlistIndex(WatchlistEntry[] entries, int[] aliasEntry, String[] aliasNames, int[][] aliasTokens,
+                           String[] tokens, Map<String, Integer> tokenIds, int[][] tokenAliases, int[][] soloAliases,
+                           Map<String, int[]> phoneticTokens, Map<Integer, int[]> trigramTokens) {
+        this.entries = entries;
+        this.aliasEntry = aliasEntry;
+        this.aliasNames = aliasNames;
+        this.aliasTokens = aliasTokens;
+        this.tokens = tokens;
+        this.tokenMasks = new long[tokens.length];
+        for (int t = 0; t < tokens.length; t++) {
+            tokenMasks[t] = NameMatching.symbolMask(tokens[t]);
+        }
+        this.tokenIds = tokenIds;
+        this.tokenAliases = tokenAliases;
+        this.soloAliases = soloAliases;
+        this.phoneticTokens = phoneticTokens;
+        this.trigramTokens = trigramTokens;
+    }
+
+    public static WatchlistIndex build(List<WatchlistEntry> entryList) {
+        WatchlistEntry[] entries = entryList.toArray(new WatchlistEntry[0]);
+        IntList aliasEntry = new IntList();
+        List<String> aliasNames = new ArrayList<>();
+        List<int[]> aliasTokens = new ArrayList<>();
+
+        List<String> tokens = new ArrayList<>();
+        Map<String, Integer> tokenIds = new HashMap<>();
+        List<IntList> tokenAliases = new ArrayList<>();
+
+        for (int e = 0; e < entries.length; e++) {
+            Set<String> names = new LinkedHashSet<>();
+            names.add(entries[e].getName());
+            if (entries[e].getAliases() != null) {
+                names.addAll(entries[e].getAliases());
+            }
+            Set<List<String>> seen = new HashSet<>();
+            for (String name : names) {
+                List<String> nameTokens = NameMatching.tokens(name);
+                if (nameTokens.isEmpty() || !seen.add(nameTokens)) continue;
+
+                int alias = aliasNames.size();
+                int[] ids = new int[nameTokens.size()];
+                for (int i = 0; i < ids.length; i++) {
+                    String token = nameTokens.get(i);
+                    Integer id = tokenIds.get(token);
+                    if (id == null) {
+                        id = tokens.size();
+                        tokens.add(token);
+                        tokenIds.put(token, id);
+                        tokenAliases.add(new IntList());
+                    }
+                    ids[i] = id;
+                    IntList postings = tokenAliases.get(id);
+                    if (postings.size == 0 || postings.values[postings.size - 1] != alias) {
+                        postings.add(alias);
+                    }
+                }
+                aliasEntry.add(e);
+                aliasNames.add(name);
+                aliasTokens.add(ids);
+            }
+        }
+
+        Map<String, IntList> phonetic = new HashMap<>();
+        Map<Integer, IntList> trigrams = new HashMap<>();
+        for (int t = 0; t < tokens.size(); t++) {
+            String token = tokens.get(t);
+            phonetic.computeIfAbsent(NameMatching.phonetic(token), k -> new IntList()).add(t);
+            int length = Math.min(token.length(), MAX_INDEXED_LENGTH);
+            int previousKey = -1;
+            int[] grams = NameMatching.trigrams(token);
+            Arrays.sort(grams);
+            for (int gram : grams) {
+                int key = trigramKey(gram, length);
+                if (key != previousKey) {
+                    trigrams.computeIfAbsent(key, k -> new IntList()).add(t);
+                    previousKey = key;
+                }
+            }
+        }
+
+        int[][] postings = new int[tokenAliases.size()][];
+        int[][] solo = new int[tokenAliases.size()][];
+        Arrays.fill(solo, NO_ALIASES);
+        for (int t = 0; t < postings.length; t++) {
+            postings[t] = tokenAliases.get(t).toArray();
+        }
+        for (int alias = 0; alias < aliasTokens.size(); alias++) {
+            int[] ids = aliasTokens.get(alias);
+            if (ids.length == 1) {
+                solo[ids[0]] = Arrays.copyOf(solo[ids[0]], solo[ids[0]].length + 1);
+                solo[ids[0]][solo[ids[0]].length - 1] = alias;
+            }
+        }
+        return new WatchlistIndex(entries, aliasEntry.toArray(), aliasNames.toArray(new String[0]),
+                aliasTokens.toArray(new int[0][]), tokens.toArray(new String[0]), tokenIds, postings, solo,
+                freeze(phonetic), freeze(trigrams));
+    }
+
+    public int getEntryCount() {
+        return entries.length;
+    }
+
+    public int getAliasCount() {
+        return aliasNames.length;
+    }
+
+    public int getTokenCount() {
+        return tokens.length;
+    }
+
+    public String getAliasName(int alias) {
+        return aliasNames[alias];
+    }
+
+    /**
+     * Best-scoring alias per entry for the given name, highest score first.
+     *
+     * @param minScore lowest score (0-100) to return
+     * @param filter   entries to consider, e.g. by category or source; null for all
+     */
+    public List<WatchlistMatch> search(String name, int minScore, int limit, Predicate<WatchlistEntry> filter) {
+        List<String> query = NameMatching.tokens(name);
+        if (query.isEmpty() || aliasNames.length == 0) {
+            return List.of();
+        }
+
+        Scratch scratch = scratchPool.poll();
+        if (scratch == null) {
+            scratch = new Scratch(tokens.length, aliasNames.length, entries.length);
+        }
+        try {
+            return search(query, minScore, limit, filter, scratch);
+        } finally {
+            if (scratchPool.size() < scratchPoolLimit) {
+                scratchPool.offer(scratch);
+            }
+        }
+    }
+
+    private List<WatchlistMatch> search(List<String> query, int minScore, int limit,
+                                        Predicate<WatchlistEntry> filter, Scratch scratch) {
+        int queryCount = query.size();
+        List<Candidates> candidates = new ArrayList<>(queryCount);
+        for (String token : query) {
+            candidates.add(candidateTokens(token, scratch));
+        }
+
+        // A name of two or more tokens matching a single query token scores at most 50, so
+        // above that the query token with the longest postings only needs its one-token aliases
+        int skipped = -1;
+        if (queryCount >= 2 && minScore > 50) {
+            long largest = -1;
+            for (int q = 0; q < queryCount; q++) {
+                long volume = candidates.get(q).postingVolume(tokenAliases);
+                if (volume > largest) {
+                    largest = volume;
+                    skipped = q;
+                }
+            }
+        }
+
+        int aliasGen = scratch.nextGeneration();
+        scratch.touched.size = 0;
+        for (int q = 0; q < queryCount; q++) {
+            Candidates candidate = candidates.get(q);
+            int[][] postings = q == skipped ? soloAliases : tokenAliases;
+            for (int c = 0; c < candidate.size; c++) {
+                for (int alias : postings[candidate.ids[c]]) {
+                    if (scratch.aliasGen[alias] != aliasGen) {
+                        scratch.aliasGen[alias] = aliasGen;
+                        scratch.touched.add(alias);
+                    }
+                }
+            }
+        }
+
+        int entryGen = scratch.nextGeneration();
+        scratch.touchedEntries.size = 0;
+        for (int i = 0; i < scratch.touched.size; i++) {
+            int alias = scratch.touched.values[i];
+            int[] nameTokens = aliasTokens[alias];
+            if (maxScore(queryCount, nameTokens.length) < minScore) continue;
+            int entry = aliasEntry[alias];
+            if (filter != null && !filter.test(entries[entry])) continue;
+
+            int score = score(nameTokens, candidates);
+            if (score < minScore) continue;
+            if (scratch.entryGen[entry] != entryGen) {
+                scratch.entryGen[entry] = entryGen;
+                scratch.entryScore[entry] = -1;
+                scratch.touchedEntries.add(entry);
+            }
+            if (score > scratch.entryScore[entry]) {
+                scratch.entryScore[entry] = score;
+                scratch.entryAlias[entry] = alias;
+            }
+        }
+
+        // Top entries by score, then list order: (score, entry) packed into a long, kept in
+        // a small sorted array so a name with many weak matches never sorts them all
+        long[] top = new long[Math.min(limit, scratch.touchedEntries.size)];
+        int kept = 0;
+        for (int i = 0; i < scratch.touchedEntries.size; i++) {
+            int entry = scratch.touchedEntries.values[i];
+            long packed = ((long) (100 - scratch.entryScore[entry]) << 32) | entry;
+            if (kept == top.length && (kept == 0 || packed >= top[kept - 1])) continue;
+            int position = kept < top.length ? kept++ : kept - 1;
+            while (position > 0 && top[position - 1] > packed) {
+                top[position] = top[position - 1];
+                position--;
+            }
+            top[position] = packed;
+        }
+        List<WatchlistMatch> matches = new ArrayList<>(kept);
+        for (int i = 0; i < kept; i++) {
+            int entryIndex = (int) top[i];
+            int score = scratch.entryScore[entryIndex];
+            int alias = scratch.entryAlias[entryIndex];
+            WatchlistEntry entry = entries[entryIndex];
+            matches.add(WatchlistMatch.builder()
+                    .entryId(entry.getEntryId())
+                    .source(entry.getSource())
+                    .category(entry.getCategory())
+                    .listedName(entry.getName())
+                    .matchedName(aliasNames[alias])
+                    .country(entry.getCountry())
+                    .program(entry.getProgram())
+                    .matchScore(score)
+                    .matchType(score >= 100 ? "EXACT" : "PARTIAL")
+                    .build());
+        }
+        return matches;
+    }
+
+    /**
+     * Dictionary tokens close to a query token, with a 0-1 similarity: exact,
+     * within the edit bound for the token length, or phonetically equal.
+     */
+    private Candidates candidateTokens(String token, Scratch scratch) {
+        Candidates result = new Candidates();
+        int gen = scratch.nextGeneration();
+        Integer exact = tokenIds.get(token);
+        if (exact != null) {
+            result.add(exact, 1f);
+            scratch.tokenChosen[exact] = gen;
+        }
+
+        int length = token.length();
+        long mask = NameMatching.symbolMask(token);
+        int maxEdits = NameMatching.maxEdits(length);
+        if (maxEdits > 0) {
+            // q-gram lemma: each edit destroys at most three trigrams
+            int required = Math.max(1, length - 3 * maxEdits);
+            scratch.touched.size = 0;
+            for (int gram : NameMatching.trigrams(token)) {
+                for (int candidateLength = length - maxEdits; candidateLength <= length + maxEdits; candidateLength++) {
+                    if (candidateLength < 1 || candidateLength > MAX_INDEXED_LENGTH) continue;
+                    int[] postings = trigramTokens.get(trigramKey(gram, candidateLength));
+                    if (postings == null) continue;
+                    for (int t : postings) {
+                        if (scratch.tokenGen[t] != gen) {
+                            scratch.tokenGen[t] = gen;
+                            scratch.tokenCounts[t] = 0;
+                            scratch.touched.add(t);
+                        }
+                        scratch.tokenCounts[t]++;
+                    }
+                }
+            }
+            for (int i = 0; i < scratch.touched.size; i++) {
+                int t = scratch.touched.values[i];
+                if (scratch.tokenCounts[t] < required || scratch.tokenChosen[t] == gen
+                        || Long.bitCount(mask ^ tokenMasks[t]) > 2 * maxEdits) continue;
+                String candidate = tokens[t];
+                int distance = NameMatching.boundedDistance(token, candidate, maxEdits, scratch.work(candidate));
+                if (distance <= maxEdits) {
+                    result.add(t, 1f - (float) distance / Math.max(length, candidate.length()));
+                    scratch.tokenChosen[t] = gen;
+                }
+            }
+        }
+
+        int[] soundAlike = phoneticTokens.get(NameMatching.phonetic(token));
+        if (soundAlike != null) {
+            for (int t : soundAlike) {
+                String candidate = tokens[t];
+                if (scratch.tokenChosen[t] == gen || Math.abs(candidate.length() - length) > 2) continue;
+                int longer = Math.max(length, candidate.length());
+                int allowed = (int) (longer * (1f - PHONETIC_MIN_SIMILARITY / PHONETIC_WEIGHT));
+                if (Long.bitCount(mask ^ tokenMasks[t]) > 2 * allowed) continue;
+                int distance = NameMatching.boundedDistance(token, candidate, allowed, scratch.work(candidate));
+                if (distance <= allowed) {
+                    float similarity = PHONETIC_WEIGHT * (1f - (float) distance / longer);
+                    result.add(t, similarity);
+                    scratch.tokenChosen[t] = gen;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Greedy one-to-one alignment of query tokens to alias tokens (order-free),
+     * scored mostly on how much of the shorter name is covered.
+     */
+    private static int score(int[] nameTokens, List<Candidates> candidates) {
+        boolean[] used = new boolean[nameTokens.length];
+        float sum = 0;
+        for (Candidates candidate : candidates) {
+            int bestPosition = -1;
+            float best = 0;
+            for (int j = 0; j < nameTokens.length; j++) {
+                if (used[j]) continue;
+                float similarity = candidate.similarity(nameTokens[j]);
+                if (similarity > best) {
+                    best = similarity;
+                    bestPosition = j;
+                }
+            }
+            if (bestPosition >= 0) {
+                used[bestPosition] = true;
+                sum += best;
+            }
+        }
+        int shorter = Math.min(candidates.size(), nameTokens.length);
+        int longer = Math.max(candidates.size(), nameTokens.length);
+        double score = 0.7 * sum / shorter + 0.3 * sum / longer;
+        return (int) Math.min(100, Math.round(score * 100));
+    }
+
+    /**
+     * Score of a perfect token-for-token match between names of these lengths
+     */
+    private static int maxScore(int queryTokens, int nameTokens) {
+        int shorter = Math.min(queryTokens, nameTokens);
+        int longer = Math.max(queryTokens, nameTokens);
+        return (int) Math.round((0.7 + 0.3 * shorter / longer) * 100);
+    }
+
+    private static int trigramKey(int gram, int length) {
+        return gram * 64 + length;
+    }
+
+    private static <K> Map<K, int[]> freeze(Map<K, IntList> lists) {
+        Map<K, int[]> frozen = new HashMap<>(lists.size() * 4 / 3 + 1);
+        lists.forEach((key, list) -> frozen.put(key, list.toArray()));
+        return frozen;
+    }
+
+    /**
+     * Per-query working arrays. Generation stamps avoid clearing them between queries.
+     */
+    private static final class Scratch {
+        final int[] tokenGen;
+        final int[] tokenCounts;
+        final int[] tokenChosen;
+        final int[] aliasGen;
+        final int[] entryGen;
+        final int[] entryScore;
+        final int[] entryAlias;
+        final IntList touchedEntries = new IntList();
+        int[] work = new int[3 * 32];
+        final IntList touched = new IntList();
+        int generation;
+
+        Scratch(int tokenCount, int aliasCount, int entryCount) {
+            tokenGen = new int[tokenCount];
+            tokenCounts = new int[tokenCount];
+            tokenChosen = new int[tokenCount];
+            aliasGen = new int[aliasCount];
+            entryGen = new int[entryCount];
+            entryScore = new int[entryCount];
+            entryAlias = new int[entryCount];
+        }
+
+        /**
+         * Edit distance work space for a candidate token
+         */
+        int[] work(String candidate) {
+            if (work.length < 3 * (candidate.length() + 1)) {
+                work = new int[3 * (candidate.length() + 1)];
+            }
+            return work;
+        }
+
+        int nextGeneration() {
+            if (generation == Integer.MAX_VALUE) {
+                Arrays.fill(tokenGen, 0);
+                Arrays.fill(tokenChosen, 0);
+                Arrays.fill(aliasGen, 0);
+                Arrays.fill(entryGen, 0);
+                generation = 0;
+            }
+            return ++generation;
+        }
+    }
+
+    /**
+     * Dictionary tokens matching one query token, with their similarity.
+     * Usually a handful, so lookups are a linear scan.
+     */
+    private static final class Candidates {
+        int[] ids = new int[8];
+        float[] similarities = new float[8];
+        int size;
+
+        void add(int id, float similarity) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                similarities = Arrays.copyOf(similarities, size * 2);
+            }
+            ids[size] = id;
+            similarities[size++] = similarity;
+        }
+
+        long postingVolume(int[][] postings) {
+            long volume = 0;
+            for (int i = 0; i < size; i++) {
+                volume += postings[ids[i]].length;
+            }
+            return volume;
+        }
+
+        float similarity(int id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) return similarities[i];
+            }
+            return 0;
+        }
+    }
+
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
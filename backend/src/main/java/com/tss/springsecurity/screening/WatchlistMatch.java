@@ -0,0 +1,22 @@
+package com.tss.springsecurity.screening;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WatchlistMatch {
+    private String entryId;
+    private String source;
+    private String category;
+    private String listedName;
+    private String matchedName; // the name or alias that scored best
+    private String country;
+    private String program;
+    private int matchScore;     // 0-100
+    private String matchType;   // EXACT or PARTIAL
+}
@@ -0,0 +1,328 @@
+package com.tss.springsecurity.screening;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tss.springsecurity.config.WatchlistScreeningProperties;
+import com.tss.springsecurity.externalfraud.util.BulkRecordReader;
+import com.tss.springsecurity.util.LatencyHistogram;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Screens names against the sanctions and PEP list files in the configured
+ * folder. The lists live in an immutable {@link WatchlistIndex}; a reload
+ * builds a complete new index off to the side and swaps one reference, so
+ * screening never blocks and never sees a half-loaded list.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WatchlistScreeningService {
+
+    private final WatchlistScreeningProperties properties;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicReference<Snapshot> snapshot =
+            new AtomicReference<>(new Snapshot(WatchlistIndex.EMPTY, "", List.of(), null, 0));
+
+    /**
+     * Loaded index plus the file fingerprint it was built from
+     */
+    private record Snapshot(WatchlistIndex index, String fingerprint, List<String> files,
+                            LocalDateTime loadedAt, long buildMs) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Thread loader = new Thread(() -> reload(false), "watchlist-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Pick up added, replaced or removed list files
+     */
+    @Scheduled(fixedDelayString = "${app.watchlist-screening.refresh-interval-ms:60000}",
+               initialDelayString = "${app.watchlist-screening.refresh-interval-ms:60000}")
+    public void refreshIfChanged() {
+        if (properties.isEnabled() && properties.getRefreshIntervalMs() > 0) {
+            reload(false);
+        }
+    }
+
+    /**
+     * Rebuild the index from the list folder and swap it in. Unless forced,
+     * nothing happens when no file changed since the last load.
+     */
+    public synchronized Map<String, Object> reload(boolean force) {
+        Path directory = Paths.get(properties.getDirectory()).toAbsolutePath().normalize();
+        List<Path> files;
+        try {
+            files = listFiles(directory);
+        } catch (IOException e) {
+            log.error("Cannot read watchlist folder {}: {}", directory, e.getMessage());
+            throw new RuntimeException("Cannot read watchlist folder: " + e.getMessage());
+        }
+
+        String fingerprint = fingerprint(files);
+        if (!force && fingerprint.equals(snapshot.get().fingerprint())) {
+            return getStatus();
+        }
+
+        long started = System.currentTimeMillis();
+        List<WatchlistEntry> entries = new ArrayList<>();
+        for (Path file : files) {
+            try {
+                int loaded = readFile(file, entries);
+                log.info("Loaded {} watchlist entries from {}", loaded, file.getFileName());
+            } catch (IOException | RuntimeException e) {
+                // Keep serving the previous index rather than screening against a partial list
+                log.error("Watchlist reload aborted, {} could not be read: {}", file.getFileName(), e.getMessage());
+                throw new RuntimeException("Watchlist file " + file.getFileName() + " could not be read: " + e.getMessage());
+            }
+        }
+
+        WatchlistIndex index = WatchlistIndex.build(entries);
+        long buildMs = System.currentTimeMillis() - started;
+        snapshot.set(new Snapshot(index, fingerprint,
+                files.stream().map(file -> file.getFileName().toString()).collect(Collectors.toList()),
+                LocalDateTime.now(), buildMs));
+        log.info("Watchlist index swapped in: {} entries, {} names, {} tokens from {} file(s) in {} ms",
+                index.getEntryCount(), index.getAliasCount(), index.getTokenCount(), files.size(), buildMs);
+        return getStatus();
+    }
+
+    // ==================== SCREENING ====================
+
+    /**
+     * Matches at or above the configured threshold, highest score first
+     *
+     * @param category SANCTIONS, PEP or null for both
+     * @param sources  list sources to restrict to (e.g. OFAC); null or empty for all
+     */
+    public List<WatchlistMatch> screen(String name, String category, Collection<String> sources) {
+        if (!properties.isEnabled() || name == null || name.isBlank()) {
+            return List.of();
+        }
+        Predicate<WatchlistEntry> filter = entryFilter(category, sources);
+        return snapshot.get().index().search(name, properties.getMatchThreshold(), properties.getMaxResults(), filter);
+    }
+
+    public List<WatchlistMatch> screenSanctions(String name, Collection<String> sources) {
+        return screen(name, WatchlistEntry.CATEGORY_SANCTIONS, sources);
+    }
+
+    public List<WatchlistMatch> screenPep(String name) {
+        return screen(name, WatchlistEntry.CATEGORY_PEP, null);
+    }
+
+    public boolean isLoaded() {
+        return snapshot.get().loadedAt() != null;
+    }
+
+    public Map<String, Object> getStatus() {
+        Snapshot current = snapshot.get();
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", properties.isEnabled());
+        status.put("directory", properties.getDirectory());
+        status.put("files", current.files());
+        status.put("entries", current.index().getEntryCount());
+        status.put("names", current.index().getAliasCount());
+        status.put("tokens", current.index().getTokenCount());
+        status.put("loadedAt", current.loadedAt());
+        status.put("buildMs", current.buildMs());
+        status.put("matchThreshold", properties.getMatchThreshold());
+        return status;
+    }
+
+    private static Predicate<WatchlistEntry> entryFilter(String category, Collection<String> sources) {
+        boolean anySource = sources == null || sources.isEmpty();
+        if (category == null && anySource) {
+            return null;
+        }
+        return entry -> (category == null || category.equalsIgnoreCase(entry.getCategory()))
+                && (anySource || sources.stream().anyMatch(source -> source.equalsIgnoreCase(entry.getSource())));
+    }
+
+    // ==================== BENCHMARK ====================
+
+    /**
+     * Per-name screening latency against the loaded index: listed names with one
+     * random typo (should hit) and names that are not listed (should miss).
+     */
+    public Map<String, Object> benchmark(int samples) {
+        WatchlistIndex index = snapshot.get().index();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("names", index.getAliasCount());
+        if (index.getAliasCount() == 0) {
+            report.put("message", "No watchlist loaded");
+            return report;
+        }
+
+        LatencyHistogram listed = new LatencyHistogram();
+        LatencyHistogram unlisted = new LatencyHistogram();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int found = 0;
+        for (int i = 0; i < samples; i++) {
+            String name = withTypo(index.getAliasName(random.nextInt(index.getAliasCount())), random);
+            long start = System.nanoTime();
+            List<WatchlistMatch> matches = index.search(name, properties.getMatchThreshold(), properties.getMaxResults(), null);
+            listed.recordNanos(System.nanoTime() - start);
+            if (!matches.isEmpty()) found++;
+
+            String other = randomName(random);
+            start = System.nanoTime();
+            index.search(other, properties.getMatchThreshold(), properties.getMaxResults(), null);
+            unlisted.recordNanos(System.nanoTime() - start);
+        }
+        report.put("samples", samples);
+        report.put("listedWithTypo", listed.snapshot());
+        report.put("listedRecall", samples == 0 ? 0 : (double) found / samples);
+        report.put("unlisted", unlisted.snapshot());
+        return report;
+    }
+
+    private static String withTypo(String name, ThreadLocalRandom random) {
+        String normalized = NameMatching.normalize(name);
+        if (normalized.length() < 8) return normalized;
+        int position = random.nextInt(1, normalized.length() - 1);
+        if (normalized.charAt(position) == ' ' || normalized.charAt(position + 1) == ' ') return normalized;
+        // Swap two adjacent letters
+        return normalized.substring(0, position) + normalized.charAt(position + 1)
+                + normalized.charAt(position) + normalized.substring(position + 2);
+    }
+
+    private static String randomName(ThreadLocalRandom random) {
+        StringBuilder name = new StringBuilder();
+        for (int word = 0; word < 2 + random.nextInt(2); word++) {
+            if (word > 0) name.append(' ');
+            int length = 4 + random.nextInt(6);
+            for (int i = 0; i < length; i++) {
+                name.append((char) ('a' + random.nextInt(26)));
+            }
+        }
+        return name.toString();
+    }
+
+    // ==================== LOADING ====================
+
+    private static List<Path> listFiles(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> stream = Files.list(directory)) {
+            return stream.filter(Files::isRegularFile)
+                    .filter(file -> {
+                        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+                        return name.matches(".*\\.(csv|ndjson|jsonl)(\\.gz)?");
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static String fingerprint(List<Path> files) {
+        StringBuilder fingerprint = new StringBuilder();
+        for (Path file : files) {
+            try {
+                fingerprint.append(file.getFileName()).append(':').append(Files.size(file)).append(':')
+                        .append(Files.getLastModifiedTime(file).toMillis()).append(';');
+            } catch (IOException e) {
+                fingerprint.append(file.getFileName()).append(":?;");
+            }
+        }
+        return fingerprint.toString();
+    }
+
+    /**
+     * Reads one list file. Recognised fields: name (required), aliases
+     * (array, or a string separated by ';' or '|'), source, category, country,
+     * program and id. Source defaults to the file base name, category to PEP
+     * when the source mentions PEP and SANCTIONS otherwise.
+     */
+    private int readFile(Path file, List<WatchlistEntry> entries) throws IOException {
+        String defaultSource = file.getFileName().toString().split("\\.")[0].toUpperCase(Locale.ROOT);
+        int loaded = 0;
+        try (BulkRecordReader reader = new BulkRecordReader(file, BulkRecordReader.detectFormat(file), objectMapper)) {
+            while (true) {
+                Map<String, Object> record;
+                try {
+                    record = reader.next();
+                } catch (IllegalArgumentException e) {
+                    log.warn("Skipping watchlist record in {}: {}", file.getFileName(), e.getMessage());
+                    continue;
+                }
+                if (record == null) break;
+
+                String name = text(record, "name", "fullname", "primaryname");
+                if (name == null) continue;
+                String source = text(record, "source", "list");
+                if (source == null) source = defaultSource;
+                String category = text(record, "category", "type");
+                if (category == null) {
+                    category = source.toUpperCase(Locale.ROOT).contains(WatchlistEntry.CATEGORY_PEP)
+                            ? WatchlistEntry.CATEGORY_PEP : WatchlistEntry.CATEGORY_SANCTIONS;
+                }
+                String id = text(record, "id", "uid", "entryid");
+
+                entries.add(new WatchlistEntry(
+                        id != null ? source + ":" + id : source + ":" + reader.getLineNumber(),
+                        source.toUpperCase(Locale.ROOT),
+                        category.toUpperCase(Locale.ROOT),
+                        name,
+                        aliases(record.get("aliases")),
+                        text(record, "country", "nationality"),
+                        text(record, "program", "programs")));
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    private static String text(Map<String, Object> record, String... keys) {
+        for (String key : keys) {
+            Object value = record.get(key);
+            if (value != null && !value.toString().isBlank()) {
+                return value.toString().trim();
+            }
+        }
+        return null;
+    }
+
+    private static List<String> aliases(Object value) {
+        List<String> aliases = new ArrayList<>();
+        if (value instanceof Collection<?> values) {
+            values.forEach(alias -> {
+                if (alias != null) aliases.add(alias.toString());
+            });
+        } else if (value != null) {
+            for (String alias : value.toString().split("[;|]")) {
+                if (!alias.isBlank()) aliases.add(alias.trim());
+            }
+        }
+        return aliases;
+    }
+}
@@ -0,0 +1,51 @@
+package com.tss.springsecurity.security;
+
+import com.tss.springsecurity.config.AuthThrottlingProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+/**
+ * Client address of a request. X-Forwarded-For is only believed when the peer
+ * is one of the configured trusted proxies, so a client cannot pick the address
+ * it is counted under.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClientIpResolver {
+
+    private final AuthThrottlingProperties properties;
+
+    /**
+     * Client address of the current HTTP request, or null outside a request
+     */
+    public String currentClientIp() {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        return attributes == null ? null : resolve(attributes.getRequest());
+    }
+
+    /**
+     * The peer address, or, when the peer is a trusted proxy, the nearest untrusted hop in X-Forwarded-For
+     */
+    public String resolve(HttpServletRequest request) {
+        String client = request.getRemoteAddr();
+        List<String> trusted = properties.getRateLimit().getTrustedProxies();
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor == null || xForwardedFor.isEmpty() || !trusted.contains(client)) {
+            return client;
+        }
+        // Right to left: each trusted proxy appended the address it received from
+        String[] hops = xForwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (hop.isEmpty()) continue;
+            client = hop;
+            if (!trusted.contains(hop)) break;
+        }
+        return client;
+    }
+}
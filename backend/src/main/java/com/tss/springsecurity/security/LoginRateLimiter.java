@@ -0,0 +1,155 @@
+package com.tss.springsecurity.security;
+
+import com.tss.springsecurity.config.AuthThrottlingProperties;
+import com.tss.springsecurity.exception.TooManyRequestsException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token-bucket rate limiting for login and registration, keyed by client IP
+ * (per endpoint scope) and by username (per role).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoginRateLimiter {
+
+    private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final AuthThrottlingProperties properties;
+    private final ClientIpResolver clientIpResolver;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> limitedByScope = new ConcurrentHashMap<>();
+
+    /**
+     * Limit attempts from the current request's client IP for a scope such as LOGIN or REGISTER
+     */
+    public void checkClientIp(String scope) {
+        String ip = clientIpResolver.currentClientIp();
+        if (ip == null) {
+            return;
+        }
+        acquire("ip:" + scope + ":" + ip, scope, properties.getRateLimit().getIpPerMinute());
+    }
+
+    /**
+     * Limit attempts against one account of the given role
+     */
+    public void checkUsername(String role, String username) {
+        if (username == null || username.isBlank()) {
+            return;
+        }
+        AuthThrottlingProperties.RateLimit config = properties.getRateLimit();
+        int limit = config.getUsernamePerMinuteByRole().getOrDefault(role, config.getUsernamePerMinute());
+        acquire("user:" + role + ":" + username.trim().toLowerCase(Locale.ROOT), role, limit);
+    }
+
+    /**
+     * Limit attempts against an identifier before it is resolved to an account, so existing and
+     * unknown accounts are throttled alike; uses the strictest configured username limit
+     */
+    public void checkIdentifier(String scope, String identifier) {
+        if (identifier == null || identifier.isBlank()) {
+            return;
+        }
+        AuthThrottlingProperties.RateLimit config = properties.getRateLimit();
+        int limit = config.getUsernamePerMinute();
+        for (int roleLimit : config.getUsernamePerMinuteByRole().values()) {
+            if (roleLimit > 0) {
+                limit = limit > 0 ? Math.min(limit, roleLimit) : roleLimit;
+            }
+        }
+        acquire("user:" + scope + ":" + identifier.trim().toLowerCase(Locale.ROOT), scope, limit);
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("trackedKeys", buckets.size());
+        Map<String, Long> limited = new LinkedHashMap<>();
+        limitedByScope.forEach((scope, count) -> limited.put(scope, count.sum()));
+        stats.put("rejectedByScope", limited);
+        return stats;
+    }
+
+    /**
+     * Drop buckets that have refilled completely so the map does not grow with every IP seen
+     */
+    @Scheduled(fixedDelay = 300000)
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+
+    private void acquire(String key, String scope, int perMinute) {
+        if (!properties.getRateLimit().isEnabled() || perMinute <= 0) {
+            return;
+        }
+        TokenBucket bucket = bucket(key, scope, perMinute);
+        if (!bucket.tryAcquire(perMinute, System.nanoTime())) {
+            limitedByScope.computeIfAbsent(scope, s -> new LongAdder()).increment();
+            log.warn("Rate limit exceeded for {}", scope);
+            throw new TooManyRequestsException("Too many attempts. Please wait a minute and try again.", 60);
+        }
+    }
+
+    private TokenBucket bucket(String key, String scope, int perMinute) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        int maxKeys = properties.getRateLimit().getMaxTrackedKeys();
+        if (buckets.size() >= maxKeys) {
+            evictIdleBuckets();
+            if (buckets.size() >= maxKeys) {
+                // Full of live buckets: new clients are limited together rather than not at all
+                return buckets.computeIfAbsent("overflow:" + scope, k -> new TokenBucket(perMinute));
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(perMinute));
+    }
+
+    private static final class TokenBucket {
+        private double tokens;
+        private long lastRefillNanos;
+        private double capacity;
+
+        TokenBucket(int capacity) {
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        synchronized boolean tryAcquire(int perMinute, long now) {
+            capacity = perMinute;
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized boolean isIdle(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            long elapsed = now - lastRefillNanos;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + elapsed * capacity / WINDOW_NANOS);
+                lastRefillNanos = now;
+            }
+        }
+    }
+}
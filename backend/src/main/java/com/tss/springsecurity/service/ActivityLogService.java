@@ -5,6 +5,7 @@ import com.tss.springsecurity.repository.ActivityLogRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -12,6 +13,7 @@ import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,6 +23,7 @@ import java.util.Map;
 public class ActivityLogService {
     
     private final ActivityLogRepository activityLogRepository;
+    private final DataArchiveService dataArchiveService;
     
     /**
      * Log an activity
@@ -136,6 +139,29 @@ public class ActivityLogService {
         return activityLogRepository.findByDateRange(startDate, endDate, pageable);
     }
     
+    /**
+     * Get activities by date range, optionally including months already moved to the archive.
+     * Archived months are always older than the hot table, so they are appended after the hot rows.
+     */
+    @Transactional(readOnly = true)
+    public Page<ActivityLog> getActivitiesByDateRange(LocalDateTime startDate, LocalDateTime endDate,
+                                                      boolean includeArchived, Pageable pageable) {
+        if (!includeArchived || !startDate.isBefore(dataArchiveService.getHotCutoff(DataArchiveService.ACTIVITY_LOG))) {
+            return getActivitiesByDateRange(startDate, endDate, pageable);
+        }
+        
+        Page<ActivityLog> hot = activityLogRepository.findByDateRange(startDate, endDate, pageable);
+        
+        List<ActivityLog> content = new ArrayList<>(hot.getContent());
+        if (content.size() < pageable.getPageSize()) {
+            long archiveOffset = Math.max(0, pageable.getOffset() - hot.getTotalElements());
+            content.addAll(dataArchiveService.readArchivedActivities(startDate, endDate,
+                    archiveOffset, pageable.getPageSize() - content.size()));
+        }
+        long archivedTotal = dataArchiveService.countArchivedActivities(startDate, endDate);
+        return new PageImpl<>(content, pageable, hot.getTotalElements() + archivedTotal);
+    }
+    
     /**
      * Search activities
      */
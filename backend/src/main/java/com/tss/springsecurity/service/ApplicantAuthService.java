@@ -1,8 +1,8 @@
 package com.tss.springsecurity.service;
 
 import com.tss.springsecurity.dto.*;
-
-import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 public interface ApplicantAuthService {
     
@@ -17,7 +17,7 @@ public interface ApplicantAuthService {
     ApplicantAuthResponse login(ApplicantLoginRequest request);
     
     // Admin operations
-    List<ApprovalResponse> getPendingApprovals();
+    Page<ApprovalResponse> getPendingApprovals(Pageable pageable);
     
     ApprovalResponse approveApplicant(Long applicantId);
     
@@ -5,14 +5,16 @@ import com.tss.springsecurity.entity.Applicant;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
-import java.util.List;
+import java.util.Map;
 
 public interface ApplicantService {
     Page<Applicant> getAllApplicants(Pageable pageable);
     Page<ApplicantSummaryDTO> getAllApplicantsSummary(Pageable pageable);
     Applicant getApplicantById(Long id);
+    ApplicantSummaryDTO getApplicantSummary(Long id);
     void approveApplicant(Long id, String comments);
     void rejectApplicant(Long id, String comments);
-    List<Applicant> searchApplicants(String query);
-    List<Applicant> filterApplicantsByStatus(String status);
+    Page<ApplicantSummaryDTO> searchApplicants(String query, Pageable pageable);
+    Page<ApplicantSummaryDTO> filterApplicantsByStatus(String status, Pageable pageable);
+    Map<String, Object> readModelBenchmark(int pageSize, int pages);
 }
@@ -266,14 +266,19 @@ import com.tss.springsecurity.repository.PasswordResetTokenRepository;
 import com.tss.springsecurity.entity.PasswordResetToken;
 import com.tss.springsecurity.service.EmailService;
 import com.tss.springsecurity.service.CaptchaService;
+import com.tss.springsecurity.service.CredentialIndexService.ResolvedPrincipal;
+import com.tss.springsecurity.security.LoginRateLimiter;
 import com.tss.springsecurity.util.JwtUtil;
+import com.tss.springsecurity.util.LatencyHistogram;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.time.LocalDateTime;
 
@@ -291,86 +296,156 @@ public class CommonAuthService {
     private final JwtUtil jwtUtil;
     private final EmailService emailService;
     private final CaptchaService captchaService;
+    private final CredentialIndexService credentialIndexService;
+    private final LoginRateLimiter loginRateLimiter;
+    
+    private final LatencyHistogram loginLatency = new LatencyHistogram();
+    private final LatencyHistogram successfulLoginLatency = new LatencyHistogram();
+    private final LatencyHistogram failedLoginLatency = new LatencyHistogram();
 
     public CommonAuthResponse login(CommonLoginRequest request) {
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            CommonAuthResponse response = authenticate(request);
+            success = true;
+            return response;
+        } finally {
+            long elapsed = System.nanoTime() - startNanos;
+            loginLatency.recordNanos(elapsed);
+            (success ? successfulLoginLatency : failedLoginLatency).recordNanos(elapsed);
+        }
+    }
+    
+    /**
+     * Login latency percentiles (all / successful / failed attempts)
+     */
+    public Map<String, Object> getLoginMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("all", loginLatency.snapshot());
+        metrics.put("successful", successfulLoginLatency.snapshot());
+        metrics.put("failed", failedLoginLatency.snapshot());
+        return metrics;
+    }
+
+    private CommonAuthResponse authenticate(CommonLoginRequest request) {
         String usernameOrEmail = request.getUsername();
         String password = request.getPassword();
         
-        // Verify CAPTCHA first
+        loginRateLimiter.checkClientIp("LOGIN");
+        // Throttled before resolving, so a 429 says nothing about whether the account exists
+        loginRateLimiter.checkIdentifier("LOGIN", usernameOrEmail);
+        
+        // Verify CAPTCHA first (it is the brute-force guard, so it stays ahead of BCrypt)
         if (!captchaService.verifyCaptcha(request.getCaptchaToken())) {
             throw new RuntimeException("CAPTCHA verification failed. Please try again.");
         }
 
-        // Try Admin login first
-        Optional<Admin> admin = adminRepository.findByUsernameOrEmail(usernameOrEmail, usernameOrEmail);
-        if (admin.isPresent() && passwordEncoder.matches(password, admin.get().getPassword())) {
-            String token = jwtUtil.generateToken(admin.get().getUsername(), "ADMIN");
-            return new CommonAuthResponse(
-                admin.get().getAdminId(),
-                null,
-                admin.get().getUsername(),
-                admin.get().getEmail(),
-                "ADMIN",
-                token
-            );
+        // One indexed lookup; normally a single candidate and a single BCrypt check, and no other query on a miss
+        List<ResolvedPrincipal> indexed = credentialIndexService.resolve(usernameOrEmail);
+        ResolvedPrincipal principal = firstMatching(indexed, password);
+        if (principal == null && indexed.isEmpty() && !credentialIndexService.isBackfillComplete()) {
+            // Until the startup backfill has walked every table, the owner may not be indexed yet
+            principal = firstMatching(credentialIndexService.discover(usernameOrEmail, indexed), password);
+        }
+        if (principal != null) {
+            rehashIfNeeded(principal, password);
+            return buildLoginResponse(principal);
         }
 
-        // Try Applicant login
-        Optional<Applicant> applicant = applicantRepository.findByEmail(usernameOrEmail);
-        if (applicant.isPresent() && passwordEncoder.matches(password, applicant.get().getPassword())) {
-            Applicant app = applicant.get();
-            
-            // Check if applicant is approved and email verified
-            if (!app.getIsEmailVerified()) {
-                throw new RuntimeException("Please verify your email before logging in");
+        // If no user found or password doesn't match
+        throw new RuntimeException("Invalid username/email or password");
+    }
+    
+    private ResolvedPrincipal firstMatching(List<ResolvedPrincipal> candidates, String password) {
+        for (ResolvedPrincipal principal : candidates) {
+            if (passwordEncoder.matches(password, principal.passwordHash())) {
+                return principal;
+            }
+        }
+        return null;
+    }
+    
+    private CommonAuthResponse buildLoginResponse(ResolvedPrincipal principal) {
+        switch (principal.role()) {
+            case CredentialIndexService.ADMIN: {
+                Admin admin = (Admin) principal.entity();
+                String token = jwtUtil.generateToken(admin.getUsername(), "ADMIN");
+                return new CommonAuthResponse(
+                    admin.getAdminId(),
+                    null,
+                    admin.getUsername(),
+                    admin.getEmail(),
+                    "ADMIN",
+                    token
+                );
             }
-            if (!app.getIsApproved()) {
-                throw new RuntimeException("Your account is pending admin approval");
+            case CredentialIndexService.APPLICANT: {
+                Applicant app = (Applicant) principal.entity();
+                
+                // Check if applicant is approved and email verified
+                if (!app.getIsEmailVerified()) {
+                    throw new RuntimeException("Please verify your email before logging in");
+                }
+                if (!app.getIsApproved()) {
+                    throw new RuntimeException("Your account is pending admin approval");
+                }
+                
+                String token = jwtUtil.generateToken(app.getEmail(), "APPLICANT");
+                return new CommonAuthResponse(
+                    app.getApplicantId(),
+                    app.getApplicantId(),
+                    null, // Applicants don't have username
+                    app.getFirstName(),
+                    app.getLastName(),
+                    app.getEmail(),
+                    "APPLICANT",
+                    token
+                );
             }
-            
-            String token = jwtUtil.generateToken(app.getEmail(), "APPLICANT");
-            return new CommonAuthResponse(
-                app.getApplicantId(),
-                app.getApplicantId(),
-                null, // Applicants don't have username
-                app.getFirstName(),
-                app.getLastName(),
-                app.getEmail(),
-                "APPLICANT",
-                token
-            );
+            case CredentialIndexService.LOAN_OFFICER: {
+                LoanOfficer loanOfficer = (LoanOfficer) principal.entity();
+                String token = jwtUtil.generateToken(loanOfficer.getUsername(), "LOAN_OFFICER");
+                return new CommonAuthResponse(
+                    loanOfficer.getOfficerId(), // userId
+                    loanOfficer.getOfficerId(), // officerId
+                    loanOfficer.getUsername(),
+                    loanOfficer.getEmail(),
+                    "LOAN_OFFICER",
+                    token
+                );
+            }
+            case CredentialIndexService.COMPLIANCE_OFFICER: {
+                ComplianceOfficer complianceOfficer = (ComplianceOfficer) principal.entity();
+                String token = jwtUtil.generateToken(complianceOfficer.getUsername(), "COMPLIANCE_OFFICER");
+                return new CommonAuthResponse(
+                    complianceOfficer.getOfficerId(), // userId
+                    complianceOfficer.getOfficerId(), // officerId
+                    complianceOfficer.getUsername(),
+                    complianceOfficer.getEmail(),
+                    "COMPLIANCE_OFFICER",
+                    token
+                );
+            }
+            default:
+                throw new RuntimeException("Invalid user type");
         }
-
-        // Try Loan Officer login
-        Optional<LoanOfficer> loanOfficer = loanOfficerRepository.findByUsernameOrEmail(usernameOrEmail, usernameOrEmail);
-        if (loanOfficer.isPresent() && passwordEncoder.matches(password, loanOfficer.get().getPassword())) {
-            String token = jwtUtil.generateToken(loanOfficer.get().getUsername(), "LOAN_OFFICER");
-            return new CommonAuthResponse(
-                loanOfficer.get().getOfficerId(), // userId
-                loanOfficer.get().getOfficerId(), // officerId
-                loanOfficer.get().getUsername(),
-                loanOfficer.get().getEmail(),
-                "LOAN_OFFICER",
-                token
-            );
+    }
+    
+    /**
+     * Transparently re-encode hashes created with a lower BCrypt cost than configured
+     */
+    private void rehashIfNeeded(ResolvedPrincipal principal, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(principal.passwordHash())) {
+            return;
         }
-
-        // Try Compliance Officer login
-        Optional<ComplianceOfficer> complianceOfficer = complianceOfficerRepository.findByUsernameOrEmail(usernameOrEmail, usernameOrEmail);
-        if (complianceOfficer.isPresent() && passwordEncoder.matches(password, complianceOfficer.get().getPassword())) {
-            String token = jwtUtil.generateToken(complianceOfficer.get().getUsername(), "COMPLIANCE_OFFICER");
-            return new CommonAuthResponse(
-                complianceOfficer.get().getOfficerId(), // userId
-                complianceOfficer.get().getOfficerId(), // officerId
-                complianceOfficer.get().getUsername(),
-                complianceOfficer.get().getEmail(),
-                "COMPLIANCE_OFFICER",
-                token
-            );
+        try {
+            credentialIndexService.updatePasswordHash(principal, passwordEncoder.encode(rawPassword));
+            log.info("Upgraded password hash for {} {}", principal.role(), principal.entityId());
+        } catch (Exception e) {
+            // Login must not fail because of the upgrade
+            log.warn("Failed to upgrade password hash for {} {}: {}", principal.role(), principal.entityId(), e.getMessage());
         }
-
-        // If no user found or password doesn't match
-        throw new RuntimeException("Invalid username/email or password");
     }
     
     public String forgotPassword(ForgotPasswordRequest request) {
@@ -122,6 +122,11 @@ public interface ComplianceOfficerService {
      */
     Map<String, Object> getExternalFraudData(Long applicantId);
     
+    /**
+     * Get external fraud data for an applicant, optionally without the per-record lists
+     */
+    Map<String, Object> getExternalFraudData(Long applicantId, boolean includeDetails);
+    
     /**
      * Get external fraud data by loan ID
      */
@@ -189,6 +194,12 @@ public interface ComplianceOfficerService {
      */
     Map<String, Object> getExternalPersonDetails(Long personId);
     
+    /**
+     * Get external person details; summaries come from the stored risk profile and
+     * the per-record lists are only loaded when includeDetails is true
+     */
+    Map<String, Object> getExternalPersonDetails(Long personId, boolean includeDetails);
+    
     /**
      * Get document resubmission requests by status
      */
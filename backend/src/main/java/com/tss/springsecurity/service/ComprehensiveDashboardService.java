@@ -47,21 +47,12 @@ public class ComprehensiveDashboardService {
         dashboard.setEndDate(endDate);
         dashboard.setFilterType(filterType);
         
-        // Get all assignments for the officer within date range
+        // Assignments (of the officer, if given) assigned within the date range, both days inclusive
+        LocalDateTime from = startDate.atStartOfDay();
+        LocalDateTime to = endDate.plusDays(1).atStartOfDay();
         List<OfficerApplicationAssignment> assignments = officerId != null 
-            ? assignmentRepository.findByOfficer_OfficerId(officerId)
-            : assignmentRepository.findAll();
-        
-        // Filter by date range
-        LocalDate finalStartDate = startDate;
-        LocalDate finalEndDate = endDate;
-        assignments = assignments.stream()
-            .filter(a -> a.getAssignedAt() != null)
-            .filter(a -> {
-                LocalDate assignedDate = a.getAssignedAt().toLocalDate();
-                return !assignedDate.isBefore(finalStartDate) && !assignedDate.isAfter(finalEndDate);
-            })
-            .collect(Collectors.toList());
+            ? assignmentRepository.findByOfficer_OfficerIdAndAssignedAtGreaterThanEqualAndAssignedAtLessThan(officerId, from, to)
+            : assignmentRepository.findByAssignedAtGreaterThanEqualAndAssignedAtLessThan(from, to);
         
         // Calculate all metrics
         calculateApplicationVolume(dashboard, assignments);
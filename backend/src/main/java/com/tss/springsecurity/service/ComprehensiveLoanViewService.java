@@ -1,14 +1,21 @@
 package com.tss.springsecurity.service;
 
+import com.tss.springsecurity.datasource.QueryCounter;
+import com.tss.springsecurity.datasource.WorkloadContext;
 import com.tss.springsecurity.dto.ComprehensiveLoanViewDTO;
 import com.tss.springsecurity.entity.*;
 import com.tss.springsecurity.repository.*;
+import com.tss.springsecurity.util.LatencyHistogram;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -17,26 +24,39 @@ import java.util.stream.Collectors;
 public class ComprehensiveLoanViewService {
     
     private final ApplicantLoanDetailsRepository loanRepository;
-    private final ApplicantRepository applicantRepository;
     private final UploadedDocumentRepository documentRepository;
     private final ApplicantDependentRepository dependentRepository;
     private final LoanCollateralRepository collateralRepository;
-    private final ApplicantEmploymentRepository employmentRepository;
-    private final ApplicantFinancialsRepository financialsRepository;
-    private final ApplicantPropertyDetailsRepository propertyRepository;
-    private final ApplicantCreditHistoryRepository creditHistoryRepository;
     private final OfficerApplicationAssignmentRepository assignmentRepository;
-    private final ApplicantBasicDetailsRepository basicDetailsRepository;
+    private final LoanViewCache loanViewCache;
+    private final PlatformTransactionManager transactionManager;
     
-    @Transactional(readOnly = true)
+    /**
+     * Comprehensive view of one loan, served from the short-lived view cache when possible
+     */
     public ComprehensiveLoanViewDTO getComprehensiveLoanView(Long loanId) {
+        return loanViewCache.get(loanId, this::loadInReadOnlyTransaction);
+    }
+    
+    private ComprehensiveLoanViewDTO loadInReadOnlyTransaction(Long loanId) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(status -> loadComprehensiveLoanView(loanId));
+    }
+    
+    /**
+     * Builds the view with five statements: the loan with its applicant and the applicant's
+     * one-to-one details fetch-joined, then documents (view columns only), assignments with
+     * their officer, dependents and collaterals. The collections are separate statements so
+     * they do not multiply each other's rows.
+     */
+    private ComprehensiveLoanViewDTO loadComprehensiveLoanView(Long loanId) {
         log.info("Fetching comprehensive loan view for loanId: {}", loanId);
         
-        // Fetch main loan details
-        ApplicantLoanDetails loan = loanRepository.findById(loanId)
+        // Loan, applicant and the one-to-one details in one statement
+        ApplicantLoanDetails loan = loanRepository.findForComprehensiveView(loanId)
                 .orElseThrow(() -> new RuntimeException("Loan not found with ID: " + loanId));
         
-        // Fetch applicant
         Applicant applicant = loan.getApplicant();
         
         // Create DTO
@@ -66,56 +86,52 @@ public class ComprehensiveLoanViewService {
         dto.setZipCode(null); // Would come from basic details if needed
         
         // Map basic details (PAN, Aadhaar, marital status)
-        basicDetailsRepository.findByApplicant_ApplicantId(applicant.getApplicantId())
-                .ifPresent(basic -> {
-                    dto.setPanNumber(basic.getPanNumber());
-                    dto.setAadhaarNumber(basic.getAadhaarNumber());
-                    dto.setMaritalStatus(basic.getMaritalStatus());
-                });
+        ApplicantBasicDetails basic = applicant.getBasicDetails();
+        if (basic != null) {
+            dto.setPanNumber(basic.getPanNumber());
+            dto.setAadhaarNumber(basic.getAadhaarNumber());
+            dto.setMaritalStatus(basic.getMaritalStatus());
+        }
         
         // Map employment information
-        employmentRepository.findByApplicant_ApplicantId(applicant.getApplicantId())
-                .ifPresent(emp -> {
-                    dto.setEmployerName(emp.getEmployerName());
-                    dto.setDesignation(emp.getDesignation());
-                    dto.setEmploymentType(emp.getEmploymentType());
-                    dto.setMonthlyIncome(emp.getMonthlyIncome() != null ? emp.getMonthlyIncome().doubleValue() : null);
-                    dto.setEmploymentStartDate(emp.getStartDate());
-                    dto.setEducation(null); // Education field not in ApplicantEmployment
-                });
+        ApplicantEmployment emp = applicant.getEmployment();
+        if (emp != null) {
+            dto.setEmployerName(emp.getEmployerName());
+            dto.setDesignation(emp.getDesignation());
+            dto.setEmploymentType(emp.getEmploymentType());
+            dto.setMonthlyIncome(emp.getMonthlyIncome() != null ? emp.getMonthlyIncome().doubleValue() : null);
+            dto.setEmploymentStartDate(emp.getStartDate());
+            dto.setEducation(null); // Education field not in ApplicantEmployment
+        }
         
         // Map financial information
-        financialsRepository.findByApplicant_ApplicantId(applicant.getApplicantId())
-                .ifPresent(fin -> {
-                    dto.setBankName(fin.getBankName());
-                    dto.setAccountNumber(fin.getAccountNumber());
-                    dto.setIfscCode(fin.getIfscCode());
-                    dto.setExistingDebt(fin.getExistingLoanEmi() != null ? fin.getExistingLoanEmi().doubleValue() : null);
-                    dto.setTotalAssets(fin.getMonthlyIncome() != null ? fin.getMonthlyIncome().doubleValue() : null);
-                    dto.setTotalLiabilities(fin.getExistingLoanEmi() != null && fin.getCreditCardOutstanding() != null ? 
-                        fin.getExistingLoanEmi().add(fin.getCreditCardOutstanding()).doubleValue() : null);
-                });
+        ApplicantFinancials fin = applicant.getFinancials();
+        if (fin != null) {
+            dto.setBankName(fin.getBankName());
+            dto.setAccountNumber(fin.getAccountNumber());
+            dto.setIfscCode(fin.getIfscCode());
+            dto.setExistingDebt(fin.getExistingLoanEmi() != null ? fin.getExistingLoanEmi().doubleValue() : null);
+            dto.setTotalAssets(fin.getMonthlyIncome() != null ? fin.getMonthlyIncome().doubleValue() : null);
+            dto.setTotalLiabilities(fin.getExistingLoanEmi() != null && fin.getCreditCardOutstanding() != null ? 
+                fin.getExistingLoanEmi().add(fin.getCreditCardOutstanding()).doubleValue() : null);
+        }
         
         // Map credit history
-        creditHistoryRepository.findByApplicant_ApplicantId(applicant.getApplicantId())
-                .ifPresent(credit -> {
-                    dto.setCreditScore(credit.getCreditScore());
-                });
+        if (applicant.getCreditHistory() != null) {
+            dto.setCreditScore(applicant.getCreditHistory().getCreditScore());
+        }
         
         // Map property details (for home loans)
-        propertyRepository.findByApplicant_ApplicantId(applicant.getApplicantId())
-                .ifPresent(prop -> {
-                    dto.setPropertyAddress(null); // Use applicant's address instead
-                    dto.setPropertyValue(prop.getPropertyValue() != null ? prop.getPropertyValue().doubleValue() : null);
-                    dto.setPropertyType(prop.getPropertyType());
-                });
-        
-        // Map residence information from basic details
-        basicDetailsRepository.findByApplicant_ApplicantId(applicant.getApplicantId())
-                .ifPresent(basic -> {
-                    dto.setResidenceType(null); // Field not in basic details
-                    dto.setYearsAtCurrentAddress(null); // Field not in basic details
-                });
+        ApplicantPropertyDetails prop = applicant.getPropertyDetails();
+        if (prop != null) {
+            dto.setPropertyAddress(null); // Use applicant's address instead
+            dto.setPropertyValue(prop.getPropertyValue() != null ? prop.getPropertyValue().doubleValue() : null);
+            dto.setPropertyType(prop.getPropertyType());
+        }
+        
+        // Residence information is not in basic details
+        dto.setResidenceType(null);
+        dto.setYearsAtCurrentAddress(null);
         
         // Calculate financial ratios
         if (dto.getMonthlyIncome() != null && dto.getMonthlyIncome() > 0) {
@@ -134,9 +150,9 @@ public class ComprehensiveLoanViewService {
         dto.setCanApproveReject(loan.getRiskScore() != null && loan.getRiskScore() < 70);
         
         // Map assignment information
-        List<OfficerApplicationAssignment> assignments = assignmentRepository.findByLoan_LoanId(loanId);
+        List<OfficerApplicationAssignment> assignments = assignmentRepository.findByLoanIdWithOfficer(loanId);
         if (!assignments.isEmpty()) {
-            OfficerApplicationAssignment assignment = assignments.get(0); // Get the first (most recent) assignment
+            OfficerApplicationAssignment assignment = assignments.get(0); // Most recent assignment
             dto.setAssignmentId(assignment.getAssignmentId());
             if (assignment.getOfficer() != null) {
                 dto.setAssignedOfficerName(assignment.getOfficer().getFirstName() + " " + assignment.getOfficer().getLastName());
@@ -147,18 +163,19 @@ public class ComprehensiveLoanViewService {
         }
         
         // Map verification status from documents
-        List<UploadedDocument> documents = documentRepository.findByApplicant_ApplicantId(applicant.getApplicantId());
-        dto.setKycVerified(documents.stream().anyMatch(doc -> "KYC".equalsIgnoreCase(doc.getDocumentType()) && "VERIFIED".equals(doc.getVerificationStatus())));
-        dto.setBankVerified(documents.stream().anyMatch(doc -> "BANK_STATEMENT".equalsIgnoreCase(doc.getDocumentType()) && "VERIFIED".equals(doc.getVerificationStatus())));
-        dto.setEmploymentVerified(documents.stream().anyMatch(doc -> "EMPLOYMENT_PROOF".equalsIgnoreCase(doc.getDocumentType()) && "VERIFIED".equals(doc.getVerificationStatus())));
-        dto.setIncomeVerified(documents.stream().anyMatch(doc -> "SALARY_SLIP".equalsIgnoreCase(doc.getDocumentType()) && "VERIFIED".equals(doc.getVerificationStatus())));
-        dto.setAddressVerified(documents.stream().anyMatch(doc -> "ADDRESS_PROOF".equalsIgnoreCase(doc.getDocumentType()) && "VERIFIED".equals(doc.getVerificationStatus())));
-        dto.setPropertyVerified(documents.stream().anyMatch(doc -> "PROPERTY_DOCUMENTS".equalsIgnoreCase(doc.getDocumentType()) && "VERIFIED".equals(doc.getVerificationStatus())));
+        List<ComprehensiveLoanViewDTO.DocumentDTO> documents = documentRepository
+                .findViewRowsByApplicantId(applicant.getApplicantId()).stream()
+                .map(this::mapToDocumentDTO)
+                .collect(Collectors.toList());
+        dto.setKycVerified(isVerified(documents, "KYC"));
+        dto.setBankVerified(isVerified(documents, "BANK_STATEMENT"));
+        dto.setEmploymentVerified(isVerified(documents, "EMPLOYMENT_PROOF"));
+        dto.setIncomeVerified(isVerified(documents, "SALARY_SLIP"));
+        dto.setAddressVerified(isVerified(documents, "ADDRESS_PROOF"));
+        dto.setPropertyVerified(isVerified(documents, "PROPERTY_DOCUMENTS"));
         
         // Map documents
-        dto.setDocuments(documents.stream()
-                .map(this::mapToDocumentDTO)
-                .collect(Collectors.toList()));
+        dto.setDocuments(documents);
         
         // Map dependents - note: there is no reference table in the current schema
         List<ApplicantDependent> dependents = dependentRepository.findByApplicant_ApplicantId(applicant.getApplicantId());
@@ -176,17 +193,55 @@ public class ComprehensiveLoanViewService {
         return dto;
     }
     
-    private ComprehensiveLoanViewDTO.DocumentDTO mapToDocumentDTO(UploadedDocument doc) {
+    /**
+     * Uncached view loads and cached hits for one loan: statements per uncached view and latency of both paths
+     */
+    public Map<String, Object> benchmark(Long loanId, int iterations) {
+        LatencyHistogram uncached = new LatencyHistogram();
+        LatencyHistogram cached = new LatencyHistogram();
+        long statements = 0;
+        for (int i = 0; i < iterations; i++) {
+            long begin = System.nanoTime();
+            try (WorkloadContext.Scope counting = QueryCounter.start()) {
+                loadInReadOnlyTransaction(loanId);
+                statements += QueryCounter.current();
+            }
+            uncached.recordNanos(System.nanoTime() - begin);
+        }
+        getComprehensiveLoanView(loanId);
+        for (int i = 0; i < iterations; i++) {
+            long begin = System.nanoTime();
+            getComprehensiveLoanView(loanId);
+            cached.recordNanos(System.nanoTime() - begin);
+        }
+        
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("loanId", loanId);
+        report.put("iterations", iterations);
+        report.put("statementsPerUncachedView", iterations > 0 ? statements / (double) iterations : 0);
+        report.put("uncached", uncached.snapshot());
+        report.put("cached", cached.snapshot());
+        report.put("cache", loanViewCache.getStats());
+        return report;
+    }
+    
+    private static boolean isVerified(List<ComprehensiveLoanViewDTO.DocumentDTO> documents, String documentType) {
+        return documents.stream().anyMatch(doc -> documentType.equalsIgnoreCase(doc.getDocumentType())
+                && "VERIFIED".equals(doc.getVerificationStatus()));
+    }
+    
+    // Row from UploadedDocumentRepository.findViewRowsByApplicantId
+    private ComprehensiveLoanViewDTO.DocumentDTO mapToDocumentDTO(Object[] row) {
         ComprehensiveLoanViewDTO.DocumentDTO dto = new ComprehensiveLoanViewDTO.DocumentDTO();
-        dto.setDocumentId(doc.getDocumentId());
-        dto.setDocumentType(doc.getDocumentType());
-        dto.setDocumentName(doc.getDocumentName());
-        dto.setDocumentUrl(doc.getCloudinaryUrl());
-        dto.setVerificationStatus(doc.getVerificationStatus() != null ? doc.getVerificationStatus().name() : null);
-        dto.setVerifiedBy(doc.getVerifiedBy());
-        dto.setVerifiedAt(doc.getVerifiedAt());
-        dto.setRemarks(doc.getVerificationNotes());
-        dto.setUploadedAt(doc.getUploadedAt());
+        dto.setDocumentId((Long) row[0]);
+        dto.setDocumentType((String) row[1]);
+        dto.setDocumentName((String) row[2]);
+        dto.setDocumentUrl((String) row[3]);
+        dto.setVerificationStatus(row[4] != null ? ((UploadedDocument.VerificationStatus) row[4]).name() : null);
+        dto.setVerifiedBy((String) row[5]);
+        dto.setVerifiedAt((LocalDateTime) row[6]);
+        dto.setRemarks((String) row[7]);
+        dto.setUploadedAt((LocalDateTime) row[8]);
         return dto;
     }
     
@@ -0,0 +1,339 @@
+package com.tss.springsecurity.service;
+
+import com.tss.springsecurity.entity.Admin;
+import com.tss.springsecurity.entity.Applicant;
+import com.tss.springsecurity.entity.ComplianceOfficer;
+import com.tss.springsecurity.entity.CredentialIndexEntry;
+import com.tss.springsecurity.entity.LoanOfficer;
+import com.tss.springsecurity.event.PrincipalChangedEvent;
+import com.tss.springsecurity.repository.AdminRepository;
+import com.tss.springsecurity.repository.ApplicantRepository;
+import com.tss.springsecurity.repository.ComplianceOfficerRepository;
+import com.tss.springsecurity.repository.CredentialIndexRepository;
+import com.tss.springsecurity.repository.LoanOfficerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Resolves a login identifier to the principal(s) that own it through the
+ * credential_index table.
+ *
+ * Entries are written when a principal is created or its username/email changes
+ * (see {@link com.tss.springsecurity.event.PrincipalListener}). Rows that never
+ * went through JPA (created before the index existed, or with plain SQL) are
+ * registered by {@link #indexPrincipals()}, which runs at startup and resumes
+ * after the highest id it has seen per table. Until that first run completes,
+ * login falls back to {@link #discover} for identifiers the index does not know.
+ * Entries whose row was deleted or whose username/email changed are dropped on read.
+ */
+@Service
+@Slf4j
+public class CredentialIndexService {
+
+    public static final String ADMIN = "ADMIN";
+    public static final String APPLICANT = "APPLICANT";
+    public static final String LOAN_OFFICER = "LOAN_OFFICER";
+    public static final String COMPLIANCE_OFFICER = "COMPLIANCE_OFFICER";
+
+    // Same precedence the per-table login used
+    private static final List<String> ROLE_ORDER = List.of(ADMIN, APPLICANT, LOAN_OFFICER, COMPLIANCE_OFFICER);
+
+    // Principal tables walked by the backfill; applicants log in by email only
+    private static final List<PrincipalTable> TABLES = List.of(
+            new PrincipalTable(ADMIN, "admin", "admin_id", "username"),
+            new PrincipalTable(APPLICANT, "applicant", "applicant_id", null),
+            new PrincipalTable(LOAN_OFFICER, "loan_officer", "officer_id", "username"),
+            new PrincipalTable(COMPLIANCE_OFFICER, "compliance_officer", "officer_id", "username"));
+
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
+    public record ResolvedPrincipal(String role, Long entityId, String passwordHash, Object entity) {
+    }
+
+    private record PrincipalTable(String role, String table, String idColumn, String usernameColumn) {
+    }
+
+    private final CredentialIndexRepository credentialIndexRepository;
+    private final AdminRepository adminRepository;
+    private final ApplicantRepository applicantRepository;
+    private final LoanOfficerRepository loanOfficerRepository;
+    private final ComplianceOfficerRepository complianceOfficerRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final AtomicBoolean backfillRunning = new AtomicBoolean();
+    private volatile boolean backfillComplete;
+    // Highest row id already walked, per role
+    private final Map<String, Long> indexedUpTo = new ConcurrentHashMap<>();
+
+    public CredentialIndexService(CredentialIndexRepository credentialIndexRepository,
+                                  AdminRepository adminRepository,
+                                  ApplicantRepository applicantRepository,
+                                  LoanOfficerRepository loanOfficerRepository,
+                                  ComplianceOfficerRepository complianceOfficerRepository,
+                                  @Qualifier("dataSource") DataSource dataSource) {
+        this.credentialIndexRepository = credentialIndexRepository;
+        this.adminRepository = adminRepository;
+        this.applicantRepository = applicantRepository;
+        this.loanOfficerRepository = loanOfficerRepository;
+        this.complianceOfficerRepository = complianceOfficerRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * @return indexed principals owning the identifier, in login precedence order (normally exactly one)
+     */
+    public List<ResolvedPrincipal> resolve(String usernameOrEmail) {
+        String identifier = normalize(usernameOrEmail);
+        if (identifier.isEmpty()) {
+            return List.of();
+        }
+
+        List<ResolvedPrincipal> resolved = new ArrayList<>();
+        for (CredentialIndexEntry entry : credentialIndexRepository.findByIdentifier(identifier)) {
+            ResolvedPrincipal principal = load(entry.getRole(), entry.getEntityId(), identifier);
+            if (principal != null) {
+                resolved.add(principal);
+            } else {
+                log.debug("Dropping stale credential index entry {} -> {}:{}", identifier, entry.getRole(), entry.getEntityId());
+                credentialIndexRepository.delete(entry);
+            }
+        }
+
+        resolved.sort(Comparator.comparingInt(p -> ROLE_ORDER.indexOf(p.role())));
+        return resolved;
+    }
+
+    /**
+     * Per-table lookups for owners of the identifier other than {@code known}; registers what
+     * it finds. Login falls back to this only while {@link #isBackfillComplete()} is false.
+     */
+    public List<ResolvedPrincipal> discover(String usernameOrEmail, List<ResolvedPrincipal> known) {
+        String identifier = normalize(usernameOrEmail);
+        if (identifier.isEmpty()) {
+            return List.of();
+        }
+        String lookup = usernameOrEmail.trim();
+        List<ResolvedPrincipal> found = new ArrayList<>();
+        adminRepository.findByUsernameOrEmail(lookup, lookup)
+                .ifPresent(a -> found.add(toPrincipal(a)));
+        applicantRepository.findByEmail(lookup)
+                .ifPresent(a -> found.add(toPrincipal(a)));
+        loanOfficerRepository.findByUsernameOrEmail(lookup, lookup)
+                .ifPresent(o -> found.add(toPrincipal(o)));
+        complianceOfficerRepository.findByUsernameOrEmail(lookup, lookup)
+                .ifPresent(o -> found.add(toPrincipal(o)));
+
+        found.removeIf(principal -> known.stream().anyMatch(k ->
+                k.role().equals(principal.role()) && k.entityId().equals(principal.entityId())));
+        for (ResolvedPrincipal principal : found) {
+            register(identifier, principal.role(), principal.entityId());
+        }
+        return found;
+    }
+
+    /**
+     * Every principal row has been walked at least once, so a miss in the index is a miss
+     */
+    public boolean isBackfillComplete() {
+        return backfillComplete;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        Thread worker = new Thread(this::indexPrincipals, "credential-index-backfill");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Register every principal row after the highest id walked so far that has no entry yet,
+     * e.g. rows inserted with plain SQL. Keyset batches over each principal table.
+     *
+     * @return entries registered
+     */
+    public long indexPrincipals() {
+        if (!backfillRunning.compareAndSet(false, true)) {
+            return 0;
+        }
+        long registered = 0;
+        long started = System.currentTimeMillis();
+        try {
+            for (PrincipalTable table : TABLES) {
+                registered += indexTable(table);
+            }
+            backfillComplete = true;
+            if (registered > 0) {
+                log.info("Registered {} credential index entries in {} ms",
+                        registered, System.currentTimeMillis() - started);
+            }
+        } catch (RuntimeException e) {
+            log.error("Credential index backfill stopped after {} entries: {}", registered, e.getMessage(), e);
+        } finally {
+            backfillRunning.set(false);
+        }
+        return registered;
+    }
+
+    /**
+     * Keeps the principal's entries in step with its current username/email, once the write
+     * that changed them has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onPrincipalChanged(PrincipalChangedEvent event) {
+        try {
+            Set<String> current = new HashSet<>(event.identifiers());
+            for (CredentialIndexEntry entry : credentialIndexRepository.findByRoleAndEntityId(event.role(), event.entityId())) {
+                if (!current.remove(entry.getIdentifier())) {
+                    credentialIndexRepository.delete(entry);
+                }
+            }
+            for (String identifier : current) {
+                register(identifier, event.role(), event.entityId());
+            }
+        } catch (RuntimeException e) {
+            // Login still finds the principal through discover(); the entry is registered then
+            log.warn("Could not refresh credential index for {} {}: {}", event.role(), event.entityId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Persist a re-encoded password hash for a resolved principal
+     */
+    public void updatePasswordHash(ResolvedPrincipal principal, String passwordHash) {
+        switch (principal.role()) {
+            case ADMIN -> {
+                Admin admin = (Admin) principal.entity();
+                admin.setPassword(passwordHash);
+                adminRepository.save(admin);
+            }
+            case APPLICANT -> {
+                Applicant applicant = (Applicant) principal.entity();
+                applicant.setPassword(passwordHash);
+                applicantRepository.save(applicant);
+            }
+            case LOAN_OFFICER -> {
+                LoanOfficer officer = (LoanOfficer) principal.entity();
+                officer.setPassword(passwordHash);
+                loanOfficerRepository.save(officer);
+            }
+            case COMPLIANCE_OFFICER -> {
+                ComplianceOfficer officer = (ComplianceOfficer) principal.entity();
+                officer.setPassword(passwordHash);
+                complianceOfficerRepository.save(officer);
+            }
+            default -> throw new IllegalArgumentException("Unknown role: " + principal.role());
+        }
+    }
+
+    public static String normalize(String usernameOrEmail) {
+        return usernameOrEmail == null ? "" : usernameOrEmail.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private long indexTable(PrincipalTable table) {
+        String sql = "SELECT " + table.idColumn() + ", "
+                + (table.usernameColumn() != null ? table.usernameColumn() : "NULL") + ", email FROM "
+                + table.table() + " WHERE " + table.idColumn() + " > ? ORDER BY " + table.idColumn() + " LIMIT ?";
+        long registered = 0;
+        long lastId = indexedUpTo.getOrDefault(table.role(), 0L);
+        while (true) {
+            List<Object[]> rows = jdbcTemplate.query(sql,
+                    (rs, rowNum) -> new Object[] { rs.getLong(1), rs.getString(2), rs.getString(3) },
+                    lastId, BACKFILL_BATCH_SIZE);
+            if (rows.isEmpty()) {
+                break;
+            }
+            List<Long> ids = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                ids.add((Long) row[0]);
+            }
+            Set<String> existing = new HashSet<>();
+            for (CredentialIndexEntry entry : credentialIndexRepository.findByRoleAndEntityIdIn(table.role(), ids)) {
+                existing.add(entry.getEntityId() + ":" + entry.getIdentifier());
+            }
+            for (Object[] row : rows) {
+                Long entityId = (Long) row[0];
+                for (Object value : new Object[] { row[1], row[2] }) {
+                    String identifier = normalize((String) value);
+                    if (!identifier.isEmpty() && existing.add(entityId + ":" + identifier)) {
+                        register(identifier, table.role(), entityId);
+                        registered++;
+                    }
+                }
+            }
+            lastId = ids.get(ids.size() - 1);
+            indexedUpTo.put(table.role(), lastId);
+        }
+        return registered;
+    }
+
+    private ResolvedPrincipal load(String role, Long entityId, String identifier) {
+        return switch (role) {
+            case ADMIN -> adminRepository.findById(entityId)
+                    .filter(a -> matches(identifier, a.getUsername(), a.getEmail()))
+                    .map(this::toPrincipal)
+                    .orElse(null);
+            case APPLICANT -> applicantRepository.findById(entityId)
+                    .filter(a -> matches(identifier, null, a.getEmail()))
+                    .map(this::toPrincipal)
+                    .orElse(null);
+            case LOAN_OFFICER -> loanOfficerRepository.findById(entityId)
+                    .filter(o -> matches(identifier, o.getUsername(), o.getEmail()))
+                    .map(this::toPrincipal)
+                    .orElse(null);
+            case COMPLIANCE_OFFICER -> complianceOfficerRepository.findById(entityId)
+                    .filter(o -> matches(identifier, o.getUsername(), o.getEmail()))
+                    .map(this::toPrincipal)
+                    .orElse(null);
+            default -> null;
+        };
+    }
+
+    private void register(String identifier, String role, Long entityId) {
+        try {
+            credentialIndexRepository.save(new CredentialIndexEntry(null, identifier, role, entityId, null));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent login already registered it
+            log.debug("Credential index entry {} -> {} already exists", identifier, role);
+        }
+    }
+
+    private boolean matches(String identifier, String username, String email) {
+        return identifier.equals(normalize(username)) || identifier.equals(normalize(email));
+    }
+
+    private ResolvedPrincipal toPrincipal(Admin admin) {
+        return new ResolvedPrincipal(ADMIN, admin.getAdminId(), admin.getPassword(), admin);
+    }
+
+    private ResolvedPrincipal toPrincipal(Applicant applicant) {
+        return new ResolvedPrincipal(APPLICANT, applicant.getApplicantId(), applicant.getPassword(), applicant);
+    }
+
+    private ResolvedPrincipal toPrincipal(LoanOfficer officer) {
+        return new ResolvedPrincipal(LOAN_OFFICER, officer.getOfficerId(), officer.getPassword(), officer);
+    }
+
+    private ResolvedPrincipal toPrincipal(ComplianceOfficer officer) {
+        return new ResolvedPrincipal(COMPLIANCE_OFFICER, officer.getOfficerId(), officer.getPassword(), officer);
+    }
+}
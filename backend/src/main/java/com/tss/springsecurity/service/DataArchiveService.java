@@ -0,0 +1,438 @@
+package com.tss.springsecurity.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tss.springsecurity.config.DataRetentionProperties;
+import com.tss.springsecurity.datasource.Workload;
+import com.tss.springsecurity.datasource.WorkloadContext;
+import com.tss.springsecurity.dto.FraudFlagResponse;
+import com.tss.springsecurity.entity.ActivityLog;
+import com.tss.springsecurity.entity.ArchivedFraudFlagIndex;
+import com.tss.springsecurity.entity.DataArchiveSegment;
+import com.tss.springsecurity.entity.FraudFlag;
+import com.tss.springsecurity.repository.ActivityLogRepository;
+import com.tss.springsecurity.repository.ArchivedFraudFlagIndexRepository;
+import com.tss.springsecurity.repository.DataArchiveSegmentRepository;
+import com.tss.springsecurity.repository.FraudFlagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps activity_log and fraud_flags bounded by moving whole months that fall
+ * outside the hot window into gzip NDJSON files, and reads them back on demand.
+ * Archived fraud flags are indexed by applicant (segment and line range) so an
+ * applicant's history only opens the segments that hold it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DataArchiveService {
+
+    public static final String ACTIVITY_LOG = "activity_log";
+    public static final String FRAUD_FLAGS = "fraud_flags";
+
+    private static final DateTimeFormatter PERIOD_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final DataRetentionProperties properties;
+    private final DataArchiveSegmentRepository segmentRepository;
+    private final ActivityLogRepository activityLogRepository;
+    private final FraudFlagRepository fraudFlagRepository;
+    private final ArchivedFraudFlagIndexRepository archivedFlagIndexRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Nightly archiver
+     */
+    @Scheduled(cron = "${data-retention.cron:0 30 2 * * *}")
+    public void runScheduledArchive() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        archiveColdData();
+    }
+
+    /**
+     * Archive every month older than the hot window for both tables
+     */
+    public synchronized Map<String, Object> archiveColdData() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        try (WorkloadContext.Scope ignored = WorkloadContext.enter(Workload.BULK_LOAD)) {
+            summary.put(ACTIVITY_LOG, archiveTable(ACTIVITY_LOG));
+            summary.put(FRAUD_FLAGS, archiveTable(FRAUD_FLAGS));
+        }
+        log.info("Data retention run completed: {}", summary);
+        return summary;
+    }
+
+    /**
+     * First instant that is still kept in the hot table
+     */
+    public LocalDateTime getHotCutoff(String tableName) {
+        int hotMonths = ACTIVITY_LOG.equals(tableName)
+                ? properties.getActivityLog().getHotMonths()
+                : properties.getFraudFlags().getHotMonths();
+        return YearMonth.now().minusMonths(hotMonths).atDay(1).atStartOfDay();
+    }
+
+    public List<DataArchiveSegment> getSegments(String tableName) {
+        return segmentRepository.findByTableNameOrderByRangeStartDesc(tableName);
+    }
+
+    /**
+     * Number of archived activity logs in [startDate, endDate]. Segments that lie wholly
+     * inside the window use their catalogued row count; only the boundary months are scanned.
+     */
+    public long countArchivedActivities(LocalDateTime startDate, LocalDateTime endDate) {
+        long total = 0;
+        for (DataArchiveSegment segment : segmentRepository.findOverlapping(ACTIVITY_LOG, startDate, endDate)) {
+            total += coversSegment(segment, startDate, endDate)
+                    ? segment.getRowCount()
+                    : readSegment(segment, ActivityLog.class, inRange(startDate, endDate)).size();
+        }
+        return total;
+    }
+
+    /**
+     * One page of archived activity logs in [startDate, endDate], newest first. Segments are
+     * opened newest-first and reading stops once offset + limit rows are collected; whole
+     * segments before the offset are skipped by their row count without being decompressed.
+     */
+    public List<ActivityLog> readArchivedActivities(LocalDateTime startDate, LocalDateTime endDate,
+                                                    long offset, int limit) {
+        List<ActivityLog> result = new ArrayList<>();
+        long skip = offset;
+        for (DataArchiveSegment segment : segmentRepository.findOverlapping(ACTIVITY_LOG, startDate, endDate)) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (coversSegment(segment, startDate, endDate) && skip >= segment.getRowCount()) {
+                skip -= segment.getRowCount();
+                continue;
+            }
+            List<ActivityLog> rows = readSegment(segment, ActivityLog.class, inRange(startDate, endDate));
+            Collections.reverse(rows);
+            int from = (int) Math.min(skip, rows.size());
+            skip -= from;
+            int to = Math.min(rows.size(), from + limit - result.size());
+            result.addAll(rows.subList(from, to));
+        }
+        return result;
+    }
+
+    private static boolean coversSegment(DataArchiveSegment segment, LocalDateTime startDate, LocalDateTime endDate) {
+        return !segment.getRangeStart().isBefore(startDate) && !segment.getRangeEnd().isAfter(endDate);
+    }
+
+    private static Predicate<ActivityLog> inRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return a -> a.getTimestamp() != null
+                && !a.getTimestamp().isBefore(startDate)
+                && !a.getTimestamp().isAfter(endDate);
+    }
+
+    /**
+     * Archived fraud flags for an applicant, newest first
+     */
+    public List<FraudFlagResponse> readArchivedFraudFlags(Long applicantId) {
+        indexPendingFraudFlagSegments();
+        Map<Long, ArchivedFraudFlagIndex> entries = new HashMap<>();
+        for (ArchivedFraudFlagIndex entry : archivedFlagIndexRepository.findByApplicantId(applicantId)) {
+            entries.put(entry.getSegmentId(), entry);
+        }
+        if (entries.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<DataArchiveSegment> segments = segmentRepository.findAllById(entries.keySet());
+        segments.sort(Comparator.comparing(DataArchiveSegment::getRangeStart)
+                .thenComparing(DataArchiveSegment::getSegmentId).reversed());
+        List<FraudFlagResponse> result = new ArrayList<>();
+        for (DataArchiveSegment segment : segments) {
+            ArchivedFraudFlagIndex entry = entries.get(segment.getSegmentId());
+            List<FraudFlagResponse> rows = readSegment(segment, FraudFlagResponse.class,
+                    f -> applicantId.equals(f.getApplicantId()), entry.getFirstLine(), entry.getLastLine());
+            Collections.reverse(rows);
+            result.addAll(rows);
+        }
+        return result;
+    }
+
+    // ==================== ARCHIVING ====================
+
+    private List<String> archiveTable(String tableName) {
+        List<String> archived = new ArrayList<>();
+        LocalDateTime oldest = ACTIVITY_LOG.equals(tableName)
+                ? activityLogRepository.findOldestTimestamp()
+                : fraudFlagRepository.findOldestCreatedAt();
+        if (oldest == null) {
+            return archived;
+        }
+
+        LocalDateTime cutoff = getHotCutoff(tableName);
+        for (YearMonth month = YearMonth.from(oldest);
+             month.atDay(1).atStartOfDay().isBefore(cutoff);
+             month = month.plusMonths(1)) {
+            try {
+                DataArchiveSegment segment = archiveMonth(tableName, month);
+                if (segment != null) {
+                    archived.add(segment.getPeriod() + " (" + segment.getRowCount() + " rows)");
+                }
+            } catch (IOException e) {
+                // Stop here so months are always archived oldest-first
+                log.error("Failed to archive {} for {}: {}", tableName, month, e.getMessage(), e);
+                break;
+            }
+        }
+        return archived;
+    }
+
+    private DataArchiveSegment archiveMonth(String tableName, YearMonth month) throws IOException {
+        LocalDateTime start = month.atDay(1).atStartOfDay();
+        LocalDateTime end = month.plusMonths(1).atDay(1).atStartOfDay();
+        String period = month.format(PERIOD_FORMAT);
+
+        // A crash between registering a segment and deleting its rows leaves them in the hot
+        // table; finish those deletes by the recorded id range so they are not archived twice
+        List<DataArchiveSegment> existing = segmentRepository.findByTableNameAndPeriod(tableName, period);
+        for (DataArchiveSegment previous : existing) {
+            long resumed = deleteArchivedRows(tableName, start, end, previous.getMaxRowId());
+            if (resumed > 0) {
+                log.warn("Deleted {} hot rows of {} left behind by segment {} ({})",
+                        resumed, tableName, previous.getSegmentId(), previous.getFilePath());
+            }
+        }
+
+        Path directory = Paths.get(properties.getArchiveDirectory(), tableName);
+        Files.createDirectories(directory);
+        long sequence = existing.size();
+        String fileName = period + (sequence > 0 ? "-" + sequence : "") + ".ndjson.gz";
+        Path target = directory.resolve(fileName);
+        Path temp = directory.resolve(fileName + ".tmp");
+
+        long[] written;
+        Map<Long, long[]> applicantLines = new HashMap<>();
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+            written = ACTIVITY_LOG.equals(tableName)
+                    ? writeActivityLogs(writer, start, end)
+                    : writeFraudFlags(writer, start, end, applicantLines);
+        }
+
+        long rowCount = written[0];
+        long maxId = written[1];
+        if (rowCount == 0) {
+            Files.deleteIfExists(temp);
+            return null;
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        // Register the file before deleting so a crash never loses rows
+        DataArchiveSegment segment = segmentRepository.save(DataArchiveSegment.builder()
+                .tableName(tableName)
+                .period(period)
+                .rangeStart(start)
+                .rangeEnd(end)
+                .filePath(target.toString())
+                .rowCount(rowCount)
+                .maxRowId(maxId)
+                .applicantIndexed(false)
+                .build());
+        if (FRAUD_FLAGS.equals(tableName)) {
+            saveApplicantIndex(segment, applicantLines);
+        }
+
+        long deleted = deleteArchivedRows(tableName, start, end, maxId);
+
+        log.info("Archived {} rows of {} for {} to {} (deleted {} hot rows)",
+                rowCount, tableName, period, target, deleted);
+        return segment;
+    }
+
+    /**
+     * Delete the hot rows of a month up to and including maxId, in batches
+     */
+    private long deleteArchivedRows(String tableName, LocalDateTime start, LocalDateTime end, Long maxId) {
+        if (maxId == null) {
+            return 0;
+        }
+        long deleted = 0;
+        int batch;
+        do {
+            batch = ACTIVITY_LOG.equals(tableName)
+                    ? activityLogRepository.deleteArchivedBatch(start, end, maxId, properties.getBatchSize())
+                    : fraudFlagRepository.deleteArchivedBatch(start, end, maxId, properties.getBatchSize());
+            deleted += batch;
+        } while (batch > 0);
+        return deleted;
+    }
+
+    private long[] writeActivityLogs(Writer writer, LocalDateTime start, LocalDateTime end) throws IOException {
+        Pageable batch = PageRequest.of(0, properties.getBatchSize());
+        long count = 0;
+        long lastId = 0L;
+        List<ActivityLog> rows;
+        do {
+            rows = activityLogRepository.findArchiveBatch(start, end, lastId, batch);
+            for (ActivityLog row : rows) {
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+                lastId = row.getLogId();
+                count++;
+            }
+        } while (rows.size() == batch.getPageSize());
+        return new long[] { count, lastId };
+    }
+
+    private long[] writeFraudFlags(Writer writer, LocalDateTime start, LocalDateTime end,
+                                   Map<Long, long[]> applicantLines) throws IOException {
+        Pageable batch = PageRequest.of(0, properties.getBatchSize());
+        long count = 0;
+        long lastId = 0L;
+        List<FraudFlag> rows;
+        do {
+            rows = fraudFlagRepository.findArchiveBatch(start, end, lastId, batch);
+            for (FraudFlag row : rows) {
+                FraudFlagResponse flag = mapToFraudFlagResponse(row);
+                writer.write(objectMapper.writeValueAsString(flag));
+                writer.write('\n');
+                trackLine(applicantLines, flag.getApplicantId(), count);
+                lastId = row.getId();
+                count++;
+            }
+        } while (rows.size() == batch.getPageSize());
+        return new long[] { count, lastId };
+    }
+
+    // ==================== APPLICANT INDEX ====================
+
+    /**
+     * applicantId -> {flag count, first line, last line}
+     */
+    private static void trackLine(Map<Long, long[]> applicantLines, Long applicantId, long line) {
+        if (applicantId == null) return;
+        long[] lines = applicantLines.computeIfAbsent(applicantId, id -> new long[] { 0, line, line });
+        lines[0]++;
+        lines[2] = line;
+    }
+
+    /**
+     * Replace the index rows of a segment and mark it indexed; readers re-index a segment left unmarked
+     */
+    private void saveApplicantIndex(DataArchiveSegment segment, Map<Long, long[]> applicantLines) {
+        archivedFlagIndexRepository.deleteBySegmentId(segment.getSegmentId());
+        List<ArchivedFraudFlagIndex> entries = new ArrayList<>(applicantLines.size());
+        for (Map.Entry<Long, long[]> lines : applicantLines.entrySet()) {
+            entries.add(ArchivedFraudFlagIndex.builder()
+                    .applicantId(lines.getKey())
+                    .segmentId(segment.getSegmentId())
+                    .flagCount(lines.getValue()[0])
+                    .firstLine(lines.getValue()[1])
+                    .lastLine(lines.getValue()[2])
+                    .build());
+            if (entries.size() == properties.getBatchSize()) {
+                archivedFlagIndexRepository.saveAll(entries);
+                entries.clear();
+            }
+        }
+        archivedFlagIndexRepository.saveAll(entries);
+        segment.setApplicantIndexed(true);
+        segmentRepository.save(segment);
+    }
+
+    /**
+     * One-time scan of fraud_flags segments written before the index existed
+     */
+    private synchronized void indexPendingFraudFlagSegments() {
+        for (DataArchiveSegment segment : segmentRepository.findNotApplicantIndexed(FRAUD_FLAGS)) {
+            Map<Long, long[]> applicantLines = new HashMap<>();
+            long[] line = { 0 };
+            readSegment(segment, FraudFlagResponse.class, f -> {
+                trackLine(applicantLines, f.getApplicantId(), line[0]++);
+                return false;
+            }, 0, Long.MAX_VALUE);
+            saveApplicantIndex(segment, applicantLines);
+            log.info("Indexed {} applicants of archived fraud flags segment {}",
+                    applicantLines.size(), segment.getPeriod());
+        }
+    }
+
+    // ==================== READING ====================
+
+    private <T> List<T> readSegment(DataArchiveSegment segment, Class<T> type, Predicate<T> filter) {
+        return readSegment(segment, type, filter, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * Parse only lines firstLine..lastLine (0-based, inclusive) and stop reading after lastLine
+     */
+    private <T> List<T> readSegment(DataArchiveSegment segment, Class<T> type, Predicate<T> filter,
+                                    long firstLine, long lastLine) {
+        List<T> rows = new ArrayList<>();
+        Path file = Paths.get(segment.getFilePath());
+        if (!Files.exists(file)) {
+            log.warn("Archive file {} for segment {} is missing", file, segment.getSegmentId());
+            return rows;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = -1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber < firstLine) continue;
+                if (lineNumber > lastLine) break;
+                if (line.isBlank()) continue;
+                T row = objectMapper.readValue(line, type);
+                if (filter.test(row)) {
+                    rows.add(row);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to read archive file {}: {}", file, e.getMessage(), e);
+        }
+        return rows;
+    }
+
+    /**
+     * Flatten a FraudFlag so the archive does not depend on the applicant/loan rows
+     */
+    private FraudFlagResponse mapToFraudFlagResponse(FraudFlag flag) {
+        return FraudFlagResponse.builder()
+                .id(flag.getId())
+                .ruleName(flag.getRuleName())
+                .severity(flag.getSeverity())
+                .flagNotes(flag.getFlagNotes())
+                .createdAt(flag.getCreatedAt())
+                .applicantId(flag.getApplicant() != null ? flag.getApplicant().getApplicantId() : null)
+                .loanId(flag.getLoan() != null ? flag.getLoan().getLoanId() : null)
+                .build();
+    }
+}
@@ -1,6 +1,8 @@
 package com.tss.springsecurity.service;
 
 import com.tss.springsecurity.entity.UploadedDocument;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -91,8 +93,9 @@ public interface DocumentUploadService {
     Map<String, Object> getDocumentUploadSummary(Long applicantId);
     
     /**
-     * Get all documents in the system
-     * @return List of all uploaded documents
+     * Get a page of all documents in the system
+     * @param pageable Page and sort
+     * @return Page of uploaded documents
      */
-    List<UploadedDocument> getAllDocuments();
+    Page<UploadedDocument> getAllDocuments(Pageable pageable);
 }
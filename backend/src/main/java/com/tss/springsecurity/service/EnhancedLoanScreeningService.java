@@ -350,9 +350,9 @@ public class EnhancedLoanScreeningService implements EnhancedLoanScreeningServic
     
     private void updateLoanRiskScore(Long applicantId, Double normalizedScore) {
         try {
-            List<ApplicantLoanDetails> loans = loanRepository.findByApplicant_ApplicantId(applicantId);
-            if (!loans.isEmpty()) {
-                ApplicantLoanDetails latestLoan = loans.get(loans.size() - 1);
+            ApplicantLoanDetails latestLoan = loanRepository
+                    .findFirstByApplicant_ApplicantIdOrderByLoanIdDesc(applicantId).orElse(null);
+            if (latestLoan != null) {
                 // Update ONLY risk_score, do NOT update status (status is controlled by officers)
                 latestLoan.setRiskScore(normalizedScore.intValue());
                 loanRepository.save(latestLoan);
@@ -3,6 +3,7 @@ package com.tss.springsecurity.service;
 import com.tss.springsecurity.controller.FraudRuleManagementController.CreateRuleRequest;
 import com.tss.springsecurity.controller.FraudRuleManagementController.UpdateRuleRequest;
 import com.tss.springsecurity.entity.FraudRuleDefinition;
+import com.tss.springsecurity.fraud.service.FraudRulePlanService;
 import com.tss.springsecurity.repository.FraudRuleDefinitionRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -17,6 +18,7 @@ import java.util.Optional;
 public class FraudRuleManagementService {
 
     private final FraudRuleDefinitionRepository ruleRepository;
+    private final FraudRulePlanService rulePlanService;
 
     public List<FraudRuleDefinition> getAllRules() {
         return ruleRepository.findAll();
@@ -59,7 +61,9 @@ public class FraudRuleManagementService {
         rule.setCreatedBy(createdBy);
         rule.setUpdatedBy(createdBy);
         
-        return ruleRepository.save(rule);
+        FraudRuleDefinition saved = ruleRepository.save(rule);
+        rulePlanService.recompile();
+        return saved;
     }
 
     public FraudRuleDefinition updateRule(Long ruleId, UpdateRuleRequest request, String updatedBy) {
@@ -77,7 +81,9 @@ public class FraudRuleManagementService {
         
         rule.setUpdatedBy(updatedBy);
         
-        return ruleRepository.save(rule);
+        FraudRuleDefinition saved = ruleRepository.save(rule);
+        rulePlanService.recompile();
+        return saved;
     }
 
     public FraudRuleDefinition toggleRuleStatus(Long ruleId, String updatedBy) {
@@ -87,7 +93,9 @@ public class FraudRuleManagementService {
         rule.setIsActive(!rule.getIsActive());
         rule.setUpdatedBy(updatedBy);
         
-        return ruleRepository.save(rule);
+        FraudRuleDefinition saved = ruleRepository.save(rule);
+        rulePlanService.recompile();
+        return saved;
     }
 
     public String deleteRule(Long ruleId) {
@@ -96,6 +104,7 @@ public class FraudRuleManagementService {
         
         String ruleName = rule.getRuleName();
         ruleRepository.delete(rule);
+        rulePlanService.recompile();
         
         return ruleName;
     }
@@ -1,11 +1,15 @@
 package com.tss.springsecurity.service;
 
 import com.tss.springsecurity.dto.ApplicantLoanDetailsDTO;
+import com.tss.springsecurity.dto.ApplicantSummaryDTO;
 import com.tss.springsecurity.dto.CompleteLoanApplicationDTO;
 import com.tss.springsecurity.dto.LoanApplicationDTO;
 import com.tss.springsecurity.dto.LoanApplicationForExistingApplicantDTO;
+import com.tss.springsecurity.dto.LoanDetailViewDTO;
 import com.tss.springsecurity.entity.Applicant;
 import com.tss.springsecurity.entity.ApplicantLoanDetails;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
@@ -39,6 +43,13 @@ public interface LoanApplicationService {
      */
     Applicant getApplicantById(Long applicantId);
     
+    /**
+     * Get applicant profile without loading the entity
+     * @param applicantId Applicant ID
+     * @return Applicant summary
+     */
+    ApplicantSummaryDTO getApplicantSummary(Long applicantId);
+    
     /**
      * Get all loan applications for an applicant
      * @param applicantId Applicant ID
@@ -47,17 +58,18 @@ public interface LoanApplicationService {
     List<ApplicantLoanDetailsDTO> getApplicantLoans(Long applicantId);
     
     /**
-     * Get all applicants
-     * @return List of all applicants
+     * Get one page of applicants
+     * @param pageable Page and size (size capped by the caller)
+     * @return Page of applicant summaries
      */
-    List<Applicant> getAllApplicants();
+    Page<ApplicantSummaryDTO> getApplicantSummaries(Pageable pageable);
     
     /**
      * Get loan application by loan ID
      * @param loanId Loan ID
-     * @return Loan details
+     * @return Loan columns without the loan's associations
      */
-    ApplicantLoanDetails getLoanById(Long loanId);
+    LoanDetailViewDTO getLoanDetailView(Long loanId);
     
     /**
      * Save loan details
@@ -3,6 +3,8 @@ package com.tss.springsecurity.service;
 import com.tss.springsecurity.dto.LoanAssignmentRequest;
 import com.tss.springsecurity.dto.LoanAssignmentResponse;
 import com.tss.springsecurity.dto.OfficerSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
@@ -18,7 +20,7 @@ public interface LoanAssignmentService {
     
     LoanAssignmentResponse updateAssignmentStatus(Long assignmentId, String status, String remarks);
     
-    List<LoanAssignmentResponse> getAllAssignments();
+    Page<LoanAssignmentResponse> getAllAssignments(Pageable pageable);
     
     LoanAssignmentResponse getAssignmentById(Long assignmentId);
     
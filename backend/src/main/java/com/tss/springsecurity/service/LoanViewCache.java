@@ -0,0 +1,126 @@
+package com.tss.springsecurity.service;
+
+import com.tss.springsecurity.config.LoanViewCacheProperties;
+import com.tss.springsecurity.dto.ComprehensiveLoanViewDTO;
+import com.tss.springsecurity.event.LoanAggregateChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of assembled comprehensive loan views, keyed by loan id.
+ * Any write to a loan's aggregate evicts the affected views immediately and
+ * again after the writing transaction commits, so a view read while the write
+ * was still uncommitted is not kept.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoanViewCache {
+
+    private final LoanViewCacheProperties properties;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> loansByApplicant = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Cached view of {@code loanId}, or the view built by {@code loader} (and cached)
+     */
+    public ComprehensiveLoanViewDTO get(Long loanId, Function<Long, ComprehensiveLoanViewDTO> loader) {
+        if (!properties.isEnabled()) {
+            return loader.apply(loanId);
+        }
+        long now = System.nanoTime();
+        Entry entry = entries.get(loanId);
+        if (entry != null && now < entry.expiresAtNanos()) {
+            hits.increment();
+            return entry.view();
+        }
+        misses.increment();
+        ComprehensiveLoanViewDTO view = loader.apply(loanId);
+        if (entries.size() >= properties.getMaxEntries()) {
+            evictExpired(now);
+            if (entries.size() >= properties.getMaxEntries()) {
+                return view;
+            }
+        }
+        entries.put(loanId, new Entry(view, view.getApplicantId(),
+                now + TimeUnit.SECONDS.toNanos(properties.getTtlSeconds())));
+        if (view.getApplicantId() != null) {
+            loansByApplicant.computeIfAbsent(view.getApplicantId(), id -> ConcurrentHashMap.newKeySet()).add(loanId);
+        }
+        return view;
+    }
+
+    @EventListener
+    public void onAggregateChanged(LoanAggregateChangedEvent event) {
+        evict(event);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(event);
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+        loansByApplicant.clear();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", properties.isEnabled());
+        stats.put("entries", entries.size());
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("evictions", evictions.sum());
+        return stats;
+    }
+
+    private void evict(LoanAggregateChangedEvent event) {
+        if (event.loanId() != null && entries.remove(event.loanId()) != null) {
+            evictions.increment();
+        }
+        if (event.applicantId() != null) {
+            Set<Long> loanIds = loansByApplicant.remove(event.applicantId());
+            if (loanIds != null) {
+                for (Long loanId : loanIds) {
+                    if (entries.remove(loanId) != null) evictions.increment();
+                }
+            }
+        }
+    }
+
+    private void evictExpired(long now) {
+        entries.entrySet().removeIf(entry -> {
+            if (now < entry.getValue().expiresAtNanos()) return false;
+            Long applicantId = entry.getValue().applicantId();
+            if (applicantId != null) {
+                loansByApplicant.computeIfPresent(applicantId, (id, loans) -> {
+                    loans.remove(entry.getKey());
+                    return loans.isEmpty() ? null : loans;
+                });
+            }
+            return true;
+        });
+    }
+
+    private record Entry(ComprehensiveLoanViewDTO view, Long applicantId, long expiresAtNanos) {
+    }
+}
@@ -3,8 +3,8 @@ package com.tss.springsecurity.service;
 import com.tss.springsecurity.dto.ComplianceOfficerRequest;
 import com.tss.springsecurity.dto.LoanOfficerRequest;
 import com.tss.springsecurity.dto.OfficerResponse;
-
-import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 public interface OfficerManagementService {
     
@@ -12,9 +12,9 @@ public interface OfficerManagementService {
     
     OfficerResponse addComplianceOfficer(ComplianceOfficerRequest request);
     
-    List<OfficerResponse> getAllLoanOfficers();
+    Page<OfficerResponse> getAllLoanOfficers(Pageable pageable);
     
-    List<OfficerResponse> getAllComplianceOfficers();
+    Page<OfficerResponse> getAllComplianceOfficers(Pageable pageable);
     
     OfficerResponse getLoanOfficerById(Long id);
     
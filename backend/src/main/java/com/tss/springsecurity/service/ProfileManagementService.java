@@ -1,5 +1,6 @@
 package com.tss.springsecurity.service;
 
+import com.tss.springsecurity.dto.ApplicantSummaryDTO;
 import com.tss.springsecurity.dto.ProfileUpdateRequest;
 import com.tss.springsecurity.entity.Applicant;
 import com.tss.springsecurity.entity.ComplianceOfficer;
@@ -27,6 +28,11 @@ public class ProfileManagementService {
                 .orElseThrow(() -> new RuntimeException("Applicant not found"));
     }
 
+    public ApplicantSummaryDTO getApplicantProfile(Long applicantId) {
+        return applicantRepository.findSummaryById(applicantId)
+                .orElseThrow(() -> new RuntimeException("Applicant not found"));
+    }
+
     public void updateApplicantProfile(Long applicantId, ProfileUpdateRequest request) {
         Applicant applicant = getApplicantById(applicantId);
 
@@ -16,6 +16,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -32,6 +33,7 @@ public class AdminLoanManagementServiceImpl implements AdminLoanManagementServic
     private final ComplianceOfficerApplicationAssignmentRepository complianceAssignmentRepository;
 
     @Override
+    @Transactional(readOnly = true)
     public Map<String, Object> getAllLoans(int page, int size) {
         try {
             Pageable pageable = PageRequest.of(page, size, Sort.by("submittedAt").descending());
@@ -56,6 +58,7 @@ public class AdminLoanManagementServiceImpl implements AdminLoanManagementServic
     }
 
     @Override
+    @Transactional(readOnly = true)
     public LoanApplicationResponse getLoanById(Long loanId) {
         try {
             ApplicantLoanDetails loan = loanDetailsRepository.findById(loanId)
@@ -69,6 +72,7 @@ public class AdminLoanManagementServiceImpl implements AdminLoanManagementServic
     }
 
     @Override
+    @Transactional(readOnly = true)
     public LoanProgressTimelineResponse getLoanProgress(Long loanId) {
         try {
             ApplicantLoanDetails loan = loanDetailsRepository.findById(loanId)
@@ -217,6 +221,7 @@ public class AdminLoanManagementServiceImpl implements AdminLoanManagementServic
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<LoanApplicationResponse> getLoansByStatus(String status) {
         try {
             List<ApplicantLoanDetails> loans;
@@ -8,6 +8,7 @@ import com.tss.springsecurity.entity.Admin;
 import com.tss.springsecurity.repository.AdminRepository;
 import com.tss.springsecurity.repository.ApplicantRepository;
 import com.tss.springsecurity.repository.ApplicantLoanDetailsRepository;
+import com.tss.springsecurity.security.LoginRateLimiter;
 import com.tss.springsecurity.service.AdminService;
 import com.tss.springsecurity.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +28,7 @@ public class AdminServiceImpl implements AdminService {
     private final ApplicantLoanDetailsRepository loanDetailsRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final LoginRateLimiter loginRateLimiter;
 
     @Override
     @Transactional
@@ -51,7 +53,7 @@ public class AdminServiceImpl implements AdminService {
         Admin savedAdmin = adminRepository.save(admin);
 
         // Generate JWT token
-        String token = jwtUtil.generateToken(savedAdmin.getUsername());
+        String token = jwtUtil.generateToken(savedAdmin.getUsername(), "ADMIN");
 
         // Return response
         return new AdminAuthResponse(
@@ -65,6 +67,9 @@ public class AdminServiceImpl implements AdminService {
     @Override
     @Transactional(readOnly = true)
     public AdminAuthResponse login(AdminLoginRequest loginRequest) {
+        loginRateLimiter.checkClientIp("LOGIN");
+        loginRateLimiter.checkUsername("ADMIN", loginRequest.getUsernameOrEmail());
+        
         // Find admin by username or email
         Admin admin = adminRepository.findByUsernameOrEmail(
                         loginRequest.getUsernameOrEmail(),
@@ -77,7 +82,7 @@ public class AdminServiceImpl implements AdminService {
         }
 
         // Generate JWT token
-        String token = jwtUtil.generateToken(admin.getUsername());
+        String token = jwtUtil.generateToken(admin.getUsername(), "ADMIN");
 
         // Return response
         return new AdminAuthResponse(
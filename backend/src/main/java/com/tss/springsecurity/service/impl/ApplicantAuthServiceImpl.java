@@ -5,19 +5,20 @@ import com.tss.springsecurity.entity.Applicant;
 import com.tss.springsecurity.entity.EmailOtp;
 import com.tss.springsecurity.repository.ApplicantRepository;
 import com.tss.springsecurity.repository.EmailOtpRepository;
+import com.tss.springsecurity.security.LoginRateLimiter;
 import com.tss.springsecurity.service.ApplicantAuthService;
 import com.tss.springsecurity.service.EmailService;
 import com.tss.springsecurity.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Random;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -29,10 +30,13 @@ public class ApplicantAuthServiceImpl implements ApplicantAuthService {
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
     private final JwtUtil jwtUtil;
+    private final LoginRateLimiter loginRateLimiter;
 
     @Override
     @Transactional
     public String registerApplicant(ApplicantRegisterRequest request) {
+        loginRateLimiter.checkClientIp("REGISTER");
+        
         // Check if username already exists
         if (applicantRepository.existsByUsername(request.getUsername())) {
             throw new RuntimeException("Username is already taken");
@@ -136,6 +140,9 @@ public class ApplicantAuthServiceImpl implements ApplicantAuthService {
     @Override
     @Transactional(readOnly = true)
     public ApplicantAuthResponse login(ApplicantLoginRequest request) {
+        loginRateLimiter.checkClientIp("LOGIN");
+        loginRateLimiter.checkUsername("APPLICANT", request.getEmail());
+        
         // Find applicant by email
         Applicant applicant = applicantRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("Invalid email or password"));
@@ -174,14 +181,9 @@ public class ApplicantAuthServiceImpl implements ApplicantAuthService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<ApprovalResponse> getPendingApprovals() {
-        List<Applicant> pendingApplicants = applicantRepository.findAll().stream()
-                .filter(a -> a.getIsEmailVerified() && !a.getIsApproved() && "PENDING".equals(a.getApprovalStatus()))
-                .collect(Collectors.toList());
-
-        return pendingApplicants.stream()
-                .map(this::convertToApprovalResponse)
-                .collect(Collectors.toList());
+    public Page<ApprovalResponse> getPendingApprovals(Pageable pageable) {
+        return applicantRepository.findByApprovalStatusAndIsEmailVerifiedTrueAndIsApprovedFalse("PENDING", pageable)
+                .map(this::convertToApprovalResponse);
     }
 
     @Override
@@ -1,24 +1,36 @@
 package com.tss.springsecurity.service.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tss.springsecurity.datasource.QueryCounter;
+import com.tss.springsecurity.datasource.WorkloadContext;
 import com.tss.springsecurity.dto.ApplicantSummaryDTO;
 import com.tss.springsecurity.entity.Applicant;
 import com.tss.springsecurity.repository.ApplicantRepository;
 import com.tss.springsecurity.service.ApplicantService;
+import com.tss.springsecurity.util.LatencyHistogram;
+import com.tss.springsecurity.util.Pagination;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.function.IntFunction;
 
 @Service
 @RequiredArgsConstructor
 public class ApplicantServiceImpl implements ApplicantService {
 
     private final ApplicantRepository applicantRepository;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
 
     @Override
     public Page<Applicant> getAllApplicants(Pageable pageable) {
@@ -27,34 +39,7 @@ public class ApplicantServiceImpl implements ApplicantService {
 
     @Override
     public Page<ApplicantSummaryDTO> getAllApplicantsSummary(Pageable pageable) {
-        Page<Applicant> applicants = applicantRepository.findAll(pageable);
-        List<ApplicantSummaryDTO> dtos = applicants.getContent().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-        return new PageImpl<>(dtos, pageable, applicants.getTotalElements());
-    }
-
-    private ApplicantSummaryDTO convertToDTO(Applicant applicant) {
-        ApplicantSummaryDTO dto = new ApplicantSummaryDTO();
-        dto.setApplicantId(applicant.getApplicantId());
-        dto.setFirstName(applicant.getFirstName());
-        dto.setLastName(applicant.getLastName());
-        dto.setDob(applicant.getDob());
-        dto.setGender(applicant.getGender());
-        dto.setUsername(applicant.getUsername());
-        dto.setEmail(applicant.getEmail());
-        dto.setPhone(applicant.getPhone());
-        dto.setAddress(applicant.getAddress());
-        dto.setCity(applicant.getCity());
-        dto.setState(applicant.getState());
-        dto.setCountry(applicant.getCountry());
-        dto.setIsApproved(applicant.getIsApproved());
-        dto.setIsEmailVerified(applicant.getIsEmailVerified());
-        dto.setApprovalStatus(applicant.getApprovalStatus());
-        dto.setCreatedAt(applicant.getCreatedAt());
-        dto.setUpdatedAt(applicant.getUpdatedAt());
-        dto.setTotalLoans(applicant.getLoanDetails() != null ? applicant.getLoanDetails().size() : 0);
-        return dto;
+        return applicantRepository.findSummaries(pageable);
     }
 
     @Override
@@ -63,6 +48,12 @@ public class ApplicantServiceImpl implements ApplicantService {
                 .orElseThrow(() -> new RuntimeException("Applicant not found with id: " + id));
     }
 
+    @Override
+    public ApplicantSummaryDTO getApplicantSummary(Long id) {
+        return applicantRepository.findSummaryById(id)
+                .orElseThrow(() -> new RuntimeException("Applicant not found with id: " + id));
+    }
+
     @Override
     @Transactional
     public void approveApplicant(Long id, String comments) {
@@ -84,22 +75,66 @@ public class ApplicantServiceImpl implements ApplicantService {
     }
 
     @Override
-    public List<Applicant> searchApplicants(String query) {
-        // Simple search implementation - you can enhance this with more sophisticated search
-        return applicantRepository.findAll().stream()
-                .filter(applicant -> 
-                    applicant.getFirstName().toLowerCase().contains(query.toLowerCase()) ||
-                    applicant.getLastName().toLowerCase().contains(query.toLowerCase()) ||
-                    applicant.getEmail().toLowerCase().contains(query.toLowerCase()) ||
-                    applicant.getUsername().toLowerCase().contains(query.toLowerCase())
-                )
-                .toList();
+    public Page<ApplicantSummaryDTO> searchApplicants(String query, Pageable pageable) {
+        return applicantRepository.searchSummaries(query, pageable);
     }
 
     @Override
-    public List<Applicant> filterApplicantsByStatus(String status) {
-        return applicantRepository.findAll().stream()
-                .filter(applicant -> applicant.getApprovalStatus().equals(status))
-                .toList();
+    public Page<ApplicantSummaryDTO> filterApplicantsByStatus(String status, Pageable pageable) {
+        return applicantRepository.findSummariesByApprovalStatus(status, pageable);
+    }
+
+    /**
+     * Reads the same applicant pages twice, as entities (what the list endpoints used to
+     * serialize) and as summaries, and compares statements, payload bytes and latency per page
+     */
+    @Override
+    public Map<String, Object> readModelBenchmark(int pageSize, int pages) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("applicants", applicantRepository.count());
+        report.put("pageSize", pageSize);
+        report.put("pages", pages);
+        report.put("entities", measurePages(pages, page -> template.execute(status -> {
+            Page<Applicant> applicants = applicantRepository.findAll(pageRequest(page, pageSize));
+            // The old summary mapping counted loans through the lazy collection
+            applicants.forEach(applicant -> applicant.getLoanDetails().size());
+            return serialize(applicants.getContent());
+        })));
+        report.put("summaries", measurePages(pages, page -> template.execute(status ->
+                serialize(applicantRepository.findSummaries(pageRequest(page, pageSize)).getContent()))));
+        return report;
+    }
+
+    private Map<String, Object> measurePages(int pages, IntFunction<Integer> readPage) {
+        LatencyHistogram latency = new LatencyHistogram();
+        long statements = 0;
+        long bytes = 0;
+        for (int page = 0; page < pages; page++) {
+            long begin = System.nanoTime();
+            try (WorkloadContext.Scope counting = QueryCounter.start()) {
+                bytes += readPage.apply(page);
+                statements += QueryCounter.current();
+            }
+            latency.recordNanos(System.nanoTime() - begin);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statementsPerPage", pages > 0 ? statements / (double) pages : 0);
+        result.put("bytesPerPage", pages > 0 ? bytes / pages : 0);
+        result.put("latency", latency.snapshot());
+        return result;
+    }
+
+    private static Pageable pageRequest(int page, int pageSize) {
+        return Pagination.of(page, pageSize, Sort.by("applicantId"));
+    }
+
+    private int serialize(List<?> rows) {
+        try {
+            return objectMapper.writeValueAsBytes(rows).length;
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize page: " + e.getMessage());
+        }
     }
 }
@@ -2,7 +2,9 @@ package com.tss.springsecurity.service.impl;
 
 import com.tss.springsecurity.dto.CompleteLoanApplicationDTO;
 import com.tss.springsecurity.entity.*;
+import com.tss.springsecurity.fraud.ring.FraudRingService;
 import com.tss.springsecurity.repository.*;
+import com.tss.springsecurity.velocity.VelocityService;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
 
@@ -26,6 +28,8 @@ public class CompleteLoanApplicationServiceImpl {
     private final ApplicantDependentRepository dependentRepository;
     private final LoanCollateralRepository collateralRepository;
     private final UploadedDocumentRepository uploadedDocumentRepository;
+    private final FraudRingService fraudRingService;
+    private final VelocityService velocityService;
     
     public CompleteLoanApplicationServiceImpl(
             ApplicantRepository applicantRepository,
@@ -41,7 +45,9 @@ public class CompleteLoanApplicationServiceImpl {
             OtherDocumentRepository otherDocumentRepository,
             ApplicantDependentRepository dependentRepository,
             LoanCollateralRepository collateralRepository,
-            UploadedDocumentRepository uploadedDocumentRepository) {
+            UploadedDocumentRepository uploadedDocumentRepository,
+            FraudRingService fraudRingService,
+            VelocityService velocityService) {
         this.applicantRepository = applicantRepository;
         this.basicDetailsRepository = basicDetailsRepository;
         this.employmentRepository = employmentRepository;
@@ -56,6 +62,8 @@ public class CompleteLoanApplicationServiceImpl {
         this.dependentRepository = dependentRepository;
         this.collateralRepository = collateralRepository;
         this.uploadedDocumentRepository = uploadedDocumentRepository;
+        this.fraudRingService = fraudRingService;
+        this.velocityService = velocityService;
     }
     
     @Transactional
@@ -104,6 +112,13 @@ public class CompleteLoanApplicationServiceImpl {
         // 12. Create Collaterals
         createCollaterals(loan, dto);
         
+        // 13. Link into the fraud-ring graph once committed
+        fraudRingService.indexAfterCommit(applicant.getApplicantId());
+        
+        // 14. Count the application for velocity rules
+        velocityService.recordApplication(applicant.getApplicantId(), applicant.getPhone(), applicant.getEmail(),
+                dto.getPanNumber(), dto.getEmployerName());
+        
         return applicant;
     }
     
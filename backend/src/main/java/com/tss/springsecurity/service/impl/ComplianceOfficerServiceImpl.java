@@ -5,13 +5,20 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tss.springsecurity.dto.*;
 import com.tss.springsecurity.entity.*;
 import com.tss.springsecurity.repository.*;
+import com.tss.springsecurity.routing.OfficerRouter;
 import com.tss.springsecurity.service.ComplianceOfficerService;
 import com.tss.springsecurity.service.EmailService;
 import com.tss.springsecurity.externalfraud.repository.*;
 import com.tss.springsecurity.externalfraud.entity.*;
 import com.tss.springsecurity.externalfraud.service.ExternalFraudScreeningService;
+import com.tss.springsecurity.externalfraud.service.PersonLookupService;
+import com.tss.springsecurity.externalfraud.service.PersonRiskProfileService;
 import com.tss.springsecurity.externalfraud.model.ExternalFraudCheckResult;
 import com.tss.springsecurity.service.EnhancedLoanScreeningService;
+import com.tss.springsecurity.screening.BlacklistSource;
+import com.tss.springsecurity.screening.IdentifierBlacklistService;
+import com.tss.springsecurity.screening.WatchlistMatch;
+import com.tss.springsecurity.screening.WatchlistScreeningService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
@@ -58,10 +65,19 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
     @Autowired
     private ObjectMapper objectMapper;
     
+    @Autowired
+    private OfficerRouter officerRouter;
+    
     // External fraud data repositories
     @Autowired
     private PersonRepository personRepository;
     
+    @Autowired
+    private PersonLookupService personLookupService;
+    
+    @Autowired
+    private PersonRiskProfileService personRiskProfileService;
+    
     @Autowired
     private BankRecordRepository bankRecordRepository;
     
@@ -83,6 +99,15 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
     @Autowired
     private EmailService emailService;
     
+    @Autowired
+    private WatchlistScreeningService watchlistScreeningService;
+    
+    @Autowired
+    private IdentifierBlacklistService identifierBlacklistService;
+    
+    @Autowired
+    private ApplicantBasicDetailsRepository basicDetailsRepository;
+    
     @Override
     public LoanScreeningResponse getLoanScreeningDetails(Long assignmentId) {
         log.info("Getting loan screening details for assignment ID: {}", assignmentId);
@@ -121,7 +146,7 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
         DocumentResubmission savedResubmission = documentResubmissionRepository.save(resubmission);
         
         // Update assignment status to indicate document resubmission requested
-        assignment.setStatus("DOCUMENT_RESUBMISSION_REQUESTED");
+        changeStatus(assignment, "DOCUMENT_RESUBMISSION_REQUESTED");
         assignment.setRemarks("Document resubmission requested: " + request.getReason());
         assignmentRepository.save(assignment);
         
@@ -151,7 +176,7 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
                 .orElseThrow(() -> new RuntimeException("Compliance officer not found with ID: " + complianceOfficerId));
         
         // Update assignment status
-        assignment.setStatus("APPROVED");
+        changeStatus(assignment, "APPROVED");
         assignment.setRemarks(remarks != null ? remarks : "Approved by compliance officer");
         assignment.setCompletedAt(LocalDateTime.now());
         
@@ -212,7 +237,7 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
                 .orElseThrow(() -> new RuntimeException("Compliance officer not found with ID: " + complianceOfficerId));
         
         // Update assignment status
-        assignment.setStatus("REJECTED");
+        changeStatus(assignment, "REJECTED");
         assignment.setRemarks(String.format("Rejected: %s. %s", rejectionReason, remarks != null ? remarks : ""));
         assignment.setCompletedAt(LocalDateTime.now());
         
@@ -286,6 +311,7 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public Map<String, Object> getComplianceDashboard(Long complianceOfficerId) {
         log.info("Getting compliance dashboard for officer ID: {}", complianceOfficerId);
         
@@ -515,54 +541,52 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
         for (String checkType : request.getCheckTypes()) {
             switch (checkType) {
                 case "RBI_DEFAULTERS":
-                    // TODO: Integrate with RBI defaulters API
+                    boolean rbiDefaulter = identifierBlacklistService.lookupPan(request.getPanNumber())
+                            .contains(BlacklistSource.RBI_DEFAULTERS);
                     AMLFinding rbiFind = AMLFinding.builder()
                             .source("RBI_DEFAULTERS")
-                            .matchType("NONE")
-                            .matchScore(0)
-                            .details("No match found in RBI defaulters list")
-                            .severity("LOW")
+                            .matchType(rbiDefaulter ? "EXACT" : "NONE")
+                            .matchScore(rbiDefaulter ? 100 : 0)
+                            .details(rbiDefaulter
+                                    ? "PAN found in RBI defaulters list"
+                                    : "No match found in RBI defaulters list")
+                            .severity(rbiDefaulter ? "HIGH" : "LOW")
                             .build();
                     findings.add(rbiFind);
+                    if (rbiDefaulter && !"CRITICAL".equals(overallRisk)) {
+                        overallRisk = "HIGH";
+                    }
                     break;
                     
                 case "FATF_SANCTIONS":
-                    // TODO: Integrate with FATF sanctions API
-                    AMLFinding fatfFind = AMLFinding.builder()
-                            .source("FATF_SANCTIONS")
-                            .matchType("NONE")
-                            .matchScore(0)
-                            .details("No match found in FATF sanctions list")
-                            .severity("LOW")
-                            .build();
-                    findings.add(fatfFind);
-                    break;
-                    
                 case "OFAC":
-                    // TODO: Integrate with OFAC API
-                    AMLFinding ofacFind = AMLFinding.builder()
-                            .source("OFAC")
-                            .matchType("NONE")
-                            .matchScore(0)
-                            .details("No match found in OFAC sanctions list")
-                            .severity("LOW")
-                            .build();
-                    findings.add(ofacFind);
+                    AMLFinding sanctionsFind = createSanctionsFinding(checkType, request.getApplicantName());
+                    findings.add(sanctionsFind);
+                    if ("EXACT".equals(sanctionsFind.getMatchType())) {
+                        overallRisk = "CRITICAL";
+                    } else if ("PARTIAL".equals(sanctionsFind.getMatchType()) && !"CRITICAL".equals(overallRisk)) {
+                        overallRisk = "HIGH";
+                    }
                     break;
                     
                 case "INTERNAL_BLACKLIST":
-                    // Check internal fraud flags
-                    List<FraudFlag> fraudFlags = fraudFlagRepository.findByApplicant_ApplicantId(request.getApplicantId());
-                    if (!fraudFlags.isEmpty()) {
+                    // Probe the blacklist file; no fraud_flags query per screening
+                    Set<BlacklistSource> blacklisted = lookupApplicantIdentifiers(request.getApplicantId(), request.getPanNumber());
+                    blacklisted.remove(BlacklistSource.RBI_DEFAULTERS);
+                    if (!blacklisted.isEmpty()) {
                         AMLFinding blacklistFind = AMLFinding.builder()
                                 .source("INTERNAL_BLACKLIST")
                                 .matchType("EXACT")
                                 .matchScore(100)
-                                .details("Found " + fraudFlags.size() + " fraud flag(s) in internal system")
+                                .details(blacklisted.contains(BlacklistSource.INTERNAL_FRAUD)
+                                        ? "PAN/Aadhaar linked to confirmed fraud in internal system"
+                                        : "PAN/Aadhaar found in external blacklist")
                                 .severity("HIGH")
                                 .build();
                         findings.add(blacklistFind);
-                        overallRisk = "HIGH";
+                        if (!"CRITICAL".equals(overallRisk)) {
+                            overallRisk = "HIGH";
+                        }
                     } else {
                         AMLFinding blacklistFind = AMLFinding.builder()
                                 .source("INTERNAL_BLACKLIST")
@@ -577,14 +601,21 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
             }
         }
         
-        // TODO: Check PEP status via external API
-        isPEP = false;
+        List<WatchlistMatch> pepMatches = watchlistScreeningService.screenPep(request.getApplicantName());
+        isPEP = !pepMatches.isEmpty();
+        if (isPEP && "CLEAR".equals(overallRisk)) {
+            overallRisk = "MEDIUM";
+        }
         
         List<String> recommendations = new ArrayList<>();
         if ("HIGH".equals(overallRisk) || "CRITICAL".equals(overallRisk)) {
             recommendations.add("Recommend rejection due to high AML risk");
             recommendations.add("Request additional documentation");
             recommendations.add("Escalate to senior compliance officer");
+        } else if (isPEP) {
+            recommendations.add("Applicant matches PEP list entry " + pepMatches.get(0).getListedName()
+                    + " - apply enhanced due diligence");
+            recommendations.add("Obtain senior management approval before proceeding");
         } else {
             recommendations.add("AML screening passed - proceed with application");
         }
@@ -606,11 +637,13 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
     public Map<String, Object> checkRBIDefaulters(String panNumber) {
         log.info("Checking RBI defaulters list for PAN: {}", panNumber);
         
+        boolean found = identifierBlacklistService.lookupPan(panNumber).contains(BlacklistSource.RBI_DEFAULTERS);
+        
         Map<String, Object> result = new HashMap<>();
-        // TODO: Integrate with actual RBI defaulters API
-        result.put("found", false);
+        result.put("found", found);
         result.put("panNumber", panNumber);
-        result.put("message", "No match found in RBI defaulters list");
+        result.put("message", found ? "PAN found in RBI defaulters list" : "No match found in RBI defaulters list");
+        result.put("listsLoaded", identifierBlacklistService.isLoaded());
         result.put("checkedAt", LocalDateTime.now());
         
         return result;
@@ -620,12 +653,17 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
     public Map<String, Object> checkSanctionsList(String name) {
         log.info("Checking sanctions list for name: {}", name);
         
+        List<WatchlistMatch> matches = watchlistScreeningService.screenSanctions(name, null);
+        
         Map<String, Object> result = new HashMap<>();
-        // TODO: Integrate with FATF/OFAC sanctions APIs
-        result.put("found", false);
+        result.put("found", !matches.isEmpty());
         result.put("name", name);
         result.put("sources", Arrays.asList("FATF", "OFAC"));
-        result.put("message", "No match found in sanctions lists");
+        result.put("matches", matches);
+        result.put("message", matches.isEmpty()
+                ? "No match found in sanctions lists"
+                : "Found " + matches.size() + " possible match(es) in sanctions lists");
+        result.put("listsLoaded", watchlistScreeningService.isLoaded());
         result.put("checkedAt", LocalDateTime.now());
         
         return result;
@@ -635,11 +673,16 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
     public Map<String, Object> checkInternalBlacklist(Long applicantId) {
         log.info("Checking internal blacklist for applicant ID: {}", applicantId);
         
+        Set<BlacklistSource> sources = lookupApplicantIdentifiers(applicantId, null);
+        sources.remove(BlacklistSource.RBI_DEFAULTERS);
+        // The applicant's own flags keep their place in the response; sources adds the
+        // identifier hits (confirmed fraud or external lists under the same PAN/Aadhaar)
         List<FraudFlag> fraudFlags = fraudFlagRepository.findByApplicant_ApplicantId(applicantId);
         
         Map<String, Object> result = new HashMap<>();
-        result.put("found", !fraudFlags.isEmpty());
+        result.put("found", !fraudFlags.isEmpty() || !sources.isEmpty());
         result.put("applicantId", applicantId);
+        result.put("sources", sources);
         result.put("flagCount", fraudFlags.size());
         result.put("flags", fraudFlags.stream()
                 .map(f -> Map.of(
@@ -649,26 +692,84 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
                         "flaggedAt", f.getCreatedAt()
                 ))
                 .collect(Collectors.toList()));
+        result.put("listsLoaded", identifierBlacklistService.isLoaded());
         result.put("checkedAt", LocalDateTime.now());
         
         return result;
     }
     
+    /**
+     * Blacklist sources for the applicant's PAN (the given one, else the stored one) and Aadhaar
+     */
+    private Set<BlacklistSource> lookupApplicantIdentifiers(Long applicantId, String panNumber) {
+        ApplicantBasicDetails basicDetails = applicantId == null ? null
+                : basicDetailsRepository.findByApplicant_ApplicantId(applicantId).orElse(null);
+        String pan = panNumber != null ? panNumber : basicDetails != null ? basicDetails.getPanNumber() : null;
+        String aadhaar = basicDetails != null ? basicDetails.getAadhaarNumber() : null;
+        return identifierBlacklistService.lookup(pan, aadhaar);
+    }
+    
     @Override
     public Map<String, Object> checkPEPStatus(String name, String pan) {
         log.info("Checking PEP status for name: {}, PAN: {}", name, pan);
         
+        List<WatchlistMatch> matches = watchlistScreeningService.screenPep(name);
+        
         Map<String, Object> result = new HashMap<>();
-        // TODO: Integrate with actual PEP database/API
-        result.put("isPEP", false);
+        result.put("isPEP", !matches.isEmpty());
         result.put("name", name);
         result.put("panNumber", pan);
-        result.put("message", "No PEP status found");
+        result.put("matches", matches);
+        result.put("message", matches.isEmpty()
+                ? "No PEP status found"
+                : "Possible PEP match: " + matches.get(0).getListedName());
+        result.put("listsLoaded", watchlistScreeningService.isLoaded());
         result.put("checkedAt", LocalDateTime.now());
         
         return result;
     }
     
+    /**
+     * AML finding for one sanctions list check type (FATF_SANCTIONS -> FATF, OFAC -> OFAC)
+     */
+    private AMLFinding createSanctionsFinding(String checkType, String applicantName) {
+        String source = checkType.replace("_SANCTIONS", "");
+        String listName = "OFAC".equals(source) ? "OFAC sanctions list" : source + " sanctions list";
+        List<WatchlistMatch> matches = watchlistScreeningService.screenSanctions(applicantName, List.of(source));
+        
+        if (matches.isEmpty()) {
+            return AMLFinding.builder()
+                    .source(checkType)
+                    .matchType("NONE")
+                    .matchScore(0)
+                    .details("No match found in " + listName)
+                    .severity("LOW")
+                    .build();
+        }
+        
+        WatchlistMatch best = matches.get(0);
+        StringBuilder details = new StringBuilder("Name matches ").append(listName).append(" entry ")
+                .append(best.getEntryId()).append(" (").append(best.getListedName());
+        if (!best.getMatchedName().equals(best.getListedName())) {
+            details.append(", alias ").append(best.getMatchedName());
+        }
+        details.append(")");
+        if (best.getProgram() != null) {
+            details.append(", program ").append(best.getProgram());
+        }
+        if (matches.size() > 1) {
+            details.append("; ").append(matches.size() - 1).append(" further candidate(s)");
+        }
+        
+        return AMLFinding.builder()
+                .source(checkType)
+                .matchType(best.getMatchType())
+                .matchScore(best.getMatchScore())
+                .details(details.toString())
+                .severity("EXACT".equals(best.getMatchType()) ? "CRITICAL" : "HIGH")
+                .build();
+    }
+    
     @Override
     public RiskCorrelationAnalysisResponse getRiskCorrelationAnalysis(Long loanId) {
         log.info("Getting risk correlation analysis for loan ID: {}", loanId);
@@ -801,6 +902,11 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
     
     @Override
     public Map<String, Object> getExternalFraudData(Long applicantId) {
+        return getExternalFraudData(applicantId, true);
+    }
+    
+    @Override
+    public Map<String, Object> getExternalFraudData(Long applicantId, boolean includeDetails) {
         log.info("Fetching external fraud data for applicant ID: {}", applicantId);
         
         try {
@@ -822,13 +928,13 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
             
             // First try PAN matching
             if (panNumber != null) {
-                externalPersonOpt = personRepository.findByPanNumber(panNumber);
+                externalPersonOpt = personLookupService.findByPan(panNumber);
                 log.info("PAN matching result: {}", externalPersonOpt.isPresent() ? "Found" : "Not found");
             }
             
             // If not found by PAN, try Aadhaar matching
             if (!externalPersonOpt.isPresent() && aadhaarNumber != null) {
-                externalPersonOpt = personRepository.findByAadhaarNumber(aadhaarNumber);
+                externalPersonOpt = personLookupService.findByAadhaar(aadhaarNumber);
                 log.info("Aadhaar matching result: {}", externalPersonOpt.isPresent() ? "Found" : "Not found");
             }
             
@@ -842,7 +948,7 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
                         externalPersonId, applicantId);
                 
                 // Get comprehensive external person details
-                Map<String, Object> personDetails = getExternalPersonDetails(externalPersonId);
+                Map<String, Object> personDetails = getExternalPersonDetails(externalPersonId, includeDetails);
                 
                 // Add matching information
                 externalData.put("personFound", true);
@@ -926,6 +1032,11 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
 
     @Override
     public Map<String, Object> getExternalPersonDetails(Long personId) {
+        return getExternalPersonDetails(personId, true);
+    }
+    
+    @Override
+    public Map<String, Object> getExternalPersonDetails(Long personId, boolean includeDetails) {
         log.info("Fetching external person details for person ID: {}", personId);
         
         try {
@@ -938,6 +1049,9 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
                     person.getLastName(),
                     person.getPanNumber() != null ? person.getPanNumber().substring(0, 3) + "****" : "null");
         
+        // All counts, sums and scores come from the one precomputed row
+        PersonRiskProfile profile = personRiskProfileService.getProfile(personId);
+        
         Map<String, Object> personDetails = new HashMap<>();
         
         // Basic person information
@@ -952,19 +1066,13 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
         personDetails.put("email", person.getEmail());
 //        personDetails.put("address", person.getAddress());
         
-        // Fetch bank records
-        List<BankRecord> bankRecords = bankRecordRepository.findByPersonId(personId);
+        // Bank records
         Map<String, Object> bankData = new HashMap<>();
-        if (!bankRecords.isEmpty()) {
-            bankData.put("totalAccounts", bankRecords.size());
-            bankData.put("totalBalance", bankRecords.stream()
-                    .filter(br -> br.getBalanceAmount() != null)
-                    .mapToDouble(br -> br.getBalanceAmount().doubleValue())
-                    .sum());
-            bankData.put("activeAccounts", bankRecords.stream()
-                    .filter(br -> br.getIsActive() != null && br.getIsActive())
-                    .count());
-            bankData.put("accounts", bankRecords.stream()
+        bankData.put("totalAccounts", profile.getTotalBankAccounts());
+        bankData.put("totalBalance", profile.getTotalBankBalance().doubleValue());
+        bankData.put("activeAccounts", profile.getActiveBankAccounts());
+        bankData.put("accounts", includeDetails && profile.getTotalBankAccounts() > 0
+                ? bankRecordRepository.findByPersonId(personId).stream()
                     .map(br -> {
                         Map<String, Object> bankMap = new HashMap<>();
                         bankMap.put("bankName", br.getBankName() != null ? br.getBankName() : "Unknown");
@@ -974,21 +1082,15 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
                         bankMap.put("lastTransaction", br.getLastTransactionDate());
                         return bankMap;
                     })
-                    .collect(Collectors.toList()));
-        } else {
-            bankData.put("totalAccounts", 0);
-            bankData.put("totalBalance", 0.0);
-            bankData.put("activeAccounts", 0);
-            bankData.put("accounts", List.of());
-        }
+                    .collect(Collectors.toList())
+                : List.of());
         personDetails.put("bankRecords", bankData);
         
-        // Fetch criminal records
-        List<CriminalRecord> criminalRecords = criminalRecordRepository.findByPersonId(personId);
+        // Criminal records
         Map<String, Object> criminalData = new HashMap<>();
-        if (!criminalRecords.isEmpty()) {
-            criminalData.put("totalCases", criminalRecords.size());
-            criminalData.put("cases", criminalRecords.stream()
+        criminalData.put("totalCases", profile.getTotalCriminalCases());
+        criminalData.put("cases", includeDetails && profile.getTotalCriminalCases() > 0
+                ? criminalRecordRepository.findByPersonId(personId).stream()
                     .map(cr -> {
                         Map<String, Object> caseMap = new HashMap<>();
                         caseMap.put("caseNumber", cr.getCaseNumber() != null ? cr.getCaseNumber() : "Unknown");
@@ -999,37 +1101,20 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
                         caseMap.put("verdictDate", cr.getVerdictDate());
                         return caseMap;
                     })
-                    .collect(Collectors.toList()));
-        } else {
-            criminalData.put("totalCases", 0);
-            criminalData.put("cases", List.of());
-        }
+                    .collect(Collectors.toList())
+                : List.of());
         personDetails.put("criminalRecords", criminalData);
         
-        // Fetch loan history
-        List<HistoricalAndCurrentLoan> loanHistory = loanHistoryRepository.findByPersonId(personId);
+        // Loan history
         Map<String, Object> loanData = new HashMap<>();
-        if (!loanHistory.isEmpty()) {
-            long defaultedLoans = loanHistory.stream()
-                    .filter(loan -> loan.getDefaultFlag() != null && loan.getDefaultFlag())
-                    .count();
-            
-            double totalBorrowed = loanHistory.stream()
-                    .filter(loan -> loan.getLoanAmount() != null)
-                    .mapToDouble(loan -> loan.getLoanAmount().doubleValue())
-                    .sum();
-            
-            double totalOutstanding = loanHistory.stream()
-                    .filter(loan -> loan.getOutstandingBalance() != null)
-                    .mapToDouble(loan -> loan.getOutstandingBalance().doubleValue())
-                    .sum();
-            
-            loanData.put("totalLoans", loanHistory.size());
-            loanData.put("defaultedLoans", (int) defaultedLoans);
-            loanData.put("totalAmountBorrowed", totalBorrowed);
-            loanData.put("totalOutstandingBalance", totalOutstanding);
-            loanData.put("defaultRate", loanHistory.size() > 0 ? (double) defaultedLoans / loanHistory.size() * 100 : 0.0);
-            loanData.put("loans", loanHistory.stream()
+        loanData.put("totalLoans", profile.getTotalLoans());
+        loanData.put("defaultedLoans", profile.getDefaultedLoans());
+        loanData.put("totalAmountBorrowed", profile.getTotalBorrowed().doubleValue());
+        loanData.put("totalOutstandingBalance", profile.getTotalOutstanding().doubleValue());
+        loanData.put("defaultRate", profile.getTotalLoans() > 0
+                ? (double) profile.getDefaultedLoans() / profile.getTotalLoans() * 100 : 0.0);
+        loanData.put("loans", includeDetails && profile.getTotalLoans() > 0
+                ? loanHistoryRepository.findByPersonId(personId).stream()
                     .map(loan -> {
                         Map<String, Object> loanMap = new HashMap<>();
                         loanMap.put("loanId", loan.getId());
@@ -1043,29 +1128,18 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
                         loanMap.put("defaultFlag", loan.getDefaultFlag() != null ? loan.getDefaultFlag() : false);
                         return loanMap;
                     })
-                    .collect(Collectors.toList()));
-        } else {
-            loanData.put("totalLoans", 0);
-            loanData.put("defaultedLoans", 0);
-            loanData.put("totalAmountBorrowed", 0.0);
-            loanData.put("totalOutstandingBalance", 0.0);
-            loanData.put("defaultRate", 0.0);
-            loanData.put("loans", List.of());
-        }
+                    .collect(Collectors.toList())
+                : List.of());
         personDetails.put("loanHistory", loanData);
         
-        // Fetch government documents
-        List<GovernmentIssuedDocument> govDocuments = governmentIssuedDocumentRepository.findByPersonId(personId);
+        // Government documents
         Map<String, Object> docData = new HashMap<>();
-        if (!govDocuments.isEmpty()) {
-            long verifiedDocs = govDocuments.stream()
-                    .filter(doc -> "VERIFIED".equals(doc.getVerificationStatus()))
-                    .count();
-            
-            docData.put("totalDocuments", govDocuments.size());
-            docData.put("verifiedDocuments", (int) verifiedDocs);
-            docData.put("verificationRate", govDocuments.size() > 0 ? (double) verifiedDocs / govDocuments.size() * 100 : 0.0);
-            docData.put("documents", govDocuments.stream()
+        docData.put("totalDocuments", profile.getTotalDocuments());
+        docData.put("verifiedDocuments", profile.getVerifiedDocuments());
+        docData.put("verificationRate", profile.getTotalDocuments() > 0
+                ? (double) profile.getVerifiedDocuments() / profile.getTotalDocuments() * 100 : 0.0);
+        docData.put("documents", includeDetails && profile.getTotalDocuments() > 0
+                ? governmentIssuedDocumentRepository.findByPersonId(personId).stream()
                     .map(doc -> {
                         Map<String, Object> docMap = new HashMap<>();
                         docMap.put("documentId", doc.getId());
@@ -1077,20 +1151,13 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
                         docMap.put("verificationStatus", doc.getVerificationStatus() != null ? doc.getVerificationStatus() : "PENDING");
                         return docMap;
                     })
-                    .collect(Collectors.toList()));
-        } else {
-            docData.put("totalDocuments", 0);
-            docData.put("verifiedDocuments", 0);
-            docData.put("verificationRate", 0.0);
-            docData.put("documents", List.of());
-        }
+                    .collect(Collectors.toList())
+                : List.of());
         personDetails.put("governmentDocuments", docData);
         
-        // Calculate overall risk assessment
-        Map<String, Object> riskAssessment = createRiskAssessment(bankRecords, criminalRecords, loanHistory, govDocuments);
-        personDetails.put("riskAssessment", riskAssessment);
-        
-        personDetails.put("lastUpdated", LocalDateTime.now());
+        personDetails.put("cibilData", createCibilData(profile));
+        personDetails.put("riskAssessment", createRiskAssessment(profile));
+        personDetails.put("lastUpdated", profile.getComputedAt());
         
             log.info("Successfully fetched external person details for person ID: {}", personId);
             
@@ -1161,57 +1228,13 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
     }
     
     // Helper methods for calculations
-    private int calculateCibilScore(List<BankRecord> bankRecords, List<HistoricalAndCurrentLoan> loans) {
-        int baseScore = 300;
-        
-        // Add points for active bank accounts
-        int bankScore = (int) bankRecords.stream()
-                .filter(br -> br.getIsActive() != null && br.getIsActive())
-                .count() * 50;
-        
-        // Subtract points for defaulted loans
-        int loanPenalty = (int) loans.stream()
-                .filter(loan -> loan.getDefaultFlag() != null && loan.getDefaultFlag())
-                .count() * 100;
-        
-        // Add points for good loan history
-        int goodLoanBonus = (int) loans.stream()
-                .filter(loan -> loan.getDefaultFlag() != null && !loan.getDefaultFlag() && 
-                               "CLOSED".equalsIgnoreCase(loan.getStatus()))
-                .count() * 75;
-        
-        int finalScore = baseScore + bankScore + goodLoanBonus - loanPenalty;
-        return Math.min(850, Math.max(300, finalScore));
-    }
-    
-    private double calculateCreditUtilization(List<HistoricalAndCurrentLoan> loans) {
-        double totalLimit = loans.stream()
-                .filter(loan -> loan.getLoanAmount() != null)
-                .mapToDouble(loan -> loan.getLoanAmount().doubleValue())
-                .sum();
-        
-        double totalUsed = loans.stream()
-                .filter(loan -> loan.getOutstandingBalance() != null)
-                .mapToDouble(loan -> loan.getOutstandingBalance().doubleValue())
-                .sum();
-        
-        if (totalLimit == 0) return 0.0;
-        return (totalUsed / totalLimit) * 100;
-    }
-    
-    private String determinePaymentHistory(List<HistoricalAndCurrentLoan> loans) {
-        if (loans.isEmpty()) return "NO_HISTORY";
-        
-        long defaultedCount = loans.stream()
-                .filter(loan -> loan.getDefaultFlag() != null && loan.getDefaultFlag())
-                .count();
-        
-        double defaultRate = (double) defaultedCount / loans.size();
-        
-        if (defaultRate == 0) return "EXCELLENT";
-        if (defaultRate < 0.1) return "GOOD";
-        if (defaultRate < 0.3) return "FAIR";
-        return "POOR";
+    private Map<String, Object> createCibilData(PersonRiskProfile profile) {
+        Map<String, Object> cibilData = new HashMap<>();
+        cibilData.put("cibilScore", profile.getCibilScore());
+        cibilData.put("creditUtilization", profile.getCreditUtilization());
+        cibilData.put("paymentHistory", profile.getPaymentHistory());
+        cibilData.put("lastUpdated", profile.getComputedAt());
+        return cibilData;
     }
     
     // ==================== NEW COMPREHENSIVE HELPER METHODS ====================
@@ -1392,86 +1415,47 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
         return sanctionsCheck;
     }
     
-    private Map<String, Object> createRiskAssessment(List<BankRecord> bankRecords, 
-                                                   List<CriminalRecord> criminalRecords, 
-                                                   List<HistoricalAndCurrentLoan> loans,
-                                                   List<GovernmentIssuedDocument> govDocuments) {
+    private Map<String, Object> createRiskAssessment(PersonRiskProfile profile) {
         Map<String, Object> riskAssessment = new HashMap<>();
         
-        // Calculate overall risk score (0-100, higher is riskier)
-        int riskScore = 0;
+        // Score and level are computed with the profile (0-100, higher is riskier)
         List<String> riskFactors = new ArrayList<>();
+        int unverifiedDocs = profile.getTotalDocuments() - profile.getVerifiedDocuments();
         
-        // Criminal record risk (0-40 points)
-        if (!criminalRecords.isEmpty()) {
-            int criminalScore = Math.min(40, criminalRecords.size() * 10);
-            riskScore += criminalScore;
-            riskFactors.add("Criminal records found: " + criminalRecords.size() + " cases");
+        if (profile.getTotalCriminalCases() > 0) {
+            riskFactors.add("Criminal records found: " + profile.getTotalCriminalCases() + " cases");
         }
-        
-        // Loan default risk (0-30 points)
-        long defaultedLoans = loans.stream()
-                .filter(loan -> loan.getDefaultFlag() != null && loan.getDefaultFlag())
-                .count();
-        if (defaultedLoans > 0) {
-            int loanScore = Math.min(30, (int) defaultedLoans * 15);
-            riskScore += loanScore;
-            riskFactors.add("Loan defaults found: " + defaultedLoans + " loans");
+        if (profile.getDefaultedLoans() > 0) {
+            riskFactors.add("Loan defaults found: " + profile.getDefaultedLoans() + " loans");
         }
-        
-        // Bank account risk (0-20 points)
-        long inactiveBankAccounts = bankRecords.stream()
-                .filter(br -> br.getIsActive() != null && !br.getIsActive())
-                .count();
-        if (inactiveBankAccounts > 0) {
-            int bankScore = Math.min(20, (int) inactiveBankAccounts * 5);
-            riskScore += bankScore;
-            riskFactors.add("Inactive bank accounts: " + inactiveBankAccounts);
+        if (profile.getInactiveBankAccounts() > 0) {
+            riskFactors.add("Inactive bank accounts: " + profile.getInactiveBankAccounts());
         }
-        
-        // Document verification risk (0-10 points)
-        long unverifiedDocs = govDocuments.stream()
-                .filter(doc -> !"VERIFIED".equals(doc.getVerificationStatus()))
-                .count();
         if (unverifiedDocs > 0) {
-            int docScore = Math.min(10, (int) unverifiedDocs * 2);
-            riskScore += docScore;
             riskFactors.add("Unverified documents: " + unverifiedDocs);
         }
         
-        // Determine risk level
-        String riskLevel;
         String recommendation;
-        
-        if (riskScore >= 70) {
-            riskLevel = "CRITICAL";
-            recommendation = "REJECT";
-        } else if (riskScore >= 50) {
-            riskLevel = "HIGH";
-            recommendation = "MANUAL_REVIEW";
-        } else if (riskScore >= 30) {
-            riskLevel = "MEDIUM";
-            recommendation = "ENHANCED_VERIFICATION";
-        } else if (riskScore >= 15) {
-            riskLevel = "LOW";
-            recommendation = "STANDARD_PROCESS";
-        } else {
-            riskLevel = "MINIMAL";
-            recommendation = "APPROVE";
+        switch (profile.getRiskLevel()) {
+            case "CRITICAL": recommendation = "REJECT"; break;
+            case "HIGH": recommendation = "MANUAL_REVIEW"; break;
+            case "MEDIUM": recommendation = "ENHANCED_VERIFICATION"; break;
+            case "LOW": recommendation = "STANDARD_PROCESS"; break;
+            default: recommendation = "APPROVE";
         }
         
-        riskAssessment.put("overallRiskScore", riskScore);
-        riskAssessment.put("riskLevel", riskLevel);
+        riskAssessment.put("overallRiskScore", profile.getRiskScore());
+        riskAssessment.put("riskLevel", profile.getRiskLevel());
         riskAssessment.put("recommendation", recommendation);
         riskAssessment.put("riskFactors", riskFactors);
-        riskAssessment.put("assessmentDate", LocalDateTime.now());
+        riskAssessment.put("assessmentDate", profile.getComputedAt());
         
         // Detailed breakdown
         Map<String, Object> breakdown = new HashMap<>();
-        breakdown.put("criminalRisk", criminalRecords.size() > 0 ? "HIGH" : "LOW");
-        breakdown.put("financialRisk", defaultedLoans > 0 ? "HIGH" : "LOW");
+        breakdown.put("criminalRisk", profile.getTotalCriminalCases() > 0 ? "HIGH" : "LOW");
+        breakdown.put("financialRisk", profile.getDefaultedLoans() > 0 ? "HIGH" : "LOW");
         breakdown.put("documentRisk", unverifiedDocs > 0 ? "MEDIUM" : "LOW");
-        breakdown.put("bankingRisk", inactiveBankAccounts > 0 ? "MEDIUM" : "LOW");
+        breakdown.put("bankingRisk", profile.getInactiveBankAccounts() > 0 ? "MEDIUM" : "LOW");
         
         riskAssessment.put("riskBreakdown", breakdown);
         
@@ -1768,7 +1752,7 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
         assignment.setVerdict(request.getVerdict().toString());
         assignment.setVerdictReason(request.getVerdictReason());
         assignment.setRemarks(request.getDetailedRemarks());
-        assignment.setStatus("VERDICT_PROVIDED");
+        changeStatus(assignment, "VERDICT_PROVIDED");
         assignment.setUpdatedAt(LocalDateTime.now());
         
         assignmentRepository.save(assignment);
@@ -1931,10 +1915,10 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
         Long externalPersonId = null;
         
         if (panNumber != null) {
-            personOpt = personRepository.findByPanNumber(panNumber);
+            personOpt = personLookupService.findByPan(panNumber);
         }
         if (!personOpt.isPresent() && aadhaarNumber != null) {
-            personOpt = personRepository.findByAadhaarNumber(aadhaarNumber);
+            personOpt = personLookupService.findByAadhaar(aadhaarNumber);
         }
         
         if (!personOpt.isPresent()) {
@@ -2299,5 +2283,10 @@ public class ComplianceOfficerServiceImpl implements ComplianceOfficerService {
 			throw new RuntimeException("Failed to fetch forwarded documents: " + e.getMessage());
 		}
 	}
-}
 
+    private void changeStatus(ComplianceOfficerApplicationAssignment assignment, String status) {
+        String previousStatus = assignment.getStatus();
+        assignment.setStatus(status);
+        officerRouter.onStatusChange(assignment, previousStatus);
+    }
+}
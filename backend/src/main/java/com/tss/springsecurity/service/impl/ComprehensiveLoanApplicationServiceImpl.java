@@ -7,8 +7,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.tss.springsecurity.dto.ApplicantSummaryDTO;
 import com.tss.springsecurity.dto.CompleteLoanApplicationRequest;
 import com.tss.springsecurity.entity.AadhaarDetails;
 import com.tss.springsecurity.entity.Applicant;
@@ -20,6 +23,7 @@ import com.tss.springsecurity.entity.ApplicantPropertyDetails;
 import com.tss.springsecurity.entity.OtherDocument;
 import com.tss.springsecurity.entity.PanDetails;
 import com.tss.springsecurity.entity.PassportDetails;
+import com.tss.springsecurity.fraud.ring.FraudRingService;
 import com.tss.springsecurity.repository.AadhaarDetailsRepository;
 import com.tss.springsecurity.repository.ApplicantBasicDetailsRepository;
 import com.tss.springsecurity.repository.ApplicantEmploymentRepository;
@@ -31,6 +35,7 @@ import com.tss.springsecurity.repository.OtherDocumentRepository;
 import com.tss.springsecurity.repository.PanDetailsRepository;
 import com.tss.springsecurity.repository.PassportDetailsRepository;
 import com.tss.springsecurity.service.CloudinaryService;
+import com.tss.springsecurity.velocity.VelocityService;
 
 import jakarta.transaction.Transactional;
 
@@ -69,6 +74,12 @@ public class ComprehensiveLoanApplicationServiceImpl {
     
     @Autowired
     private CloudinaryService cloudinaryService;
+    
+    @Autowired
+    private FraudRingService fraudRingService;
+    
+    @Autowired
+    private VelocityService velocityService;
 
     @Transactional
     public Applicant submitCompleteLoanApplication(CompleteLoanApplicationRequest request, String applicantUsername) throws IOException {
@@ -110,6 +121,13 @@ public class ComprehensiveLoanApplicationServiceImpl {
         applicant.setApprovalStatus("SUBMITTED");
         applicant.setUpdatedAt(LocalDateTime.now());
         
+        // 10. Link into the fraud-ring graph once committed
+        fraudRingService.indexAfterCommit(applicant.getApplicantId());
+        
+        // 11. Count the application for velocity rules
+        velocityService.recordApplication(applicant.getApplicantId(), applicant.getPhone(), applicant.getEmail(),
+                request.getPanNumber(), request.getCompanyName());
+        
         return applicantRepository.save(applicant);
     }
 
@@ -297,12 +315,12 @@ public class ComprehensiveLoanApplicationServiceImpl {
         return numerator.divide(denominator, 2, RoundingMode.HALF_UP);
     }
 
-    public List<Applicant> getAllLoanApplications() {
-        return applicantRepository.findAll();
+    public Page<ApplicantSummaryDTO> getAllLoanApplications(Pageable pageable) {
+        return applicantRepository.findSummaries(pageable);
     }
 
-    public Applicant getLoanApplicationByUsername(String username) {
-        return applicantRepository.findByUsername(username)
+    public ApplicantSummaryDTO getLoanApplicationByUsername(String username) {
+        return applicantRepository.findSummaryByUsername(username)
                 .orElseThrow(() -> new RuntimeException("Loan application not found for username: " + username));
     }
 
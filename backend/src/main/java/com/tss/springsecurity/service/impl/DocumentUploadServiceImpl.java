@@ -11,6 +11,8 @@ import com.tss.springsecurity.service.DocumentUploadService;
 import com.tss.springsecurity.service.EmailService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -252,8 +254,8 @@ public class DocumentUploadServiceImpl implements DocumentUploadService {
     }
     
     @Override
-    public List<UploadedDocument> getAllDocuments() {
-        return uploadedDocumentRepository.findAll();
+    public Page<UploadedDocument> getAllDocuments(Pageable pageable) {
+        return uploadedDocumentRepository.findAll(pageable);
     }
     
     private boolean isValidFileType(String contentType) {
@@ -1,14 +1,20 @@
 package com.tss.springsecurity.service.impl;
 
 import com.tss.springsecurity.dto.ApplicantLoanDetailsDTO;
+import com.tss.springsecurity.dto.ApplicantSummaryDTO;
 import com.tss.springsecurity.dto.CompleteLoanApplicationDTO;
 import com.tss.springsecurity.dto.LoanApplicationDTO;
 import com.tss.springsecurity.dto.LoanApplicationForExistingApplicantDTO;
+import com.tss.springsecurity.dto.LoanDetailViewDTO;
 import com.tss.springsecurity.entity.*;
 import com.tss.springsecurity.repository.*;
 import com.tss.springsecurity.service.LoanApplicationService;
 import com.tss.springsecurity.service.EmailService;
+import com.tss.springsecurity.velocity.VelocityService;
 import jakarta.transaction.Transactional;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import lombok.extern.slf4j.Slf4j;
 
@@ -31,6 +37,7 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
     private final com.tss.springsecurity.service.DocumentExtractionService documentExtractionService;
     private final UploadedDocumentRepository uploadedDocumentRepository;
     private final EmailService emailService;
+    private final VelocityService velocityService;
     
     public LoanApplicationServiceImpl(
             ApplicantRepository applicantRepository,
@@ -43,7 +50,8 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
             CompleteLoanApplicationServiceImpl completeLoanApplicationService,
             com.tss.springsecurity.service.DocumentExtractionService documentExtractionService,
             UploadedDocumentRepository uploadedDocumentRepository,
-            EmailService emailService) {
+            EmailService emailService,
+            VelocityService velocityService) {
         this.applicantRepository = applicantRepository;
         this.basicDetailsRepository = basicDetailsRepository;
         this.employmentRepository = employmentRepository;
@@ -55,6 +63,7 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
         this.documentExtractionService = documentExtractionService;
         this.uploadedDocumentRepository = uploadedDocumentRepository;
         this.emailService = emailService;
+        this.velocityService = velocityService;
     }
     
     @Override
@@ -154,6 +163,10 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
         // Link all previously uploaded documents (with null loan_id) to this loan
         linkDocumentsToLoan(applicant.getApplicantId(), loanDetails.getLoanId());
         
+        // Count the application for velocity rules
+        velocityService.recordApplication(applicant.getApplicantId(), applicant.getPhone(), applicant.getEmail(),
+                dto.getPanNumber(), dto.getEmployerName());
+        
         // Send loan application submission confirmation email
         try {
             String applicantName = applicant.getFirstName() + " " + applicant.getLastName();
@@ -265,6 +278,10 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
         // Link all previously uploaded documents (with null loan_id) to this loan
         linkDocumentsToLoan(applicant.getApplicantId(), loanDetails.getLoanId());
         
+        // Count the application for velocity rules
+        velocityService.recordApplication(applicant.getApplicantId(), applicant.getPhone(), applicant.getEmail(),
+                dto.getPanNumber(), dto.getEmployerName());
+        
         // Save Documents if provided
         if (dto.getDocuments() != null && !dto.getDocuments().isEmpty()) {
             saveDocuments(applicant, dto.getDocuments());
@@ -350,14 +367,25 @@ public class LoanApplicationServiceImpl implements LoanApplicationService {
     }
     
     @Override
-    public List<Applicant> getAllApplicants() {
-        return applicantRepository.findAll();
+    public ApplicantSummaryDTO getApplicantSummary(Long applicantId) {
+        return applicantRepository.findSummaryById(applicantId)
+                .orElseThrow(() -> new RuntimeException("Applicant not found with ID: " + applicantId));
+    }
+    
+    @Override
+    public Page<ApplicantSummaryDTO> getApplicantSummaries(Pageable pageable) {
+        return applicantRepository.findSummaries(pageable);
     }
     
     @Override
-    public ApplicantLoanDetails getLoanById(Long loanId) {
-        return loanDetailsRepository.findById(loanId)
+    public LoanDetailViewDTO getLoanDetailView(Long loanId) {
+        ApplicantLoanDetails loan = loanDetailsRepository.findById(loanId)
                 .orElseThrow(() -> new RuntimeException("Loan not found with ID: " + loanId));
+        // Only the loan's own columns are copied, so no association is loaded
+        LoanDetailViewDTO view = new LoanDetailViewDTO();
+        BeanUtils.copyProperties(loan, view);
+        view.setApplicantId(loan.getApplicant() != null ? loan.getApplicant().getApplicantId() : null);
+        return view;
     }
     
     @Override
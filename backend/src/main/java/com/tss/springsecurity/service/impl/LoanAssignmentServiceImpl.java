@@ -9,14 +9,19 @@ import com.tss.springsecurity.entity.OfficerApplicationAssignment;
 import com.tss.springsecurity.repository.ApplicantLoanDetailsRepository;
 import com.tss.springsecurity.repository.LoanOfficerRepository;
 import com.tss.springsecurity.repository.OfficerApplicationAssignmentRepository;
+import com.tss.springsecurity.routing.OfficerRouter;
 import com.tss.springsecurity.service.LoanAssignmentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -29,6 +34,7 @@ public class LoanAssignmentServiceImpl implements LoanAssignmentService {
     private final ApplicantLoanDetailsRepository loanRepository;
     private final LoanOfficerRepository loanOfficerRepository;
     private final OfficerApplicationAssignmentRepository assignmentRepository;
+    private final OfficerRouter officerRouter;
     
     @Override
     public LoanAssignmentResponse assignLoanToOfficer(LoanAssignmentRequest request) {
@@ -46,9 +52,10 @@ public class LoanAssignmentServiceImpl implements LoanAssignmentService {
             throw new RuntimeException("Loan is already assigned to an officer");
         }
         
-        // Auto-select officer if not provided
+        // Auto-select officer if not provided (the router already counts the new case against them)
         Long officerId = request.getOfficerId();
-        if (officerId == null) {
+        boolean routed = officerId == null;
+        if (routed) {
             log.info("Officer ID not provided, auto-selecting based on loan type: {}", loan.getLoanType());
             officerId = autoSelectBestOfficer(loan.getLoanType());
             log.info("Auto-selected officer ID: {}", officerId);
@@ -77,6 +84,9 @@ public class LoanAssignmentServiceImpl implements LoanAssignmentService {
         assignment.setRemarks(request.getRemarks());
         
         assignment = assignmentRepository.save(assignment);
+        if (!routed) {
+            officerRouter.loanOfficerAssigned(assignedOfficer.getOfficerId());
+        }
         
         log.info("Loan {} assigned to officer {} successfully", request.getLoanId(), assignedOfficer.getOfficerId());
         
@@ -104,11 +114,14 @@ public class LoanAssignmentServiceImpl implements LoanAssignmentService {
                     ") does not match loan type (" + loan.getLoanType() + ")");
         }
         
+        Long previousOfficerId = assignment.getOfficer().getOfficerId();
+        String previousStatus = assignment.getStatus();
         assignment.setOfficer(newOfficer);
         assignment.setRemarks(remarks);
         assignment.setStatus("PENDING"); // Reset status for new officer
         
         assignment = assignmentRepository.save(assignment);
+        officerRouter.onReassigned(assignment, previousOfficerId, previousStatus);
         
         log.info("Assignment {} reassigned to officer {} successfully", assignmentId, newOfficerId);
         
@@ -140,6 +153,7 @@ public class LoanAssignmentServiceImpl implements LoanAssignmentService {
         OfficerApplicationAssignment assignment = assignmentRepository.findById(assignmentId)
                 .orElseThrow(() -> new RuntimeException("Assignment not found with ID: " + assignmentId));
         
+        String previousStatus = assignment.getStatus();
         assignment.setStatus(status);
         assignment.setRemarks(remarks);
         
@@ -148,6 +162,7 @@ public class LoanAssignmentServiceImpl implements LoanAssignmentService {
         }
         
         assignment = assignmentRepository.save(assignment);
+        officerRouter.onStatusChange(assignment, previousStatus);
         
         ApplicantLoanDetails loan = loanRepository.findByApplicant_ApplicantId(assignment.getApplicant().getApplicantId())
                 .stream().findFirst()
@@ -160,11 +175,9 @@ public class LoanAssignmentServiceImpl implements LoanAssignmentService {
     
     @Override
     @Transactional(readOnly = true)
-    public List<LoanAssignmentResponse> getAllAssignments() {
-        List<OfficerApplicationAssignment> assignments = assignmentRepository.findAll();
-        return assignments.stream()
-                .map(this::mapToResponseWithLoan)
-                .collect(Collectors.toList());
+    public Page<LoanAssignmentResponse> getAllAssignments(Pageable pageable) {
+        return assignmentRepository.findPageWithParticipants(pageable)
+                .map(this::mapToResponseWithLoan);
     }
     
     @Override
@@ -195,7 +208,9 @@ public class LoanAssignmentServiceImpl implements LoanAssignmentService {
     }
     
     private LoanAssignmentResponse mapToResponseWithLoan(OfficerApplicationAssignment assignment) {
-        ApplicantLoanDetails loan = loanRepository.findByApplicant_ApplicantId(assignment.getApplicant().getApplicantId())
+        // Older assignments have no loan_id; fall back to the applicant's first loan for those
+        ApplicantLoanDetails loan = assignment.getLoan() != null ? assignment.getLoan()
+                : loanRepository.findByApplicant_ApplicantId(assignment.getApplicant().getApplicantId())
                 .stream().findFirst()
                 .orElseThrow(() -> new RuntimeException("Loan not found for applicant"));
         
@@ -205,11 +220,14 @@ public class LoanAssignmentServiceImpl implements LoanAssignmentService {
     @Override
     @Transactional(readOnly = true)
     public List<OfficerSummary> getAvailableOfficersByLoanType(String loanType) {
-        List<LoanOfficer> officers = loanOfficerRepository.findByLoanTypeOrderByWorkload(loanType);
+        // Workloads come from the router instead of one COUNT per officer
+        Map<Long, Integer> loads = officerRouter.getLoanOfficerLoads(loanType);
+        List<LoanOfficer> officers = loanOfficerRepository.findByLoanType(loanType);
         
         return officers.stream()
+                .sorted(Comparator.comparingInt((LoanOfficer officer) -> loads.getOrDefault(officer.getOfficerId(), 0)))
                 .map(officer -> {
-                    Long workload = assignmentRepository.countActiveAssignmentsByOfficer(officer.getOfficerId());
+                    Long workload = loads.getOrDefault(officer.getOfficerId(), 0).longValue();
                     return new OfficerSummary(
                             officer.getOfficerId(),
                             officer.getFirstName(),
@@ -222,28 +240,16 @@ public class LoanAssignmentServiceImpl implements LoanAssignmentService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Picks through the officer router, which reserves the new case on the chosen officer
+     */
     @Override
-    @Transactional(readOnly = true)
     public Long autoSelectBestOfficer(String loanType) {
         log.info("Auto-selecting best officer for loan type: {}", loanType);
         
-        // Get officers by loan type, ordered by workload (ascending)
-        List<LoanOfficer> officers = loanOfficerRepository.findByLoanTypeOrderByWorkload(loanType);
-        
-        if (officers.isEmpty()) {
-            throw new RuntimeException("No officers available for loan type: " + loanType);
-        }
-        
-        // Select the officer with the least workload (first in the list)
-        LoanOfficer selectedOfficer = officers.get(0);
-        Long workload = assignmentRepository.countActiveAssignmentsByOfficer(selectedOfficer.getOfficerId());
-        
-        log.info("Selected officer: {} {} (ID: {}) with workload: {}",
-                selectedOfficer.getFirstName(),
-                selectedOfficer.getLastName(),
-                selectedOfficer.getOfficerId(),
-                workload);
+        Long officerId = officerRouter.pickLoanOfficer(loanType);
+        log.info("Selected officer ID: {}", officerId);
         
-        return selectedOfficer.getOfficerId();
+        return officerId;
     }
 }
@@ -7,6 +7,7 @@ import com.tss.springsecurity.dto.LoanScreeningDecision;
 import com.tss.springsecurity.dto.ScreeningDashboardResponse;
 import com.tss.springsecurity.entity.*;
 import com.tss.springsecurity.repository.*;
+import com.tss.springsecurity.routing.OfficerRouter;
 import com.tss.springsecurity.service.EnhancedLoanScreeningService;
 import com.tss.springsecurity.service.LoanOfficerScreeningService;
 import com.tss.springsecurity.service.EmailService;
@@ -33,6 +34,7 @@ public class LoanOfficerScreeningServiceImpl implements LoanOfficerScreeningServ
     private final LoanOfficerRepository loanOfficerRepository;
     private final ComplianceOfficerRepository complianceOfficerRepository;
     private final EmailService emailService;
+    private final OfficerRouter officerRouter;
     
     @Autowired
     private EnhancedLoanScreeningService enhancedScreeningService;
@@ -148,14 +150,10 @@ public class LoanOfficerScreeningServiceImpl implements LoanOfficerScreeningServ
         // Use the loan from the assignment directly instead of fetching by applicant ID
         ApplicantLoanDetails loan = assignment.getLoan();
         
-        // Find any available compliance officer (compliance officers handle all loan types)
-        List<ComplianceOfficer> availableOfficers = complianceOfficerRepository.findAllComplianceOfficersOrderByWorkload();
-        
-        if (availableOfficers.isEmpty()) {
-            throw new RuntimeException("No compliance officers available");
-        }
-        
-        ComplianceOfficer complianceOfficer = availableOfficers.get(0);
+        // Least busy compliance officer (compliance officers handle all loan types); the router reserves the case
+        Long complianceOfficerId = officerRouter.pickComplianceOfficer();
+        ComplianceOfficer complianceOfficer = complianceOfficerRepository.findById(complianceOfficerId)
+                .orElseThrow(() -> new RuntimeException("Compliance officer not found with ID: " + complianceOfficerId));
         
         // Create compliance assignment
         ComplianceOfficerApplicationAssignment complianceAssignment = new ComplianceOfficerApplicationAssignment();
@@ -169,7 +167,7 @@ public class LoanOfficerScreeningServiceImpl implements LoanOfficerScreeningServ
         complianceAssignmentRepository.save(complianceAssignment);
         
         // Update original assignment status but don't set completedAt yet
-        assignment.setStatus("ESCALATED_TO_COMPLIANCE");
+        changeStatus(assignment, "ESCALATED_TO_COMPLIANCE");
         assignment.setRemarks("Escalated to compliance officer: " + complianceOfficer.getFirstName() + " " + complianceOfficer.getLastName());
         // Don't set completedAt here - keep it pending until final decision
         assignmentRepository.save(assignment);
@@ -248,7 +246,7 @@ public class LoanOfficerScreeningServiceImpl implements LoanOfficerScreeningServ
     
     private LoanScreeningResponse approveLoan(OfficerApplicationAssignment assignment, ApplicantLoanDetails loan, String remarks) {
         log.info("DEBUG: approveLoan method called for loan ID: {}", loan.getLoanId());
-        assignment.setStatus("APPROVED");
+        changeStatus(assignment, "APPROVED");
         assignment.setRemarks(remarks);
         assignment.setCompletedAt(LocalDateTime.now());
         assignmentRepository.save(assignment);
@@ -283,7 +281,7 @@ public class LoanOfficerScreeningServiceImpl implements LoanOfficerScreeningServ
     }
     
     private LoanScreeningResponse rejectLoan(OfficerApplicationAssignment assignment, ApplicantLoanDetails loan, String rejectionReason) {
-        assignment.setStatus("REJECTED");
+        changeStatus(assignment, "REJECTED");
         assignment.setRemarks(rejectionReason);
         assignment.setCompletedAt(LocalDateTime.now());
         assignmentRepository.save(assignment);
@@ -313,7 +311,7 @@ public class LoanOfficerScreeningServiceImpl implements LoanOfficerScreeningServ
     }
     
     private LoanScreeningResponse approveComplianceLoan(ComplianceOfficerApplicationAssignment assignment, ApplicantLoanDetails loan, String remarks) {
-        assignment.setStatus("APPROVED");
+        changeStatus(assignment, "APPROVED");
         assignment.setRemarks(remarks);
         assignment.setCompletedAt(LocalDateTime.now());
         complianceAssignmentRepository.save(assignment);
@@ -329,7 +327,7 @@ public class LoanOfficerScreeningServiceImpl implements LoanOfficerScreeningServ
     }
     
     private LoanScreeningResponse rejectComplianceLoan(ComplianceOfficerApplicationAssignment assignment, ApplicantLoanDetails loan, String rejectionReason) {
-        assignment.setStatus("REJECTED");
+        changeStatus(assignment, "REJECTED");
         assignment.setRemarks(rejectionReason);
         assignment.setCompletedAt(LocalDateTime.now());
         complianceAssignmentRepository.save(assignment);
@@ -634,7 +632,7 @@ public class LoanOfficerScreeningServiceImpl implements LoanOfficerScreeningServ
         }
         
         log.info("[processApprovalDecision] Setting assignment status to APPROVED and loan status to APPROVED");
-        assignment.setStatus("APPROVED");
+        changeStatus(assignment, "APPROVED");
         assignment.setRemarks(decision.getRemarks());
         assignment.setCompletedAt(LocalDateTime.now());
         assignmentRepository.save(assignment);
@@ -654,7 +652,7 @@ public class LoanOfficerScreeningServiceImpl implements LoanOfficerScreeningServ
                                                           LoanScreeningDecision decision) {
         log.info("[processRejectionDecision] Starting rejection process for loan {}", loan.getLoanId());
         log.info("[processRejectionDecision] Setting assignment status to REJECTED and loan status to REJECTED");
-        assignment.setStatus("REJECTED");
+        changeStatus(assignment, "REJECTED");
         assignment.setRemarks(decision.getRejectionReason() != null ? 
                              decision.getRejectionReason() : decision.getRemarks());
         assignment.setCompletedAt(LocalDateTime.now());
@@ -673,7 +671,7 @@ public class LoanOfficerScreeningServiceImpl implements LoanOfficerScreeningServ
     private LoanScreeningResponse requestMoreInformation(OfficerApplicationAssignment assignment, 
                                                         ApplicantLoanDetails loan, 
                                                         LoanScreeningDecision decision) {
-        assignment.setStatus("PENDING_INFO");
+        changeStatus(assignment, "PENDING_INFO");
         assignment.setRemarks("Additional information requested: " + decision.getRemarks());
         assignmentRepository.save(assignment);
         
@@ -773,7 +771,7 @@ public class LoanOfficerScreeningServiceImpl implements LoanOfficerScreeningServ
         }
         
         // Update assignment
-        assignment.setStatus(finalStatus);
+        changeStatus(assignment, finalStatus);
         assignment.setRemarks(finalRemarks);
         assignment.setCompletedAt(LocalDateTime.now());
         assignment.setProcessedAt(LocalDateTime.now());
@@ -844,4 +842,16 @@ public class LoanOfficerScreeningServiceImpl implements LoanOfficerScreeningServ
                 return backendVerdict; // Return as-is if no mapping found
         }
     }
+
+    private void changeStatus(OfficerApplicationAssignment assignment, String status) {
+        String previousStatus = assignment.getStatus();
+        assignment.setStatus(status);
+        officerRouter.onStatusChange(assignment, previousStatus);
+    }
+    
+    private void changeStatus(ComplianceOfficerApplicationAssignment assignment, String status) {
+        String previousStatus = assignment.getStatus();
+        assignment.setStatus(status);
+        officerRouter.onStatusChange(assignment, previousStatus);
+    }
 }
@@ -10,13 +10,12 @@ import com.tss.springsecurity.repository.LoanOfficerRepository;
 import com.tss.springsecurity.service.EmailService;
 import com.tss.springsecurity.service.OfficerManagementService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @Service
 @RequiredArgsConstructor
 public class OfficerManagementServiceImpl implements OfficerManagementService {
@@ -120,30 +119,28 @@ public class OfficerManagementServiceImpl implements OfficerManagementService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<OfficerResponse> getAllLoanOfficers() {
-        return loanOfficerRepository.findAll().stream()
+    public Page<OfficerResponse> getAllLoanOfficers(Pageable pageable) {
+        return loanOfficerRepository.findAll(pageable)
                 .map(officer -> new OfficerResponse(
                         officer.getOfficerId(),
                         officer.getUsername(),
                         officer.getEmail(),
                         officer.getLoanType(),
                         officer.getCreatedAt()
-                ))
-                .collect(Collectors.toList());
+                ));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<OfficerResponse> getAllComplianceOfficers() {
-        return complianceOfficerRepository.findAll().stream()
+    public Page<OfficerResponse> getAllComplianceOfficers(Pageable pageable) {
+        return complianceOfficerRepository.findAll(pageable)
                 .map(officer -> new OfficerResponse(
                         officer.getOfficerId(),
                         officer.getUsername(),
                         officer.getEmail(),
                         officer.getLoanType(),
                         officer.getCreatedAt()
-                ))
-                .collect(Collectors.toList());
+                ));
     }
 
     @Override
@@ -0,0 +1,285 @@
+package com.tss.springsecurity.synthetic;
+
+import com.tss.springsecurity.config.SyntheticDataProperties;
+import com.tss.springsecurity.util.LatencyHistogram;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load driver that replays the three traffic classes of the
+ * application against a running instance: intake (basic loan submissions for
+ * synthetic applicants), screening (full fraud checks) and dashboards (the
+ * admin and officer landing pages). Each worker thread picks a scenario by
+ * weight, sends it, waits for the answer and goes again until the duration is
+ * up. Reports throughput, errors by status and latency percentiles per scenario.
+ * Only created under the {@code benchmark} profile.
+ */
+@Service
+@Profile("benchmark")
+@RequiredArgsConstructor
+@Slf4j
+public class LoadDriverService {
+
+    private final SyntheticDataProperties properties;
+    private final RestTemplate restTemplate;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Data
+    public static class LoadRequest {
+        // Defaults to app.synthetic-data.load-base-url
+        private String baseUrl;
+        private int threads = 16;
+        private int durationSeconds = 60;
+        private int warmupSeconds = 10;
+
+        // Relative share of each scenario
+        private int intakeWeight = 1;
+        private int screeningWeight = 3;
+        private int dashboardWeight = 2;
+
+        // Applicants screened, e.g. the applicantIdFrom/To reported by the generator
+        private Long applicantIdFrom;
+        private Long applicantIdTo;
+
+        // Synthetic indexes whose usernames submit new loans
+        private long syntheticIndexFrom = 0;
+        private long syntheticIndexTo = 1000;
+
+        private List<Long> officerIds = List.of(1L);
+
+        // Sent as "Authorization: Bearer ..." when the target needs it
+        private String bearerToken;
+    }
+
+    public Map<String, Object> run(LoadRequest request) {
+        if (!properties.isEnabled()) {
+            throw new RuntimeException("Load driver is disabled; set app.synthetic-data.enabled=true");
+        }
+        if (request.getApplicantIdFrom() == null || request.getApplicantIdTo() == null
+                || request.getApplicantIdTo() < request.getApplicantIdFrom()) {
+            throw new RuntimeException("applicantIdFrom and applicantIdTo are required");
+        }
+        if (request.getIntakeWeight() + request.getScreeningWeight() + request.getDashboardWeight() <= 0) {
+            throw new RuntimeException("At least one scenario weight must be positive");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("A load run is already in progress");
+        }
+        try {
+            return drive(request);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Map<String, Object> drive(LoadRequest request) {
+        String baseUrl = request.getBaseUrl() != null && !request.getBaseUrl().isBlank()
+                ? request.getBaseUrl() : properties.getLoadBaseUrl();
+        baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        int threads = Math.max(1, Math.min(request.getThreads(), properties.getLoadMaxThreads()));
+        int duration = Math.max(1, Math.min(request.getDurationSeconds(), properties.getLoadMaxDurationSeconds()));
+        int warmup = Math.max(0, Math.min(request.getWarmupSeconds(), duration));
+
+        Map<String, ScenarioStats> stats = new ConcurrentHashMap<>();
+        AtomicBoolean measuring = new AtomicBoolean(warmup == 0);
+        String target = baseUrl;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmup + duration);
+
+        log.info("Load run against {}: {} threads, {} s warmup, {} s measured", baseUrl, threads, warmup, duration);
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    sendOne(target, request, measuring.get() ? stats : null);
+                }
+            });
+        }
+
+        long measureStart;
+        try {
+            if (warmup > 0) {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(warmup));
+                measuring.set(true);
+            }
+            measureStart = System.nanoTime();
+            workers.shutdown();
+            if (!workers.awaitTermination(duration + 60L, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Load run interrupted");
+        }
+        double measuredSeconds = (System.nanoTime() - measureStart) / 1e9;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", LocalDateTime.now().minusSeconds(warmup + duration).toString());
+        report.put("baseUrl", baseUrl);
+        report.put("threads", threads);
+        report.put("warmupSeconds", warmup);
+        report.put("measuredSeconds", Math.round(measuredSeconds * 10) / 10.0);
+
+        long totalRequests = 0;
+        long totalErrors = 0;
+        LatencyHistogram overall = new LatencyHistogram();
+        Map<String, Object> scenarios = new TreeMap<>();
+        for (Map.Entry<String, ScenarioStats> entry : stats.entrySet()) {
+            ScenarioStats scenario = entry.getValue();
+            long requests = scenario.latency.getCount();
+            long errors = scenario.errors.sum();
+            totalRequests += requests;
+            totalErrors += errors;
+            overall.merge(scenario.latency);
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("requests", requests);
+            result.put("errors", errors);
+            result.put("throughputPerSecond", Math.round(requests / measuredSeconds * 10) / 10.0);
+            result.put("latency", scenario.latency.snapshot());
+            Map<String, Long> statuses = new TreeMap<>();
+            scenario.statuses.forEach((code, count) -> statuses.put(String.valueOf(code), count.sum()));
+            result.put("statuses", statuses);
+            scenarios.put(entry.getKey(), result);
+        }
+        report.put("requests", totalRequests);
+        report.put("errors", totalErrors);
+        report.put("throughputPerSecond", Math.round(totalRequests / measuredSeconds * 10) / 10.0);
+        report.put("latency", overall.snapshot());
+        report.put("scenarios", scenarios);
+        log.info("Load run finished: {} requests, {} errors, {} req/s", totalRequests, totalErrors,
+                report.get("throughputPerSecond"));
+        return report;
+    }
+
+    // ==================== SCENARIOS ====================
+
+    private void sendOne(String baseUrl, LoadRequest request, Map<String, ScenarioStats> stats) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int roll = random.nextInt(request.getIntakeWeight() + request.getScreeningWeight() + request.getDashboardWeight());
+        String scenario;
+        HttpMethod method = HttpMethod.GET;
+        String url;
+        Object body = null;
+
+        if (roll < request.getIntakeWeight()) {
+            scenario = "INTAKE";
+            method = HttpMethod.POST;
+            url = baseUrl + "/api/simple-loan/submit-with-basic-info";
+            body = intakeBody(request, random);
+        } else if (roll < request.getIntakeWeight() + request.getScreeningWeight()) {
+            scenario = "SCREENING";
+            long applicantId = random.nextLong(request.getApplicantIdFrom(), request.getApplicantIdTo() + 1);
+            url = baseUrl + "/api/fraud-detection/check/" + applicantId;
+        } else {
+            List<Long> officers = request.getOfficerIds();
+            if (officers == null || officers.isEmpty() || random.nextInt(3) == 0) {
+                scenario = "DASHBOARD_ADMIN";
+                url = baseUrl + "/api/admin/dashboard/stats";
+            } else {
+                scenario = "DASHBOARD_OFFICER";
+                url = baseUrl + "/api/loan-officer/" + officers.get(random.nextInt(officers.size())) + "/screening-dashboard";
+            }
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (request.getBearerToken() != null && !request.getBearerToken().isBlank()) {
+            headers.setBearerAuth(request.getBearerToken());
+        }
+
+        int status;
+        long start = System.nanoTime();
+        try {
+            status = restTemplate.exchange(url, method, new HttpEntity<>(body, headers), String.class)
+                    .getStatusCode().value();
+        } catch (HttpStatusCodeException e) {
+            status = e.getStatusCode().value();
+        } catch (RestClientException e) {
+            // Connection refused, timeouts: no HTTP status
+            status = 0;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (stats != null) {
+            ScenarioStats scenarioStats = stats.computeIfAbsent(scenario, s -> new ScenarioStats());
+            scenarioStats.latency.recordNanos(elapsed);
+            if (status == 0 || status >= 400) scenarioStats.errors.increment();
+            scenarioStats.statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * New loan for a synthetic applicant, with values from the same generator as the stored data
+     */
+    private Map<String, Object> intakeBody(LoadRequest request, ThreadLocalRandom threadRandom) {
+        long from = request.getSyntheticIndexFrom();
+        long to = Math.max(from + 1, request.getSyntheticIndexTo());
+        long index = threadRandom.nextLong(from, to);
+        SyntheticValues values = new SyntheticValues(properties.getSeed(), properties.getDuplicateRate(),
+                properties.getClusterSize());
+        SplittableRandom random = values.random(index);
+        String firstName = values.firstName(random);
+        String lastName = values.lastName(random);
+        int city = values.cityIndex(random);
+        String[] bank = values.bank(random);
+        BigDecimal income = values.monthlyIncome(random);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("username", SyntheticDataGenerator.USERNAME_PREFIX + index);
+        body.put("loanType", "personal");
+        body.put("firstName", firstName);
+        body.put("lastName", lastName);
+        body.put("dateOfBirth", values.dateOfBirth(random).toString());
+        body.put("gender", random.nextBoolean() ? "Male" : "Female");
+        body.put("phone", values.phone(values.identityIndex(index)));
+        body.put("email", values.email(firstName, lastName, index));
+        body.put("currentAddress", values.address(random, city));
+        body.put("currentCity", SyntheticValues.CITIES[city]);
+        body.put("currentState", SyntheticValues.STATES[city]);
+        body.put("currentPincode", values.pincode(random));
+        body.put("loanAmount", values.loanAmount(random, income));
+        body.put("loanTenure", 12 + random.nextInt(84));
+        body.put("loanPurpose", "Load test");
+        body.put("employmentType", "salaried");
+        body.put("monthlyIncome", income);
+        body.put("bankName", bank[0]);
+        body.put("accountNumber", values.accountNumber(random));
+        body.put("ifscCode", values.ifsc(random, bank[1]));
+        body.put("accountType", "savings");
+        return body;
+    }
+
+    private static final class ScenarioStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+        final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,469 @@
+package com.tss.springsecurity.synthetic;
+
+import com.tss.springsecurity.config.SyntheticDataProperties;
+import com.tss.springsecurity.datasource.Workload;
+import com.tss.springsecurity.datasource.WorkloadContext;
+import com.tss.springsecurity.externalfraud.service.PersonRiskProfileService;
+import com.tss.springsecurity.externalfraud.util.IdentifierHash;
+import com.tss.springsecurity.service.CredentialIndexService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Streams synthetic applicants into the local databases with JDBC batch
+ * inserts: applicant, basic details, employment, financials, one loan, other
+ * documents with OCR text and an officer assignment in the primary database,
+ * and a bureau person with loans, bank accounts, documents and the odd
+ * criminal case per distinct identity in the external database.
+ *
+ * Applicant N is derived from (seed, N) only, so a run can be resumed or
+ * split and still produce the same rows. Synthetic applicants are the ones
+ * whose username starts with {@code syn_}; by default a run continues after
+ * the ones already present. Ids are assigned from the current table maxima,
+ * so nothing else should write to these tables while a run is in progress.
+ * Only created under the {@code benchmark} profile.
+ */
+@Service
+@Profile("benchmark")
+@Slf4j
+public class SyntheticDataGenerator {
+
+    public static final String USERNAME_PREFIX = "syn_";
+
+    private static final String APPLICANT_SQL = "INSERT INTO applicant (applicant_id, first_name, last_name, dob, " +
+            "gender, username, email, phone, address, city, state, country, password_hash, is_approved, " +
+            "is_email_verified, approval_status, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String BASIC_DETAILS_SQL = "INSERT INTO applicant_basic_details (id, applicant_id, " +
+            "first_name, last_name, date_of_birth, gender, phone, email, current_address, current_city, " +
+            "current_state, current_pincode, marital_status, nationality, pan_number, aadhaar_number, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String EMPLOYMENT_SQL = "INSERT INTO applicant_employment (id, applicant_id, " +
+            "employment_type, company_name, employer_name, designation, start_date, work_experience, " +
+            "office_address, office_city, office_state, monthly_income, verified_status, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String FINANCIALS_SQL = "INSERT INTO applicant_financials (id, applicant_id, " +
+            "monthly_income, monthly_expenses, existing_loan_emi, bank_name, account_number, account_type, " +
+            "ifsc_code, total_credit_last_month, total_debit_last_month, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String LOAN_SQL = "INSERT INTO applicant_loan_details (loan_id, applicant_id, loan_type, " +
+            "loan_amount, interest_rate, tenure_months, status, loan_purpose, applicant_first_name, " +
+            "applicant_last_name, applicant_email, applicant_mobile, current_address, current_city, current_state, " +
+            "applicant_pan, applicant_aadhar, employment_type, employer_name, monthly_income, bank_name, " +
+            "account_number, ifsc_code, application_status, loan_status, risk_score, submitted_at, application_date) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String DOCUMENT_SQL = "INSERT INTO other_documents (id, applicant_id, doc_type, " +
+            "doc_number, ocr_text, is_tampered, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String ASSIGNMENT_SQL = "INSERT INTO officer_application_assignment (assignment_id, " +
+            "officer_id, applicant_id, loan_id, status, priority, assigned_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String PERSON_SQL = "INSERT INTO persons (id, first_name, last_name, dob, gender, " +
+            "phone_number, email, marital_status, nationality, pan_number, aadhaar_number, pan_hash, aadhaar_hash, " +
+            "phone_hash, email_hash, hash_key_version, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String BUREAU_LOAN_SQL = "INSERT INTO historical_and_current_loans (id, person_id, " +
+            "loan_type, institution_name, loan_amount, outstanding_balance, start_date, end_date, status, " +
+            "default_flag, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String BANK_RECORD_SQL = "INSERT INTO bank_records (id, person_id, bank_name, " +
+            "account_number, account_type, balance_amount, last_transaction_date, is_active, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String GOVERNMENT_DOCUMENT_SQL = "INSERT INTO government_issued_documents (id, person_id, " +
+            "document_type, document_number, issued_date, expiry_date, issuing_authority, verification_status, " +
+            "created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String CRIMINAL_RECORD_SQL = "INSERT INTO criminal_records (id, person_id, case_number, " +
+            "case_type, description, court_name, status, verdict_date, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String[] LOAN_TYPES = { "personal", "personal", "home", "vehicle", "education", "gold", "business" };
+    private static final String[] BUREAU_LOAN_TYPES = { "PERSONAL", "HOME", "AUTO", "EDUCATION", "BUSINESS", "CREDIT_CARD" };
+    private static final String[] CASE_TYPES = { "FRAUD", "CHEATING", "FORGERY", "THEFT", "CYBER_CRIME" };
+    private static final String[] PRIORITIES = { "LOW", "MEDIUM", "MEDIUM", "HIGH" };
+
+    private final SyntheticDataProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate externalJdbcTemplate;
+    private final TransactionTemplate externalTransactionTemplate;
+    private final PersonRiskProfileService personRiskProfileService;
+    private final CredentialIndexService credentialIndexService;
+    private final PasswordEncoder passwordEncoder;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public SyntheticDataGenerator(SyntheticDataProperties properties,
+                                  @Qualifier("dataSource") DataSource dataSource,
+                                  @Qualifier("transactionManager") PlatformTransactionManager transactionManager,
+                                  @Qualifier("externalDataSource") DataSource externalDataSource,
+                                  @Qualifier("externalTransactionManager") PlatformTransactionManager externalTransactionManager,
+                                  PersonRiskProfileService personRiskProfileService,
+                                  CredentialIndexService credentialIndexService,
+                                  PasswordEncoder passwordEncoder) {
+        this.properties = properties;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.externalJdbcTemplate = new JdbcTemplate(externalDataSource);
+        this.externalTransactionTemplate = new TransactionTemplate(externalTransactionManager);
+        this.personRiskProfileService = personRiskProfileService;
+        this.credentialIndexService = credentialIndexService;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    /**
+     * Generate {@code count} applicants starting at synthetic index {@code startIndex}
+     * (null continues after the synthetic applicants already present)
+     *
+     * @param includeExternal also write bureau records to the external database
+     */
+    public Map<String, Object> generate(long count, Long startIndex, boolean includeExternal) {
+        if (!properties.isEnabled()) {
+            throw new RuntimeException("Synthetic data generation is disabled; set app.synthetic-data.enabled=true");
+        }
+        if (count < 1 || count > properties.getMaxApplicants()) {
+            throw new RuntimeException("count must be between 1 and " + properties.getMaxApplicants());
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("A synthetic data run is already in progress");
+        }
+        try (WorkloadContext.Scope ignored = WorkloadContext.enter(Workload.BULK_LOAD)) {
+            return run(count, startIndex, includeExternal);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Synthetic rows currently in the primary database
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", properties.isEnabled());
+        status.put("running", running.get());
+        status.put("syntheticApplicants", countSyntheticApplicants());
+        status.put("applicantIdRange", jdbcTemplate.queryForMap(
+                "SELECT MIN(applicant_id) AS first, MAX(applicant_id) AS last FROM applicant WHERE username LIKE ?",
+                USERNAME_PREFIX + "%"));
+        return status;
+    }
+
+    private Map<String, Object> run(long count, Long requestedStart, boolean includeExternal) {
+        SyntheticValues values = new SyntheticValues(properties.getSeed(), properties.getDuplicateRate(),
+                properties.getClusterSize());
+        long startIndex = requestedStart != null ? requestedStart : countSyntheticApplicants();
+        int batchSize = Math.max(1, properties.getBatchSize());
+
+        IdBlock ids = new IdBlock();
+        ids.applicant = maxId(jdbcTemplate, "applicant", "applicant_id");
+        ids.basicDetails = maxId(jdbcTemplate, "applicant_basic_details", "id");
+        ids.employment = maxId(jdbcTemplate, "applicant_employment", "id");
+        ids.financials = maxId(jdbcTemplate, "applicant_financials", "id");
+        ids.loan = maxId(jdbcTemplate, "applicant_loan_details", "loan_id");
+        ids.document = maxId(jdbcTemplate, "other_documents", "id");
+        ids.assignment = maxId(jdbcTemplate, "officer_application_assignment", "assignment_id");
+        if (includeExternal) {
+            ids.person = maxId(externalJdbcTemplate, "persons", "id");
+            ids.bureauLoan = maxId(externalJdbcTemplate, "historical_and_current_loans", "id");
+            ids.bankRecord = maxId(externalJdbcTemplate, "bank_records", "id");
+            ids.governmentDocument = maxId(externalJdbcTemplate, "government_issued_documents", "id");
+            ids.criminalRecord = maxId(externalJdbcTemplate, "criminal_records", "id");
+        }
+        long firstApplicantId = ids.applicant + 1;
+        List<Long> officerIds = jdbcTemplate.queryForList(
+                "SELECT officer_id FROM loan_officer ORDER BY officer_id", Long.class);
+
+        // One hash for every synthetic applicant; password "password123" like the sample data
+        String passwordHash = passwordEncoder.encode("password123");
+        LocalDateTime runStartedAt = LocalDateTime.now();
+
+        Map<String, Long> rowCounts = new LinkedHashMap<>();
+        long started = System.nanoTime();
+        long generated = 0;
+        log.info("Generating {} synthetic applicants from index {} (seed {}, batch {}, external {})",
+                count, startIndex, properties.getSeed(), batchSize, includeExternal);
+
+        while (generated < count) {
+            int size = (int) Math.min(batchSize, count - generated);
+            Batch batch = new Batch();
+            for (int i = 0; i < size; i++) {
+                long index = startIndex + generated + i;
+                addApplicant(batch, values, index, ids, officerIds, passwordHash, runStartedAt);
+                if (includeExternal && values.identityIndex(index) == index) {
+                    addPerson(batch, values, index, ids, runStartedAt);
+                }
+            }
+            writePrimary(batch, rowCounts);
+            if (includeExternal) {
+                writeExternal(batch, rowCounts);
+            }
+            generated += size;
+
+            if ((generated / batchSize) % 20 == 0 || generated == count) {
+                long elapsedNanos = System.nanoTime() - started;
+                log.info("Synthetic data: {} / {} applicants written ({} applicants/s)", generated, count,
+                        elapsedNanos > 0 ? Math.round(generated * 1e9 / elapsedNanos) : 0);
+            }
+        }
+
+        // The rows bypass JPA, so the login index learns about them here
+        long credentialEntries = credentialIndexService.indexPrincipals();
+
+        long elapsedNanos = System.nanoTime() - started;
+        long totalRows = rowCounts.values().stream().mapToLong(Long::longValue).sum();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("seed", properties.getSeed());
+        report.put("startIndex", startIndex);
+        report.put("applicants", generated);
+        report.put("applicantIdFrom", firstApplicantId);
+        report.put("applicantIdTo", ids.applicant);
+        report.put("usernames", USERNAME_PREFIX + startIndex + " .. " + USERNAME_PREFIX + (startIndex + generated - 1));
+        report.put("officersAssigned", officerIds.size());
+        report.put("rows", rowCounts);
+        report.put("credentialIndexEntries", credentialEntries);
+        report.put("elapsedMs", elapsedNanos / 1_000_000);
+        report.put("applicantsPerSecond", elapsedNanos > 0 ? Math.round(generated * 1e9 / elapsedNanos) : 0);
+        report.put("rowsPerSecond", elapsedNanos > 0 ? Math.round(totalRows * 1e9 / elapsedNanos) : 0);
+        return report;
+    }
+
+    // ==================== ROWS ====================
+
+    private void addApplicant(Batch batch, SyntheticValues values, long index, IdBlock ids,
+                              List<Long> officerIds, String passwordHash, LocalDateTime runStartedAt) {
+        SplittableRandom random = values.random(index);
+        long identity = values.identityIndex(index);
+        long applicantId = ++ids.applicant;
+
+        String firstName = values.firstName(random);
+        String lastName = values.lastName(random);
+        int city = values.cityIndex(random);
+        LocalDate dob = values.dateOfBirth(random);
+        String gender = random.nextBoolean() ? "Male" : "Female";
+        String pan = values.pan(identity, lastName);
+        String aadhaar = values.aadhaar(identity);
+        String email = values.email(firstName, lastName, index);
+        String address = values.address(random, city);
+        String employer = values.employer(random);
+        BigDecimal income = values.monthlyIncome(random);
+        String[] bank = values.bank(random);
+        String accountNumber = values.accountNumber(random);
+        String ifsc = values.ifsc(random, bank[1]);
+        String cityName = SyntheticValues.CITIES[city];
+        String stateName = SyntheticValues.STATES[city];
+        // Spread creation over the last year so dashboards and date filters see realistic ranges
+        Timestamp createdAt = Timestamp.valueOf(runStartedAt.minusMinutes(random.nextInt(525_600)));
+        String status = random.nextInt(10) < 7 ? "PENDING" : random.nextBoolean() ? "APPROVED" : "REJECTED";
+
+        batch.applicants.add(new Object[] {
+            applicantId, firstName, lastName, Date.valueOf(dob), gender, USERNAME_PREFIX + index, email,
+            values.uniquePhone(index), address, cityName, stateName, "India", passwordHash,
+            "APPROVED".equals(status), true, status, createdAt, createdAt
+        });
+        batch.basicDetails.add(new Object[] {
+            ++ids.basicDetails, applicantId, firstName, lastName, Date.valueOf(dob), gender, values.phone(identity),
+            email, address, cityName, stateName, values.pincode(random), random.nextBoolean() ? "married" : "single",
+            "Indian", pan, aadhaar, createdAt
+        });
+
+        boolean selfEmployed = random.nextInt(10) == 0;
+        batch.employment.add(new Object[] {
+            ++ids.employment, applicantId, selfEmployed ? "self-employed" : "salaried", employer, employer,
+            "Engineer", Date.valueOf(LocalDate.now().minusMonths(6 + random.nextInt(180))), 1 + random.nextInt(20),
+            values.address(random, city), cityName, stateName, income, "pending", createdAt
+        });
+        batch.financials.add(new Object[] {
+            ++ids.financials, applicantId, income, income.multiply(BigDecimal.valueOf(0.4)),
+            BigDecimal.valueOf(random.nextInt(30000)), bank[0], accountNumber, "savings", ifsc, income,
+            income.multiply(BigDecimal.valueOf(0.8)), createdAt
+        });
+
+        long loanId = ++ids.loan;
+        batch.loans.add(new Object[] {
+            loanId, applicantId, LOAN_TYPES[random.nextInt(LOAN_TYPES.length)], values.loanAmount(random, income),
+            BigDecimal.valueOf(900 + random.nextInt(900), 2), 12 + random.nextInt(84), "pending", "Personal use",
+            firstName, lastName, email, values.phone(identity), address, cityName, stateName, pan, aadhaar,
+            selfEmployed ? "self-employed" : "salaried", employer, income, bank[0], accountNumber, ifsc,
+            "SUBMITTED", "PENDING", 0, createdAt, createdAt
+        });
+
+        String fullName = firstName + " " + lastName;
+        for (int d = 0; d < properties.getDocumentsPerApplicant(); d++) {
+            String docType = SyntheticValues.DOC_TYPES[d % SyntheticValues.DOC_TYPES.length];
+            batch.documents.add(new Object[] {
+                ++ids.document, applicantId, docType, docType.toUpperCase() + "-" + applicantId + "-" + d,
+                values.ocrText(random, docType, fullName, pan, aadhaar, employer, income, address, properties.getOcrChars()),
+                false, createdAt
+            });
+        }
+
+        if (!officerIds.isEmpty()) {
+            batch.assignments.add(new Object[] {
+                ++ids.assignment, officerIds.get((int) (index % officerIds.size())), applicantId, loanId,
+                "PENDING", PRIORITIES[random.nextInt(PRIORITIES.length)], createdAt, createdAt
+            });
+        }
+    }
+
+    /**
+     * Bureau person for a distinct identity, from its own random stream so the
+     * primary rows do not change when external generation is switched on or off
+     */
+    private void addPerson(Batch batch, SyntheticValues values, long index, IdBlock ids, LocalDateTime runStartedAt) {
+        SplittableRandom applicant = values.random(index);
+        String firstName = values.firstName(applicant);
+        String lastName = values.lastName(applicant);
+        values.cityIndex(applicant);
+        LocalDate dob = values.dateOfBirth(applicant);
+
+        SplittableRandom random = values.random(index ^ 0x7E7E7E7EL);
+        long personId = ++ids.person;
+        String pan = values.pan(index, lastName);
+        String aadhaar = values.aadhaar(index);
+        String phone = values.phone(index);
+        String email = values.email(firstName, lastName, index);
+        Timestamp now = Timestamp.valueOf(runStartedAt);
+        batch.personIds.add(personId);
+
+        batch.persons.add(new Object[] {
+            personId, firstName, lastName, Date.valueOf(dob), random.nextBoolean() ? "MALE" : "FEMALE", phone, email,
+            random.nextBoolean() ? "MARRIED" : "SINGLE", "INDIAN", pan, aadhaar, IdentifierHash.pan(pan),
+            IdentifierHash.aadhaar(aadhaar), IdentifierHash.phone(phone), IdentifierHash.email(email),
+            IdentifierHash.keyVersion(), now, now
+        });
+
+        int loans = random.nextInt(5);
+        for (int l = 0; l < loans; l++) {
+            long amount = 50_000L + random.nextInt(5_000_000);
+            int roll = random.nextInt(100);
+            String status = roll < 55 ? "ACTIVE" : roll < 92 ? "CLOSED" : "DEFAULTED";
+            LocalDate start = LocalDate.now().minusDays(30 + random.nextInt(3650));
+            batch.bureauLoans.add(new Object[] {
+                ++ids.bureauLoan, personId, BUREAU_LOAN_TYPES[random.nextInt(BUREAU_LOAN_TYPES.length)],
+                SyntheticValues.BANKS[random.nextInt(SyntheticValues.BANKS.length)][0], BigDecimal.valueOf(amount),
+                BigDecimal.valueOf("CLOSED".equals(status) ? 0 : amount * random.nextInt(100) / 100),
+                Date.valueOf(start), "CLOSED".equals(status) ? Date.valueOf(start.plusYears(3)) : null, status,
+                "DEFAULTED".equals(status), now
+            });
+        }
+
+        int accounts = 1 + random.nextInt(3);
+        for (int a = 0; a < accounts; a++) {
+            batch.bankRecords.add(new Object[] {
+                ++ids.bankRecord, personId, SyntheticValues.BANKS[random.nextInt(SyntheticValues.BANKS.length)][0],
+                values.accountNumber(random), random.nextInt(4) == 0 ? "CURRENT" : "SAVINGS",
+                BigDecimal.valueOf(random.nextInt(2_000_000)),
+                Date.valueOf(LocalDate.now().minusDays(random.nextInt(400))), random.nextInt(8) != 0, now
+            });
+        }
+
+        batch.governmentDocuments.add(new Object[] {
+            ++ids.governmentDocument, personId, "PAN", pan, Date.valueOf(dob.plusYears(18)), null,
+            "INCOME TAX DEPARTMENT", "VERIFIED", now
+        });
+        batch.governmentDocuments.add(new Object[] {
+            ++ids.governmentDocument, personId, "AADHAAR", aadhaar, Date.valueOf(dob.plusYears(20)), null,
+            "UIDAI", random.nextInt(10) == 0 ? "UNVERIFIED" : "VERIFIED", now
+        });
+
+        if (random.nextInt(100) < 3) {
+            String caseType = CASE_TYPES[random.nextInt(CASE_TYPES.length)];
+            boolean convicted = random.nextBoolean();
+            batch.criminalRecords.add(new Object[] {
+                ++ids.criminalRecord, personId, "CR/" + (2010 + random.nextInt(15)) + "/" + personId, caseType,
+                caseType + " case", SyntheticValues.CITIES[random.nextInt(SyntheticValues.CITIES.length)] + " Sessions Court",
+                convicted ? "CONVICTED" : "OPEN",
+                convicted ? Date.valueOf(LocalDate.now().minusDays(random.nextInt(3000))) : null, now
+            });
+        }
+    }
+
+    // ==================== WRITING ====================
+
+    /**
+     * One transaction per batch, parents before children
+     */
+    private void writePrimary(Batch batch, Map<String, Long> rowCounts) {
+        transactionTemplate.executeWithoutResult(status -> {
+            insert(jdbcTemplate, "applicant", APPLICANT_SQL, batch.applicants, rowCounts);
+            insert(jdbcTemplate, "applicant_basic_details", BASIC_DETAILS_SQL, batch.basicDetails, rowCounts);
+            insert(jdbcTemplate, "applicant_employment", EMPLOYMENT_SQL, batch.employment, rowCounts);
+            insert(jdbcTemplate, "applicant_financials", FINANCIALS_SQL, batch.financials, rowCounts);
+            insert(jdbcTemplate, "applicant_loan_details", LOAN_SQL, batch.loans, rowCounts);
+            insert(jdbcTemplate, "other_documents", DOCUMENT_SQL, batch.documents, rowCounts);
+            insert(jdbcTemplate, "officer_application_assignment", ASSIGNMENT_SQL, batch.assignments, rowCounts);
+        });
+    }
+
+    private void writeExternal(Batch batch, Map<String, Long> rowCounts) {
+        if (batch.persons.isEmpty()) return;
+        externalTransactionTemplate.executeWithoutResult(status -> {
+            insert(externalJdbcTemplate, "persons", PERSON_SQL, batch.persons, rowCounts);
+            insert(externalJdbcTemplate, "historical_and_current_loans", BUREAU_LOAN_SQL, batch.bureauLoans, rowCounts);
+            insert(externalJdbcTemplate, "bank_records", BANK_RECORD_SQL, batch.bankRecords, rowCounts);
+            insert(externalJdbcTemplate, "government_issued_documents", GOVERNMENT_DOCUMENT_SQL,
+                    batch.governmentDocuments, rowCounts);
+            insert(externalJdbcTemplate, "criminal_records", CRIMINAL_RECORD_SQL, batch.criminalRecords, rowCounts);
+        });
+        // Stored profiles are what the external screening reads
+        personRiskProfileService.refreshProfiles(batch.personIds);
+    }
+
+    private static void insert(JdbcTemplate template, String table, String sql, List<Object[]> rows,
+                               Map<String, Long> rowCounts) {
+        if (rows.isEmpty()) return;
+        template.batchUpdate(sql, rows);
+        rowCounts.merge(table, (long) rows.size(), Long::sum);
+    }
+
+    private long countSyntheticApplicants() {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM applicant WHERE username LIKE ?", Long.class, USERNAME_PREFIX + "%");
+        return count != null ? count : 0;
+    }
+
+    private static long maxId(JdbcTemplate template, String table, String idColumn) {
+        Long max = template.queryForObject("SELECT COALESCE(MAX(" + idColumn + "), 0) FROM " + table, Long.class);
+        return max != null ? max : 0;
+    }
+
+    /**
+     * Last id used per table; ids are assigned here so children can reference parents within one batch
+     */
+    private static final class IdBlock {
+        long applicant, basicDetails, employment, financials, loan, document, assignment;
+        long person, bureauLoan, bankRecord, governmentDocument, criminalRecord;
+    }
+
+    private static final class Batch {
+        final List<Object[]> applicants = new ArrayList<>();
+        final List<Object[]> basicDetails = new ArrayList<>();
+        final List<Object[]> employment = new ArrayList<>();
+        final List<Object[]> financials = new ArrayList<>();
+        final List<Object[]> loans = new ArrayList<>();
+        final List<Object[]> documents = new ArrayList<>();
+        final List<Object[]> assignments = new ArrayList<>();
+        final List<Object[]> persons = new ArrayList<>();
+        final List<Object[]> bureauLoans = new ArrayList<>();
+        final List<Object[]> bankRecords = new ArrayList<>();
+        final List<Object[]> governmentDocuments = new ArrayList<>();
+        final List<Object[]> criminalRecords = new ArrayList<>();
+        final List<Long> personIds = new ArrayList<>();
+    }
+}
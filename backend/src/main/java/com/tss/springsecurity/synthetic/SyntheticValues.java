@@ -0,0 +1,216 @@
+package com.tss.springsecurity.synthetic;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator of realistic Indian applicant values: names, PAN,
+ * Aadhaar, phones, employers, banks and OCR text for the usual documents.
+ *
+ * Every applicant gets its own random stream derived from (seed, index), so
+ * applicant N always comes out the same whatever order or thread generates it.
+ * Duplicate clusters are derived the same way: applicants in one cluster share
+ * PAN, Aadhaar and phone with the cluster's first member.
+ */
+public final class SyntheticValues {
+
+    public static final String[] FIRST_NAMES = {
+        "Aarav", "Vivaan", "Aditya", "Vihaan", "Arjun", "Sai", "Reyansh", "Krishna", "Ishaan", "Rohan",
+        "Ananya", "Diya", "Aadhya", "Saanvi", "Pari", "Anika", "Navya", "Myra", "Priya", "Kavya",
+        "Rahul", "Amit", "Suresh", "Ramesh", "Vikram", "Neha", "Pooja", "Sneha", "Deepa", "Lakshmi"
+    };
+
+    public static final String[] LAST_NAMES = {
+        "Sharma", "Verma", "Gupta", "Patel", "Reddy", "Iyer", "Nair", "Singh", "Kumar", "Das",
+        "Joshi", "Mehta", "Rao", "Chopra", "Bose", "Mukherjee", "Pillai", "Desai", "Kulkarni", "Yadav"
+    };
+
+    public static final String[] CITIES = {
+        "Mumbai", "Delhi", "Bengaluru", "Hyderabad", "Chennai", "Kolkata", "Pune", "Ahmedabad", "Jaipur", "Lucknow"
+    };
+
+    public static final String[] STATES = {
+        "Maharashtra", "Delhi", "Karnataka", "Telangana", "Tamil Nadu", "West Bengal", "Maharashtra", "Gujarat",
+        "Rajasthan", "Uttar Pradesh"
+    };
+
+    public static final String[] EMPLOYERS = {
+        "Tata Consultancy Services", "Infosys Ltd", "Wipro Ltd", "HCL Technologies", "ICICI Bank",
+        "HDFC Bank", "Reliance Industries", "Amazon India", "Flipkart", "Sunrise Enterprises",
+        "Global Trading Exports", "Shree Consultancy Services Pvt Ltd"
+    };
+
+    // Name, IFSC prefix
+    public static final String[][] BANKS = {
+        {"HDFC Bank", "HDFC"}, {"ICICI Bank", "ICIC"}, {"State Bank of India", "SBIN"},
+        {"Axis Bank", "UTIB"}, {"Kotak Mahindra Bank", "KKBK"}, {"Punjab National Bank", "PUNB"}
+    };
+
+    // Other-document types, in the order an applicant collects them
+    public static final String[] DOC_TYPES = {
+        "payslip", "bank_statement", "itr", "form16", "utility_bill", "property_document",
+        "gst_certificate", "business_registration"
+    };
+
+    private static final String FILLER =
+        "The above statement is generated electronically and does not require a signature. "
+        + "Please report discrepancies within 30 days. Customer care 1800-000-000. ";
+
+    private final long seed;
+    private final double duplicateRate;
+    private final int clusterSize;
+
+    /**
+     * @param duplicateRate share of applicants that belong to a duplicate cluster
+     * @param clusterSize   applicants per duplicate cluster
+     */
+    public SyntheticValues(long seed, double duplicateRate, int clusterSize) {
+        this.seed = seed;
+        this.duplicateRate = duplicateRate;
+        this.clusterSize = Math.max(2, clusterSize);
+    }
+
+    /**
+     * Random stream for one applicant; the same (seed, index) always gives the same values
+     */
+    public SplittableRandom random(long index) {
+        return new SplittableRandom(mix(seed ^ mix(index + 1)));
+    }
+
+    /**
+     * Index whose identifiers this applicant reuses: itself, or the first member of its duplicate cluster
+     */
+    public long identityIndex(long index) {
+        long cluster = index / clusterSize;
+        SplittableRandom clusterRandom = new SplittableRandom(mix(seed ^ mix(-cluster - 1)));
+        return clusterRandom.nextDouble() < duplicateRate ? cluster * clusterSize : index;
+    }
+
+    public String firstName(SplittableRandom random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+    }
+
+    public String lastName(SplittableRandom random) {
+        return LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    public int cityIndex(SplittableRandom random) {
+        return random.nextInt(CITIES.length);
+    }
+
+    public LocalDate dateOfBirth(SplittableRandom random) {
+        return LocalDate.of(1960, 1, 1).plusDays(random.nextInt(365 * 45));
+    }
+
+    public String pan(long identityIndex, String lastName) {
+        SplittableRandom random = random(identityIndex ^ 0x5A5A5A5AL);
+        StringBuilder pan = new StringBuilder(10);
+        for (int i = 0; i < 3; i++) pan.append((char) ('A' + random.nextInt(26)));
+        pan.append('P').append(Character.toUpperCase(lastName.charAt(0)));
+        pan.append(String.format("%04d", random.nextInt(10000)));
+        pan.append((char) ('A' + random.nextInt(26)));
+        return pan.toString();
+    }
+
+    public String aadhaar(long identityIndex) {
+        SplittableRandom random = random(identityIndex ^ 0xA5A5A5A5L);
+        return (2 + random.nextInt(8)) + String.format("%011d", random.nextLong(100_000_000_000L));
+    }
+
+    public String phone(long identityIndex) {
+        SplittableRandom random = random(identityIndex ^ 0x3C3C3C3CL);
+        return (6 + random.nextInt(4)) + String.format("%09d", random.nextInt(1_000_000_000));
+    }
+
+    /**
+     * Phone that no other index shares, for columns with a unique constraint; a
+     * bijection of the index onto 9-digit numbers, so valid below 10^9
+     */
+    public String uniquePhone(long index) {
+        long shifted = Math.floorMod(index + Math.floorMod(seed, 1_000_000_000L), 1_000_000_000L);
+        long scrambled = shifted * 387_420_489L % 1_000_000_000L;
+        return "9" + String.format("%09d", scrambled);
+    }
+
+    public String email(String firstName, String lastName, long index) {
+        return (firstName + "." + lastName + index).toLowerCase() + "@example.com";
+    }
+
+    public String passport(SplittableRandom random) {
+        return (char) ('A' + random.nextInt(26)) + String.format("%07d", random.nextInt(10_000_000));
+    }
+
+    public String address(SplittableRandom random, int cityIndex) {
+        return (1 + random.nextInt(400)) + ", " + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " Nagar, "
+            + CITIES[cityIndex] + ", " + STATES[cityIndex];
+    }
+
+    public String pincode(SplittableRandom random) {
+        return String.valueOf(110000 + random.nextInt(750000));
+    }
+
+    public String employer(SplittableRandom random) {
+        return EMPLOYERS[random.nextInt(EMPLOYERS.length)];
+    }
+
+    public String[] bank(SplittableRandom random) {
+        return BANKS[random.nextInt(BANKS.length)];
+    }
+
+    public String accountNumber(SplittableRandom random) {
+        return String.format("%012d", random.nextLong(1_000_000_000_000L));
+    }
+
+    public String ifsc(SplittableRandom random, String prefix) {
+        return prefix + "0" + String.format("%06d", random.nextInt(1_000_000));
+    }
+
+    public BigDecimal monthlyIncome(SplittableRandom random) {
+        return BigDecimal.valueOf(15000 + random.nextInt(285000));
+    }
+
+    public BigDecimal loanAmount(SplittableRandom random, BigDecimal monthlyIncome) {
+        // Mostly 5-40x monthly income, with a tail that trips the loan-to-income rules
+        int multiple = random.nextInt(100) < 90 ? 5 + random.nextInt(36) : 240 + random.nextInt(200);
+        return monthlyIncome.multiply(BigDecimal.valueOf(multiple));
+    }
+
+    /**
+     * OCR text of roughly {@code chars} characters for a document type, with the
+     * fields the engines' extractors look for near the top
+     */
+    public String ocrText(SplittableRandom random, String docType, String name, String pan, String aadhaar,
+                          String employer, BigDecimal monthlyIncome, String address, int chars) {
+        StringBuilder text = new StringBuilder(Math.max(chars, 256));
+        switch (docType) {
+            case "payslip" -> text.append("PAYSLIP\nEmployer: ").append(employer)
+                .append("\nEmployee Name: ").append(name).append("\nPAN: ").append(pan)
+                .append("\nNet Salary: Rs. ").append(monthlyIncome).append("\nGross Salary: Rs. ")
+                .append(monthlyIncome.multiply(BigDecimal.valueOf(12)).divide(BigDecimal.TEN)).append('\n');
+            case "itr" -> text.append("INCOME TAX RETURN ACKNOWLEDGEMENT\nName: ").append(name)
+                .append("\nPAN: ").append(pan).append("\nTotal Income: Rs. ")
+                .append(monthlyIncome.multiply(BigDecimal.valueOf(12))).append('\n');
+            case "form16" -> text.append("FORM 16\nEmployer: ").append(employer).append("\nEmployee: ").append(name)
+                .append("\nPAN of Employee: ").append(pan).append("\nGross Salary: Rs. ")
+                .append(monthlyIncome.multiply(BigDecimal.valueOf(12))).append('\n');
+            case "bank_statement" -> text.append("ACCOUNT STATEMENT\nAccount Holder: ").append(name)
+                .append("\nAddress: ").append(address).append("\nSALARY CREDIT ").append(employer)
+                .append(' ').append(monthlyIncome).append('\n');
+            case "utility_bill" -> text.append("ELECTRICITY BILL\nConsumer Name: ").append(name)
+                .append("\nAddress: ").append(address).append("\nAadhaar: ").append(aadhaar).append('\n');
+            default -> text.append(docType.toUpperCase()).append("\nOwner: ").append(name)
+                .append("\nAddress: ").append(address).append('\n');
+        }
+        while (text.length() < chars) {
+            text.append(random.nextInt(1_000_000)).append(' ').append(FILLER);
+        }
+        return text.toString();
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
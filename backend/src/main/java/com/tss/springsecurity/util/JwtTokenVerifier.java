@@ -0,0 +1,103 @@
+package com.tss.springsecurity.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Verifies bearer tokens for JwtAuthenticationFilter.
+ *
+ * A token is signature-checked and parsed exactly once; the result is kept in a
+ * bounded cache keyed by the SHA-256 of the token (the raw token is never stored)
+ * until the token's own expiry, so repeat requests skip HMAC and JSON parsing.
+ */
+@Component
+@Slf4j
+public class JwtTokenVerifier {
+
+    public record VerifiedToken(String username, String role, long expiresAtMillis) {
+        boolean isExpired(long now) {
+            return now >= expiresAtMillis;
+        }
+    }
+
+    private final JwtUtil jwtUtil;
+    private final int maxEntries;
+    private final Map<String, VerifiedToken> cache = new ConcurrentHashMap<>();
+
+    public JwtTokenVerifier(JwtUtil jwtUtil,
+                            @Value("${app.jwt-cache.max-entries:10000}") int maxEntries) {
+        this.jwtUtil = jwtUtil;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @return the verified token, or null when the token is invalid or expired
+     */
+    public VerifiedToken verify(String token) {
+        long now = System.currentTimeMillis();
+        String key = hash(token);
+
+        VerifiedToken cached = cache.get(key);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached;
+            }
+            cache.remove(key, cached);
+        }
+
+        VerifiedToken verified;
+        try {
+            Claims claims = jwtUtil.extractAllClaims(token);
+            if (claims.getSubject() == null || claims.getExpiration() == null) {
+                return null;
+            }
+            verified = new VerifiedToken(claims.getSubject(),
+                    claims.get("role", String.class),
+                    claims.getExpiration().getTime());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("JWT verification failed: {}", e.getMessage());
+            return null;
+        }
+
+        if (verified.isExpired(now)) {
+            return null;
+        }
+
+        if (cache.size() >= maxEntries) {
+            evict(now);
+        }
+        cache.put(key, verified);
+        return verified;
+    }
+
+    /**
+     * Drop expired entries first; if the cache is still full, clear it rather than
+     * paying for LRU bookkeeping on every request.
+     */
+    private void evict(long now) {
+        cache.values().removeIf(entry -> entry.isExpired(now));
+        if (cache.size() >= maxEntries) {
+            cache.clear();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
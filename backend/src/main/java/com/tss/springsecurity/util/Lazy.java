@@ -0,0 +1,31 @@
+package com.tss.springsecurity.util;
+
+import java.util.function.Supplier;
+
+/**
+ * Supplier that calls its loader on first {@link #get()} and keeps the value,
+ * including null. Not thread-safe; meant for per-request data such as the
+ * records a fraud screening may or may not need.
+ */
+public final class Lazy<T> implements Supplier<T> {
+
+    private Supplier<? extends T> loader;
+    private T value;
+
+    private Lazy(Supplier<? extends T> loader) {
+        this.loader = loader;
+    }
+
+    public static <T> Lazy<T> of(Supplier<? extends T> loader) {
+        return new Lazy<>(loader);
+    }
+
+    @Override
+    public T get() {
+        if (loader != null) {
+            value = loader.get();
+            loader = null;
+        }
+        return value;
+    }
+}
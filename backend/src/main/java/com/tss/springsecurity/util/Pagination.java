@@ -0,0 +1,21 @@
+package com.tss.springsecurity.util;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Page requests for list endpoints, with the page size capped so no request
+ * can turn a list endpoint back into a full table read.
+ */
+public final class Pagination {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private Pagination() {
+    }
+
+    public static Pageable of(int page, int size, Sort sort) {
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE), sort);
+    }
+}
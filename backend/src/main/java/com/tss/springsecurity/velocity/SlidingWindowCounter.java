@@ -0,0 +1,100 @@
+package com.tss.springsecurity.velocity;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Event count over a sliding window, kept as a ring of time buckets. Each
+ * bucket is a striped {@link LongAdder} tagged with the bucket number it
+ * currently counts; the first writer into a stale bucket claims it by CAS and
+ * clears it. Increments and reads never lock. An increment racing with that
+ * clear can be lost, which is fine for a fraud heuristic.
+ */
+public final class SlidingWindowCounter {
+
+    private final long bucketMillis;
+    private final int buckets;
+    private final AtomicLongArray epochs;
+    private final LongAdder[] counts;
+
+    public SlidingWindowCounter(long bucketMillis, int buckets) {
+        this.bucketMillis = bucketMillis;
+        this.buckets = buckets;
+        this.epochs = new AtomicLongArray(buckets);
+        this.counts = new LongAdder[buckets];
+        for (int i = 0; i < buckets; i++) {
+            epochs.set(i, -1);
+            counts[i] = new LongAdder();
+        }
+    }
+
+    public void increment(long nowMillis) {
+        add(nowMillis / bucketMillis, 1);
+    }
+
+    /**
+     * Events in the window ending at {@code nowMillis}
+     */
+    public long sum(long nowMillis) {
+        long current = nowMillis / bucketMillis;
+        long total = 0;
+        for (int i = 0; i < buckets; i++) {
+            long epoch = epochs.get(i);
+            if (epoch > current - buckets && epoch <= current) {
+                total += counts[i].sum();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * True once every bucket has slid out of the window
+     */
+    public boolean isExpired(long nowMillis) {
+        long current = nowMillis / bucketMillis;
+        for (int i = 0; i < buckets; i++) {
+            if (epochs.get(i) > current - buckets) return false;
+        }
+        return true;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    public long epochAt(int index) {
+        return epochs.get(index);
+    }
+
+    public long countAt(int index) {
+        return counts[index].sum();
+    }
+
+    /**
+     * Restore one bucket from a snapshot
+     */
+    public void restore(long epoch, long count) {
+        if (epoch >= 0 && count > 0) {
+            add(epoch, count);
+        }
+    }
+
+    private void add(long epoch, long delta) {
+        int index = (int) (epoch % buckets);
+        long seen = epochs.get(index);
+        if (seen != epoch) {
+            if (seen > epoch) {
+                // Bucket already reused by a later slice; the event is outside the window
+                return;
+            }
+            if (epochs.compareAndSet(index, seen, epoch)) {
+                counts[index].reset();
+            }
+        }
+        counts[index].add(delta);
+    }
+}
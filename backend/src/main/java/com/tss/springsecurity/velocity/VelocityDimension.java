@@ -0,0 +1,59 @@
+package com.tss.springsecurity.velocity;
+
+import java.util.Locale;
+
+/**
+ * Identifiers whose application rate is counted. Values are normalized and
+ * reduced to a 64-bit key, so counters and snapshots hold no raw identifiers.
+ */
+public enum VelocityDimension {
+    PHONE("phone"),
+    EMAIL("email"),
+    PAN("PAN"),
+    DEVICE("device"),
+    IP("IP address"),
+    EMPLOYER("employer");
+
+    private final String label;
+
+    VelocityDimension(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * fraud_rule_definition code of the matching velocity rule
+     */
+    public String getRuleCode() {
+        return "VELOCITY_" + name();
+    }
+
+    /**
+     * Key for a value, or 0 when it is missing
+     */
+    public long key(String value) {
+        if (value == null) return 0;
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        normalized = switch (this) {
+            case PHONE -> {
+                String digits = normalized.replaceAll("\\D", "");
+                yield digits.length() > 10 ? digits.substring(digits.length() - 10) : digits;
+            }
+            case EMAIL, PAN, DEVICE, IP -> normalized.replaceAll("\\s", "");
+            case EMPLOYER -> normalized.replaceAll("[^a-z0-9]+", " ").trim();
+        };
+        if (normalized.isEmpty()) return 0;
+
+        long hash = 0xcbf29ce484222325L ^ (ordinal() + 1L) * 0x9e3779b97f4a7c15L;
+        for (int i = 0; i < normalized.length(); i++) {
+            hash = (hash ^ normalized.charAt(i)) * 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash == 0 ? 1 : hash;
+    }
+}
@@ -0,0 +1,24 @@
+package com.tss.springsecurity.velocity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VelocityHit {
+
+    private VelocityDimension dimension;
+
+    // Applications seen for the identifier in the window, this one included
+    private long count;
+
+    private int threshold;
+
+    private int windowMinutes;
+
+    public boolean isExceeded() {
+        return count > threshold;
+    }
+}
@@ -0,0 +1,315 @@
+package com.tss.springsecurity.velocity;
+
+import com.tss.springsecurity.config.VelocityProperties;
+import com.tss.springsecurity.security.ClientIpResolver;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Application-rate counters per identifier (phone, email, PAN, device, IP,
+ * employer). Intake records every submitted application; fraud rules read
+ * how many applications shared an identifier within its window. Counters are
+ * snapshotted to disk so a restart does not reset the windows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VelocityService {
+
+    private static final int SNAPSHOT_MAGIC = 0x56454c31; // "VEL1"
+
+    private final VelocityProperties properties;
+    private final ClientIpResolver clientIpResolver;
+
+    private final Map<VelocityDimension, ConcurrentHashMap<Long, SlidingWindowCounter>> counters =
+            new EnumMap<>(VelocityDimension.class);
+
+    // Keys each recent applicant submitted with, so screening can read device and IP counts later
+    private final ConcurrentHashMap<Long, Submission> submissions = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime lastSnapshotAt;
+
+    private record Submission(long[] keys, long submittedAt) {
+    }
+
+    @PostConstruct
+    public void loadSnapshot() {
+        for (VelocityDimension dimension : VelocityDimension.values()) {
+            counters.put(dimension, new ConcurrentHashMap<>());
+        }
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Path file = Paths.get(properties.getSnapshotFile()).toAbsolutePath().normalize();
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            readSnapshot(in);
+            log.info("Restored velocity counters from {}: {}", file.getFileName(), trackedKeys());
+        } catch (IOException | RuntimeException e) {
+            // Counting from zero is safe, only less sensitive for one window
+            log.warn("Velocity snapshot {} could not be read, starting empty: {}", file, e.getMessage());
+        }
+    }
+
+    // ==================== RECORD ====================
+
+    /**
+     * Count one submitted application once the intake transaction commits, so rolled-back
+     * submissions never count; device and IP come from the current HTTP request
+     */
+    public void recordApplication(Long applicantId, String phone, String email, String pan, String employer) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long[] keys = new long[VelocityDimension.values().length];
+        keys[VelocityDimension.PHONE.ordinal()] = VelocityDimension.PHONE.key(phone);
+        keys[VelocityDimension.EMAIL.ordinal()] = VelocityDimension.EMAIL.key(email);
+        keys[VelocityDimension.PAN.ordinal()] = VelocityDimension.PAN.key(pan);
+        keys[VelocityDimension.EMPLOYER.ordinal()] = VelocityDimension.EMPLOYER.key(employer);
+        HttpServletRequest request = currentRequest();
+        if (request != null) {
+            keys[VelocityDimension.DEVICE.ordinal()] = VelocityDimension.DEVICE.key(request.getHeader(properties.getDeviceHeader()));
+            keys[VelocityDimension.IP.ordinal()] = VelocityDimension.IP.key(clientIpResolver.resolve(request));
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    count(applicantId, keys);
+                }
+            });
+        } else {
+            count(applicantId, keys);
+        }
+    }
+
+    private void count(Long applicantId, long[] keys) {
+        long now = System.currentTimeMillis();
+        for (VelocityDimension dimension : VelocityDimension.values()) {
+            SlidingWindowCounter counter = counter(dimension, keys[dimension.ordinal()]);
+            if (counter != null) {
+                counter.increment(now);
+            }
+        }
+        if (applicantId != null) {
+            submissions.put(applicantId, new Submission(keys, now));
+        }
+    }
+
+    // ==================== QUERY ====================
+
+    /**
+     * Current counts for the applicant's identifiers, exceeded or not. Uses the
+     * keys recorded at submission; phone, email and PAN fall back to the given
+     * values when the submission is older than the snapshot or was never seen.
+     */
+    public List<VelocityHit> check(Long applicantId, String phone, String email, String pan) {
+        List<VelocityHit> hits = new ArrayList<>();
+        if (!properties.isEnabled()) {
+            return hits;
+        }
+        long now = System.currentTimeMillis();
+        Submission submission = applicantId == null ? null : submissions.get(applicantId);
+        long[] keys = submission != null ? submission.keys() : new long[VelocityDimension.values().length];
+        if (submission == null) {
+            keys[VelocityDimension.PHONE.ordinal()] = VelocityDimension.PHONE.key(phone);
+            keys[VelocityDimension.EMAIL.ordinal()] = VelocityDimension.EMAIL.key(email);
+            keys[VelocityDimension.PAN.ordinal()] = VelocityDimension.PAN.key(pan);
+        }
+
+        for (VelocityDimension dimension : VelocityDimension.values()) {
+            long key = keys[dimension.ordinal()];
+            if (key == 0) continue;
+            SlidingWindowCounter counter = counters.get(dimension).get(key);
+            if (counter == null) continue;
+            VelocityProperties.Window window = properties.forDimension(dimension);
+            hits.add(new VelocityHit(dimension, counter.sum(now), window.getThreshold(), window.getWindowMinutes()));
+        }
+        return hits;
+    }
+
+    private SlidingWindowCounter counter(VelocityDimension dimension, long key) {
+        if (key == 0) return null;
+        ConcurrentHashMap<Long, SlidingWindowCounter> byKey = counters.get(dimension);
+        SlidingWindowCounter counter = byKey.get(key);
+        if (counter != null) return counter;
+        if (byKey.size() >= properties.getMaxKeysPerDimension()) {
+            return null;
+        }
+        VelocityProperties.Window window = properties.forDimension(dimension);
+        return byKey.computeIfAbsent(key, k -> new SlidingWindowCounter(window.getBucketMillis(), window.getBuckets()));
+    }
+
+    // ==================== SNAPSHOT ====================
+
+    /**
+     * Drop expired counters and submissions, then write the snapshot
+     */
+    @Scheduled(fixedDelayString = "${app.velocity.snapshot-interval-ms:60000}",
+               initialDelayString = "${app.velocity.snapshot-interval-ms:60000}")
+    public void snapshotPeriodically() {
+        if (properties.isEnabled()) {
+            evictExpired();
+            writeSnapshot();
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        if (properties.isEnabled()) {
+            writeSnapshot();
+        }
+    }
+
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        long longestWindow = 0;
+        for (VelocityDimension dimension : VelocityDimension.values()) {
+            counters.get(dimension).values().removeIf(counter -> counter.isExpired(now));
+            longestWindow = Math.max(longestWindow, properties.forDimension(dimension).getWindowMinutes() * 60_000L);
+        }
+        long cutoff = now - longestWindow;
+        submissions.values().removeIf(submission -> submission.submittedAt() < cutoff);
+    }
+
+    public synchronized void writeSnapshot() {
+        Path file = Paths.get(properties.getSnapshotFile()).toAbsolutePath().normalize();
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeLong(System.currentTimeMillis());
+                out.writeInt(counters.size());
+                for (Map.Entry<VelocityDimension, ConcurrentHashMap<Long, SlidingWindowCounter>> entry : counters.entrySet()) {
+                    VelocityProperties.Window window = properties.forDimension(entry.getKey());
+                    // Weakly consistent iteration: entries added meanwhile may or may not be written
+                    List<Map.Entry<Long, SlidingWindowCounter>> entries = new ArrayList<>(entry.getValue().entrySet());
+                    out.writeUTF(entry.getKey().name());
+                    out.writeLong(window.getBucketMillis());
+                    out.writeInt(window.getBuckets());
+                    out.writeInt(entries.size());
+                    for (Map.Entry<Long, SlidingWindowCounter> counter : entries) {
+                        out.writeLong(counter.getKey());
+                        for (int i = 0; i < counter.getValue().getBuckets(); i++) {
+                            out.writeLong(counter.getValue().epochAt(i));
+                            out.writeLong(counter.getValue().countAt(i));
+                        }
+                    }
+                }
+                List<Map.Entry<Long, Submission>> recent = new ArrayList<>(submissions.entrySet());
+                out.writeInt(recent.size());
+                for (Map.Entry<Long, Submission> submission : recent) {
+                    out.writeLong(submission.getKey());
+                    out.writeLong(submission.getValue().submittedAt());
+                    out.writeInt(submission.getValue().keys().length);
+                    for (long key : submission.getValue().keys()) {
+                        out.writeLong(key);
+                    }
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            lastSnapshotAt = LocalDateTime.now();
+        } catch (IOException e) {
+            log.error("Could not write velocity snapshot {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void readSnapshot(DataInputStream in) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC) {
+            throw new IOException("not a velocity snapshot");
+        }
+        long savedAt = in.readLong();
+        int dimensions = in.readInt();
+        for (int d = 0; d < dimensions; d++) {
+            VelocityDimension dimension = VelocityDimension.valueOf(in.readUTF());
+            long bucketMillis = in.readLong();
+            int buckets = in.readInt();
+            int entries = in.readInt();
+            VelocityProperties.Window window = properties.forDimension(dimension);
+            // A changed window layout would put old counts in the wrong slices; drop them
+            boolean compatible = bucketMillis == window.getBucketMillis() && buckets == window.getBuckets();
+            for (int e = 0; e < entries; e++) {
+                long key = in.readLong();
+                SlidingWindowCounter counter = compatible ? counter(dimension, key) : null;
+                for (int i = 0; i < buckets; i++) {
+                    long epoch = in.readLong();
+                    long count = in.readLong();
+                    if (counter != null) counter.restore(epoch, count);
+                }
+            }
+        }
+        int recent = in.readInt();
+        for (int s = 0; s < recent; s++) {
+            long applicantId = in.readLong();
+            long submittedAt = in.readLong();
+            long[] keys = new long[in.readInt()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = in.readLong();
+            }
+            if (keys.length == VelocityDimension.values().length) {
+                submissions.put(applicantId, new Submission(keys, submittedAt));
+            }
+        }
+        lastSnapshotAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(savedAt), ZoneId.systemDefault());
+    }
+
+    // ==================== STATUS ====================
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", properties.isEnabled());
+        status.put("trackedKeys", trackedKeys());
+        status.put("recentSubmissions", submissions.size());
+        status.put("lastSnapshotAt", lastSnapshotAt);
+        Map<String, Object> windows = new LinkedHashMap<>();
+        for (VelocityDimension dimension : VelocityDimension.values()) {
+            VelocityProperties.Window window = properties.forDimension(dimension);
+            windows.put(dimension.name(), "more than " + window.getThreshold() + " in " + window.getWindowMinutes() + " min");
+        }
+        status.put("rules", windows);
+        return status;
+    }
+
+    private Map<String, Integer> trackedKeys() {
+        Map<String, Integer> tracked = new LinkedHashMap<>();
+        counters.forEach((dimension, byKey) -> tracked.put(dimension.name(), byKey.size()));
+        return tracked;
+    }
+
+    private static HttpServletRequest currentRequest() {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        return attributes == null ? null : attributes.getRequest();
+    }
+}
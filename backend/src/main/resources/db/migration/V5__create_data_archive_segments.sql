@@ -0,0 +1,17 @@
+-- Catalog of monthly activity_log / fraud_flags slices moved to gzip NDJSON files by DataArchiveService
+CREATE TABLE IF NOT EXISTS data_archive_segments (
+    segment_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    table_name VARCHAR(64) NOT NULL,
+    period VARCHAR(7) NOT NULL,
+    range_start DATETIME(6) NOT NULL,
+    range_end DATETIME(6) NOT NULL,
+    file_path VARCHAR(500) NOT NULL,
+    row_count BIGINT NOT NULL,
+    max_row_id BIGINT,
+    archived_at DATETIME(6) NOT NULL,
+    
+    INDEX idx_archive_segment_table_range (table_name, range_start, range_end)
+);
+
+-- Lets FraudDetectionService skip flags that were already recorded for the same application
+CREATE INDEX idx_fraud_flag_applicant_loan_rule ON fraud_flags (applicant_id, loan_id, rule_name);
@@ -0,0 +1,21 @@
+-- Unified login lookup used by CommonAuthService.login (one indexed probe instead of four table scans)
+CREATE TABLE IF NOT EXISTS credential_index (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    identifier VARCHAR(150) NOT NULL,
+    role VARCHAR(30) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    created_at DATETIME(6),
+    
+    CONSTRAINT uk_credential_identifier_role UNIQUE (identifier, role),
+    INDEX idx_credential_role_entity (role, entity_id)
+);
+
+-- Seed from the existing principal tables (entries are also created lazily on first login)
+INSERT IGNORE INTO credential_index (identifier, role, entity_id, created_at)
+SELECT LOWER(TRIM(username)), 'ADMIN', admin_id, NOW() FROM admin
+UNION ALL SELECT LOWER(TRIM(email)), 'ADMIN', admin_id, NOW() FROM admin
+UNION ALL SELECT LOWER(TRIM(email)), 'APPLICANT', applicant_id, NOW() FROM applicant WHERE email IS NOT NULL
+UNION ALL SELECT LOWER(TRIM(username)), 'LOAN_OFFICER', officer_id, NOW() FROM loan_officer
+UNION ALL SELECT LOWER(TRIM(email)), 'LOAN_OFFICER', officer_id, NOW() FROM loan_officer
+UNION ALL SELECT LOWER(TRIM(username)), 'COMPLIANCE_OFFICER', officer_id, NOW() FROM compliance_officer
+UNION ALL SELECT LOWER(TRIM(email)), 'COMPLIANCE_OFFICER', officer_id, NOW() FROM compliance_officer;
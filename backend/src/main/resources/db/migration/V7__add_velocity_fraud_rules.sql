@@ -0,0 +1,9 @@
+-- Application-rate rules evaluated by IdentityFraudDetectionEngine from the in-memory velocity counters.
+-- Windows and thresholds live in app.velocity.*; these rows control points, severity and on/off.
+INSERT IGNORE INTO fraud_rule_definition (rule_code, rule_name, rule_description, rule_category, severity, fraud_points, is_active, rule_type, execution_order) VALUES
+('VELOCITY_PHONE', 'Phone Application Velocity', 'Too many applications from the same phone within the window', 'IDENTITY', 'HIGH', 40, TRUE, 'THRESHOLD', 40),
+('VELOCITY_EMAIL', 'Email Application Velocity', 'Too many applications from the same email within the window', 'IDENTITY', 'HIGH', 40, TRUE, 'THRESHOLD', 41),
+('VELOCITY_PAN', 'PAN Application Velocity', 'Too many applications with the same PAN within the window', 'IDENTITY', 'HIGH', 50, TRUE, 'THRESHOLD', 42),
+('VELOCITY_DEVICE', 'Device Application Velocity', 'Too many applications from the same device within the window', 'IDENTITY', 'HIGH', 40, TRUE, 'THRESHOLD', 43),
+('VELOCITY_IP', 'IP Application Velocity', 'Too many applications from the same IP address within the window', 'IDENTITY', 'MEDIUM', 30, TRUE, 'THRESHOLD', 44),
+('VELOCITY_EMPLOYER', 'Employer Application Velocity', 'Too many applications naming the same employer within the window', 'IDENTITY', 'MEDIUM', 30, TRUE, 'THRESHOLD', 45);
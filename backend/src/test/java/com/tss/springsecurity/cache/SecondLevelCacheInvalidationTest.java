@@ -0,0 +1,186 @@
+package com.tss.springsecurity.cache;
+
+import com.tss.springsecurity.config.SecondLevelCacheProperties;
+import com.tss.springsecurity.entity.FraudRuleDefinition;
+import com.tss.springsecurity.entity.LoanOfficer;
+import com.tss.springsecurity.repository.FraudRuleDefinitionRepository;
+import com.tss.springsecurity.repository.LoanOfficerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.orm.hibernate5.SpringBeanContainer;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_MOCKS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Query cache invalidation through the {@link InMemoryRegionFactory}. Hibernate runs
+ * with the settings of {@link SecondLevelCaches} over a JDBC stub that records every
+ * statement and returns empty results, so a cached lookup shows up as a missing SELECT
+ * and an invalidated one as a SELECT that runs again.
+ */
+class SecondLevelCacheInvalidationTest {
+
+    private final List<String> statements = new CopyOnWriteArrayList<>();
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("applicationEventPublisher", mock(ApplicationEventPublisher.class));
+
+        @SuppressWarnings("unchecked")
+        ObjectProvider<EntityManagerFactory> noFactories = mock(ObjectProvider.class);
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("hibernate.dialect", "org.hibernate.dialect.MySQLDialect");
+        properties.put("hibernate.boot.allow_jdbc_metadata_access", false);
+        properties.put("hibernate.hbm2ddl.auto", "none");
+        properties.put(AvailableSettings.BEAN_CONTAINER, new SpringBeanContainer(beanFactory));
+        properties.putAll(new SecondLevelCaches(new SecondLevelCacheProperties(), noFactories).hibernateSettings("lms"));
+
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(recordingDataSource());
+        factoryBean.setPackagesToScan("com.tss.springsecurity.entity");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(properties);
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+    }
+
+    @AfterEach
+    void tearDown() {
+        factoryBean.destroy();
+    }
+
+    @Test
+    void savingLoanOfficerInvalidatesUsernameAndEmailLookups() {
+        inTransaction(LoanOfficerRepository.class, officers -> {
+            officers.findByUsername("asha");
+            officers.findByEmail("asha@example.com");
+        });
+        inTransaction(LoanOfficerRepository.class, officers -> {
+            officers.findByUsername("asha");
+            officers.findByEmail("asha@example.com");
+        });
+        assertEquals(2, selects("loan_officer"), "second lookups should come from the query cache");
+
+        inTransaction(LoanOfficerRepository.class, officers -> officers.save(officer()));
+
+        inTransaction(LoanOfficerRepository.class, officers -> {
+            officers.findByUsername("asha");
+            officers.findByEmail("asha@example.com");
+        });
+        assertEquals(4, selects("loan_officer"), "lookups after the save should query again");
+    }
+
+    @Test
+    void savingFraudRuleInvalidatesRuleCodeLookup() {
+        inTransaction(FraudRuleDefinitionRepository.class, rules -> rules.findByRuleCode("HIGH_DTI"));
+        inTransaction(FraudRuleDefinitionRepository.class, rules -> rules.findByRuleCode("HIGH_DTI"));
+        assertEquals(1, selects("fraud_rule_definition"), "second lookup should come from the query cache");
+
+        inTransaction(FraudRuleDefinitionRepository.class, rules -> rules.save(rule()));
+
+        inTransaction(FraudRuleDefinitionRepository.class, rules -> rules.findByRuleCode("HIGH_DTI"));
+        assertEquals(2, selects("fraud_rule_definition"), "lookup after the save should query again");
+    }
+
+    private <R> void inTransaction(Class<R> repositoryType, Consumer<R> work) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            work.accept(new JpaRepositoryFactory(entityManager).getRepository(repositoryType));
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private long selects(String table) {
+        return statements.stream()
+                .filter(sql -> sql.trim().toLowerCase().startsWith("select") && sql.contains(" from " + table))
+                .count();
+    }
+
+    /**
+     * Empty result sets, one affected row per update and generated key 1
+     */
+    private DataSource recordingDataSource() throws Exception {
+        PreparedStatement statement = mock(PreparedStatement.class, RETURNS_MOCKS);
+        ResultSet empty = mock(ResultSet.class, RETURNS_MOCKS);
+        when(empty.getStatement()).thenReturn(statement);
+        ResultSet generatedKey = mock(ResultSet.class, RETURNS_MOCKS);
+        when(generatedKey.getStatement()).thenReturn(statement);
+        ResultSetMetaData keyColumn = mock(ResultSetMetaData.class, RETURNS_MOCKS);
+        when(keyColumn.getColumnCount()).thenReturn(1);
+        when(generatedKey.getMetaData()).thenReturn(keyColumn);
+        when(generatedKey.findColumn(anyString())).thenReturn(1);
+        when(generatedKey.getLong(1)).thenReturn(1L);
+        when(generatedKey.getObject(1)).thenReturn(1L);
+
+        when(statement.executeQuery()).thenReturn(empty);
+        when(statement.executeUpdate()).thenReturn(1);
+        when(statement.getGeneratedKeys()).thenAnswer(invocation -> {
+            when(generatedKey.next()).thenReturn(true, false);
+            return generatedKey;
+        });
+
+        Connection connection = mock(Connection.class, RETURNS_MOCKS);
+        when(connection.getAutoCommit()).thenReturn(false);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> record(invocation.getArgument(0), statement));
+        when(connection.prepareStatement(anyString(), anyInt())).thenAnswer(invocation -> record(invocation.getArgument(0), statement));
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenAnswer(invocation -> record(invocation.getArgument(0), statement));
+        when(connection.prepareStatement(anyString(), any(String[].class))).thenAnswer(invocation -> record(invocation.getArgument(0), statement));
+
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+
+    private PreparedStatement record(String sql, PreparedStatement statement) {
+        statements.add(sql);
+        return statement;
+    }
+
+    private static LoanOfficer officer() {
+        LoanOfficer officer = new LoanOfficer();
+        officer.setUsername("asha");
+        officer.setEmail("asha@example.com");
+        officer.setPasswordHash("hash");
+        officer.setLoanType("HOME");
+        return officer;
+    }
+
+    private static FraudRuleDefinition rule() {
+        FraudRuleDefinition rule = new FraudRuleDefinition();
+        rule.setRuleCode("HIGH_DTI");
+        rule.setRuleName("High debt to income");
+        return rule;
+    }
+}
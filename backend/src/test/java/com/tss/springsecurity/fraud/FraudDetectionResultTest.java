@@ -0,0 +1,38 @@
+package com.tss.springsecurity.fraud;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class FraudDetectionResultTest {
+
+    private final FraudRule cashSalary = new FraudRule("CASH_SALARY", "Salary paid in cash", 10, "LOW",
+            "FINANCIAL", true, "cash");
+
+    @Test
+    void skippedExpensiveRulesSurviveMergeAndRescore() {
+        FraudDetectionResult validator = new FraudDetectionResult();
+        validator.addTriggeredRule(cashSalary);
+        validator.setSkippedExpensiveRules(3);
+        validator.calculateRiskLevel();
+        assertEquals(3, validator.getFraudScoreBreakdown().get("skippedExpensiveRules"));
+
+        FraudDetectionResult merged = new FraudDetectionResult();
+        merged.merge(validator);
+        merged.merge(new FraudDetectionResult());
+        merged.calculateRiskLevel();
+
+        assertEquals(3, merged.getFraudScoreBreakdown().get("skippedExpensiveRules"));
+        assertEquals(10, merged.getFraudScoreBreakdown().get("totalPoints"));
+    }
+
+    @Test
+    void breakdownOmitsSkippedRulesWhenAllRan() {
+        FraudDetectionResult result = new FraudDetectionResult();
+        result.addTriggeredRule(cashSalary);
+        result.calculateRiskLevel();
+
+        assertFalse(result.getFraudScoreBreakdown().containsKey("skippedExpensiveRules"));
+    }
+}
@@ -0,0 +1,98 @@
+package com.tss.springsecurity.fraud.incremental;
+
+import com.tss.springsecurity.config.IncrementalScreeningProperties;
+import com.tss.springsecurity.event.LoanAggregatePart;
+import com.tss.springsecurity.fraud.FraudDetectionResult;
+import com.tss.springsecurity.fraud.FraudRule;
+import com.tss.springsecurity.fraud.service.FraudRulePlan;
+import com.tss.springsecurity.fraud.service.FraudRulePlanService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IncrementalScreeningServiceTest {
+
+    private static final Long APPLICANT_ID = 7L;
+    private static final String ENGINE = "FINANCIAL";
+
+    private final FraudRule cashSalary = new FraudRule("CASH_SALARY", "Salary paid in cash", 10, "LOW",
+            "FINANCIAL", true, "cash");
+
+    private IncrementalScreeningService service;
+
+    @BeforeEach
+    void setUp() {
+        FraudRulePlan plan = mock(FraudRulePlan.class);
+        when(plan.getFingerprint()).thenReturn(1L);
+        FraudRulePlanService rulePlanService = mock(FraudRulePlanService.class);
+        when(rulePlanService.getPlan()).thenReturn(plan);
+        service = new IncrementalScreeningService(new IncrementalScreeningProperties(), rulePlanService);
+    }
+
+    @Test
+    void reusesChecksWhosePartsDidNotChange() {
+        screenOnce();
+        service.markChanged(APPLICANT_ID, LoanAggregatePart.OTHER_DOCUMENT);
+
+        IncrementalScreeningService.Rescreen rescreen = service.open(APPLICANT_ID);
+        CheckPlan<FraudRule> plan = rescreen.engine(ENGINE);
+
+        // CASH_SALARY reads employment only; UNFILED_ITR also reads other documents
+        assertEquals(List.of(cashSalary), plan.reuse("CASH_SALARY"));
+        assertNull(plan.reuse("UNFILED_ITR"));
+        assertFalse(rescreen.canSkip(ENGINE));
+    }
+
+    @Test
+    void skipsEngineWhenNothingChanged() {
+        screenOnce();
+
+        IncrementalScreeningService.Rescreen rescreen = service.open(APPLICANT_ID);
+
+        assertTrue(rescreen.canSkip(ENGINE));
+        assertEquals(10, rescreen.replay(ENGINE).getTotalFraudScore());
+    }
+
+    @Test
+    void neverReusesAlwaysRunChecks() {
+        IncrementalScreeningService.Rescreen first = service.open(APPLICANT_ID);
+        CheckPlan<FraudRule> plan = first.engine("IDENTITY");
+        plan.ran("WATCHLIST_MATCH", List.of());
+        first.finished("IDENTITY", new FraudDetectionResult());
+        first.save();
+
+        IncrementalScreeningService.Rescreen second = service.open(APPLICANT_ID);
+
+        assertNull(second.engine("IDENTITY").reuse("WATCHLIST_MATCH"));
+        assertFalse(second.canSkip("IDENTITY"));
+    }
+
+    @Test
+    void detachedInstanceIsIndependent() {
+        screenOnce();
+        IncrementalScreeningService detached = service.detached();
+
+        assertFalse(detached.open(APPLICANT_ID).canSkip(ENGINE));
+        assertTrue(service.open(APPLICANT_ID).canSkip(ENGINE));
+    }
+
+    private void screenOnce() {
+        IncrementalScreeningService.Rescreen rescreen = service.open(APPLICANT_ID);
+        CheckPlan<FraudRule> plan = rescreen.engine(ENGINE);
+        FraudDetectionResult result = new FraudDetectionResult();
+        assertNull(plan.reuse("CASH_SALARY"));
+        result.addTriggeredRule(cashSalary);
+        plan.ran("CASH_SALARY", List.of(cashSalary));
+        plan.ran("UNFILED_ITR", List.of());
+        rescreen.finished(ENGINE, result);
+        rescreen.save();
+    }
+}
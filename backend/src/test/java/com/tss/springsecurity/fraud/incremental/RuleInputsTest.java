@@ -0,0 +1,137 @@
+package com.tss.springsecurity.fraud.incremental;
+
+import com.tss.springsecurity.config.RuleTelemetryProperties;
+import com.tss.springsecurity.entity.Applicant;
+import com.tss.springsecurity.entity.ApplicantEmployment;
+import com.tss.springsecurity.fraud.CrossVerificationFraudDetectionEngine;
+import com.tss.springsecurity.fraud.EmploymentFraudDetectionEngine;
+import com.tss.springsecurity.fraud.FinancialFraudDetectionEngine;
+import com.tss.springsecurity.fraud.FraudRule;
+import com.tss.springsecurity.fraud.IdentityFraudDetectionEngine;
+import com.tss.springsecurity.fraud.service.FraudRulePlanService;
+import com.tss.springsecurity.fraud.telemetry.RuleTelemetryService;
+import com.tss.springsecurity.repository.ApplicantEmploymentRepository;
+import com.tss.springsecurity.repository.ApplicantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Constructor;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link RuleInputs} is maintained by hand next to the engines. Each engine
+ * is driven with a plan that answers every check from an empty previous
+ * outcome, so the check bodies never run and no database is needed; the plan
+ * only records which checks the engine asks about.
+ */
+class RuleInputsTest {
+
+    private static final Long APPLICANT_ID = 1L;
+
+    private Map<Class<?>, Object> collaborators;
+
+    @BeforeEach
+    void setUp() {
+        Applicant applicant = new Applicant();
+        applicant.setApplicantId(APPLICANT_ID);
+        ApplicantRepository applicantRepository = mock(ApplicantRepository.class);
+        when(applicantRepository.findById(any())).thenReturn(Optional.of(applicant));
+
+        // Without employment details the employment engine stops before its checks
+        ApplicantEmploymentRepository employmentRepository = mock(ApplicantEmploymentRepository.class);
+        when(employmentRepository.findByApplicant_ApplicantId(any()))
+                .thenReturn(Optional.of(new ApplicantEmployment()));
+
+        collaborators = Map.of(
+                ApplicantRepository.class, applicantRepository,
+                ApplicantEmploymentRepository.class, employmentRepository,
+                RuleTelemetryService.class,
+                new RuleTelemetryService(new RuleTelemetryProperties(), mock(FraudRulePlanService.class)));
+    }
+
+    @Test
+    void everyEngineCheckIsKnownToRuleInputs() {
+        Set<String> unknown = new TreeSet<>(engineChecks());
+        unknown.removeAll(RuleInputs.knownChecks());
+
+        assertTrue(unknown.isEmpty(), "Checks missing from RuleInputs (declare their inputs or list them as "
+                + "always-run): " + unknown);
+    }
+
+    @Test
+    void everyDeclaredCheckIsRunByAnEngine() {
+        Set<String> stale = new TreeSet<>(RuleInputs.knownChecks());
+        stale.removeAll(engineChecks());
+
+        assertTrue(stale.isEmpty(), "RuleInputs entries no engine runs (renamed or removed checks): " + stale);
+    }
+
+    @Test
+    void externalLookupsAlwaysRun() {
+        for (String check : List.of("WATCHLIST_MATCH", "IDENTIFIER_BLACKLIST", "FRAUD_RING", "APPLICATION_VELOCITY")) {
+            assertTrue(RuleInputs.knownChecks().contains(check), check);
+            assertNull(RuleInputs.of(check), check + " must not be reused");
+        }
+    }
+
+    private Set<String> engineChecks() {
+        Set<String> checks = new LinkedHashSet<>();
+        checks.addAll(checksOf(engine(IdentityFraudDetectionEngine.class)::detectIdentityFraud));
+        checks.addAll(checksOf(engine(FinancialFraudDetectionEngine.class)::detectFinancialFraud));
+        checks.addAll(checksOf(engine(EmploymentFraudDetectionEngine.class)::detectEmploymentFraud));
+        checks.addAll(checksOf(engine(CrossVerificationFraudDetectionEngine.class)::detectCrossVerificationFraud));
+        return checks;
+    }
+
+    private Set<String> checksOf(EngineRun engine) {
+        Set<String> asked = new LinkedHashSet<>();
+        engine.run(APPLICANT_ID, new CheckPlan<>() {
+            @Override
+            public List<FraudRule> reuse(String check) {
+                asked.add(check);
+                return List.of();
+            }
+
+            @Override
+            public void ran(String check, List<FraudRule> fired) {
+            }
+        });
+        assertFalse(asked.isEmpty(), "engine ran no checks");
+        return asked;
+    }
+
+    /**
+     * The engine's constructor with the stubs above and plain mocks for everything else
+     */
+    private <T> T engine(Class<T> type) {
+        Constructor<?> constructor = type.getConstructors()[0];
+        Object[] args = new Object[constructor.getParameterCount()];
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        for (int i = 0; i < args.length; i++) {
+            Object collaborator = collaborators.get(parameterTypes[i]);
+            args[i] = collaborator != null ? collaborator : mock(parameterTypes[i]);
+        }
+        try {
+            return type.cast(constructor.newInstance(args));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot build " + type.getSimpleName(), e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface EngineRun {
+        Object run(Long applicantId, CheckPlan<FraudRule> plan);
+    }
+}
@@ -0,0 +1,32 @@
+package com.tss.springsecurity.security;
+
+import com.tss.springsecurity.config.AuthThrottlingProperties;
+import com.tss.springsecurity.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoginRateLimiterTest {
+
+    private final AuthThrottlingProperties properties = new AuthThrottlingProperties();
+    private final LoginRateLimiter limiter = new LoginRateLimiter(properties, new ClientIpResolver(properties));
+
+    @Test
+    void identifierUsesStrictestUsernameLimit() {
+        // Default 10 per minute, ADMIN override 5
+        for (int i = 0; i < 5; i++) {
+            assertDoesNotThrow(() -> limiter.checkIdentifier("LOGIN", "nobody@example.com"));
+        }
+        assertThrows(TooManyRequestsException.class, () -> limiter.checkIdentifier("LOGIN", "nobody@example.com"));
+    }
+
+    @Test
+    void identifierIsNormalizedBeforeCounting() {
+        for (int i = 0; i < 5; i++) {
+            String variant = i % 2 == 0 ? " Someone@Example.com " : "someone@example.com";
+            assertDoesNotThrow(() -> limiter.checkIdentifier("LOGIN", variant));
+        }
+        assertThrows(TooManyRequestsException.class, () -> limiter.checkIdentifier("LOGIN", "SOMEONE@example.com"));
+    }
+}
@@ -0,0 +1,122 @@
+package com.tss.springsecurity.service;
+
+import com.tss.springsecurity.config.LoanViewCacheProperties;
+import com.tss.springsecurity.dto.ComprehensiveLoanViewDTO;
+import com.tss.springsecurity.entity.Applicant;
+import com.tss.springsecurity.entity.ApplicantEmployment;
+import com.tss.springsecurity.entity.ApplicantLoanDetails;
+import com.tss.springsecurity.entity.LoanOfficer;
+import com.tss.springsecurity.entity.OfficerApplicationAssignment;
+import com.tss.springsecurity.repository.ApplicantDependentRepository;
+import com.tss.springsecurity.repository.ApplicantLoanDetailsRepository;
+import com.tss.springsecurity.repository.LoanCollateralRepository;
+import com.tss.springsecurity.repository.OfficerApplicationAssignmentRepository;
+import com.tss.springsecurity.repository.UploadedDocumentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+
+/**
+ * Repository round-trip budget of the comprehensive loan view. The repositories
+ * are mocks, so this counts repository calls only, not the SQL they issue; a
+ * view that adds a repository round trip goes over budget.
+ */
+class ComprehensiveLoanViewServiceTest {
+
+    private static final int REPOSITORY_CALL_BUDGET = 5;
+    private static final Long LOAN_ID = 42L;
+    private static final Long APPLICANT_ID = 7L;
+
+    private ApplicantLoanDetailsRepository loanRepository;
+    private UploadedDocumentRepository documentRepository;
+    private ApplicantDependentRepository dependentRepository;
+    private LoanCollateralRepository collateralRepository;
+    private OfficerApplicationAssignmentRepository assignmentRepository;
+    private ComprehensiveLoanViewService service;
+
+    @BeforeEach
+    void setUp() {
+        loanRepository = mock(ApplicantLoanDetailsRepository.class);
+        documentRepository = mock(UploadedDocumentRepository.class);
+        dependentRepository = mock(ApplicantDependentRepository.class);
+        collateralRepository = mock(LoanCollateralRepository.class);
+        assignmentRepository = mock(OfficerApplicationAssignmentRepository.class);
+
+        when(loanRepository.findForComprehensiveView(LOAN_ID)).thenReturn(Optional.of(loan()));
+        when(documentRepository.findViewRowsByApplicantId(APPLICANT_ID)).thenReturn(List.of());
+        when(assignmentRepository.findByLoanIdWithOfficer(LOAN_ID)).thenReturn(List.of(assignment()));
+        when(dependentRepository.findByApplicant_ApplicantId(APPLICANT_ID)).thenReturn(List.of());
+        when(collateralRepository.findByLoan_LoanId(LOAN_ID)).thenReturn(List.of());
+
+        service = new ComprehensiveLoanViewService(loanRepository, documentRepository, dependentRepository,
+                collateralRepository, assignmentRepository, new LoanViewCache(new LoanViewCacheProperties()),
+                mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void uncachedViewStaysWithinRepositoryCallBudget() {
+        ComprehensiveLoanViewDTO view = service.getComprehensiveLoanView(LOAN_ID);
+
+        assertEquals(REPOSITORY_CALL_BUDGET, repositoryCalls());
+        assertEquals(APPLICANT_ID, view.getApplicantId());
+        assertEquals("Asha Officer", view.getAssignedOfficerName());
+    }
+
+    @Test
+    void cachedViewMakesNoRepositoryCalls() {
+        service.getComprehensiveLoanView(LOAN_ID);
+        clearInvocations(loanRepository, documentRepository, dependentRepository,
+                collateralRepository, assignmentRepository);
+
+        service.getComprehensiveLoanView(LOAN_ID);
+
+        assertEquals(0, repositoryCalls());
+    }
+
+    private int repositoryCalls() {
+        return Stream.of(loanRepository, documentRepository, dependentRepository, collateralRepository,
+                        assignmentRepository)
+                .mapToInt(repository -> mockingDetails(repository).getInvocations().size())
+                .sum();
+    }
+
+    private static ApplicantLoanDetails loan() {
+        Applicant applicant = new Applicant();
+        applicant.setApplicantId(APPLICANT_ID);
+        applicant.setFirstName("Ravi");
+        applicant.setLastName("Kumar");
+        ApplicantEmployment employment = new ApplicantEmployment();
+        employment.setMonthlyIncome(new BigDecimal("85000"));
+        applicant.setEmployment(employment);
+
+        ApplicantLoanDetails loan = new ApplicantLoanDetails();
+        loan.setLoanId(LOAN_ID);
+        loan.setApplicant(applicant);
+        loan.setLoanAmount(new BigDecimal("500000"));
+        loan.setRiskScore(40);
+        return loan;
+    }
+
+    private static OfficerApplicationAssignment assignment() {
+        LoanOfficer officer = new LoanOfficer();
+        officer.setFirstName("Asha");
+        officer.setLastName("Officer");
+        OfficerApplicationAssignment assignment = new OfficerApplicationAssignment();
+        assignment.setAssignmentId(1L);
+        assignment.setOfficer(officer);
+        assignment.setAssignedAt(LocalDateTime.now());
+        return assignment;
+    }
+}